@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.benchmarks;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.ploop.introspect.*;
+
+/**
+ * Benchmarks of reading all the property values of a bean into an array, comparing introspected properties with hand-written getter calls.
+ * <p>
+ * The {@link #readAllWithBeanAccessor()} benchmark runs in a JVM with generated bean accessors enabled.
+ * </p>
+ * @author Garret Wilson
+ * @see Introspection#readAll(Object, Object[])
+ * @see Introspector#GENERATE_BEAN_ACCESSORS_PROPERTY
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BeanReadBenchmark {
+
+	private Customer customer;
+
+	private Introspection<Customer> introspection;
+
+	private Property<Customer, ?>[] properties;
+
+	private Object[] values;
+
+	/** Looks up the introspection of the bean. */
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() {
+		customer = Customer.create(42);
+		introspection = Introspection.of(Customer.class);
+		properties = introspection.getProperties().toArray(new Property[0]);
+		values = new Object[properties.length];
+	}
+
+	/** @return The property values read by calling the getters directly. */
+	@Benchmark
+	public Object[] handWritten() {
+		final Object[] values = this.values;
+		values[0] = customer.isActive();
+		values[1] = customer.getAge();
+		values[2] = customer.getBalance();
+		values[3] = customer.getEmail();
+		values[4] = customer.getId();
+		values[5] = customer.getName();
+		values[6] = customer.getTags();
+		return values;
+	}
+
+	/** @return The property values read by iterating the properties. */
+	@Benchmark
+	public Object[] properties() throws ReflectiveOperationException {
+		final Property<Customer, ?>[] properties = this.properties;
+		final Object[] values = this.values;
+		for(int i = 0; i < properties.length; i++) {
+			values[i] = properties[i].getValue(customer);
+		}
+		return values;
+	}
+
+	/** @return The property values read using the bulk introspection API. */
+	@Benchmark
+	public Object[] readAll() throws ReflectiveOperationException {
+		introspection.readAll(customer, values);
+		return values;
+	}
+
+	/** @return The property values read using the bulk introspection API backed by a generated bean accessor. */
+	@Benchmark
+	@Fork(value = 1, jvmArgsAppend = "-D" + Introspector.GENERATE_BEAN_ACCESSORS_PROPERTY + "=true")
+	public Object[] readAllWithBeanAccessor() throws ReflectiveOperationException {
+		introspection.readAll(customer, values);
+		return values;
+	}
+
+}
@@ -0,0 +1,153 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.benchmarks;
+
+import java.util.*;
+
+/**
+ * A typical persisted entity bean with a mix of primitive, reference, and generic properties, used as a benchmark subject.
+ * @author Garret Wilson
+ */
+public class Customer {
+
+	private long id;
+
+	private String name;
+
+	private String email;
+
+	private int age;
+
+	private double balance;
+
+	private boolean active;
+
+	private List<String> tags = Collections.emptyList();
+
+	/** No-args constructor. */
+	public Customer() {
+	}
+
+	/** @return The identifier. */
+	public long getId() {
+		return id;
+	}
+
+	/**
+	 * Sets the identifier.
+	 * @param id The new identifier.
+	 */
+	public void setId(final long id) {
+		this.id = id;
+	}
+
+	/** @return The name. */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Sets the name.
+	 * @param name The new name.
+	 */
+	public void setName(final String name) {
+		this.name = name;
+	}
+
+	/** @return The email address. */
+	public String getEmail() {
+		return email;
+	}
+
+	/**
+	 * Sets the email address.
+	 * @param email The new email address.
+	 */
+	public void setEmail(final String email) {
+		this.email = email;
+	}
+
+	/** @return The age. */
+	public int getAge() {
+		return age;
+	}
+
+	/**
+	 * Sets the age.
+	 * @param age The new age.
+	 */
+	public void setAge(final int age) {
+		this.age = age;
+	}
+
+	/** @return The account balance. */
+	public double getBalance() {
+		return balance;
+	}
+
+	/**
+	 * Sets the account balance.
+	 * @param balance The new account balance.
+	 */
+	public void setBalance(final double balance) {
+		this.balance = balance;
+	}
+
+	/** @return Whether the customer is active. */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Sets whether the customer is active.
+	 * @param active Whether the customer is active.
+	 */
+	public void setActive(final boolean active) {
+		this.active = active;
+	}
+
+	/** @return The tags categorizing the customer. */
+	public List<String> getTags() {
+		return tags;
+	}
+
+	/**
+	 * Sets the tags categorizing the customer.
+	 * @param tags The new tags.
+	 */
+	public void setTags(final List<String> tags) {
+		this.tags = tags;
+	}
+
+	/**
+	 * Creates a customer populated with values derived from an index.
+	 * @param index The index distinguishing the customer.
+	 * @return A new populated customer.
+	 */
+	public static Customer create(final int index) {
+		final Customer customer = new Customer();
+		customer.setId(index);
+		customer.setName("Customer " + index);
+		customer.setEmail("customer" + index + "@example.com");
+		customer.setAge(20 + index % 50);
+		customer.setBalance(index * 1.5);
+		customer.setActive(index % 2 == 0);
+		customer.setTags(Collections.singletonList("tag" + index % 10));
+		return customer;
+	}
+
+}
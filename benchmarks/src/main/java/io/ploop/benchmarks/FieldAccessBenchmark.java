@@ -0,0 +1,114 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.benchmarks;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Field;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.ploop.introspect.*;
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Benchmarks of reading and writing a field directly, comparing the properties of fields, which access each field through a generated accessor holding the
+ * variable handle as a constant, with direct field access, with {@link Field} reflection, and with a variable handle held in an instance field.
+ * @author Garret Wilson
+ * @see VarHandlePropertyReader
+ * @see VarHandlePropertyWriter
+ * @see FieldAccessorGenerator
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FieldAccessBenchmark {
+
+	/** A record of fields with no accessor methods. */
+	public static class Counter {
+
+		/** The count. */
+		public long count;
+
+	}
+
+	private Counter counter;
+
+	private Field countField;
+
+	private VarHandle countVarHandle;
+
+	private VarHandlePropertyReader.OfLong<Counter> countReader;
+
+	private VarHandlePropertyWriter.OfLong<Counter> countWriter;
+
+	/**
+	 * Looks up the field and creates the readers and writers.
+	 * @throws ReflectiveOperationException if the field cannot be found.
+	 */
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		counter = new Counter();
+		countField = Counter.class.getField("count");
+		countVarHandle = MethodHandles.lookup().findVarHandle(Counter.class, "count", long.class);
+		countReader = (VarHandlePropertyReader.OfLong<Counter>)VarHandlePropertyReader.<Counter, Long>forVarHandle(TypeInfo.forClass(long.class), countVarHandle,
+				FieldAccessMode.PLAIN, true);
+		countWriter = (VarHandlePropertyWriter.OfLong<Counter>)VarHandlePropertyWriter.<Counter, Long>forVarHandle(TypeInfo.forClass(long.class), countVarHandle,
+				FieldAccessMode.PLAIN);
+	}
+
+	/** @return The incremented field value, accessing the field directly. */
+	@Benchmark
+	public long direct() {
+		return ++counter.count;
+	}
+
+	/**
+	 * @return The incremented field value, accessing the field via reflection.
+	 * @throws IllegalAccessException if the field is not accessible.
+	 */
+	@Benchmark
+	public long reflection() throws IllegalAccessException {
+		final long count = countField.getLong(counter) + 1;
+		countField.setLong(counter, count);
+		return count;
+	}
+
+	/** @return The incremented field value, accessing the field via a variable handle stored in an instance field. */
+	@Benchmark
+	public long varHandle() {
+		final long count = (long)countVarHandle.get(counter) + 1;
+		countVarHandle.set(counter, count);
+		return count;
+	}
+
+	/**
+	 * @return The incremented field value, accessing the field via its property reader and writer.
+	 * @throws ReflectiveOperationException if there is an error accessing the field.
+	 */
+	@Benchmark
+	public long property() throws ReflectiveOperationException {
+		final long count = countReader.getLong(counter) + 1;
+		countWriter.setLong(counter, count);
+		return count;
+	}
+
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.benchmarks;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.ploop.introspect.*;
+
+/**
+ * Benchmarks of hydrating a batch of beans by setting all their properties, comparing introspected properties with hand-written setter calls and with
+ * invoking the setters via reflection.
+ * @author Garret Wilson
+ * @see Property#setValue(Object, Object)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class HydrationBenchmark {
+
+	/** The number of beans hydrated in each benchmark operation. */
+	public static final int BATCH_SIZE = 1000;
+
+	/** The source values of the beans to hydrate, in the order of the introspected properties. */
+	private Object[][] rows;
+
+	private Property<Customer, Object>[] properties;
+
+	/** The setter methods of the introspected properties, in the same order. */
+	private Method[] setterMethods;
+
+	private LongProperty<Customer> idProperty;
+
+	private Property<Customer, Object> nameProperty;
+
+	private Property<Customer, Object> emailProperty;
+
+	private IntProperty<Customer> ageProperty;
+
+	private DoubleProperty<Customer> balanceProperty;
+
+	private BooleanProperty<Customer> activeProperty;
+
+	private Property<Customer, Object> tagsProperty;
+
+	/**
+	 * Prepares the source values and looks up the properties.
+	 * @throws ReflectiveOperationException if there is an error reading the source values.
+	 */
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() throws ReflectiveOperationException {
+		final Introspection<Customer> introspection = Introspection.of(Customer.class);
+		properties = introspection.getProperties().toArray(new Property[0]);
+		setterMethods = new Method[properties.length];
+		for(int p = 0; p < properties.length; p++) {
+			final String propertyName = properties[p].getName();
+			final String setterMethodName = "set" + Character.toUpperCase(propertyName.charAt(0)) + propertyName.substring(1);
+			for(final Method method : Customer.class.getMethods()) {
+				if(method.getName().equals(setterMethodName) && method.getParameterCount() == 1) {
+					setterMethods[p] = method;
+				}
+			}
+		}
+		rows = new Object[BATCH_SIZE][];
+		for(int i = 0; i < BATCH_SIZE; i++) {
+			final Customer customer = Customer.create(i);
+			final Object[] row = new Object[properties.length];
+			for(int p = 0; p < properties.length; p++) {
+				row[p] = properties[p].getValue(customer);
+			}
+			rows[i] = row;
+		}
+		idProperty = (LongProperty<Customer>)introspection.getProperty("id");
+		nameProperty = (Property<Customer, Object>)introspection.getProperty("name");
+		emailProperty = (Property<Customer, Object>)introspection.getProperty("email");
+		ageProperty = (IntProperty<Customer>)introspection.getProperty("age");
+		balanceProperty = (DoubleProperty<Customer>)introspection.getProperty("balance");
+		activeProperty = (BooleanProperty<Customer>)introspection.getProperty("active");
+		tagsProperty = (Property<Customer, Object>)introspection.getProperty("tags");
+	}
+
+	/**
+	 * Hydrates a batch of beans by calling the setters directly, as a hand-written mapper would.
+	 * @param blackhole The sink for the hydrated beans.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	@SuppressWarnings("unchecked")
+	public void handWritten(final Blackhole blackhole) {
+		for(final Object[] row : rows) {
+			final Customer customer = new Customer();
+			customer.setActive((Boolean)row[0]);
+			customer.setAge((Integer)row[1]);
+			customer.setBalance((Double)row[2]);
+			customer.setEmail((String)row[3]);
+			customer.setId((Long)row[4]);
+			customer.setName((String)row[5]);
+			customer.setTags((List<String>)row[6]);
+			blackhole.consume(customer);
+		}
+	}
+
+	/**
+	 * Hydrates a batch of beans by invoking each setter method via reflection, as a baseline for generic access.
+	 * @param blackhole The sink for the hydrated beans.
+	 * @throws ReflectiveOperationException if there is an error invoking a setter.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void reflection(final Blackhole blackhole) throws ReflectiveOperationException {
+		final Method[] setterMethods = this.setterMethods;
+		for(final Object[] row : rows) {
+			final Customer customer = new Customer();
+			for(int p = 0; p < setterMethods.length; p++) {
+				setterMethods[p].invoke(customer, row[p]);
+			}
+			blackhole.consume(customer);
+		}
+	}
+
+	/**
+	 * Hydrates a batch of beans by setting each introspected property generically.
+	 * @param blackhole The sink for the hydrated beans.
+	 * @throws ReflectiveOperationException if there is an error setting a property.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void properties(final Blackhole blackhole) throws ReflectiveOperationException {
+		final Property<Customer, Object>[] properties = this.properties;
+		for(final Object[] row : rows) {
+			final Customer customer = new Customer();
+			for(int p = 0; p < properties.length; p++) {
+				properties[p].setValue(customer, row[p]);
+			}
+			blackhole.consume(customer);
+		}
+	}
+
+	/**
+	 * Hydrates a batch of beans using the primitive property specializations, as a codec reading primitive values would.
+	 * @param blackhole The sink for the hydrated beans.
+	 * @throws ReflectiveOperationException if there is an error setting a property.
+	 */
+	@Benchmark
+	@OperationsPerInvocation(BATCH_SIZE)
+	public void primitiveProperties(final Blackhole blackhole) throws ReflectiveOperationException {
+		for(int i = 0; i < BATCH_SIZE; i++) {
+			final Customer customer = new Customer();
+			activeProperty.setBoolean(customer, i % 2 == 0);
+			ageProperty.setInt(customer, 20 + i % 50);
+			balanceProperty.setDouble(customer, i * 1.5);
+			emailProperty.setValue(customer, rows[i][3]);
+			idProperty.setLong(customer, i);
+			nameProperty.setValue(customer, rows[i][5]);
+			tagsProperty.setValue(customer, rows[i][6]);
+			blackhole.consume(customer);
+		}
+	}
+
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.benchmarks;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.ploop.introspect.*;
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Benchmarks of introspecting a bean type.
+ * <p>
+ * The {@link #coldStart()} benchmark measures the very first introspection in a new JVM, including class loading and initialization of the libraries, and
+ * runs in several separate forks. The {@link #uncached()} benchmark measures discovering the properties of a type whose classes are already loaded, and the
+ * {@link #cached()} benchmark measures retrieving the introspection from the cache.
+ * </p>
+ * @author Garret Wilson
+ * @see Introspection#of(Class)
+ * @see Introspector#introspect(TypeInfo)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IntrospectionBenchmark {
+
+	/** @return The introspection of a type looked up for the first time in a new JVM. */
+	@Benchmark
+	@BenchmarkMode(Mode.SingleShotTime)
+	@OutputTimeUnit(MICROSECONDS)
+	@Warmup(iterations = 0)
+	@Measurement(iterations = 1)
+	@Fork(10)
+	public Introspection<Customer> coldStart() {
+		return Introspection.of(Customer.class);
+	}
+
+	/** @return A new introspection of a type, bypassing the cache. */
+	@Benchmark
+	public Introspection<Customer> uncached() {
+		return Introspector.INSTANCE.introspect(TypeInfo.forClass(Customer.class));
+	}
+
+	/** @return The cached introspection of a type. */
+	@Benchmark
+	public Introspection<Customer> cached() {
+		return Introspection.of(Customer.class);
+	}
+
+}
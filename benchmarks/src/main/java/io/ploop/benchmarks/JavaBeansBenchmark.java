@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.benchmarks;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import java.lang.reflect.Method;
+import java.util.*;
+import java.util.regex.*;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import io.ploop.introspect.JavaBeans;
+
+/**
+ * Benchmarks of determining property names from method names, over a corpus of the public method names of commonly used JDK classes.
+ * <p>
+ * The <code>regex…</code> benchmarks measure the regular expression matching and <code>java.beans.Introspector</code> decapitalization that
+ * {@link JavaBeans} previously used.
+ * </p>
+ * @author Garret Wilson
+ * @see JavaBeans
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JavaBeansBenchmark {
+
+	private static final Pattern GETTER_METHOD_NAME_PATTERN = Pattern.compile("(get|is)(.+)");
+
+	private static final Pattern SETTER_METHOD_NAME_PATTERN = Pattern.compile("(set)(.+)");
+
+	/** The classes the public method names of which make up the corpus. */
+	private static final List<Class<?>> CORPUS_CLASSES = Arrays.asList(Object.class, String.class, StringBuilder.class, Integer.class, Long.class, Class.class,
+			Thread.class, ArrayList.class, HashMap.class, TreeMap.class, Date.class, Calendar.class, java.io.File.class, java.net.URL.class, java.net.URI.class,
+			java.math.BigDecimal.class, java.time.LocalDateTime.class, java.time.Duration.class, java.util.concurrent.ConcurrentHashMap.class,
+			java.nio.ByteBuffer.class, Method.class, Optional.class, Locale.class);
+
+	private String[] methodNames;
+
+	/** Collects the method names of the corpus. */
+	@Setup
+	public void setup() {
+		final List<String> methodNameList = new ArrayList<>();
+		for(final Class<?> corpusClass : CORPUS_CLASSES) {
+			for(final Method method : corpusClass.getMethods()) {
+				methodNameList.add(method.getName());
+			}
+		}
+		methodNames = methodNameList.toArray(new String[0]);
+	}
+
+	/**
+	 * Determines getter and setter property names for each method name in the corpus using prefix scanning.
+	 * @param blackhole The sink for the property names.
+	 */
+	@Benchmark
+	public void scan(final Blackhole blackhole) {
+		for(final String methodName : methodNames) {
+			blackhole.consume(JavaBeans.getGetterPropertyName(methodName));
+			blackhole.consume(JavaBeans.getSetterPropertyName(methodName));
+		}
+	}
+
+	/**
+	 * Determines getter and setter property names for each method name in the corpus using regular expressions.
+	 * @param blackhole The sink for the property names.
+	 */
+	@Benchmark
+	public void regex(final Blackhole blackhole) {
+		for(final String methodName : methodNames) {
+			final Matcher getterMatcher = GETTER_METHOD_NAME_PATTERN.matcher(methodName);
+			blackhole.consume(getterMatcher.matches() ? java.beans.Introspector.decapitalize(getterMatcher.group(2)) : null);
+			final Matcher setterMatcher = SETTER_METHOD_NAME_PATTERN.matcher(methodName);
+			blackhole.consume(setterMatcher.matches() ? java.beans.Introspector.decapitalize(setterMatcher.group(2)) : null);
+		}
+	}
+
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.benchmarks;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.ploop.introspect.*;
+
+/**
+ * Benchmarks of reading a single property value, comparing introspected properties with hand-written getter calls and with plain reflection.
+ * <p>
+ * Reads are performed for a primitive <code>int</code> property, both without boxing and boxed through the generic API; for a {@link String} property; and for
+ * a property with a parameterized {@link List} type. Run with <code>-prof gc</code> to see the allocation caused by boxing.
+ * </p>
+ * @author Garret Wilson
+ * @see Property#getValue(Object)
+ * @see IntProperty#getInt(Object)
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PropertyReadBenchmark {
+
+	private Customer customer;
+
+	private IntProperty<Customer> ageProperty;
+
+	private Property<Customer, ?> nameProperty;
+
+	private Property<Customer, ?> tagsProperty;
+
+	private Method getAgeMethod;
+
+	/**
+	 * Looks up the properties and methods to read.
+	 * @throws NoSuchMethodException if a getter method is missing.
+	 */
+	@Setup
+	@SuppressWarnings("unchecked")
+	public void setup() throws NoSuchMethodException {
+		customer = Customer.create(42);
+		final Introspection<Customer> introspection = Introspection.of(Customer.class);
+		ageProperty = (IntProperty<Customer>)introspection.getProperty("age");
+		nameProperty = introspection.getProperty("name");
+		tagsProperty = introspection.getProperty("tags");
+		getAgeMethod = Customer.class.getMethod("getAge");
+	}
+
+	/** @return The value of a primitive property read by calling the getter directly. */
+	@Benchmark
+	public int handWrittenInt() {
+		return customer.getAge();
+	}
+
+	/** @return The value of a primitive property read without boxing. */
+	@Benchmark
+	public int primitiveInt() throws ReflectiveOperationException {
+		return ageProperty.getInt(customer);
+	}
+
+	/** @return The value of a primitive property read through the generic API, with boxing. */
+	@Benchmark
+	public Object boxedInt() throws ReflectiveOperationException {
+		return ageProperty.getValue(customer);
+	}
+
+	/** @return The value of a primitive property read using plain reflection. */
+	@Benchmark
+	public Object reflectionInt() throws ReflectiveOperationException {
+		return getAgeMethod.invoke(customer);
+	}
+
+	/** @return The value of a string property read by calling the getter directly. */
+	@Benchmark
+	public String handWrittenString() {
+		return customer.getName();
+	}
+
+	/** @return The value of a string property read through the generic API. */
+	@Benchmark
+	public Object string() throws ReflectiveOperationException {
+		return nameProperty.getValue(customer);
+	}
+
+	/** @return The value of a parameterized property read by calling the getter directly. */
+	@Benchmark
+	public List<String> handWrittenGeneric() {
+		return customer.getTags();
+	}
+
+	/** @return The value of a parameterized property read through the generic API. */
+	@Benchmark
+	public Object generic() throws ReflectiveOperationException {
+		return tagsProperty.getValue(customer);
+	}
+
+}
@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.benchmarks;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import io.ploop.reflect.*;
+
+/**
+ * Benchmarks of the reflection type checks performed on each property value, compared with the equivalent {@link Class} methods as baselines.
+ * @author Garret Wilson
+ * @see Reflector
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(SECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ReflectorBenchmark {
+
+	//non-final fields so that the JIT cannot constant-fold the checks
+	private Class<?> primitiveClass = int.class;
+
+	private Class<?> boxedClass = Integer.class;
+
+	private Class<?> objectClass = Object.class;
+
+	private Class<?> stringClass = String.class;
+
+	private Object boxedValue = Integer.valueOf(42);
+
+	private Object stringValue = "test";
+
+	private TypeInfo<Integer> intTypeInfo = TypeInfo.forClass(int.class);
+
+	/** @return Whether a boxed class is assignable to a primitive class for reflection. */
+	@Benchmark
+	public boolean isReflectionAssignableFromPrimitive() {
+		return Reflector.isReflectionAssignableFrom(primitiveClass, boxedClass);
+	}
+
+	/** @return Whether a class is assignable to a superclass for reflection. */
+	@Benchmark
+	public boolean isReflectionAssignableFromObject() {
+		return Reflector.isReflectionAssignableFrom(objectClass, stringClass);
+	}
+
+	/** @return Whether a class is assignable to a superclass, using {@link Class#isAssignableFrom(Class)} as a baseline. */
+	@Benchmark
+	public boolean classIsAssignableFrom() {
+		return objectClass.isAssignableFrom(stringClass);
+	}
+
+	/** @return A boxed value cast to a primitive class for reflection. */
+	@Benchmark
+	public Object castReflectionPrimitive() {
+		return Reflector.castReflection(boxedValue, primitiveClass);
+	}
+
+	/** @return A boxed value cast to a primitive type for reflection, via type information. */
+	@Benchmark
+	public Integer typeInfoCastReflectionPrimitive() {
+		return intTypeInfo.castReflection(boxedValue);
+	}
+
+	/** @return A value cast to its class for reflection. */
+	@Benchmark
+	public Object castReflectionObject() {
+		return Reflector.castReflection(stringValue, stringClass);
+	}
+
+	/** @return A value cast to its class, using {@link Class#cast(Object)} as a baseline. */
+	@Benchmark
+	public Object classCast() {
+		return stringClass.cast(stringValue);
+	}
+
+}
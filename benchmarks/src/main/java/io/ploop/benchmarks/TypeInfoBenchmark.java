@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.benchmarks;
+
+import static java.util.concurrent.TimeUnit.*;
+
+import java.util.*;
+
+import org.openjdk.jmh.annotations.*;
+
+import com.fasterxml.classmate.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Benchmarks of looking up and comparing type information.
+ * <p>
+ * The <code>…Resolution</code> benchmarks measure the ClassMate type resolution that was performed on every type information lookup before type information
+ * was made canonical, and the <code>…ResolvedTypeEquals</code> benchmarks measure the resolved type comparison that type information equality previously
+ * delegated to. Run with <code>-prof gc</code> to compare allocation rates.
+ * </p>
+ * @author Garret Wilson
+ * @see TypeInfo
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TypeInfoBenchmark {
+
+	private ResolvedType listOfStringType;
+
+	private ResolvedType otherListOfStringType;
+
+	private TypeInfo<?> listOfStringTypeInfo;
+
+	private TypeInfo<?> otherListOfStringTypeInfo;
+
+	/** Resolves the types used by the benchmarks. */
+	@Setup
+	public void setup() {
+		listOfStringType = TypeInfo.TYPE_RESOLVER.resolve(List.class, String.class);
+		otherListOfStringType = TypeInfo.TYPE_RESOLVER.resolve(new GenericType<List<String>>() {});
+		listOfStringTypeInfo = TypeInfo.forResolvedType(listOfStringType);
+		otherListOfStringTypeInfo = TypeInfo.forResolvedType(otherListOfStringType);
+	}
+
+	/** @return Type information for a class, looked up from the registry. */
+	@Benchmark
+	public TypeInfo<String> classLookup() {
+		return TypeInfo.forClass(String.class);
+	}
+
+	/** @return A class resolved by ClassMate, as every class lookup did before caching. */
+	@Benchmark
+	public ResolvedType classResolution() {
+		return TypeInfo.TYPE_RESOLVER.resolve(String.class);
+	}
+
+	/** @return Type information for a parameterized type, looked up from the registry. */
+	@Benchmark
+	public TypeInfo<?> parameterizedTypeLookup() {
+		return TypeInfo.forResolvedType(listOfStringType);
+	}
+
+	/** @return Whether two equal parameterized type information instances are equal. */
+	@Benchmark
+	public boolean parameterizedTypeInfoEquals() {
+		return listOfStringTypeInfo.equals(otherListOfStringTypeInfo);
+	}
+
+	/** @return Whether two equal, separately resolved parameterized types are equal, as type information equality was previously determined. */
+	@Benchmark
+	public boolean parameterizedResolvedTypeEquals() {
+		return listOfStringType.equals(otherListOfStringType);
+	}
+
+}
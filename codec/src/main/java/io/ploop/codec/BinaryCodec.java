@@ -0,0 +1,260 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.codec;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Objects.*;
+import static io.ploop.reflect.Reflector.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.*;
+import java.util.*;
+
+import javax.annotation.*;
+
+import io.ploop.introspect.*;
+
+/**
+ * A compact binary codec for objects of a particular type, encoding the values of the introspected properties directly into a {@link ByteBuffer} without
+ * building any intermediate representation.
+ * <p>
+ * Each property that is both readable and writable is encoded in order of its ordinal. Property names are not encoded; instead the codec has a
+ * {@link #getSchemaFingerprint() schema fingerprint} calculated from the names and encoded types of the properties, which may be written once in a
+ * {@link #writeHeader(ByteBuffer) header} and verified by the reader before decoding any objects. Values of <code>int</code>, <code>long</code>,
+ * <code>double</code>, and <code>boolean</code> properties with primitive specializations are encoded without boxing.
+ * </p>
+ * <p>
+ * The supported property types are the primitive types and their wrappers, {@link String}, <code>byte[]</code>, enums, and nested beans. A nested bean must be
+ * a concrete public class outside the Java platform with a public no-argument constructor, and is itself encoded using its properties. Values of
+ * non-primitive types may be <code>null</code>. The object graph being encoded must not contain cycles.
+ * </p>
+ * <p>
+ * A codec is thread-safe. For streaming many objects using pooled buffers, see {@link BinaryEncoder} and {@link BinaryDecoder}.
+ * </p>
+ * @param <T> The type of object encoded.
+ * @author Garret Wilson
+ */
+public final class BinaryCodec<T> {
+
+	/** The first four bytes of a header: <code>PLBC</code>. */
+	private static final int MAGIC_NUMBER = 0x504C4243;
+
+	/** The length in bytes of a header. */
+	public static final int HEADER_LENGTH = Integer.BYTES + Long.BYTES;
+
+	/** The cached codecs, which are created without their schema having been verified. */
+	private static final ClassValue<BinaryCodec<?>> CODECS = new ClassValue<BinaryCodec<?>>() {
+		@Override
+		protected BinaryCodec<?> computeValue(final Class<?> type) {
+			return new BinaryCodec<>(type);
+		}
+	};
+
+	private final Introspection<T> introspection;
+
+	/** @return The introspection of the type of object encoded. */
+	public Introspection<T> getIntrospection() {
+		return introspection;
+	}
+
+	/** The codecs of the encoded properties, in order of property ordinal. */
+	private final PropertyCodec<T>[] propertyCodecs;
+
+	/** The constructor for creating new instances when decoding, or <code>null</code> if the type has no public no-argument constructor. */
+	@Nullable
+	private final MethodHandle constructor;
+
+	/** The lazily-calculated schema fingerprint, valid if {@link #schema} is not <code>null</code>. */
+	private long schemaFingerprint;
+
+	/** The lazily-created description of the schema. */
+	@Nullable
+	private volatile String schema = null;
+
+	/**
+	 * Constructor.
+	 * @param objectClass The type of object to encode.
+	 * @throws CodecException if the type of some property cannot be encoded.
+	 */
+	@SuppressWarnings("unchecked")
+	private BinaryCodec(@Nonnull final Class<T> objectClass) {
+		this.introspection = Introspection.of(objectClass);
+		final List<PropertyCodec<T>> propertyCodecs = new ArrayList<>(introspection.getPropertyCount());
+		for(final Property<T, ?> property : introspection.getProperties()) {
+			if(property.isReadable() && property.isWritable()) {
+				propertyCodecs.add(PropertyCodec.forProperty(property));
+			}
+		}
+		this.propertyCodecs = propertyCodecs.toArray(new PropertyCodec[propertyCodecs.size()]);
+		this.constructor = findPublicConstructor(objectClass).orElse(null);
+	}
+
+	/**
+	 * Returns the codec for objects of the given type, verifying that all the property types, including those of nested beans, can be encoded. The codec is
+	 * cached.
+	 * @param <T> The type of object to encode.
+	 * @param objectClass The type of object to encode.
+	 * @return The codec for the type.
+	 * @throws CodecException if the type of some property cannot be encoded.
+	 */
+	public static <T> BinaryCodec<T> forClass(@Nonnull final Class<T> objectClass) {
+		final BinaryCodec<T> codec = getCodec(objectClass);
+		codec.getSchemaFingerprint(); //describing the schema verifies the nested beans
+		return codec;
+	}
+
+	/**
+	 * Returns the cached codec for objects of the given type, without verifying the property types of nested beans.
+	 * @param <T> The type of object to encode.
+	 * @param objectClass The type of object to encode.
+	 * @return The codec for the type.
+	 * @throws CodecException if the type of some property cannot be encoded.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> BinaryCodec<T> getCodec(@Nonnull final Class<T> objectClass) {
+		return (BinaryCodec<T>)CODECS.get(requireNonNull(objectClass));
+	}
+
+	/**
+	 * Returns the fingerprint of the schema of the encoded form, which is a 64-bit FNV-1a hash of a description of the names and encoded types of the
+	 * encoded properties, including the properties of nested beans. The fingerprint changes if a property is added, removed, renamed, or changes type.
+	 * @return The schema fingerprint.
+	 */
+	public long getSchemaFingerprint() {
+		if(schema == null) {
+			final StringBuilder schemaBuilder = new StringBuilder();
+			final Set<Class<?>> beanClasses = new HashSet<>();
+			beanClasses.add(introspection.getObjectType().getErasedType());
+			describe(schemaBuilder, beanClasses);
+			final String schema = schemaBuilder.toString();
+			long fingerprint = 0xCBF29CE484222325L; //FNV-1a offset basis
+			for(final byte schemaByte : schema.getBytes(UTF_8)) {
+				fingerprint ^= schemaByte & 0xFF;
+				fingerprint *= 0x100000001B3L; //FNV-1a prime
+			}
+			this.schemaFingerprint = fingerprint;
+			this.schema = schema; //the volatile write publishes the fingerprint
+		}
+		return schemaFingerprint;
+	}
+
+	/**
+	 * Appends a description of the encoded properties to a schema description.
+	 * @param schema The schema description to which to append.
+	 * @param beanClasses The bean classes being described further up the hierarchy, to prevent recursion.
+	 */
+	void describe(@Nonnull final StringBuilder schema, @Nonnull final Set<Class<?>> beanClasses) {
+		for(final PropertyCodec<T> propertyCodec : propertyCodecs) {
+			propertyCodec.describe(schema, beanClasses);
+		}
+	}
+
+	/**
+	 * Writes a header identifying the schema, consisting of a magic number followed by the {@link #getSchemaFingerprint() schema fingerprint}.
+	 * @param buffer The buffer into which to write the header.
+	 * @throws BufferOverflowException if the buffer does not have room for the header.
+	 * @see #HEADER_LENGTH
+	 */
+	public void writeHeader(@Nonnull final ByteBuffer buffer) {
+		buffer.putInt(MAGIC_NUMBER).putLong(getSchemaFingerprint());
+	}
+
+	/**
+	 * Reads a header written by {@link #writeHeader(ByteBuffer)} and verifies that it identifies the schema of this codec.
+	 * @param buffer The buffer from which to read the header.
+	 * @throws BufferUnderflowException if the buffer does not contain the entire header.
+	 * @throws CodecException if the data is not a header, or if the header is for a different schema.
+	 */
+	public void readHeader(@Nonnull final ByteBuffer buffer) {
+		final int magicNumber = buffer.getInt();
+		if(magicNumber != MAGIC_NUMBER) {
+			throw new CodecException(String.format("Invalid header magic number 0x%08X.", magicNumber));
+		}
+		final long schemaFingerprint = buffer.getLong();
+		if(schemaFingerprint != getSchemaFingerprint()) {
+			throw new CodecException(String.format("Data schema fingerprint 0x%016X does not match fingerprint 0x%016X of %s.", schemaFingerprint,
+					getSchemaFingerprint(), introspection.getObjectType()));
+		}
+	}
+
+	/**
+	 * Encodes an object.
+	 * @param object The object to encode.
+	 * @param buffer The buffer into which to write the encoded object.
+	 * @throws BufferOverflowException if the buffer does not have room for the object, in which case the buffer position is undefined.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public void encode(@Nonnull final T object, @Nonnull final ByteBuffer buffer) throws IllegalAccessException, InvocationTargetException {
+		requireNonNull(object);
+		for(final PropertyCodec<T> propertyCodec : propertyCodecs) {
+			propertyCodec.encode(object, buffer);
+		}
+	}
+
+	/**
+	 * Decodes an object into an existing instance, setting its properties.
+	 * @param buffer The buffer from which to read the encoded object.
+	 * @param object The object the properties of which should be set.
+	 * @throws BufferUnderflowException if the buffer does not contain the entire object, in which case the buffer position is undefined and some properties may
+	 *           have been set.
+	 * @throws CodecException if the encoded data is invalid.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public void decode(@Nonnull final ByteBuffer buffer, @Nonnull final T object) throws IllegalAccessException, InvocationTargetException {
+		requireNonNull(object);
+		for(final PropertyCodec<T> propertyCodec : propertyCodecs) {
+			propertyCodec.decode(buffer, object);
+		}
+	}
+
+	/**
+	 * Decodes an object into a new instance created using the public no-argument constructor.
+	 * @param buffer The buffer from which to read the encoded object.
+	 * @return A new object with its properties set from the encoded data.
+	 * @throws UnsupportedOperationException if the type of object has no public no-argument constructor.
+	 * @throws BufferUnderflowException if the buffer does not contain the entire object, in which case the buffer position is undefined.
+	 * @throws CodecException if the encoded data is invalid.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method, including the constructor, throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public T decode(@Nonnull final ByteBuffer buffer) throws IllegalAccessException, InvocationTargetException {
+		final T object = newInstance();
+		decode(buffer, object);
+		return object;
+	}
+
+	/**
+	 * Creates a new instance of the type of object encoded.
+	 * @return A new instance.
+	 * @throws UnsupportedOperationException if the type of object has no public no-argument constructor.
+	 * @throws InvocationTargetException if the constructor throws an exception.
+	 */
+	@SuppressWarnings("unchecked")
+	private T newInstance() throws InvocationTargetException {
+		if(constructor == null) {
+			throw new UnsupportedOperationException(String.format("Type %s has no public no-argument constructor.", introspection.getObjectType()));
+		}
+		return (T)invokeConstructor(constructor);
+	}
+
+}
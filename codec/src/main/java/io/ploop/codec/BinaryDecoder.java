@@ -0,0 +1,278 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.codec;
+
+import static java.util.Objects.*;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.*;
+import java.nio.channels.ReadableByteChannel;
+
+import javax.annotation.*;
+
+/**
+ * Decodes a stream of objects written by a {@link BinaryEncoder} from a channel using a buffer acquired from a {@link BufferPool}. The header of the stream is
+ * verified against the schema of the codec before the first object is decoded.
+ * <p>
+ * Data is read from the channel into the buffer as needed. Using the length preceding each object, the entire object is read into the buffer before it is
+ * decoded directly from the buffer, so that each object is decoded only once however little data each read from the channel provides. An object too large
+ * for the buffer is read into a larger buffer, but an object longer than the {@link #getMaxObjectLength() maximum object length} is rejected without
+ * allocating anything, so that a corrupt or malicious length cannot exhaust memory. The buffer is returned to the pool when the decoder is closed. A decoder
+ * is not thread-safe.
+ * </p>
+ * @param <T> The type of object decoded.
+ * @author Garret Wilson
+ */
+public class BinaryDecoder<T> implements Closeable {
+
+	/** The default maximum length of an encoded object in bytes. */
+	public static final int DEFAULT_MAX_OBJECT_LENGTH = 16 * 1024 * 1024;
+
+	private final BinaryCodec<T> codec;
+
+	/** @return The codec used to decode objects. */
+	public BinaryCodec<T> getCodec() {
+		return codec;
+	}
+
+	private final ReadableByteChannel channel;
+
+	private final BufferPool bufferPool;
+
+	private final int maxObjectLength;
+
+	/** @return The maximum length of an encoded object in bytes; a longer object is considered invalid. */
+	public int getMaxObjectLength() {
+		return maxObjectLength;
+	}
+
+	/** The buffer, ready for reading the data not yet decoded, or <code>null</code> if the decoder has been closed. */
+	@Nullable
+	private ByteBuffer buffer;
+
+	private boolean headerRead = false;
+
+	/** Whether the end of the channel has been reached. */
+	private boolean endOfChannel = false;
+
+	/**
+	 * Constructor using the default buffer pool.
+	 * @param codec The codec for decoding objects.
+	 * @param channel The channel from which to read the encoded objects.
+	 * @see BufferPool#DEFAULT
+	 */
+	public BinaryDecoder(@Nonnull final BinaryCodec<T> codec, @Nonnull final ReadableByteChannel channel) {
+		this(codec, channel, BufferPool.DEFAULT);
+	}
+
+	/**
+	 * Constructor using the default maximum object length.
+	 * @param codec The codec for decoding objects.
+	 * @param channel The channel from which to read the encoded objects.
+	 * @param bufferPool The pool from which to acquire a buffer.
+	 * @see #DEFAULT_MAX_OBJECT_LENGTH
+	 */
+	public BinaryDecoder(@Nonnull final BinaryCodec<T> codec, @Nonnull final ReadableByteChannel channel, @Nonnull final BufferPool bufferPool) {
+		this(codec, channel, bufferPool, DEFAULT_MAX_OBJECT_LENGTH);
+	}
+
+	/**
+	 * Constructor.
+	 * @param codec The codec for decoding objects.
+	 * @param channel The channel from which to read the encoded objects.
+	 * @param bufferPool The pool from which to acquire a buffer.
+	 * @param maxObjectLength The maximum length of an encoded object in bytes.
+	 * @throws IllegalArgumentException if the maximum object length is negative.
+	 */
+	public BinaryDecoder(@Nonnull final BinaryCodec<T> codec, @Nonnull final ReadableByteChannel channel, @Nonnull final BufferPool bufferPool,
+			final int maxObjectLength) {
+		if(maxObjectLength < 0) {
+			throw new IllegalArgumentException(String.format("Invalid maximum object length %d.", maxObjectLength));
+		}
+		this.codec = requireNonNull(codec);
+		this.channel = requireNonNull(channel);
+		this.bufferPool = requireNonNull(bufferPool);
+		this.maxObjectLength = maxObjectLength;
+		this.buffer = bufferPool.acquire(BinaryCodec.HEADER_LENGTH).flip(); //start with no data to read
+	}
+
+	/**
+	 * Decodes the next object into a new instance created using the public no-argument constructor.
+	 * @return The decoded object, or <code>null</code> if the end of the stream has been reached.
+	 * @throws UnsupportedOperationException if the type of object has no public no-argument constructor.
+	 * @throws IOException if there was an error reading from the channel, if the stream ends within an object, or if the decoder has been closed.
+	 * @throws CodecException if the stream is not for the schema of the codec, or the encoded data is invalid.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method, including the constructor, throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public @Nullable T read() throws IOException, IllegalAccessException, InvocationTargetException {
+		if(!hasNext()) {
+			return null;
+		}
+		final int length = bufferObject();
+		final int limit = buffer.limit();
+		buffer.limit(buffer.position() + length);
+		try {
+			final T object = codec.decode(buffer);
+			checkObjectDecoded();
+			return object;
+		} catch(final BufferUnderflowException bufferUnderflowException) {
+			throw new CodecException("Encoded object is longer than its recorded length.", bufferUnderflowException);
+		} finally {
+			buffer.limit(limit);
+		}
+	}
+
+	/**
+	 * Decodes the next object into an existing instance, setting its properties. This allows a single instance to be reused for decoding many objects.
+	 * @param object The object the properties of which should be set.
+	 * @return <code>true</code> if an object was decoded, or <code>false</code> if the end of the stream has been reached.
+	 * @throws IOException if there was an error reading from the channel, if the stream ends within an object, or if the decoder has been closed.
+	 * @throws CodecException if the stream is not for the schema of the codec, or the encoded data is invalid.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public boolean read(@Nonnull final T object) throws IOException, IllegalAccessException, InvocationTargetException {
+		requireNonNull(object);
+		if(!hasNext()) {
+			return false;
+		}
+		final int length = bufferObject();
+		final int limit = buffer.limit();
+		buffer.limit(buffer.position() + length);
+		try {
+			codec.decode(buffer, object);
+			checkObjectDecoded();
+			return true;
+		} catch(final BufferUnderflowException bufferUnderflowException) {
+			throw new CodecException("Encoded object is longer than its recorded length.", bufferUnderflowException);
+		} finally {
+			buffer.limit(limit);
+		}
+	}
+
+	/**
+	 * Reads the length of the next object and ensures that the entire object is in the buffer, reading more data from the channel and growing the buffer as
+	 * needed. The buffer is left positioned at the start of the object.
+	 * @return The length of the object in bytes.
+	 * @throws IOException if there was an error reading from the channel, or if the stream ends within the object.
+	 * @throws CodecException if the recorded length is invalid or exceeds the maximum object length.
+	 */
+	private int bufferObject() throws IOException {
+		while(buffer.remaining() < Integer.BYTES) {
+			fill();
+		}
+		final int length = buffer.getInt();
+		if(length < 0) {
+			throw new CodecException(String.format("Invalid encoded object length %d.", length));
+		}
+		if(length > getMaxObjectLength()) {
+			throw new CodecException(String.format("Encoded object length %d exceeds the maximum of %d bytes.", length, getMaxObjectLength()));
+		}
+		if(length > buffer.capacity()) { //grow the buffer at once rather than repeatedly
+			final ByteBuffer largerBuffer = ByteBuffer.allocateDirect(length);
+			largerBuffer.put(buffer).flip();
+			bufferPool.release(buffer);
+			buffer = largerBuffer;
+		}
+		while(buffer.remaining() < length) {
+			fill();
+		}
+		return length;
+	}
+
+	/**
+	 * Verifies that the object just decoded used all the data of its recorded length, which is the current limit of the buffer.
+	 * @throws CodecException if data remains.
+	 */
+	private void checkObjectDecoded() {
+		if(buffer.hasRemaining()) {
+			throw new CodecException(String.format("Encoded object is %d bytes shorter than its recorded length.", buffer.remaining()));
+		}
+	}
+
+	/**
+	 * Determines whether another object is available, reading and verifying the header first if needed.
+	 * @return <code>true</code> if there is data for another object.
+	 * @throws IOException if there was an error reading from the channel, if the stream ends within the header, or if the decoder has been closed.
+	 * @throws CodecException if the stream is not for the schema of the codec.
+	 */
+	public boolean hasNext() throws IOException {
+		if(buffer == null) {
+			throw new IOException("Decoder is closed.");
+		}
+		if(!headerRead) {
+			while(buffer.remaining() < BinaryCodec.HEADER_LENGTH) {
+				fill();
+			}
+			codec.readHeader(buffer);
+			headerRead = true;
+		}
+		while(!buffer.hasRemaining()) {
+			if(endOfChannel) {
+				return false;
+			}
+			fill();
+		}
+		return true;
+	}
+
+	/**
+	 * Reads more data from the channel into the buffer, keeping the data not yet decoded and growing the buffer if it is full.
+	 * @throws EOFException if the end of the channel has been reached.
+	 * @throws IOException if there was an error reading from the channel.
+	 */
+	private void fill() throws IOException {
+		if(endOfChannel) {
+			throw new EOFException("Unexpected end of encoded data.");
+		}
+		buffer.compact();
+		if(!buffer.hasRemaining()) { //the buffer is full of undecoded data, so use a larger buffer
+			final ByteBuffer largerBuffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+			largerBuffer.put(buffer.flip());
+			bufferPool.release(buffer);
+			buffer = largerBuffer;
+		}
+		try {
+			if(channel.read(buffer) < 0) {
+				endOfChannel = true;
+			}
+		} finally {
+			buffer.flip();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation returns the buffer to the pool and closes the channel.
+	 * </p>
+	 */
+	@Override
+	public void close() throws IOException {
+		if(buffer == null) {
+			return;
+		}
+		bufferPool.release(buffer);
+		buffer = null;
+		channel.close();
+	}
+
+}
@@ -0,0 +1,167 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.codec;
+
+import static java.util.Objects.*;
+
+import java.io.*;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.*;
+import java.nio.channels.WritableByteChannel;
+
+import javax.annotation.*;
+
+/**
+ * Encodes a stream of objects to a channel using a buffer acquired from a {@link BufferPool}. The stream starts with a header identifying the schema, followed
+ * by the encoded objects, each preceded by its length in bytes as a four-byte integer, so that it may be read by a {@link BinaryDecoder} using a codec with
+ * the same schema.
+ * <p>
+ * Objects are encoded directly into the buffer, which is written to the channel when it has no room for the next object. An object too large for the buffer
+ * is encoded into a larger buffer. The buffer is returned to the pool when the encoder is closed. An encoder is not thread-safe.
+ * </p>
+ * @param <T> The type of object encoded.
+ * @author Garret Wilson
+ */
+public class BinaryEncoder<T> implements Flushable, Closeable {
+
+	private final BinaryCodec<T> codec;
+
+	/** @return The codec used to encode objects. */
+	public BinaryCodec<T> getCodec() {
+		return codec;
+	}
+
+	private final WritableByteChannel channel;
+
+	private final BufferPool bufferPool;
+
+	/** The buffer into which objects are encoded, or <code>null</code> if the encoder has been closed. */
+	@Nullable
+	private ByteBuffer buffer;
+
+	private boolean headerWritten = false;
+
+	/**
+	 * Constructor using the default buffer pool.
+	 * @param codec The codec for encoding objects.
+	 * @param channel The channel to which to write the encoded objects.
+	 * @see BufferPool#DEFAULT
+	 */
+	public BinaryEncoder(@Nonnull final BinaryCodec<T> codec, @Nonnull final WritableByteChannel channel) {
+		this(codec, channel, BufferPool.DEFAULT);
+	}
+
+	/**
+	 * Constructor.
+	 * @param codec The codec for encoding objects.
+	 * @param channel The channel to which to write the encoded objects.
+	 * @param bufferPool The pool from which to acquire a buffer.
+	 */
+	public BinaryEncoder(@Nonnull final BinaryCodec<T> codec, @Nonnull final WritableByteChannel channel, @Nonnull final BufferPool bufferPool) {
+		this.codec = requireNonNull(codec);
+		this.channel = requireNonNull(channel);
+		this.bufferPool = requireNonNull(bufferPool);
+		this.buffer = bufferPool.acquire(BinaryCodec.HEADER_LENGTH);
+	}
+
+	/** @return The buffer, which is available until the encoder is closed. */
+	private ByteBuffer getBuffer() throws IOException {
+		if(buffer == null) {
+			throw new IOException("Encoder is closed.");
+		}
+		return buffer;
+	}
+
+	/**
+	 * Encodes an object, writing the header first if this is the first object. The object may be buffered until the buffer is full or the encoder is flushed.
+	 * @param object The object to encode.
+	 * @throws IOException if there was an error writing to the channel, or if the encoder has been closed.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public void write(@Nonnull final T object) throws IOException, IllegalAccessException, InvocationTargetException {
+		requireNonNull(object);
+		ByteBuffer buffer = getBuffer();
+		if(!headerWritten) {
+			codec.writeHeader(buffer);
+			headerWritten = true;
+		}
+		while(true) {
+			final int objectPosition = buffer.position();
+			if(buffer.remaining() >= Integer.BYTES) {
+				buffer.position(objectPosition + Integer.BYTES); //leave room for the length
+				try {
+					codec.encode(object, buffer);
+					buffer.putInt(objectPosition, buffer.position() - objectPosition - Integer.BYTES);
+					return;
+				} catch(final BufferOverflowException bufferOverflowException) {
+					buffer.position(objectPosition); //discard the partially encoded object
+				}
+			}
+			if(objectPosition > 0) { //make room by writing the objects already encoded
+				flush();
+			} else { //the object does not fit even in an empty buffer
+				final ByteBuffer largerBuffer = ByteBuffer.allocateDirect(buffer.capacity() * 2);
+				bufferPool.release(buffer);
+				this.buffer = buffer = largerBuffer;
+			}
+		}
+	}
+
+	/**
+	 * Writes all buffered data to the channel.
+	 * @throws IOException if there was an error writing to the channel, or if the encoder has been closed.
+	 */
+	@Override
+	public void flush() throws IOException {
+		final ByteBuffer buffer = getBuffer();
+		buffer.flip();
+		try {
+			while(buffer.hasRemaining()) {
+				channel.write(buffer);
+			}
+		} finally {
+			buffer.compact();
+		}
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation writes the header if no object has been written, flushes the buffered data, returns the buffer to the pool, and closes the channel.
+	 * </p>
+	 */
+	@Override
+	public void close() throws IOException {
+		if(buffer == null) {
+			return;
+		}
+		try {
+			if(!headerWritten) { //an empty stream still identifies its schema
+				codec.writeHeader(buffer);
+				headerWritten = true;
+			}
+			flush();
+		} finally {
+			bufferPool.release(buffer);
+			buffer = null;
+			channel.close();
+		}
+	}
+
+}
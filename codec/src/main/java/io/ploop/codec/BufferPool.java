@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.codec;
+
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.annotation.*;
+
+/**
+ * A thread-safe pool of direct byte buffers of a fixed capacity, allowing buffers to be reused across encoding and decoding streams rather than allocated for
+ * each one.
+ * @author Garret Wilson
+ */
+public final class BufferPool {
+
+	/** The default capacity of pooled buffers. */
+	public static final int DEFAULT_BUFFER_CAPACITY = 64 * 1024;
+
+	/** The default maximum number of idle buffers retained. */
+	public static final int DEFAULT_MAX_IDLE_BUFFER_COUNT = 16;
+
+	/** A shared pool with the default buffer capacity and maximum number of idle buffers. */
+	public static final BufferPool DEFAULT = new BufferPool(DEFAULT_BUFFER_CAPACITY, DEFAULT_MAX_IDLE_BUFFER_COUNT);
+
+	private final int bufferCapacity;
+
+	/** @return The capacity of pooled buffers. */
+	public int getBufferCapacity() {
+		return bufferCapacity;
+	}
+
+	private final int maxIdleBufferCount;
+
+	/** @return The maximum number of idle buffers retained. */
+	public int getMaxIdleBufferCount() {
+		return maxIdleBufferCount;
+	}
+
+	private final Queue<ByteBuffer> idleBuffers = new ConcurrentLinkedQueue<>();
+
+	/** The number of idle buffers, which may briefly differ from the size of the queue while buffers are being acquired and released. */
+	private final AtomicInteger idleBufferCount = new AtomicInteger(0);
+
+	/**
+	 * Constructor.
+	 * @param bufferCapacity The capacity of pooled buffers.
+	 * @param maxIdleBufferCount The maximum number of idle buffers retained.
+	 * @throws IllegalArgumentException if the buffer capacity is not positive or the maximum number of idle buffers is negative.
+	 */
+	public BufferPool(final int bufferCapacity, final int maxIdleBufferCount) {
+		if(bufferCapacity <= 0) {
+			throw new IllegalArgumentException(String.format("Invalid buffer capacity %d.", bufferCapacity));
+		}
+		if(maxIdleBufferCount < 0) {
+			throw new IllegalArgumentException(String.format("Invalid maximum idle buffer count %d.", maxIdleBufferCount));
+		}
+		this.bufferCapacity = bufferCapacity;
+		this.maxIdleBufferCount = maxIdleBufferCount;
+	}
+
+	/**
+	 * Acquires a cleared buffer of the pool capacity, reusing an idle buffer if one is available.
+	 * @return A cleared buffer.
+	 */
+	public ByteBuffer acquire() {
+		final ByteBuffer buffer = idleBuffers.poll();
+		if(buffer == null) {
+			return ByteBuffer.allocateDirect(bufferCapacity);
+		}
+		idleBufferCount.decrementAndGet();
+		return buffer.clear();
+	}
+
+	/**
+	 * Acquires a cleared buffer of at least the given capacity. If the capacity is greater than the pool capacity, a new buffer is allocated which will not be
+	 * retained when released.
+	 * @param minCapacity The minimum capacity of the buffer.
+	 * @return A cleared buffer of at least the given capacity.
+	 */
+	public ByteBuffer acquire(final int minCapacity) {
+		return minCapacity <= bufferCapacity ? acquire() : ByteBuffer.allocateDirect(minCapacity);
+	}
+
+	/**
+	 * Releases a buffer that is no longer used, so that it may be reused. The buffer is retained only if it has the pool capacity and the maximum number of idle
+	 * buffers has not been reached. The caller must not use the buffer after releasing it.
+	 * @param buffer The buffer to release.
+	 */
+	public void release(@Nonnull final ByteBuffer buffer) {
+		if(buffer.capacity() != bufferCapacity || !buffer.isDirect() || buffer.isReadOnly()) {
+			return;
+		}
+		if(idleBufferCount.incrementAndGet() > maxIdleBufferCount) {
+			idleBufferCount.decrementAndGet();
+			return;
+		}
+		idleBuffers.offer(buffer);
+	}
+
+}
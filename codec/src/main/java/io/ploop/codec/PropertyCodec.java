@@ -0,0 +1,276 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.codec;
+
+import static java.util.Objects.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.nio.*;
+import java.util.Set;
+
+import javax.annotation.*;
+
+import io.ploop.introspect.*;
+
+/**
+ * Strategy for encoding the value of a single property of an object directly into a buffer, and decoding it into the property of another object.
+ * @param <T> The type of object the property is for.
+ * @author Garret Wilson
+ */
+abstract class PropertyCodec<T> {
+
+	private final Property<T, ?> property;
+
+	/** @return The property encoded. */
+	public Property<T, ?> getProperty() {
+		return property;
+	}
+
+	private final ValueCodec<?> valueCodec;
+
+	/** @return The codec describing the encoded form of the property values. */
+	public ValueCodec<?> getValueCodec() {
+		return valueCodec;
+	}
+
+	/**
+	 * Constructor.
+	 * @param property The property encoded.
+	 * @param valueCodec The codec describing the encoded form of the property values.
+	 */
+	PropertyCodec(@Nonnull final Property<T, ?> property, @Nonnull final ValueCodec<?> valueCodec) {
+		this.property = requireNonNull(property);
+		this.valueCodec = requireNonNull(valueCodec);
+	}
+
+	/**
+	 * Encodes the value of the property of an object.
+	 * @param object The object the property value of which should be encoded.
+	 * @param buffer The buffer into which to write the value.
+	 * @throws BufferOverflowException if the buffer does not have room for the value.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 */
+	public abstract void encode(@Nonnull T object, @Nonnull ByteBuffer buffer) throws IllegalAccessException, InvocationTargetException;
+
+	/**
+	 * Decodes a value and sets it as the value of the property of an object.
+	 * @param buffer The buffer from which to read the value.
+	 * @param object The object the property value of which should be set.
+	 * @throws BufferUnderflowException if the buffer does not contain the entire value.
+	 * @throws CodecException if the encoded value is invalid.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 */
+	public abstract void decode(@Nonnull ByteBuffer buffer, @Nonnull T object) throws IllegalAccessException, InvocationTargetException;
+
+	/**
+	 * Appends a description of the property and its encoded form to a schema description.
+	 * @param schema The schema description to which to append.
+	 * @param beanClasses The bean classes being described further up the hierarchy, to prevent recursion.
+	 */
+	public void describe(@Nonnull final StringBuilder schema, @Nonnull final Set<Class<?>> beanClasses) {
+		schema.append(getProperty().getName()).append(':');
+		getValueCodec().describe(schema, beanClasses);
+		schema.append(';');
+	}
+
+	/**
+	 * Returns a codec for a property. For <code>int</code>, <code>long</code>, <code>double</code>, and <code>boolean</code> properties with primitive
+	 * specializations such as {@link IntProperty}, the codec reads and writes the values without boxing.
+	 * @param <T> The type of object the property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param property The property to encode, which must be readable and writable.
+	 * @return A codec for the property.
+	 * @throws CodecException if values of the property type cannot be encoded.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, V> PropertyCodec<T> forProperty(@Nonnull final Property<T, V> property) {
+		final ValueCodec<V> valueCodec;
+		try {
+			valueCodec = ValueCodec.forClass(property.getValueType().getErasedType());
+		} catch(final CodecException codecException) {
+			throw new CodecException(String.format("Property %s cannot be encoded: %s", property.getName(), codecException.getMessage()), codecException);
+		}
+		if(property instanceof IntProperty) {
+			return new OfInt<>((IntProperty<T>)property);
+		} else if(property instanceof LongProperty) {
+			return new OfLong<>((LongProperty<T>)property);
+		} else if(property instanceof DoubleProperty) {
+			return new OfDouble<>((DoubleProperty<T>)property);
+		} else if(property instanceof BooleanProperty) {
+			return new OfBoolean<>((BooleanProperty<T>)property);
+		}
+		return new OfValue<>(property, valueCodec);
+	}
+
+	/**
+	 * A codec for a property of any type, delegating to a value codec.
+	 * @param <T> The type of object the property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @author Garret Wilson
+	 */
+	static final class OfValue<T, V> extends PropertyCodec<T> {
+
+		private final Property<T, V> valueProperty;
+
+		private final ValueCodec<V> valueValueCodec;
+
+		/**
+		 * Constructor.
+		 * @param property The property encoded.
+		 * @param valueCodec The codec for encoding the property values.
+		 */
+		OfValue(@Nonnull final Property<T, V> property, @Nonnull final ValueCodec<V> valueCodec) {
+			super(property, valueCodec);
+			this.valueProperty = property;
+			this.valueValueCodec = valueCodec;
+		}
+
+		@Override
+		public void encode(final T object, final ByteBuffer buffer) throws IllegalAccessException, InvocationTargetException {
+			valueValueCodec.encode(buffer, valueProperty.getValue(object));
+		}
+
+		@Override
+		public void decode(final ByteBuffer buffer, final T object) throws IllegalAccessException, InvocationTargetException {
+			valueProperty.setValue(object, valueValueCodec.decode(buffer));
+		}
+
+	}
+
+	/**
+	 * A codec for an <code>int</code> property, which encodes values without boxing.
+	 * @param <T> The type of object the property is for.
+	 * @author Garret Wilson
+	 */
+	static final class OfInt<T> extends PropertyCodec<T> {
+
+		private final IntProperty<T> intProperty;
+
+		/**
+		 * Constructor.
+		 * @param property The property encoded.
+		 */
+		OfInt(@Nonnull final IntProperty<T> property) {
+			super(property, ValueCodec.INT);
+			this.intProperty = property;
+		}
+
+		@Override
+		public void encode(final T object, final ByteBuffer buffer) throws IllegalAccessException, InvocationTargetException {
+			buffer.putInt(intProperty.getInt(object));
+		}
+
+		@Override
+		public void decode(final ByteBuffer buffer, final T object) throws IllegalAccessException, InvocationTargetException {
+			intProperty.setInt(object, buffer.getInt());
+		}
+
+	}
+
+	/**
+	 * A codec for a <code>long</code> property, which encodes values without boxing.
+	 * @param <T> The type of object the property is for.
+	 * @author Garret Wilson
+	 */
+	static final class OfLong<T> extends PropertyCodec<T> {
+
+		private final LongProperty<T> longProperty;
+
+		/**
+		 * Constructor.
+		 * @param property The property encoded.
+		 */
+		OfLong(@Nonnull final LongProperty<T> property) {
+			super(property, ValueCodec.LONG);
+			this.longProperty = property;
+		}
+
+		@Override
+		public void encode(final T object, final ByteBuffer buffer) throws IllegalAccessException, InvocationTargetException {
+			buffer.putLong(longProperty.getLong(object));
+		}
+
+		@Override
+		public void decode(final ByteBuffer buffer, final T object) throws IllegalAccessException, InvocationTargetException {
+			longProperty.setLong(object, buffer.getLong());
+		}
+
+	}
+
+	/**
+	 * A codec for a <code>double</code> property, which encodes values without boxing.
+	 * @param <T> The type of object the property is for.
+	 * @author Garret Wilson
+	 */
+	static final class OfDouble<T> extends PropertyCodec<T> {
+
+		private final DoubleProperty<T> doubleProperty;
+
+		/**
+		 * Constructor.
+		 * @param property The property encoded.
+		 */
+		OfDouble(@Nonnull final DoubleProperty<T> property) {
+			super(property, ValueCodec.DOUBLE);
+			this.doubleProperty = property;
+		}
+
+		@Override
+		public void encode(final T object, final ByteBuffer buffer) throws IllegalAccessException, InvocationTargetException {
+			buffer.putDouble(doubleProperty.getDouble(object));
+		}
+
+		@Override
+		public void decode(final ByteBuffer buffer, final T object) throws IllegalAccessException, InvocationTargetException {
+			doubleProperty.setDouble(object, buffer.getDouble());
+		}
+
+	}
+
+	/**
+	 * A codec for a <code>boolean</code> property, which encodes values without boxing.
+	 * @param <T> The type of object the property is for.
+	 * @author Garret Wilson
+	 */
+	static final class OfBoolean<T> extends PropertyCodec<T> {
+
+		private final BooleanProperty<T> booleanProperty;
+
+		/**
+		 * Constructor.
+		 * @param property The property encoded.
+		 */
+		OfBoolean(@Nonnull final BooleanProperty<T> property) {
+			super(property, ValueCodec.BOOLEAN);
+			this.booleanProperty = property;
+		}
+
+		@Override
+		public void encode(final T object, final ByteBuffer buffer) throws IllegalAccessException, InvocationTargetException {
+			buffer.put(booleanProperty.getBoolean(object) ? (byte)1 : (byte)0);
+		}
+
+		@Override
+		public void decode(final ByteBuffer buffer, final T object) throws IllegalAccessException, InvocationTargetException {
+			booleanProperty.setBoolean(object, buffer.get() != 0);
+		}
+
+	}
+
+}
@@ -0,0 +1,488 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.codec;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Objects.*;
+import static io.ploop.reflect.Reflector.*;
+
+import java.lang.reflect.*;
+import java.nio.*;
+import java.util.*;
+
+import javax.annotation.*;
+
+/**
+ * Strategy for encoding values of a single type directly into a buffer and decoding them again.
+ * <p>
+ * A value is always decoded from a buffer already containing the entire encoded object, as each object is preceded by its length and is read completely by
+ * {@link BinaryDecoder} before being decoded. Decoding therefore throws a {@link BufferUnderflowException} only if the encoded data is inconsistent with its
+ * recorded length, leaving the buffer position undefined; the decoder reports this as invalid data.
+ * </p>
+ * @param <V> The type of value encoded.
+ * @author Garret Wilson
+ */
+abstract class ValueCodec<V> {
+
+	/**
+	 * Encodes a value.
+	 * @param buffer The buffer into which to write the value.
+	 * @param value The value to encode.
+	 * @throws BufferOverflowException if the buffer does not have room for the value.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 */
+	public abstract void encode(@Nonnull ByteBuffer buffer, V value) throws IllegalAccessException, InvocationTargetException;
+
+	/**
+	 * Decodes a value.
+	 * @param buffer The buffer from which to read the value.
+	 * @return The decoded value.
+	 * @throws BufferUnderflowException if the buffer does not contain the entire value.
+	 * @throws CodecException if the encoded value is invalid.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 */
+	public abstract V decode(@Nonnull ByteBuffer buffer) throws IllegalAccessException, InvocationTargetException;
+
+	/**
+	 * Appends a description of the encoded form to a schema description, from which the schema fingerprint is calculated.
+	 * @param schema The schema description to which to append.
+	 * @param beanClasses The bean classes being described further up the hierarchy, to prevent recursion.
+	 */
+	public abstract void describe(@Nonnull StringBuilder schema, @Nonnull Set<Class<?>> beanClasses);
+
+	/**
+	 * Returns a codec for values of the given type. Primitive values are written in big-endian fixed-width form; strings and byte arrays are written as a
+	 * variable-length count followed by the bytes; enums are written by ordinal; and other classes are encoded as nested beans using their properties. A codec
+	 * for a non-primitive type writes a marker before each value indicating whether it is <code>null</code>.
+	 * @param <V> The type of value to encode.
+	 * @param valueClass The erased type of value to encode.
+	 * @return A codec for values of the type.
+	 * @throws CodecException if values of the type cannot be encoded.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V> ValueCodec<V> forClass(@Nonnull final Class<V> valueClass) {
+		final ValueCodec<?> codec;
+		if(valueClass == boolean.class || valueClass == Boolean.class) {
+			codec = BOOLEAN;
+		} else if(valueClass == byte.class || valueClass == Byte.class) {
+			codec = BYTE;
+		} else if(valueClass == short.class || valueClass == Short.class) {
+			codec = SHORT;
+		} else if(valueClass == char.class || valueClass == Character.class) {
+			codec = CHAR;
+		} else if(valueClass == int.class || valueClass == Integer.class) {
+			codec = INT;
+		} else if(valueClass == long.class || valueClass == Long.class) {
+			codec = LONG;
+		} else if(valueClass == float.class || valueClass == Float.class) {
+			codec = FLOAT;
+		} else if(valueClass == double.class || valueClass == Double.class) {
+			codec = DOUBLE;
+		} else if(valueClass == String.class) {
+			codec = STRING;
+		} else if(valueClass == byte[].class) {
+			codec = BYTES;
+		} else if(valueClass.isEnum()) {
+			codec = new OfEnum<>(valueClass.asSubclass(Enum.class));
+		} else {
+			codec = new OfBean<>(valueClass);
+		}
+		return valueClass.isPrimitive() ? (ValueCodec<V>)codec : new OfNullable<>((ValueCodec<V>)codec);
+	}
+
+	/** Codec for booleans, written as a single byte. */
+	public static final ValueCodec<Boolean> BOOLEAN = new Fixed<>("boolean") {
+		@Override
+		public void encode(final ByteBuffer buffer, final Boolean value) {
+			buffer.put(value ? (byte)1 : (byte)0);
+		}
+
+		@Override
+		public Boolean decode(final ByteBuffer buffer) {
+			return buffer.get() != 0;
+		}
+	};
+
+	/** Codec for bytes. */
+	public static final ValueCodec<Byte> BYTE = new Fixed<>("byte") {
+		@Override
+		public void encode(final ByteBuffer buffer, final Byte value) {
+			buffer.put(value);
+		}
+
+		@Override
+		public Byte decode(final ByteBuffer buffer) {
+			return buffer.get();
+		}
+	};
+
+	/** Codec for shorts. */
+	public static final ValueCodec<Short> SHORT = new Fixed<>("short") {
+		@Override
+		public void encode(final ByteBuffer buffer, final Short value) {
+			buffer.putShort(value);
+		}
+
+		@Override
+		public Short decode(final ByteBuffer buffer) {
+			return buffer.getShort();
+		}
+	};
+
+	/** Codec for characters. */
+	public static final ValueCodec<Character> CHAR = new Fixed<>("char") {
+		@Override
+		public void encode(final ByteBuffer buffer, final Character value) {
+			buffer.putChar(value);
+		}
+
+		@Override
+		public Character decode(final ByteBuffer buffer) {
+			return buffer.getChar();
+		}
+	};
+
+	/** Codec for integers. */
+	public static final ValueCodec<Integer> INT = new Fixed<>("int") {
+		@Override
+		public void encode(final ByteBuffer buffer, final Integer value) {
+			buffer.putInt(value);
+		}
+
+		@Override
+		public Integer decode(final ByteBuffer buffer) {
+			return buffer.getInt();
+		}
+	};
+
+	/** Codec for long integers. */
+	public static final ValueCodec<Long> LONG = new Fixed<>("long") {
+		@Override
+		public void encode(final ByteBuffer buffer, final Long value) {
+			buffer.putLong(value);
+		}
+
+		@Override
+		public Long decode(final ByteBuffer buffer) {
+			return buffer.getLong();
+		}
+	};
+
+	/** Codec for floating point values. */
+	public static final ValueCodec<Float> FLOAT = new Fixed<>("float") {
+		@Override
+		public void encode(final ByteBuffer buffer, final Float value) {
+			buffer.putFloat(value);
+		}
+
+		@Override
+		public Float decode(final ByteBuffer buffer) {
+			return buffer.getFloat();
+		}
+	};
+
+	/** Codec for double-precision floating point values. */
+	public static final ValueCodec<Double> DOUBLE = new Fixed<>("double") {
+		@Override
+		public void encode(final ByteBuffer buffer, final Double value) {
+			buffer.putDouble(value);
+		}
+
+		@Override
+		public Double decode(final ByteBuffer buffer) {
+			return buffer.getDouble();
+		}
+	};
+
+	/** Codec for strings, written as the length of the UTF-8 encoding followed by the UTF-8 bytes. */
+	public static final ValueCodec<String> STRING = new Fixed<>("string") {
+		@Override
+		public void encode(final ByteBuffer buffer, final String value) {
+			final byte[] bytes = value.getBytes(UTF_8);
+			putCount(buffer, bytes.length);
+			buffer.put(bytes);
+		}
+
+		@Override
+		public String decode(final ByteBuffer buffer) {
+			final int length = getCount(buffer);
+			if(buffer.hasArray()) { //decode directly from the backing array
+				final String value = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, UTF_8);
+				buffer.position(buffer.position() + length);
+				return value;
+			}
+			final byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			return new String(bytes, UTF_8);
+		}
+	};
+
+	/** Codec for byte arrays, written as the length followed by the bytes. */
+	public static final ValueCodec<byte[]> BYTES = new Fixed<>("bytes") {
+		@Override
+		public void encode(final ByteBuffer buffer, final byte[] value) {
+			putCount(buffer, value.length);
+			buffer.put(value);
+		}
+
+		@Override
+		public byte[] decode(final ByteBuffer buffer) {
+			final byte[] bytes = new byte[getCount(buffer)];
+			buffer.get(bytes);
+			return bytes;
+		}
+	};
+
+	/**
+	 * Writes a non-negative value, such as a count or an ordinal, as an unsigned variable-length integer of seven bits per byte, least significant group first.
+	 * @param buffer The buffer into which to write the value.
+	 * @param value The value to write.
+	 * @throws BufferOverflowException if the buffer does not have room for the value.
+	 */
+	static void putVarInt(@Nonnull final ByteBuffer buffer, int value) {
+		while((value & ~0x7F) != 0) {
+			buffer.put((byte)((value & 0x7F) | 0x80));
+			value >>>= 7;
+		}
+		buffer.put((byte)value);
+	}
+
+	/**
+	 * Reads a non-negative value written by {@link #putVarInt(ByteBuffer, int)}.
+	 * @param buffer The buffer from which to read the value.
+	 * @return The value read.
+	 * @throws BufferUnderflowException if the buffer does not contain the entire value.
+	 * @throws CodecException if the value is not validly encoded.
+	 */
+	static int getVarInt(@Nonnull final ByteBuffer buffer) {
+		int value = 0;
+		for(int shift = 0;; shift += 7) {
+			final byte valueByte = buffer.get();
+			value |= (valueByte & 0x7F) << shift;
+			if((valueByte & 0x80) == 0) {
+				break;
+			}
+			if(shift == 28) {
+				throw new CodecException("Invalid variable-length integer encoding.");
+			}
+		}
+		if(value < 0) {
+			throw new CodecException(String.format("Invalid variable-length integer %d.", value));
+		}
+		return value;
+	}
+
+	/**
+	 * Writes a count of bytes to follow, such as the length of an array.
+	 * @param buffer The buffer into which to write the count.
+	 * @param count The count to write.
+	 * @throws BufferOverflowException if the buffer does not have room for the count.
+	 * @see #putVarInt(ByteBuffer, int)
+	 */
+	static void putCount(@Nonnull final ByteBuffer buffer, final int count) {
+		putVarInt(buffer, count);
+	}
+
+	/**
+	 * Reads a count written by {@link #putCount(ByteBuffer, int)}, verifying that the buffer contains at least that many bytes following the count.
+	 * @param buffer The buffer from which to read the count.
+	 * @return The count read.
+	 * @throws BufferUnderflowException if the buffer does not contain the entire count, or does not contain at least as many bytes as the count following it.
+	 * @throws CodecException if the count is not validly encoded.
+	 */
+	static int getCount(@Nonnull final ByteBuffer buffer) {
+		final int count = getVarInt(buffer);
+		if(count > buffer.remaining()) { //check before allocating anything so that an invalid count cannot cause a large allocation
+			throw new BufferUnderflowException();
+		}
+		return count;
+	}
+
+	/**
+	 * A codec for a type the encoding of which is described by a fixed name.
+	 * @param <V> The type of value encoded.
+	 * @author Garret Wilson
+	 */
+	private abstract static class Fixed<V> extends ValueCodec<V> {
+
+		private final String name;
+
+		/**
+		 * Constructor.
+		 * @param name The name describing the encoded form.
+		 */
+		Fixed(@Nonnull final String name) {
+			this.name = requireNonNull(name);
+		}
+
+		@Override
+		public void describe(final StringBuilder schema, final Set<Class<?>> beanClasses) {
+			schema.append(name);
+		}
+
+	}
+
+	/**
+	 * A codec that writes a marker indicating whether a value is <code>null</code>, delegating to another codec for non-<code>null</code> values.
+	 * @param <V> The type of value encoded.
+	 * @author Garret Wilson
+	 */
+	static final class OfNullable<V> extends ValueCodec<V> {
+
+		private final ValueCodec<V> valueCodec;
+
+		/**
+		 * Constructor.
+		 * @param valueCodec The codec for encoding non-<code>null</code> values.
+		 */
+		OfNullable(@Nonnull final ValueCodec<V> valueCodec) {
+			this.valueCodec = requireNonNull(valueCodec);
+		}
+
+		@Override
+		public void encode(final ByteBuffer buffer, final V value) throws IllegalAccessException, InvocationTargetException {
+			if(value == null) {
+				buffer.put((byte)0);
+			} else {
+				buffer.put((byte)1);
+				valueCodec.encode(buffer, value);
+			}
+		}
+
+		@Override
+		public V decode(final ByteBuffer buffer) throws IllegalAccessException, InvocationTargetException {
+			return buffer.get() != 0 ? valueCodec.decode(buffer) : null;
+		}
+
+		@Override
+		public void describe(final StringBuilder schema, final Set<Class<?>> beanClasses) {
+			schema.append('?');
+			valueCodec.describe(schema, beanClasses);
+		}
+
+	}
+
+	/**
+	 * A codec for enum values, written by ordinal. The names of the enum constants are included in the schema, so that adding, removing, or reordering the
+	 * constants changes the schema fingerprint.
+	 * @param <E> The type of enum.
+	 * @author Garret Wilson
+	 */
+	static final class OfEnum<E extends Enum<E>> extends ValueCodec<E> {
+
+		private final Class<E> enumClass;
+
+		private final E[] enumConstants;
+
+		/**
+		 * Constructor.
+		 * @param enumClass The type of enum.
+		 */
+		OfEnum(@Nonnull final Class<E> enumClass) {
+			this.enumClass = requireNonNull(enumClass);
+			this.enumConstants = enumClass.getEnumConstants();
+		}
+
+		@Override
+		public void encode(final ByteBuffer buffer, final E value) {
+			putVarInt(buffer, value.ordinal());
+		}
+
+		@Override
+		public E decode(final ByteBuffer buffer) {
+			final int ordinal = getVarInt(buffer);
+			if(ordinal >= enumConstants.length) {
+				throw new CodecException(String.format("Invalid ordinal %d for enum %s.", ordinal, enumClass.getName()));
+			}
+			return enumConstants[ordinal];
+		}
+
+		@Override
+		public void describe(final StringBuilder schema, final Set<Class<?>> beanClasses) {
+			schema.append(enumClass.getName()).append('[');
+			for(final E enumConstant : enumConstants) {
+				schema.append(enumConstant.name()).append(',');
+			}
+			schema.append(']');
+		}
+
+	}
+
+	/**
+	 * A codec for nested beans, encoded using their properties. The codec for the bean class is looked up when first needed, so that a bean type may contain
+	 * properties of its own type.
+	 * @param <B> The type of bean.
+	 * @author Garret Wilson
+	 */
+	static final class OfBean<B> extends ValueCodec<B> {
+
+		private final Class<B> beanClass;
+
+		@Nullable
+		private volatile BinaryCodec<B> beanCodec = null;
+
+		/**
+		 * Constructor.
+		 * @param beanClass The type of bean.
+		 * @throws CodecException if the class is not a concrete public class outside the Java platform, or has no public no-argument constructor.
+		 */
+		OfBean(@Nonnull final Class<B> beanClass) {
+			this.beanClass = requireNonNull(beanClass);
+			final String className = beanClass.getName();
+			if(beanClass.isArray() || beanClass.isInterface() || Modifier.isAbstract(beanClass.getModifiers()) || className.startsWith("java.")
+					|| className.startsWith("javax.")) {
+				throw new CodecException(String.format("Values of type %s cannot be encoded.", className));
+			}
+			findPublicConstructor(beanClass).orElseThrow(
+					() -> new CodecException(String.format("Bean type %s cannot be decoded because it has no public no-argument constructor.", className)));
+		}
+
+		/** @return The codec for the bean class. */
+		private BinaryCodec<B> getBeanCodec() {
+			BinaryCodec<B> beanCodec = this.beanCodec;
+			if(beanCodec == null) { //the race is benign, as the codecs are cached
+				this.beanCodec = beanCodec = BinaryCodec.forClass(beanClass);
+			}
+			return beanCodec;
+		}
+
+		@Override
+		public void encode(final ByteBuffer buffer, final B value) throws IllegalAccessException, InvocationTargetException {
+			getBeanCodec().encode(value, buffer);
+		}
+
+		@Override
+		public B decode(final ByteBuffer buffer) throws IllegalAccessException, InvocationTargetException {
+			return getBeanCodec().decode(buffer);
+		}
+
+		@Override
+		public void describe(final StringBuilder schema, final Set<Class<?>> beanClasses) {
+			schema.append(beanClass.getName());
+			if(beanClasses.add(beanClass)) { //a bean containing itself is only described once
+				schema.append('{');
+				BinaryCodec.getCodec(beanClass).describe(schema, beanClasses);
+				schema.append('}');
+				beanClasses.remove(beanClass);
+			}
+		}
+
+	}
+
+}
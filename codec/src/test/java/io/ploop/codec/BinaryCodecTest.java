@@ -0,0 +1,285 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.codec;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.*;
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests of the binary codec and its streams.
+ * 
+ * @author Garret Wilson
+ * @see BinaryCodec
+ */
+public class BinaryCodecTest {
+
+	/**
+	 * Creates a sample with all properties set.
+	 * @param index The index used to vary the values.
+	 * @return A new sample.
+	 */
+	static Sample createSample(final int index) {
+		final Sample sample = new Sample();
+		sample.setCount(index);
+		sample.setId(Long.MAX_VALUE - index);
+		sample.setScore(index / 3.0);
+		sample.setActive(index % 2 == 0);
+		sample.setGrade((char)('A' + index % 5));
+		sample.setRank(index % 3 == 0 ? null : index * 10);
+		sample.setName("sample-é中-" + index);
+		sample.setData(new byte[] {(byte)index, 2, 3});
+		sample.setColor(Sample.Color.values()[index % 3]);
+		final Sample child = new Sample();
+		child.setName("child");
+		sample.setChild(child);
+		return sample;
+	}
+
+	/**
+	 * Verifies that a sample has the values of another.
+	 * @param actual The decoded sample.
+	 * @param expected The original sample.
+	 */
+	static void assertSampleEquals(final Sample actual, final Sample expected) {
+		assertThat(actual.getCount(), is(expected.getCount()));
+		assertThat(actual.getId(), is(expected.getId()));
+		assertThat(actual.getScore(), is(expected.getScore()));
+		assertThat(actual.isActive(), is(expected.isActive()));
+		assertThat(actual.getGrade(), is(expected.getGrade()));
+		assertThat(actual.getRank(), is(expected.getRank()));
+		assertThat(actual.getName(), is(expected.getName()));
+		assertThat(actual.getData(), is(expected.getData()));
+		assertThat(actual.getColor(), is(expected.getColor()));
+		if(expected.getChild() == null) {
+			assertThat(actual.getChild(), is(nullValue()));
+		} else {
+			assertSampleEquals(actual.getChild(), expected.getChild());
+		}
+	}
+
+	/** Tests encoding and decoding an object in a buffer. */
+	@Test
+	public void testEncodeDecode() throws Exception {
+		final BinaryCodec<Sample> codec = BinaryCodec.forClass(Sample.class);
+		final Sample sample = createSample(4);
+		final ByteBuffer buffer = ByteBuffer.allocate(256);
+		codec.writeHeader(buffer);
+		codec.encode(sample, buffer);
+		buffer.flip();
+		codec.readHeader(buffer);
+		assertSampleEquals(codec.decode(buffer), sample);
+		assertThat(buffer.hasRemaining(), is(false));
+	}
+
+	/** Tests that the schema fingerprint distinguishes types and that a header for another schema is rejected. */
+	@Test
+	public void testSchemaFingerprint() {
+		final BinaryCodec<Sample> codec = BinaryCodec.forClass(Sample.class);
+		assertThat(codec.getSchemaFingerprint(), is(BinaryCodec.forClass(Sample.class).getSchemaFingerprint()));
+		final BinaryCodec<Other> otherCodec = BinaryCodec.forClass(Other.class);
+		assertThat(otherCodec.getSchemaFingerprint(), is(not(codec.getSchemaFingerprint())));
+		final ByteBuffer buffer = ByteBuffer.allocate(BinaryCodec.HEADER_LENGTH);
+		otherCodec.writeHeader(buffer);
+		buffer.flip();
+		assertThrows(CodecException.class, () -> codec.readHeader(buffer));
+	}
+
+	/** Tests that a type with a property that cannot be encoded is rejected. */
+	@Test
+	public void testUnsupportedPropertyType() {
+		assertThrows(CodecException.class, () -> BinaryCodec.forClass(Unsupported.class));
+	}
+
+	/** Tests streaming many objects through buffers too small to hold them, so that the buffers must be refilled and grown. */
+	@Test
+	public void testStreaming() throws Exception {
+		final BinaryCodec<Sample> codec = BinaryCodec.forClass(Sample.class);
+		final BufferPool bufferPool = new BufferPool(32, 2);
+		final List<Sample> samples = new ArrayList<>();
+		for(int index = 0; index < 100; index++) {
+			samples.add(createSample(index));
+		}
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (final BinaryEncoder<Sample> encoder = new BinaryEncoder<>(codec, Channels.newChannel(outputStream), bufferPool)) {
+			for(final Sample sample : samples) {
+				encoder.write(sample);
+			}
+		}
+		try (final BinaryDecoder<Sample> decoder = new BinaryDecoder<>(codec, Channels.newChannel(new ByteArrayInputStream(outputStream.toByteArray())),
+				bufferPool)) {
+			for(final Sample sample : samples) {
+				assertSampleEquals(decoder.read(), sample);
+			}
+			assertThat(decoder.read(), is(nullValue()));
+		}
+		final byte[] truncatedBytes = Arrays.copyOf(outputStream.toByteArray(), outputStream.size() - 1);
+		try (final BinaryDecoder<Sample> decoder = new BinaryDecoder<>(codec, Channels.newChannel(new ByteArrayInputStream(truncatedBytes)), bufferPool)) {
+			final Sample sample = new Sample();
+			for(int index = 0; index < samples.size() - 1; index++) {
+				assertThat(decoder.read(sample), is(true));
+			}
+			assertThrows(EOFException.class, () -> decoder.read(sample));
+		}
+	}
+
+	/** Tests that an object longer than the maximum object length is rejected before any buffer is allocated for it. */
+	@Test
+	public void testStreamingRejectsOversizeObject() throws Exception {
+		final BinaryCodec<Sample> codec = BinaryCodec.forClass(Sample.class);
+		final BufferPool bufferPool = new BufferPool(32, 2);
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (final BinaryEncoder<Sample> encoder = new BinaryEncoder<>(codec, Channels.newChannel(outputStream), bufferPool)) {
+			encoder.write(createSample(1));
+		}
+		final byte[] bytes = outputStream.toByteArray();
+		try (final BinaryDecoder<Sample> decoder = new BinaryDecoder<>(codec, Channels.newChannel(new ByteArrayInputStream(bytes)), bufferPool, 4)) {
+			assertThrows(CodecException.class, () -> decoder.read());
+		}
+		final byte[] hugeLengthBytes = Arrays.copyOf(bytes, BinaryCodec.HEADER_LENGTH + Integer.BYTES);
+		ByteBuffer.wrap(hugeLengthBytes).putInt(BinaryCodec.HEADER_LENGTH, Integer.MAX_VALUE);
+		try (final BinaryDecoder<Sample> decoder = new BinaryDecoder<>(codec, Channels.newChannel(new ByteArrayInputStream(hugeLengthBytes)), bufferPool)) {
+			assertThrows(CodecException.class, () -> decoder.read());
+		}
+	}
+
+	/** Tests that objects arriving a few bytes at a time are each decoded only once, after the entire object has been read. */
+	@Test
+	public void testStreamingDecodesEachObjectOnce() throws Exception {
+		final BinaryCodec<Tally> codec = BinaryCodec.forClass(Tally.class);
+		final BufferPool bufferPool = new BufferPool(32, 2);
+		final int count = 20;
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (final BinaryEncoder<Tally> encoder = new BinaryEncoder<>(codec, Channels.newChannel(outputStream), bufferPool)) {
+			for(int index = 0; index < count; index++) {
+				final Tally tally = new Tally();
+				tally.setCount(index);
+				tally.setText(String.join("", Collections.nCopies(100 + index, "x")));
+				encoder.write(tally);
+			}
+		}
+		final ReadableByteChannel sourceChannel = Channels.newChannel(new ByteArrayInputStream(outputStream.toByteArray()));
+		final ReadableByteChannel tricklingChannel = new ReadableByteChannel() { //provides at most three bytes per read
+			@Override
+			public int read(final ByteBuffer buffer) throws IOException {
+				final ByteBuffer slice = buffer.slice();
+				slice.limit(Math.min(slice.limit(), 3));
+				final int readCount = sourceChannel.read(slice);
+				if(readCount > 0) {
+					buffer.position(buffer.position() + readCount);
+				}
+				return readCount;
+			}
+
+			@Override
+			public boolean isOpen() {
+				return sourceChannel.isOpen();
+			}
+
+			@Override
+			public void close() throws IOException {
+				sourceChannel.close();
+			}
+		};
+		Tally.setCountCount = 0;
+		try (final BinaryDecoder<Tally> decoder = new BinaryDecoder<>(codec, tricklingChannel, bufferPool)) {
+			final Tally tally = new Tally();
+			for(int index = 0; index < count; index++) {
+				assertThat(decoder.read(tally), is(true));
+				assertThat(tally.getCount(), is(index));
+				assertThat(tally.getText().length(), is(100 + index));
+			}
+			assertThat(decoder.read(tally), is(false));
+		}
+		assertThat(Tally.setCountCount, is(count));
+	}
+
+	/** A bean that counts how many times its first property is set. */
+	public static class Tally {
+
+		/** The number of times {@link #setCount(int)} has been called on any instance. */
+		static int setCountCount = 0;
+
+		private int count;
+
+		/** @return The count. */
+		public int getCount() {
+			return count;
+		}
+
+		/** @param count The new count. */
+		public void setCount(final int count) {
+			this.count = count;
+			setCountCount++;
+		}
+
+		private String text;
+
+		/** @return The text. */
+		public String getText() {
+			return text;
+		}
+
+		/** @param text The new text. */
+		public void setText(final String text) {
+			this.text = text;
+		}
+
+	}
+
+	/** A bean with a different schema. */
+	public static class Other {
+
+		private int count;
+
+		/** @return The count. */
+		public int getCount() {
+			return count;
+		}
+
+		/** @param count The new count. */
+		public void setCount(final int count) {
+			this.count = count;
+		}
+
+	}
+
+	/** A bean with a property of a type that cannot be encoded. */
+	public static class Unsupported {
+
+		private List<String> names;
+
+		/** @return The names. */
+		public List<String> getNames() {
+			return names;
+		}
+
+		/** @param names The new names. */
+		public void setNames(final List<String> names) {
+			this.names = names;
+		}
+
+	}
+
+}
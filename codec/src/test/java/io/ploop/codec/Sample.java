@@ -0,0 +1,160 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.codec;
+
+/**
+ * A bean with properties of each of the supported types.
+ * @author Garret Wilson
+ */
+public class Sample {
+
+	/** A color. */
+	public enum Color {
+		/** Red. */
+		RED,
+		/** Green. */
+		GREEN,
+		/** Blue. */
+		BLUE
+	}
+
+	private int count;
+
+	/** @return The count. */
+	public int getCount() {
+		return count;
+	}
+
+	/** @param count The new count. */
+	public void setCount(final int count) {
+		this.count = count;
+	}
+
+	private long id;
+
+	/** @return The identifier. */
+	public long getId() {
+		return id;
+	}
+
+	/** @param id The new identifier. */
+	public void setId(final long id) {
+		this.id = id;
+	}
+
+	private double score;
+
+	/** @return The score. */
+	public double getScore() {
+		return score;
+	}
+
+	/** @param score The new score. */
+	public void setScore(final double score) {
+		this.score = score;
+	}
+
+	private boolean active;
+
+	/** @return Whether the sample is active. */
+	public boolean isActive() {
+		return active;
+	}
+
+	/** @param active Whether the sample is active. */
+	public void setActive(final boolean active) {
+		this.active = active;
+	}
+
+	private char grade;
+
+	/** @return The grade. */
+	public char getGrade() {
+		return grade;
+	}
+
+	/** @param grade The new grade. */
+	public void setGrade(final char grade) {
+		this.grade = grade;
+	}
+
+	private Integer rank;
+
+	/** @return The rank, or <code>null</code> if not ranked. */
+	public Integer getRank() {
+		return rank;
+	}
+
+	/** @param rank The new rank, or <code>null</code> if not ranked. */
+	public void setRank(final Integer rank) {
+		this.rank = rank;
+	}
+
+	private String name;
+
+	/** @return The name. */
+	public String getName() {
+		return name;
+	}
+
+	/** @param name The new name. */
+	public void setName(final String name) {
+		this.name = name;
+	}
+
+	private byte[] data;
+
+	/** @return The data. */
+	public byte[] getData() {
+		return data;
+	}
+
+	/** @param data The new data. */
+	public void setData(final byte[] data) {
+		this.data = data;
+	}
+
+	private Color color;
+
+	/** @return The color. */
+	public Color getColor() {
+		return color;
+	}
+
+	/** @param color The new color. */
+	public void setColor(final Color color) {
+		this.color = color;
+	}
+
+	private Sample child;
+
+	/** @return The nested sample. */
+	public Sample getChild() {
+		return child;
+	}
+
+	/** @param child The new nested sample. */
+	public void setChild(final Sample child) {
+		this.child = child;
+	}
+
+	/** @return A read-only property, which is not encoded. */
+	public String getDescription() {
+		return name + "#" + count;
+	}
+
+}
@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.convert;
+
+import static java.util.Objects.*;
+
+import javax.annotation.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Base implementation of a converter, keeping track of the source and target types.
+ * @param <S> The type of value being converted.
+ * @param <T> The type of value produced by the conversion.
+ * @author Garret Wilson
+ */
+public abstract class AbstractConverter<S, T> implements Converter<S, T> {
+
+	private final TypeInfo<S> sourceType;
+
+	@Override
+	public TypeInfo<S> getSourceType() {
+		return sourceType;
+	}
+
+	private final TypeInfo<T> targetType;
+
+	@Override
+	public TypeInfo<T> getTargetType() {
+		return targetType;
+	}
+
+	/**
+	 * Constructor.
+	 * @param sourceType The type of value this converter converts from.
+	 * @param targetType The type of value this converter converts to.
+	 */
+	public AbstractConverter(@Nonnull final TypeInfo<S> sourceType, @Nonnull final TypeInfo<T> targetType) {
+		this.sourceType = requireNonNull(sourceType);
+		this.targetType = requireNonNull(targetType);
+	}
+
+	/**
+	 * Ensures that a value to be converted to a primitive type is not <code>null</code>.
+	 * @param <V> The type of value.
+	 * @param value The value to check.
+	 * @return The given value.
+	 * @throws ConversionException if the value is <code>null</code>.
+	 */
+	protected <V> V checkValueNotNull(@Nullable final V value) throws ConversionException {
+		if(value == null) {
+			throw new ConversionException(String.format("Cannot convert null to %s.", getTargetType()));
+		}
+		return value;
+	}
+
+	@Override
+	public String toString() {
+		return getSourceType() + " -> " + getTargetType();
+	}
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.convert;
+
+import javax.annotation.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A converter between types that are assignment compatible for reflection, which returns the value itself. A boxed value may be assigned to its primitive
+ * type, but a <code>null</code> value cannot; and a primitive value may be assigned to its boxed type or any supertype.
+ * @param <S> The type of value being converted.
+ * @param <T> The type of value produced by the conversion.
+ * @author Garret Wilson
+ * @see TypeInfo#isReflectionAssignableFrom(Class)
+ */
+public class AssignmentConverter<S, T> extends AbstractConverter<S, T> {
+
+	/**
+	 * Constructor.
+	 * @param sourceType The type of value this converter converts from.
+	 * @param targetType The type of value this converter converts to.
+	 * @throws IllegalArgumentException if the target type is not assignable from the source type for reflection.
+	 */
+	public AssignmentConverter(@Nonnull final TypeInfo<S> sourceType, @Nonnull final TypeInfo<T> targetType) {
+		super(sourceType, targetType);
+		if(!ConverterRegistry.isAssignable(targetType, sourceType)) {
+			throw new IllegalArgumentException(String.format("Type %s is not assignable from %s.", targetType, sourceType));
+		}
+	}
+
+	@Override
+	public T convert(final S value) throws ConversionException {
+		if(value == null && getTargetType().getErasedType().isPrimitive()) {
+			checkValueNotNull(value);
+		}
+		try {
+			return getTargetType().castReflection(value);
+		} catch(final ClassCastException classCastException) {
+			throw new ConversionException(classCastException.getMessage(), classCastException);
+		}
+	}
+
+}
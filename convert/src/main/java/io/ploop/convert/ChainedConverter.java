@@ -0,0 +1,92 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.convert;
+
+import java.util.*;
+
+import javax.annotation.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A converter that performs a sequence of conversions, passing the result of each to the next.
+ * @param <S> The type of value being converted.
+ * @param <T> The type of value produced by the conversion.
+ * @author Garret Wilson
+ */
+public class ChainedConverter<S, T> extends AbstractConverter<S, T> {
+
+	private final Converter<Object, Object>[] converters;
+
+	/** @return The converters performing each step of the conversion, in order. */
+	public List<Converter<?, ?>> getConverters() {
+		return Collections.unmodifiableList(Arrays.asList(converters));
+	}
+
+	/**
+	 * Constructor.
+	 * @param sourceType The type of value this converter converts from.
+	 * @param targetType The type of value this converter converts to.
+	 * @param converters The converters performing each step of the conversion, in order.
+	 * @throws IllegalArgumentException if no converters are given, or if the source type, the target type of each converter, and the target type are not
+	 *           assignable to the source type of each following converter.
+	 */
+	public ChainedConverter(@Nonnull final TypeInfo<S> sourceType, @Nonnull final TypeInfo<T> targetType, @Nonnull final Converter<?, ?>... converters) {
+		this(sourceType, targetType, Arrays.asList(converters));
+	}
+
+	/**
+	 * Constructor.
+	 * @param sourceType The type of value this converter converts from.
+	 * @param targetType The type of value this converter converts to.
+	 * @param converters The converters performing each step of the conversion, in order.
+	 * @throws IllegalArgumentException if no converters are given, or if the source type, the target type of each converter, and the target type are not
+	 *           assignable to the source type of each following converter.
+	 */
+	@SuppressWarnings("unchecked")
+	public ChainedConverter(@Nonnull final TypeInfo<S> sourceType, @Nonnull final TypeInfo<T> targetType, @Nonnull final List<Converter<?, ?>> converters) {
+		super(sourceType, targetType);
+		if(converters.isEmpty()) {
+			throw new IllegalArgumentException("At least one converter is required.");
+		}
+		TypeInfo<?> valueType = sourceType;
+		for(final Converter<?, ?> converter : converters) {
+			if(!ConverterRegistry.isAssignable(converter.getSourceType(), valueType)) {
+				throw new IllegalArgumentException(String.format("Converter %s cannot accept a value of type %s.", converter, valueType));
+			}
+			valueType = converter.getTargetType();
+		}
+		if(!ConverterRegistry.isAssignable(targetType, valueType)) {
+			throw new IllegalArgumentException(String.format("Converted type %s is not assignable to %s.", valueType, targetType));
+		}
+		this.converters = converters.toArray(new Converter[converters.size()]);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public T convert(final S value) throws ConversionException {
+		Object result = value;
+		for(final Converter<Object, Object> converter : converters) {
+			result = converter.convert(result);
+		}
+		if(result == null && getTargetType().getErasedType().isPrimitive()) { //an intermediate conversion may have produced null
+			checkValueNotNull(result);
+		}
+		return (T)result;
+	}
+
+}
@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.convert;
+
+/**
+ * Indicates that a value could not be converted to another type, either because no conversion is available or because the particular value cannot be
+ * represented in the target type.
+ * @author Garret Wilson
+ * @see Converter
+ */
+public class ConversionException extends IllegalArgumentException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Message constructor.
+	 * @param message An explanation of why the conversion failed.
+	 */
+	public ConversionException(final String message) {
+		super(message);
+	}
+
+	/**
+	 * Message and cause constructor.
+	 * @param message An explanation of why the conversion failed.
+	 * @param cause The cause of the failure.
+	 */
+	public ConversionException(final String message, final Throwable cause) {
+		super(message, cause);
+	}
+
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.convert;
+
+import javax.annotation.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A strategy for converting a value of one type to a value of another type.
+ * <p>
+ * Converters between primitive types may also implement one of the primitive functional interfaces of {@link java.util.function}, such as
+ * {@link java.util.function.IntToLongFunction}, in which case the conversion can be performed without boxing.
+ * </p>
+ * @param <S> The type of value being converted.
+ * @param <T> The type of value produced by the conversion.
+ * @author Garret Wilson
+ * @see ConverterRegistry
+ */
+public interface Converter<S, T> {
+
+	/** @return The type of value this converter converts from. */
+	public TypeInfo<S> getSourceType();
+
+	/** @return The type of value this converter converts to. */
+	public TypeInfo<T> getTargetType();
+
+	/**
+	 * Converts a value.
+	 * @param value The value to convert, which may be <code>null</code>.
+	 * @return The converted value, which may be <code>null</code> if the given value is <code>null</code> and the target type is not primitive.
+	 * @throws ConversionException if the given value cannot be converted to the target type.
+	 */
+	public T convert(@Nullable S value) throws ConversionException;
+
+	/**
+	 * Returns a converter that first performs this conversion and then converts the result using another converter.
+	 * @param <U> The type of value produced by the other converter.
+	 * @param after The converter to apply to the result of this converter.
+	 * @return A converter performing both conversions in order.
+	 * @throws IllegalArgumentException if the other converter cannot accept the target type of this converter.
+	 */
+	public default <U> Converter<S, U> andThen(@Nonnull final Converter<?, U> after) {
+		return new ChainedConverter<>(getSourceType(), after.getTargetType(), this, after);
+	}
+
+}
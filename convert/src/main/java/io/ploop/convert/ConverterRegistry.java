@@ -0,0 +1,273 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.convert;
+
+import static java.lang.invoke.MethodType.*;
+import static java.util.Objects.*;
+
+import java.util.*;
+import java.util.concurrent.*;
+
+import javax.annotation.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A thread-safe registry of converters, which finds a converter between any two types by composing registered converters as needed.
+ * <p>
+ * The first request for a converter between two types performs a breadth-first search over the registered converters for the shortest chain of conversions.
+ * The resulting converter, or the absence of one, is cached for that pair of types, so that later requests return the same converter. Registering a
+ * converter discards all cached converters. At most {@value #MAX_CACHED_CONVERTER_COUNT} pairs of types are cached, so that conversions between arbitrary
+ * types, such as parameterized types or classes from class loaders that are later discarded, cannot grow the cache without bound; converters between further
+ * pairs of types are resolved each time they are requested.
+ * </p>
+ * <p>
+ * A converter is only used for a value of some type if the source type of the converter is assignable from that type for reflection, and a value is already
+ * acceptable for a target type if the target type is assignable from its type. Assignability of parameterized types requires the types to be identical.
+ * </p>
+ * @author Garret Wilson
+ * @see TypeInfo#isReflectionAssignableFrom(Class)
+ */
+public class ConverterRegistry {
+
+	/** The maximum number of pairs of types for which resolved converters are cached. */
+	static final int MAX_CACHED_CONVERTER_COUNT = 256;
+
+	private final List<Converter<?, ?>> converters = new CopyOnWriteArrayList<>();
+
+	/**
+	 * The resolved converters, keyed to each pair of types; replaced with a new map whenever a converter is registered. The number of entries is limited to
+	 * approximately {@link #MAX_CACHED_CONVERTER_COUNT}.
+	 */
+	private volatile ConcurrentMap<ConversionKey, Optional<Converter<?, ?>>> resolvedConverters = new ConcurrentHashMap<>();
+
+	/** Creates a registry with no converters, which can only convert between assignable types. */
+	public ConverterRegistry() {
+	}
+
+	/**
+	 * Creates a registry containing the standard converters.
+	 * @return A new registry with the standard converters registered.
+	 * @see NumericConverters#getConverters()
+	 */
+	public static ConverterRegistry createDefault() {
+		final ConverterRegistry registry = new ConverterRegistry();
+		NumericConverters.getConverters().forEach(registry::register);
+		return registry;
+	}
+
+	/**
+	 * Registers a converter, which will be considered for all later conversions.
+	 * @param converter The converter to register.
+	 */
+	public void register(@Nonnull final Converter<?, ?> converter) {
+		converters.add(requireNonNull(converter));
+		resolvedConverters = new ConcurrentHashMap<>(); //the new converter may provide shorter or new chains
+	}
+
+	/**
+	 * Determines whether a value of one type can be converted to another type.
+	 * @param sourceType The type of value to convert.
+	 * @param targetType The type to convert to.
+	 * @return <code>true</code> if there is a converter between the types.
+	 */
+	public boolean canConvert(@Nonnull final TypeInfo<?> sourceType, @Nonnull final TypeInfo<?> targetType) {
+		return findConverter(sourceType, targetType).isPresent();
+	}
+
+	/**
+	 * Finds a converter between two types. The same converter instance is returned for the same types until another converter is registered, unless
+	 * converters between {@value #MAX_CACHED_CONVERTER_COUNT} other pairs of types have already been cached; callers that convert many values should therefore
+	 * retain the converter.
+	 * <p>
+	 * If a registered converter exactly matches the types, it is returned directly so that any primitive functional interface it implements is available.
+	 * </p>
+	 * @param <S> The type of value to convert.
+	 * @param <T> The type to convert to.
+	 * @param sourceType The type of value to convert.
+	 * @param targetType The type to convert to.
+	 * @return The converter between the types, which will not be present if the source type cannot be converted to the target type.
+	 */
+	@SuppressWarnings("unchecked")
+	public <S, T> Optional<Converter<S, T>> findConverter(@Nonnull final TypeInfo<S> sourceType, @Nonnull final TypeInfo<T> targetType) {
+		final ConcurrentMap<ConversionKey, Optional<Converter<?, ?>>> resolvedConverters = this.resolvedConverters; //read the map before the converters
+		final ConversionKey conversionKey = new ConversionKey(sourceType, targetType);
+		Optional<Converter<?, ?>> converter = resolvedConverters.get(conversionKey);
+		if(converter == null) {
+			converter = Optional.ofNullable(resolveConverter(sourceType, targetType));
+			if(resolvedConverters.size() < MAX_CACHED_CONVERTER_COUNT) { //concurrent requests may slightly exceed the limit, which is harmless
+				final Optional<Converter<?, ?>> cachedConverter = resolvedConverters.putIfAbsent(conversionKey, converter);
+				if(cachedConverter != null) {
+					converter = cachedConverter;
+				}
+			}
+		}
+		return (Optional<Converter<S, T>>)(Optional<?>)converter;
+	}
+
+	/**
+	 * Returns a converter between two types.
+	 * @param <S> The type of value to convert.
+	 * @param <T> The type to convert to.
+	 * @param sourceType The type of value to convert.
+	 * @param targetType The type to convert to.
+	 * @return The converter between the types.
+	 * @throws ConversionException if the source type cannot be converted to the target type.
+	 * @see #findConverter(TypeInfo, TypeInfo)
+	 */
+	public <S, T> Converter<S, T> getConverter(@Nonnull final TypeInfo<S> sourceType, @Nonnull final TypeInfo<T> targetType) throws ConversionException {
+		return findConverter(sourceType, targetType)
+				.orElseThrow(() -> new ConversionException(String.format("No conversion is available from %s to %s.", sourceType, targetType)));
+	}
+
+	/**
+	 * Converts a value from one type to another.
+	 * @param <S> The type of value to convert.
+	 * @param <T> The type to convert to.
+	 * @param value The value to convert, which may be <code>null</code>.
+	 * @param sourceType The type of value to convert.
+	 * @param targetType The type to convert to.
+	 * @return The converted value.
+	 * @throws ConversionException if the source type cannot be converted to the target type, or the particular value cannot be converted.
+	 */
+	public <S, T> T convert(@Nullable final S value, @Nonnull final TypeInfo<S> sourceType, @Nonnull final TypeInfo<T> targetType) throws ConversionException {
+		return getConverter(sourceType, targetType).convert(value);
+	}
+
+	/**
+	 * Resolves a converter between two types by searching for the shortest chain of registered converters.
+	 * @param <S> The type of value to convert.
+	 * @param <T> The type to convert to.
+	 * @param sourceType The type of value to convert.
+	 * @param targetType The type to convert to.
+	 * @return The converter between the types, or <code>null</code> if there is no chain of converters between the types.
+	 */
+	protected @Nullable <S, T> Converter<S, T> resolveConverter(@Nonnull final TypeInfo<S> sourceType, @Nonnull final TypeInfo<T> targetType) {
+		if(isAssignable(targetType, sourceType)) {
+			return new AssignmentConverter<>(sourceType, targetType);
+		}
+		//breadth-first search, recording for each type reached the converter used to reach it
+		final Map<TypeInfo<?>, Converter<?, ?>> reachingConverters = new HashMap<>();
+		final Map<TypeInfo<?>, TypeInfo<?>> previousTypes = new HashMap<>();
+		final Queue<TypeInfo<?>> queue = new ArrayDeque<>();
+		reachingConverters.put(sourceType, null);
+		queue.add(sourceType);
+		TypeInfo<?> valueType;
+		while((valueType = queue.poll()) != null) {
+			for(final Converter<?, ?> converter : converters) {
+				final TypeInfo<?> converterTargetType = converter.getTargetType();
+				if(reachingConverters.containsKey(converterTargetType) || !isAssignable(converter.getSourceType(), valueType)) {
+					continue;
+				}
+				reachingConverters.put(converterTargetType, converter);
+				previousTypes.put(converterTargetType, valueType);
+				if(isAssignable(targetType, converterTargetType)) {
+					final LinkedList<Converter<?, ?>> chain = new LinkedList<>();
+					for(TypeInfo<?> chainType = converterTargetType; chainType != sourceType; chainType = previousTypes.get(chainType)) {
+						chain.addFirst(reachingConverters.get(chainType));
+					}
+					return createConverter(sourceType, targetType, chain);
+				}
+				queue.add(converterTargetType);
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Creates a converter performing a chain of conversions.
+	 * @param <S> The type of value to convert.
+	 * @param <T> The type to convert to.
+	 * @param sourceType The type of value to convert.
+	 * @param targetType The type to convert to.
+	 * @param chain The converters performing each step of the conversion, in order.
+	 * @return A converter performing the conversions; the single converter itself if there is only one with exactly the given types.
+	 */
+	@SuppressWarnings("unchecked")
+	protected <S, T> Converter<S, T> createConverter(@Nonnull final TypeInfo<S> sourceType, @Nonnull final TypeInfo<T> targetType,
+			@Nonnull final List<Converter<?, ?>> chain) {
+		if(chain.size() == 1) {
+			final Converter<?, ?> converter = chain.get(0);
+			if(converter.getSourceType() == sourceType && converter.getTargetType() == targetType) {
+				return (Converter<S, T>)converter;
+			}
+		}
+		return new ChainedConverter<>(sourceType, targetType, chain);
+	}
+
+	/**
+	 * Determines whether a value of one type is acceptable as a value of another type. Type information instances are canonical, so identical types are
+	 * assignable; otherwise the target type must not be parameterized, and must be assignable from the erased source type for reflection. A value of a primitive
+	 * type is considered to be of its boxed type, as it would be when returned from a converter.
+	 * @param targetType The type to be assigned to.
+	 * @param sourceType The type of value being assigned.
+	 * @return <code>true</code> if a value of the source type may be used as a value of the target type.
+	 */
+	static boolean isAssignable(@Nonnull final TypeInfo<?> targetType, @Nonnull final TypeInfo<?> sourceType) {
+		if(targetType == sourceType) {
+			return true;
+		}
+		if(!targetType.getResolvedType().getTypeParameters().isEmpty()) {
+			return false;
+		}
+		final Class<?> sourceClass = sourceType.getErasedType();
+		return targetType.isReflectionAssignableFrom(sourceClass.isPrimitive() ? methodType(sourceClass).wrap().returnType() : sourceClass);
+	}
+
+	/**
+	 * A key to a converter between a source type and a target type.
+	 * @author Garret Wilson
+	 */
+	private static final class ConversionKey {
+
+		private final TypeInfo<?> sourceType;
+
+		private final TypeInfo<?> targetType;
+
+		private final int hashCode;
+
+		/**
+		 * Constructor.
+		 * @param sourceType The type of value to convert.
+		 * @param targetType The type to convert to.
+		 */
+		public ConversionKey(@Nonnull final TypeInfo<?> sourceType, @Nonnull final TypeInfo<?> targetType) {
+			this.sourceType = requireNonNull(sourceType);
+			this.targetType = requireNonNull(targetType);
+			this.hashCode = 31 * sourceType.hashCode() + targetType.hashCode();
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if(this == object) {
+				return true;
+			}
+			if(!(object instanceof ConversionKey)) {
+				return false;
+			}
+			final ConversionKey conversionKey = (ConversionKey)object;
+			return sourceType == conversionKey.sourceType && targetType == conversionKey.targetType; //type information is canonical
+		}
+
+	}
+
+}
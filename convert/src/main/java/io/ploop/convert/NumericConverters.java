@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.convert;
+
+import java.util.*;
+import java.util.function.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Converters between the primitive numeric types <code>int</code>, <code>long</code>, and <code>double</code>.
+ * <p>
+ * Each converter implements the corresponding primitive functional interface such as {@link IntToLongFunction} to allow conversion without boxing. Conversions
+ * are exact: a value that cannot be represented exactly in the target type results in a {@link ConversionException} rather than being truncated or rounded.
+ * Each converter also accepts the boxed form of its source type, but not <code>null</code>.
+ * </p>
+ * @author Garret Wilson
+ */
+public final class NumericConverters {
+
+	private NumericConverters() {
+	}
+
+	/** Converts <code>int</code> to <code>long</code>. Always exact. */
+	public static final IntToLong INT_TO_LONG = new IntToLong();
+
+	/** Converts <code>int</code> to <code>double</code>. Always exact. */
+	public static final IntToDouble INT_TO_DOUBLE = new IntToDouble();
+
+	/** Converts <code>long</code> to <code>int</code>. Fails if the value is out of range. */
+	public static final LongToInt LONG_TO_INT = new LongToInt();
+
+	/** Converts <code>long</code> to <code>double</code>. Fails if the value cannot be represented exactly. */
+	public static final LongToDouble LONG_TO_DOUBLE = new LongToDouble();
+
+	/** Converts <code>double</code> to <code>int</code>. Fails if the value is not integral or is out of range. */
+	public static final DoubleToInt DOUBLE_TO_INT = new DoubleToInt();
+
+	/** Converts <code>double</code> to <code>long</code>. Fails if the value is not integral or is out of range. */
+	public static final DoubleToLong DOUBLE_TO_LONG = new DoubleToLong();
+
+	/** All the numeric converters. */
+	private static final List<Converter<?, ?>> CONVERTERS = Collections
+			.unmodifiableList(Arrays.asList(INT_TO_LONG, INT_TO_DOUBLE, LONG_TO_INT, LONG_TO_DOUBLE, DOUBLE_TO_INT, DOUBLE_TO_LONG));
+
+	/** @return All the numeric converters. */
+	public static List<Converter<?, ?>> getConverters() {
+		return CONVERTERS;
+	}
+
+	/**
+	 * Converts <code>int</code> to <code>long</code>. Always exact.
+	 * @author Garret Wilson
+	 */
+	public static final class IntToLong extends AbstractConverter<Integer, Long> implements IntToLongFunction {
+
+		private IntToLong() {
+			super(TypeInfo.forClass(int.class), TypeInfo.forClass(long.class));
+		}
+
+		@Override
+		public long applyAsLong(final int value) throws ConversionException {
+			return value;
+		}
+
+		@Override
+		public Long convert(final Integer value) throws ConversionException {
+			return applyAsLong(checkValueNotNull(value));
+		}
+
+	}
+
+	/**
+	 * Converts <code>int</code> to <code>double</code>. Always exact.
+	 * @author Garret Wilson
+	 */
+	public static final class IntToDouble extends AbstractConverter<Integer, Double> implements IntToDoubleFunction {
+
+		private IntToDouble() {
+			super(TypeInfo.forClass(int.class), TypeInfo.forClass(double.class));
+		}
+
+		@Override
+		public double applyAsDouble(final int value) throws ConversionException {
+			return value;
+		}
+
+		@Override
+		public Double convert(final Integer value) throws ConversionException {
+			return applyAsDouble(checkValueNotNull(value));
+		}
+
+	}
+
+	/**
+	 * Converts <code>long</code> to <code>int</code>. Fails if the value is out of range.
+	 * @author Garret Wilson
+	 */
+	public static final class LongToInt extends AbstractConverter<Long, Integer> implements LongToIntFunction {
+
+		private LongToInt() {
+			super(TypeInfo.forClass(long.class), TypeInfo.forClass(int.class));
+		}
+
+		@Override
+		public int applyAsInt(final long value) throws ConversionException {
+			final int result = (int)value;
+			if(result != value) {
+				throw new ConversionException(String.format("Value %d cannot be represented as an int.", value));
+			}
+			return result;
+		}
+
+		@Override
+		public Integer convert(final Long value) throws ConversionException {
+			return applyAsInt(checkValueNotNull(value));
+		}
+
+	}
+
+	/**
+	 * Converts <code>long</code> to <code>double</code>. Fails if the value cannot be represented exactly.
+	 * @author Garret Wilson
+	 */
+	public static final class LongToDouble extends AbstractConverter<Long, Double> implements LongToDoubleFunction {
+
+		private LongToDouble() {
+			super(TypeInfo.forClass(long.class), TypeInfo.forClass(double.class));
+		}
+
+		@Override
+		public double applyAsDouble(final long value) throws ConversionException {
+			final double result = value;
+			if((long)result != value || result == 0x1p63) { //(long)2^63 saturates to Long.MAX_VALUE, which is not equal to 2^63
+				throw new ConversionException(String.format("Value %d cannot be represented exactly as a double.", value));
+			}
+			return result;
+		}
+
+		@Override
+		public Double convert(final Long value) throws ConversionException {
+			return applyAsDouble(checkValueNotNull(value));
+		}
+
+	}
+
+	/**
+	 * Converts <code>double</code> to <code>int</code>. Fails if the value is not integral or is out of range.
+	 * @author Garret Wilson
+	 */
+	public static final class DoubleToInt extends AbstractConverter<Double, Integer> implements DoubleToIntFunction {
+
+		private DoubleToInt() {
+			super(TypeInfo.forClass(double.class), TypeInfo.forClass(int.class));
+		}
+
+		@Override
+		public int applyAsInt(final double value) throws ConversionException {
+			final int result = (int)value;
+			if(result != value) { //also catches NaN and saturated out-of-range values
+				throw new ConversionException(String.format("Value %s cannot be represented exactly as an int.", value));
+			}
+			return result;
+		}
+
+		@Override
+		public Integer convert(final Double value) throws ConversionException {
+			return applyAsInt(checkValueNotNull(value));
+		}
+
+	}
+
+	/**
+	 * Converts <code>double</code> to <code>long</code>. Fails if the value is not integral or is out of range.
+	 * @author Garret Wilson
+	 */
+	public static final class DoubleToLong extends AbstractConverter<Double, Long> implements DoubleToLongFunction {
+
+		private DoubleToLong() {
+			super(TypeInfo.forClass(double.class), TypeInfo.forClass(long.class));
+		}
+
+		@Override
+		public long applyAsLong(final double value) throws ConversionException {
+			final long result = (long)value;
+			if(result != value || value == 0x1p63) { //also catches NaN and saturated out-of-range values
+				throw new ConversionException(String.format("Value %s cannot be represented exactly as a long.", value));
+			}
+			return result;
+		}
+
+		@Override
+		public Long convert(final Double value) throws ConversionException {
+			return applyAsLong(checkValueNotNull(value));
+		}
+
+	}
+
+}
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.convert;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+import java.util.function.*;
+
+import org.junit.jupiter.api.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Tests finding and using converters.
+ * 
+ * @author Garret Wilson
+ * @see ConverterRegistry
+ */
+public class ConverterRegistryTest {
+
+	private static final TypeInfo<Integer> INT_TYPE = TypeInfo.forClass(int.class);
+
+	private static final TypeInfo<Long> LONG_TYPE = TypeInfo.forClass(long.class);
+
+	private static final TypeInfo<Double> DOUBLE_TYPE = TypeInfo.forClass(double.class);
+
+	private static final TypeInfo<String> STRING_TYPE = TypeInfo.forClass(String.class);
+
+	/** A converter from strings to integers, which is not one of the standard converters. */
+	private static final Converter<String, Integer> STRING_TO_INT_CONVERTER = new AbstractConverter<String, Integer>(STRING_TYPE, INT_TYPE) {
+		@Override
+		public Integer convert(final String value) throws ConversionException {
+			try {
+				return Integer.valueOf(checkValueNotNull(value));
+			} catch(final NumberFormatException numberFormatException) {
+				throw new ConversionException(numberFormatException.getMessage(), numberFormatException);
+			}
+		}
+	};
+
+	/** Tests converting between assignable types. */
+	@Test
+	public void testAssignableConversion() {
+		final ConverterRegistry registry = new ConverterRegistry();
+		assertThat(registry.convert("test", STRING_TYPE, TypeInfo.forClass(Object.class)), is("test"));
+		assertThat(registry.convert(5, TypeInfo.forClass(Integer.class), INT_TYPE), is(5));
+		assertThat(registry.convert(5, INT_TYPE, TypeInfo.forClass(Number.class)), is(5));
+		assertThrows(ConversionException.class, () -> registry.convert(null, TypeInfo.forClass(Integer.class), INT_TYPE));
+		assertThat(registry.canConvert(STRING_TYPE, INT_TYPE), is(false));
+		assertThrows(ConversionException.class, () -> registry.convert("5", STRING_TYPE, INT_TYPE));
+	}
+
+	/** Tests that the standard numeric converters are found directly and convert primitives without boxing. */
+	@Test
+	public void testNumericConversion() {
+		final ConverterRegistry registry = ConverterRegistry.createDefault();
+		final Converter<Integer, Long> intToLongConverter = registry.getConverter(INT_TYPE, LONG_TYPE);
+		assertThat(intToLongConverter, is(sameInstance(NumericConverters.INT_TO_LONG)));
+		assertThat(((IntToLongFunction)intToLongConverter).applyAsLong(5), is(5L));
+		assertThat(registry.convert(5, TypeInfo.forClass(Integer.class), LONG_TYPE), is(5L));
+		assertThat(registry.convert(5, INT_TYPE, TypeInfo.forClass(Long.class)), is(5L));
+		assertThat(registry.convert(2.0, DOUBLE_TYPE, INT_TYPE), is(2));
+		assertThrows(ConversionException.class, () -> registry.convert(2.5, DOUBLE_TYPE, INT_TYPE));
+		assertThrows(ConversionException.class, () -> registry.convert(Double.NaN, DOUBLE_TYPE, LONG_TYPE));
+		assertThrows(ConversionException.class, () -> registry.convert(0x1p63, DOUBLE_TYPE, LONG_TYPE));
+		assertThrows(ConversionException.class, () -> registry.convert(Long.MAX_VALUE, LONG_TYPE, INT_TYPE));
+		assertThrows(ConversionException.class, () -> registry.convert(Long.MAX_VALUE, LONG_TYPE, DOUBLE_TYPE));
+	}
+
+	/** Tests that converters are composed to convert between types with no direct converter, and that the result is cached. */
+	@Test
+	public void testChainedConversion() {
+		final ConverterRegistry registry = ConverterRegistry.createDefault();
+		registry.register(STRING_TO_INT_CONVERTER);
+		final Converter<String, Double> stringToDoubleConverter = registry.getConverter(STRING_TYPE, DOUBLE_TYPE);
+		assertThat(stringToDoubleConverter, is(instanceOf(ChainedConverter.class)));
+		assertThat(((ChainedConverter<?, ?>)stringToDoubleConverter).getConverters(), is(Arrays.asList(STRING_TO_INT_CONVERTER, NumericConverters.INT_TO_DOUBLE)));
+		assertThat(stringToDoubleConverter.convert("12"), is(12.0));
+		assertThat(registry.getConverter(STRING_TYPE, DOUBLE_TYPE), is(sameInstance(stringToDoubleConverter)));
+		assertThrows(ConversionException.class, () -> stringToDoubleConverter.convert("twelve"));
+		assertThat(registry.convert("12", STRING_TYPE, TypeInfo.forClass(Number.class)), is(12));
+	}
+
+	/** Tests that registering a converter makes previously impossible conversions available. */
+	@Test
+	public void testRegisterInvalidatesCache() {
+		final ConverterRegistry registry = ConverterRegistry.createDefault();
+		assertThat(registry.canConvert(STRING_TYPE, LONG_TYPE), is(false));
+		registry.register(STRING_TO_INT_CONVERTER);
+		assertThat(registry.convert("7", STRING_TYPE, LONG_TYPE), is(7L));
+	}
+
+
+	/** Tests that only a limited number of converters are cached, while converters beyond the limit are still found. */
+	@Test
+	public void testCacheBounded() {
+		final ConverterRegistry registry = ConverterRegistry.createDefault();
+		final List<Class<?>> classes = List.of(Object.class, Number.class, Integer.class, Long.class, Double.class, Boolean.class, Character.class, Byte.class,
+				Short.class, Float.class, String.class, CharSequence.class, Comparable.class, Collection.class, List.class, Set.class, Map.class);
+		final List<TypeInfo<?>[]> typePairs = new ArrayList<>();
+		for(final Class<?> sourceClass : classes) {
+			for(final Class<?> targetClass : classes) {
+				typePairs.add(new TypeInfo<?>[] {TypeInfo.forClass(sourceClass), TypeInfo.forClass(targetClass)});
+			}
+		}
+		assertThat(typePairs.size(), is(greaterThanOrEqualTo(ConverterRegistry.MAX_CACHED_CONVERTER_COUNT)));
+		for(int i = 0; i < ConverterRegistry.MAX_CACHED_CONVERTER_COUNT; i++) {
+			registry.findConverter(typePairs.get(i)[0], typePairs.get(i)[1]);
+		}
+		final Converter<?, ?> cachedConverter = registry.getConverter(STRING_TYPE, TypeInfo.forClass(Object.class));
+		assertThat(registry.getConverter(STRING_TYPE, TypeInfo.forClass(Object.class)), is(sameInstance(cachedConverter)));
+		final TypeInfo<StringBuilder> stringBuilderType = TypeInfo.forClass(StringBuilder.class);
+		final Converter<?, ?> uncachedConverter = registry.getConverter(stringBuilderType, TypeInfo.forClass(CharSequence.class));
+		assertThat(registry.getConverter(stringBuilderType, TypeInfo.forClass(CharSequence.class)), is(not(sameInstance(uncachedConverter))));
+	}
+
+}
@@ -0,0 +1,612 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect.processor;
+
+import static java.util.Objects.*;
+
+import java.io.*;
+import java.util.*;
+
+import javax.annotation.*;
+import javax.annotation.processing.*;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.*;
+import javax.lang.model.util.*;
+import javax.tools.*;
+import javax.tools.Diagnostic.Kind;
+
+import io.ploop.introspect.*;
+
+/**
+ * Annotation processor that precomputes the introspection of each class annotated with {@link Introspected}.
+ * <p>
+ * For each annotated class the processor discovers the properties from public getter and setter methods following the same rules as {@link Introspector},
+ * and generates an {@link IntrospectionDescriptor} named by appending {@link IntrospectionDescriptor#DESCRIPTOR_CLASS_NAME_SUFFIX} to the binary name of the
+ * class, which invokes the accessor methods directly. The descriptors of each package are listed in one or more generated {@link IntrospectionIndex}
+ * classes, which are registered as services so that {@link Introspection#of(Class)} can find the descriptors without reflection.
+ * </p>
+ * <p>
+ * If a descriptor cannot be generated for an annotated class, for example because the class is generic, is not public, or has a property the type of which
+ * cannot be expressed without type variables or wildcards, a warning is issued and the properties of the class will be discovered at runtime.
+ * </p>
+ * @author Garret Wilson
+ */
+@SupportedAnnotationTypes("io.ploop.introspect.Introspected")
+public class IntrospectionProcessor extends AbstractProcessor {
+
+	/** The prefix of the simple names of generated index classes, to which a hash of the indexed class names is appended. */
+	public static final String INDEX_CLASS_SIMPLE_NAME_PREFIX = "IntrospectionIndex$$";
+
+	/** The maximum number of descriptors listed in a single index class, keeping the size of its lookup method within class file limits. */
+	static final int MAX_INDEX_CLASS_DESCRIPTOR_COUNT = 1000;
+
+	/** The path of the service configuration file listing the generated index classes. */
+	static final String INDEX_SERVICE_RESOURCE_NAME = "META-INF/services/" + IntrospectionIndex.class.getName();
+
+	private static final String TYPE_INFO_CLASS_NAME = "io.ploop.reflect.TypeInfo";
+
+	/** The binary names of the index classes generated in all rounds. */
+	private final Set<String> indexClassNames = new TreeSet<>();
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(final Set<? extends TypeElement> annotations, final RoundEnvironment roundEnvironment) {
+		if(roundEnvironment.processingOver()) {
+			if(!indexClassNames.isEmpty()) {
+				writeIndexService();
+			}
+			return false;
+		}
+		//generate the descriptors, grouping the described classes by package for indexing
+		final Map<String, SortedMap<String, TypeElement>> describedClassesByPackage = new TreeMap<>();
+		for(final Element element : roundEnvironment.getElementsAnnotatedWith(Introspected.class)) {
+			if(element.getKind() != ElementKind.CLASS) {
+				warn(element, "Only classes can be introspected at build time.");
+				continue;
+			}
+			final TypeElement typeElement = (TypeElement)element;
+			final List<PropertyDescription> properties = describeProperties(typeElement);
+			if(properties == null) {
+				continue;
+			}
+			try {
+				writeDescriptor(typeElement, properties);
+			} catch(final IOException ioException) {
+				error(typeElement, "Unable to write introspection descriptor: " + ioException.getMessage());
+				continue;
+			}
+			final String packageName = getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+			describedClassesByPackage.computeIfAbsent(packageName, name -> new TreeMap<>()).put(getBinaryName(typeElement), typeElement);
+		}
+		//generate the indexes
+		for(final Map.Entry<String, SortedMap<String, TypeElement>> packageEntry : describedClassesByPackage.entrySet()) {
+			final List<TypeElement> describedClasses = new ArrayList<>(packageEntry.getValue().values());
+			for(int fromIndex = 0; fromIndex < describedClasses.size(); fromIndex += MAX_INDEX_CLASS_DESCRIPTOR_COUNT) {
+				final List<TypeElement> indexedClasses = describedClasses.subList(fromIndex,
+						Math.min(fromIndex + MAX_INDEX_CLASS_DESCRIPTOR_COUNT, describedClasses.size()));
+				try {
+					indexClassNames.add(writeIndex(packageEntry.getKey(), indexedClasses));
+				} catch(final IOException ioException) {
+					error(indexedClasses.get(0), "Unable to write introspection index: " + ioException.getMessage());
+				}
+			}
+		}
+		return false;
+	}
+
+	/** @return The utilities for operating on program elements. */
+	protected Elements getElementUtils() {
+		return processingEnv.getElementUtils();
+	}
+
+	/** @return The utilities for operating on types. */
+	protected Types getTypeUtils() {
+		return processingEnv.getTypeUtils();
+	}
+
+	/**
+	 * Determines the binary name of a class, such as <code>com.example.Outer$Inner</code>.
+	 * @param typeElement The class element.
+	 * @return The binary name of the class.
+	 */
+	protected String getBinaryName(@Nonnull final TypeElement typeElement) {
+		return getElementUtils().getBinaryName(typeElement).toString();
+	}
+
+	/**
+	 * Determines the simple name of the descriptor class generated for a class, which is in the same package as the described class.
+	 * @param typeElement The class being described.
+	 * @return The simple name of the generated descriptor class, such as <code>Outer$Inner$$Introspection</code>.
+	 * @see IntrospectionDescriptor#DESCRIPTOR_CLASS_NAME_SUFFIX
+	 */
+	protected String getDescriptorSimpleName(@Nonnull final TypeElement typeElement) {
+		final String binaryName = getBinaryName(typeElement);
+		return binaryName.substring(binaryName.lastIndexOf('.') + 1) + IntrospectionDescriptor.DESCRIPTOR_CLASS_NAME_SUFFIX;
+	}
+
+	/**
+	 * Discovers the properties of a class from its public getter and setter methods, following the same rules as {@link Introspector} uses at runtime.
+	 * @param typeElement The class the properties of which should be discovered.
+	 * @return The properties of the class in order of property name, or <code>null</code> if a descriptor cannot be generated for the class, in which case a
+	 *         warning will have been issued.
+	 */
+	protected @Nullable List<PropertyDescription> describeProperties(@Nonnull final TypeElement typeElement) {
+		if(!typeElement.getTypeParameters().isEmpty()) {
+			warn(typeElement, "Generic classes cannot be introspected at build time.");
+			return null;
+		}
+		for(Element enclosingElement = typeElement; enclosingElement instanceof TypeElement; enclosingElement = enclosingElement.getEnclosingElement()) {
+			final Set<Modifier> modifiers = enclosingElement.getModifiers();
+			if(!modifiers.contains(Modifier.PUBLIC)
+					|| (((TypeElement)enclosingElement).getNestingKind() == NestingKind.MEMBER && !modifiers.contains(Modifier.STATIC))) {
+				warn(typeElement, "Only public top-level and static nested classes can be introspected at build time.");
+				return null;
+			}
+		}
+		final DeclaredType declaredType = (DeclaredType)typeElement.asType();
+		final Map<String, AccessorMethod> getterMethods = new HashMap<>();
+		final Map<String, List<AccessorMethod>> setterMethods = new HashMap<>();
+		for(final ExecutableElement method : ElementFilter.methodsIn(getElementUtils().getAllMembers(typeElement))) {
+			final Set<Modifier> modifiers = method.getModifiers();
+			if(!modifiers.contains(Modifier.PUBLIC) || modifiers.contains(Modifier.STATIC)
+					|| ((TypeElement)method.getEnclosingElement()).getQualifiedName().contentEquals(Object.class.getName())) { //Object members are not resolved
+				continue;
+			}
+			final ExecutableType methodType = (ExecutableType)getTypeUtils().asMemberOf(declaredType, method);
+			final List<? extends TypeMirror> parameterTypes = methodType.getParameterTypes();
+			final TypeMirror returnType = methodType.getReturnType();
+			if(parameterTypes.isEmpty() && returnType.getKind() != TypeKind.VOID) { //see if the method is a getter candidate
+				final String propertyName = JavaBeans.getGetterPropertyName(method.getSimpleName().toString());
+				if(propertyName != null) {
+					getterMethods.put(propertyName, new AccessorMethod(method, returnType));
+				}
+			} else if(parameterTypes.size() == 1 && returnType.getKind() == TypeKind.VOID) { //see if the method is a setter candidate
+				final String propertyName = JavaBeans.getSetterPropertyName(method.getSimpleName().toString());
+				if(propertyName != null) {
+					setterMethods.computeIfAbsent(propertyName, name -> new ArrayList<>(1)).add(new AccessorMethod(method, parameterTypes.get(0)));
+				}
+			}
+		}
+
+		final SortedSet<String> candidatePropertyNames = new TreeSet<>(getterMethods.keySet());
+		candidatePropertyNames.addAll(setterMethods.keySet());
+		final List<PropertyDescription> properties = new ArrayList<>(candidatePropertyNames.size());
+		for(final String propertyName : candidatePropertyNames) {
+			final AccessorMethod getterMethod = getterMethods.get(propertyName);
+			final List<AccessorMethod> setterMethodCandidates = setterMethods.getOrDefault(propertyName, Collections.emptyList());
+			AccessorMethod setterMethod = null;
+			final TypeMirror propertyType;
+			if(getterMethod != null) {
+				propertyType = getterMethod.getValueType();
+				for(final AccessorMethod setterMethodCandidate : setterMethodCandidates) { //find a setter accepting the same type the getter returns
+					if(getTypeUtils().isSameType(setterMethodCandidate.getValueType(), propertyType)) {
+						setterMethod = setterMethodCandidate;
+						break;
+					}
+				}
+			} else {
+				if(setterMethodCandidates.size() != 1) { //a write-only property with overloaded setters is ambiguous
+					continue;
+				}
+				setterMethod = setterMethodCandidates.get(0);
+				propertyType = setterMethod.getValueType();
+			}
+			for(final AccessorMethod accessorMethod : Arrays.asList(getterMethod, setterMethod)) {
+				if(accessorMethod != null && throwsCheckedException(accessorMethod.getMethod())) {
+					warn(typeElement, String.format("Property %s cannot be introspected at build time, as its accessor %s throws a checked exception.", propertyName,
+							accessorMethod.getMethod().getSimpleName()));
+					return null;
+				}
+			}
+			if(toTypeInfoExpression(propertyType) == null) {
+				warn(typeElement, String.format("Property %s cannot be introspected at build time, as its type %s cannot be represented without type variables.",
+						propertyName, propertyType));
+				return null;
+			}
+			properties.add(new PropertyDescription(propertyName, propertyType, getterMethod, setterMethod));
+		}
+		if(properties.isEmpty()) { //classes without accessor properties may be introspected using fields at runtime
+			warn(typeElement, "No accessor properties found; the class will be introspected at runtime.");
+			return null;
+		}
+		return properties;
+	}
+
+	/**
+	 * Determines whether a method declares that it throws a checked exception, which a generated descriptor would not be able to invoke directly.
+	 * @param method The method to check.
+	 * @return <code>true</code> if the method declares some exception that is not a runtime exception or an error.
+	 */
+	protected boolean throwsCheckedException(@Nonnull final ExecutableElement method) {
+		final TypeMirror runtimeExceptionType = getElementUtils().getTypeElement(RuntimeException.class.getName()).asType();
+		final TypeMirror errorType = getElementUtils().getTypeElement(Error.class.getName()).asType();
+		for(final TypeMirror thrownType : method.getThrownTypes()) {
+			if(!getTypeUtils().isAssignable(thrownType, runtimeExceptionType) && !getTypeUtils().isAssignable(thrownType, errorType)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Generates Java source code for a type, using fully qualified names and omitting any type annotations.
+	 * @param type The type to represent in source code.
+	 * @return The source code of the type, or <code>null</code> if the type includes type variables, wildcards, or other types which cannot be expressed in a
+	 *         generated descriptor.
+	 */
+	protected @Nullable String toSourceType(@Nonnull final TypeMirror type) {
+		switch(type.getKind()) {
+			case BOOLEAN:
+			case BYTE:
+			case SHORT:
+			case INT:
+			case LONG:
+			case CHAR:
+			case FLOAT:
+			case DOUBLE:
+				return type.getKind().name().toLowerCase(Locale.ROOT);
+			case ARRAY:
+				{
+					final String componentSourceType = toSourceType(((ArrayType)type).getComponentType());
+					return componentSourceType != null ? componentSourceType + "[]" : null;
+				}
+			case DECLARED:
+				{
+					final DeclaredType declaredType = (DeclaredType)type;
+					final TypeMirror enclosingType = declaredType.getEnclosingType();
+					if(enclosingType.getKind() == TypeKind.DECLARED && !((DeclaredType)enclosingType).getTypeArguments().isEmpty()) {
+						return null; //inner classes of parameterized types are not supported
+					}
+					final StringBuilder sourceType = new StringBuilder(((TypeElement)declaredType.asElement()).getQualifiedName());
+					final List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+					if(!typeArguments.isEmpty()) {
+						sourceType.append('<');
+						for(int i = 0; i < typeArguments.size(); i++) {
+							final String typeArgumentSourceType = toSourceType(typeArguments.get(i));
+							if(typeArgumentSourceType == null) {
+								return null;
+							}
+							if(i > 0) {
+								sourceType.append(", ");
+							}
+							sourceType.append(typeArgumentSourceType);
+						}
+						sourceType.append('>');
+					}
+					return sourceType.toString();
+				}
+			default:
+				return null;
+		}
+	}
+
+	/**
+	 * Generates a Java expression evaluating to the canonical <code>TypeInfo</code> of a type.
+	 * @param type The type for which to generate type information.
+	 * @return The source code of an expression for the type information, or <code>null</code> if the type cannot be expressed in a generated descriptor.
+	 * @see #toSourceType(TypeMirror)
+	 */
+	protected @Nullable String toTypeInfoExpression(@Nonnull final TypeMirror type) {
+		if(toSourceType(type) == null) {
+			return null;
+		}
+		final String reflectTypeExpression = toReflectTypeExpression(type);
+		if(reflectTypeExpression == null) {
+			return null;
+		}
+		return reflectTypeExpression.endsWith(".class") ? TYPE_INFO_CLASS_NAME + ".forClass(" + reflectTypeExpression + ")"
+				: TYPE_INFO_CLASS_NAME + ".forResolvedType(" + reflectTypeExpression + ")";
+	}
+
+	/**
+	 * Generates a Java expression evaluating to a {@link java.lang.reflect.Type} representing a supported type: either a class literal, or a resolved type for
+	 * parameterized types.
+	 * @param type The type, which must be supported as determined by {@link #toSourceType(TypeMirror)}.
+	 * @return The source code of an expression for the type, or <code>null</code> if the type is an array of parameterized types, which has no class literal.
+	 */
+	private @Nullable String toReflectTypeExpression(@Nonnull final TypeMirror type) {
+		if(type.getKind() == TypeKind.DECLARED) {
+			final DeclaredType declaredType = (DeclaredType)type;
+			final List<? extends TypeMirror> typeArguments = declaredType.getTypeArguments();
+			if(!typeArguments.isEmpty()) {
+				final StringBuilder expression = new StringBuilder(TYPE_INFO_CLASS_NAME).append(".TYPE_RESOLVER.resolve(");
+				expression.append(((TypeElement)declaredType.asElement()).getQualifiedName()).append(".class");
+				for(final TypeMirror typeArgument : typeArguments) {
+					final String typeArgumentExpression = toReflectTypeExpression(typeArgument);
+					if(typeArgumentExpression == null) {
+						return null;
+					}
+					expression.append(", ").append(typeArgumentExpression);
+				}
+				return expression.append(')').toString();
+			}
+		}
+		final String sourceType = toSourceType(type);
+		return sourceType.indexOf('<') < 0 ? sourceType + ".class" : null;
+	}
+
+	/**
+	 * Writes the source code of the introspection descriptor for a class.
+	 * @param typeElement The class being described.
+	 * @param properties The properties of the class, in order of property name.
+	 * @throws IOException if there is an error writing the source file.
+	 */
+	protected void writeDescriptor(@Nonnull final TypeElement typeElement, @Nonnull final List<PropertyDescription> properties) throws IOException {
+		final String packageName = getElementUtils().getPackageOf(typeElement).getQualifiedName().toString();
+		final String descriptorSimpleName = getDescriptorSimpleName(typeElement);
+		final String beanClassName = typeElement.getQualifiedName().toString();
+		final JavaFileObject sourceFile = processingEnv.getFiler()
+				.createSourceFile(packageName.isEmpty() ? descriptorSimpleName : packageName + '.' + descriptorSimpleName, typeElement);
+		try (final PrintWriter writer = new PrintWriter(sourceFile.openWriter())) {
+			if(!packageName.isEmpty()) {
+				writer.printf("package %s;%n%n", packageName);
+			}
+			writer.printf("/** Introspection descriptor of {@link %s}, generated by {@code %s}. */%n", beanClassName, getClass().getName());
+			writer.printf("public final class %s extends %s<%s> {%n%n", descriptorSimpleName, IntrospectionDescriptor.class.getName(), beanClassName);
+			writer.printf("\t/** Constructor. */%n");
+			writer.printf("\tpublic %s() {%n\t\tsuper(%s.class);%n\t}%n%n", descriptorSimpleName, beanClassName);
+
+			//createProperties()
+			final String propertyTypeName = String.format("%s<%s, ?>", Property.class.getName(), beanClassName);
+			writer.printf("\t@Override%n\tprotected java.util.List<%s> createProperties() {%n", propertyTypeName);
+			writer.printf("\t\tfinal java.util.List<%s> properties = new java.util.ArrayList<>(%d);%n", propertyTypeName, properties.size());
+			for(int index = 0; index < properties.size(); index++) {
+				final PropertyDescription property = properties.get(index);
+				writer.printf("\t\tproperties.add(createProperty(\"%s\", %s, %d, %b, %b));%n", property.getName(), toTypeInfoExpression(property.getType()), index,
+						property.getGetterMethod() != null, property.getSetterMethod() != null);
+			}
+			writer.printf("\t\treturn properties;%n\t}%n");
+
+			//BeanAccessor
+			writeGetMethod(writer, "get", null, "Object", beanClassName, properties);
+			writeGetMethod(writer, "getInt", TypeKind.INT, "int", beanClassName, properties);
+			writeGetMethod(writer, "getLong", TypeKind.LONG, "long", beanClassName, properties);
+			writeGetMethod(writer, "getDouble", TypeKind.DOUBLE, "double", beanClassName, properties);
+			writeGetMethod(writer, "getBoolean", TypeKind.BOOLEAN, "boolean", beanClassName, properties);
+			writer.printf("%n\t@Override%n\tpublic void readAll(final %s object, final Object[] values) {%n", beanClassName);
+			for(int index = 0; index < properties.size(); index++) {
+				final AccessorMethod getterMethod = properties.get(index).getGetterMethod();
+				if(getterMethod != null) {
+					writer.printf("\t\tvalues[%d] = object.%s();%n", index, getterMethod.getMethod().getSimpleName());
+				}
+			}
+			writer.printf("\t}%n");
+
+			//BeanMutator
+			writeSetMethod(writer, "set", null, "Object", beanClassName, properties);
+			writeSetMethod(writer, "setInt", TypeKind.INT, "int", beanClassName, properties);
+			writeSetMethod(writer, "setLong", TypeKind.LONG, "long", beanClassName, properties);
+			writeSetMethod(writer, "setDouble", TypeKind.DOUBLE, "double", beanClassName, properties);
+			writeSetMethod(writer, "setBoolean", TypeKind.BOOLEAN, "boolean", beanClassName, properties);
+
+			writer.printf("%n}%n");
+		}
+	}
+
+	/**
+	 * Writes a method to retrieve the value of a single property by index, switching on the index to invoke the appropriate getter.
+	 * @param writer The writer of the descriptor source.
+	 * @param methodName The name of the method to write.
+	 * @param valueTypeKind The primitive type of property values the method returns, or <code>null</code> if the method returns values of all properties as
+	 *          objects.
+	 * @param valueSourceType The source code of the type the method returns.
+	 * @param beanClassName The canonical name of the class being described.
+	 * @param properties The properties of the class, in order of their indexes.
+	 */
+	private void writeGetMethod(@Nonnull final PrintWriter writer, @Nonnull final String methodName, @Nullable final TypeKind valueTypeKind,
+			@Nonnull final String valueSourceType, @Nonnull final String beanClassName, @Nonnull final List<PropertyDescription> properties) {
+		writer.printf("%n\t@Override%n\tpublic %s %s(final %s object, final int index) {%n\t\tswitch(index) {%n", valueSourceType, methodName, beanClassName);
+		for(int index = 0; index < properties.size(); index++) {
+			final PropertyDescription property = properties.get(index);
+			if(property.getGetterMethod() != null && (valueTypeKind == null || property.getType().getKind() == valueTypeKind)) {
+				writer.printf("\t\t\tcase %d:%n\t\t\t\treturn object.%s();%n", index, property.getGetterMethod().getMethod().getSimpleName());
+			}
+		}
+		writer.printf("\t\t\tdefault:%n\t\t\t\tthrow new IndexOutOfBoundsException(\"No readable %sproperty at index \" + index + \".\");%n\t\t}%n\t}%n",
+				valueTypeKind != null ? valueSourceType + " " : "");
+	}
+
+	/**
+	 * Writes a method to update the value of a single property by index, switching on the index to invoke the appropriate setter.
+	 * @param writer The writer of the descriptor source.
+	 * @param methodName The name of the method to write.
+	 * @param valueTypeKind The primitive type of property values the method accepts, or <code>null</code> if the method accepts values of all properties as
+	 *          objects.
+	 * @param valueSourceType The source code of the type the method accepts.
+	 * @param beanClassName The canonical name of the class being described.
+	 * @param properties The properties of the class, in order of their indexes.
+	 */
+	private void writeSetMethod(@Nonnull final PrintWriter writer, @Nonnull final String methodName, @Nullable final TypeKind valueTypeKind,
+			@Nonnull final String valueSourceType, @Nonnull final String beanClassName, @Nonnull final List<PropertyDescription> properties) {
+		writer.printf("%n\t@Override%n");
+		if(valueTypeKind == null) {
+			writer.printf("\t@SuppressWarnings(\"unchecked\")%n");
+		}
+		writer.printf("\tpublic void %s(final %s object, final int index, final %s value) {%n\t\tswitch(index) {%n", methodName, beanClassName, valueSourceType);
+		for(int index = 0; index < properties.size(); index++) {
+			final PropertyDescription property = properties.get(index);
+			final TypeMirror propertyType = property.getType();
+			if(property.getSetterMethod() != null && (valueTypeKind == null || propertyType.getKind() == valueTypeKind)) {
+				final String valueExpression;
+				if(valueTypeKind != null) {
+					valueExpression = "value";
+				} else if(propertyType.getKind().isPrimitive()) { //cast to the wrapper type, which will be unboxed
+					valueExpression = String.format("(%s)value", getTypeUtils().boxedClass((PrimitiveType)propertyType).getQualifiedName());
+				} else {
+					valueExpression = String.format("(%s)value", toSourceType(propertyType));
+				}
+				writer.printf("\t\t\tcase %d:%n\t\t\t\tobject.%s(%s);%n\t\t\t\treturn;%n", index, property.getSetterMethod().getMethod().getSimpleName(),
+						valueExpression);
+			}
+		}
+		writer.printf("\t\t\tdefault:%n\t\t\t\tthrow new IndexOutOfBoundsException(\"No writable %sproperty at index \" + index + \".\");%n\t\t}%n\t}%n",
+				valueTypeKind != null ? valueSourceType + " " : "");
+	}
+
+	/**
+	 * Writes the source code of an index of the descriptors of classes in a single package.
+	 * @param packageName The name of the package of the indexed classes.
+	 * @param indexedClasses The classes, the descriptors of which have been generated, to list in the index.
+	 * @return The binary name of the generated index class.
+	 * @throws IOException if there is an error writing the source file.
+	 */
+	protected String writeIndex(@Nonnull final String packageName, @Nonnull final List<TypeElement> indexedClasses) throws IOException {
+		final StringJoiner indexedClassNames = new StringJoiner(",");
+		for(final TypeElement indexedClass : indexedClasses) {
+			indexedClassNames.add(getBinaryName(indexedClass));
+		}
+		//name the index by its contents, so that indexes of the same package generated in separate compilations do not conflict
+		final String indexSimpleName = INDEX_CLASS_SIMPLE_NAME_PREFIX + String.format("%08x", indexedClassNames.toString().hashCode());
+		final String indexClassName = packageName.isEmpty() ? indexSimpleName : packageName + '.' + indexSimpleName;
+		final JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(indexClassName, indexedClasses.toArray(new Element[indexedClasses.size()]));
+		try (final PrintWriter writer = new PrintWriter(sourceFile.openWriter())) {
+			if(!packageName.isEmpty()) {
+				writer.printf("package %s;%n%n", packageName);
+			}
+			writer.printf("/** Index of introspection descriptors, generated by {@code %s}. */%n", getClass().getName());
+			writer.printf("public final class %s implements %s {%n%n", indexSimpleName, IntrospectionIndex.class.getName());
+			writer.printf("\t@Override%n\tpublic %s<?> findDescriptor(final String className) {%n\t\tswitch(className) {%n", IntrospectionDescriptor.class.getName());
+			for(final TypeElement indexedClass : indexedClasses) {
+				writer.printf("\t\t\tcase \"%s\":%n\t\t\t\treturn new %s();%n", getBinaryName(indexedClass), getDescriptorSimpleName(indexedClass));
+			}
+			writer.printf("\t\t\tdefault:%n\t\t\t\treturn null;%n\t\t}%n\t}%n%n}%n");
+		}
+		return indexClassName;
+	}
+
+	/** Writes the service configuration file listing all the generated index classes. */
+	protected void writeIndexService() {
+		try {
+			final FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_SERVICE_RESOURCE_NAME);
+			try (final Writer writer = resource.openWriter()) {
+				for(final String indexClassName : indexClassNames) {
+					writer.write(indexClassName);
+					writer.write('\n');
+				}
+			}
+		} catch(final IOException ioException) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "Unable to write introspection index service configuration: " + ioException.getMessage());
+		}
+	}
+
+	/**
+	 * Issues a warning that a class will not be introspected at build time.
+	 * @param element The element to which the warning applies.
+	 * @param message The warning message.
+	 */
+	private void warn(@Nonnull final Element element, @Nonnull final String message) {
+		processingEnv.getMessager().printMessage(Kind.WARNING, message, element);
+	}
+
+	/**
+	 * Issues an error.
+	 * @param element The element to which the error applies.
+	 * @param message The error message.
+	 */
+	private void error(@Nonnull final Element element, @Nonnull final String message) {
+		processingEnv.getMessager().printMessage(Kind.ERROR, message, element);
+	}
+
+	/**
+	 * An accessor method along with the type of value it gets or sets, resolved as a member of the class being described.
+	 * @author Garret Wilson
+	 */
+	protected static final class AccessorMethod {
+
+		private final ExecutableElement method;
+
+		/** @return The getter or setter method. */
+		public ExecutableElement getMethod() {
+			return method;
+		}
+
+		private final TypeMirror valueType;
+
+		/** @return The type the getter returns or the setter accepts. */
+		public TypeMirror getValueType() {
+			return valueType;
+		}
+
+		/**
+		 * Constructor.
+		 * @param method The getter or setter method.
+		 * @param valueType The type the getter returns or the setter accepts.
+		 */
+		public AccessorMethod(@Nonnull final ExecutableElement method, @Nonnull final TypeMirror valueType) {
+			this.method = requireNonNull(method);
+			this.valueType = requireNonNull(valueType);
+		}
+
+	}
+
+	/**
+	 * A property discovered at build time.
+	 * @author Garret Wilson
+	 */
+	protected static final class PropertyDescription {
+
+		private final String name;
+
+		/** @return The name of the property. */
+		public String getName() {
+			return name;
+		}
+
+		private final TypeMirror type;
+
+		/** @return The type of the property. */
+		public TypeMirror getType() {
+			return type;
+		}
+
+		private final AccessorMethod getterMethod;
+
+		/** @return The getter of the property, or <code>null</code> if the property is not readable. */
+		public @Nullable AccessorMethod getGetterMethod() {
+			return getterMethod;
+		}
+
+		private final AccessorMethod setterMethod;
+
+		/** @return The setter of the property, or <code>null</code> if the property is not writable. */
+		public @Nullable AccessorMethod getSetterMethod() {
+			return setterMethod;
+		}
+
+		/**
+		 * Constructor.
+		 * @param name The name of the property.
+		 * @param type The type of the property.
+		 * @param getterMethod The getter of the property, or <code>null</code> if the property is not readable.
+		 * @param setterMethod The setter of the property, or <code>null</code> if the property is not writable.
+		 */
+		public PropertyDescription(@Nonnull final String name, @Nonnull final TypeMirror type, @Nullable final AccessorMethod getterMethod,
+				@Nullable final AccessorMethod setterMethod) {
+			this.name = requireNonNull(name);
+			this.type = requireNonNull(type);
+			this.getterMethod = getterMethod;
+			this.setterMethod = setterMethod;
+		}
+
+	}
+
+}
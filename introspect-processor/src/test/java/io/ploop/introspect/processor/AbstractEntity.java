@@ -0,0 +1,41 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect.processor;
+
+/**
+ * Generic base class for testing property types resolved in subclasses.
+ * @param <I> The type of identifier.
+ * @author Garret Wilson
+ */
+public abstract class AbstractEntity<I> {
+
+	private I id;
+
+	/** @return The identifier. */
+	public I getId() {
+		return id;
+	}
+
+	/**
+	 * Sets the identifier.
+	 * @param id The new identifier.
+	 */
+	public void setId(final I id) {
+		this.id = id;
+	}
+
+}
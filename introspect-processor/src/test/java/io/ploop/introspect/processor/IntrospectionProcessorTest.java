@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect.processor;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+
+import io.ploop.introspect.*;
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Tests of {@link IntrospectionProcessor}, which processes the annotated classes of these tests during test compilation.
+ * @author Garret Wilson
+ */
+public class IntrospectionProcessorTest {
+
+	/** @see IntrospectionDescriptor#find(Class) */
+	@Test
+	public void testDescriptorGenerated() {
+		final IntrospectionDescriptor<Person> descriptor = IntrospectionDescriptor.find(Person.class).get();
+		assertThat(descriptor.getClass().getName(), is(Person.class.getName() + IntrospectionDescriptor.DESCRIPTOR_CLASS_NAME_SUFFIX));
+		assertThat(descriptor.getObjectClass(), is(sameInstance(Person.class)));
+		assertThat(IntrospectionDescriptor.find(AbstractEntity.class).isPresent(), is(false));
+		assertThat(IntrospectionDescriptor.find(PackagePrivateBean.class).isPresent(), is(false));
+	}
+
+	/** Makes sure that the precomputed properties are the same as those discovered at runtime. */
+	@Test
+	public void testDescriptorMatchesRuntimeDiscovery() {
+		final List<Property<Person, ?>> properties = IntrospectionDescriptor.find(Person.class).get().createIntrospection().getProperties();
+		final List<Property<Person, ?>> discoveredProperties = Introspector.INSTANCE.introspect(TypeInfo.forClass(Person.class)).getProperties();
+		assertThat(properties.size(), is(discoveredProperties.size()));
+		for(int i = 0; i < properties.size(); i++) {
+			final Property<Person, ?> property = properties.get(i);
+			final Property<Person, ?> discoveredProperty = discoveredProperties.get(i);
+			assertThat(property.getName(), is(discoveredProperty.getName()));
+			assertThat(property.getValueType(), is(sameInstance(discoveredProperty.getValueType())));
+			assertThat(property.isReadable(), is(discoveredProperty.isReadable()));
+			assertThat(property.isWritable(), is(discoveredProperty.isWritable()));
+		}
+		assertThat(properties.stream().map(Property::getName).toArray(), is(new Object[] {"active", "age", "id", "name", "nameLength", "password", "tags"}));
+	}
+
+	/** @see Introspection#of(Class) */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testIntrospectionOfUsesDescriptor() throws ReflectiveOperationException {
+		final Introspection<Person> introspection = Introspection.of(Person.class);
+		assertThat(introspection.getBeanAccessor().get(), is(instanceOf(IntrospectionDescriptor.class)));
+		final Person person = new Person();
+		((Property<Person, String>)introspection.getProperty("name")).setValue(person, "Jane");
+		((IntProperty<Person>)introspection.getProperty("age")).setInt(person, 42);
+		((BooleanProperty<Person>)introspection.getProperty("active")).setBoolean(person, true);
+		((Property<Person, Long>)introspection.getProperty("id")).setValue(person, 123L);
+		((Property<Person, List<String>>)introspection.getProperty("tags")).setValue(person, Arrays.asList("foo", "bar"));
+		assertThat(person.getName(), is("Jane"));
+		assertThat(person.getAge(), is(42));
+		assertThat(person.isActive(), is(true));
+		assertThat(person.getId(), is(123L));
+		assertThat(introspection.readAll(person), is(new Object[] {true, 42, 123L, "Jane", 4.0, null, Arrays.asList("foo", "bar")}));
+		assertThat(((DoubleProperty<Person>)introspection.getProperty("nameLength")).getDouble(person), is(4.0));
+		final Property<Person, String> passwordProperty = (Property<Person, String>)introspection.getProperty("password");
+		assertThrows(UnsupportedOperationException.class, () -> passwordProperty.getValue(person));
+		assertThrows(IllegalArgumentException.class, () -> ((Property<Person, Object>)introspection.getProperty("name")).setValue(person, 1));
+	}
+
+	/** A class which cannot be introspected at build time because it is not public. */
+	@Introspected
+	static class PackagePrivateBean {
+
+		/** @return The foo value. */
+		public String getFoo() {
+			return "foo";
+		}
+
+	}
+
+}
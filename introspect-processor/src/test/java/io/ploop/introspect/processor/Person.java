@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect.processor;
+
+import java.util.*;
+
+import io.ploop.introspect.Introspected;
+
+/**
+ * Bean for testing introspection precomputed at build time.
+ * @author Garret Wilson
+ */
+@Introspected
+public class Person extends AbstractEntity<Long> {
+
+	private String name;
+
+	/** @return The name. */
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * Sets the name.
+	 * @param name The new name.
+	 */
+	public void setName(final String name) {
+		this.name = name;
+	}
+
+	private int age;
+
+	/** @return The age. */
+	public int getAge() {
+		return age;
+	}
+
+	/**
+	 * Sets the age.
+	 * @param age The new age.
+	 */
+	public void setAge(final int age) {
+		this.age = age;
+	}
+
+	private boolean active;
+
+	/** @return Whether the person is active. */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Sets whether the person is active.
+	 * @param active The new active status.
+	 */
+	public void setActive(final boolean active) {
+		this.active = active;
+	}
+
+	private List<String> tags = new ArrayList<>();
+
+	/** @return The tags. */
+	public List<String> getTags() {
+		return tags;
+	}
+
+	/**
+	 * Sets the tags.
+	 * @param tags The new tags.
+	 */
+	public void setTags(final List<String> tags) {
+		this.tags = tags;
+	}
+
+	private String password;
+
+	/**
+	 * Sets the password, which cannot be read.
+	 * @param password The new password.
+	 */
+	public void setPassword(final String password) {
+		this.password = password;
+	}
+
+	/** @return The length of the name. */
+	public double getNameLength() {
+		return name != null ? name.length() : 0;
+	}
+
+	/** @return A new instance, which is not a property. */
+	public static Person getInstance() {
+		return new Person();
+	}
+
+}
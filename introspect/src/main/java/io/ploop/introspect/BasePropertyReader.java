@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import javax.annotation.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Base implementation of a property reader.
+ * <p>
+ * A reader may be created with its value type <dfn>verified</dfn>, meaning that whoever created the reader has already proved that every value the
+ * underlying member can produce is an instance of the property value type, for example by comparing the getter method return type with the property type
+ * during introspection. A verified reader returns values directly, without the runtime instance check and error formatting of
+ * {@link TypeInfo#castReflection(Object)}.
+ * </p>
+ * @param <T> The type of object this property is for.
+ * @param <V> The type of value stored in the property.
+ * @author Garret Wilson
+ */
+public abstract class BasePropertyReader<T, V> extends BasePropertyValueInfo<V> implements PropertyReader<T, V> {
+
+	private final boolean valueTypeVerified;
+
+	/** @return <code>true</code> if values read are known to be instances of the value type and are not checked at runtime. */
+	public boolean isValueTypeVerified() {
+		return valueTypeVerified;
+	}
+
+	/**
+	 * Constructor.
+	 * @param valueType The type of value the property represents.
+	 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
+	 */
+	public BasePropertyReader(@Nonnull final TypeInfo<V> valueType, final boolean valueTypeVerified) {
+		super(valueType);
+		this.valueTypeVerified = valueTypeVerified;
+	}
+
+	/**
+	 * Casts a value read from the underlying member to the property value type. If the value type has been verified, the value is returned without any check.
+	 * @param value The value read.
+	 * @return The value cast to the value type.
+	 * @throws ClassCastException if the value type has not been verified and the value is not an instance of the value type.
+	 * @see #isValueTypeVerified()
+	 * @see TypeInfo#castReflection(Object)
+	 */
+	@SuppressWarnings("unchecked")
+	protected final V castValue(@Nullable final Object value) {
+		return valueTypeVerified ? (V)value : getValueType().castReflection(value);
+	}
+
+}
@@ -0,0 +1,91 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import javax.annotation.*;
+
+/**
+ * Direct access to all the readable properties of a bean type, identified by index.
+ * <p>
+ * Implementations are typically generated at runtime for each bean type by {@link BeanAccessorGenerator}, invoking each getter directly so that reading a
+ * whole bean requires only a single interface dispatch which the JIT compiler may inline. Property values retrieved as objects are boxed if the property
+ * is primitive; values of <code>int</code>, <code>long</code>, <code>double</code>, and <code>boolean</code> properties may also be retrieved without boxing
+ * using methods such as {@link #getInt(Object, int)}.
+ * </p>
+ * <p>
+ * Any exception thrown by a getter is propagated unchanged, even if it is a checked exception.
+ * </p>
+ * @param <T> The type of bean being accessed.
+ * @author Garret Wilson
+ */
+public interface BeanAccessor<T> {
+
+	/**
+	 * Retrieves the value of a single property.
+	 * @param object The object the property value of which should be returned.
+	 * @param index The index of the property to read.
+	 * @return The retrieved value of the property on the given object.
+	 * @throws IndexOutOfBoundsException if the given index does not identify a readable property.
+	 */
+	public Object get(@Nonnull T object, int index);
+
+	/**
+	 * Retrieves the value of a single property of type <code>int</code> without boxing.
+	 * @param object The object the property value of which should be returned.
+	 * @param index The index of the property to read.
+	 * @return The retrieved value of the property on the given object.
+	 * @throws IndexOutOfBoundsException if the given index does not identify a readable property of type <code>int</code>.
+	 */
+	public int getInt(@Nonnull T object, int index);
+
+	/**
+	 * Retrieves the value of a single property of type <code>long</code> without boxing.
+	 * @param object The object the property value of which should be returned.
+	 * @param index The index of the property to read.
+	 * @return The retrieved value of the property on the given object.
+	 * @throws IndexOutOfBoundsException if the given index does not identify a readable property of type <code>long</code>.
+	 */
+	public long getLong(@Nonnull T object, int index);
+
+	/**
+	 * Retrieves the value of a single property of type <code>double</code> without boxing.
+	 * @param object The object the property value of which should be returned.
+	 * @param index The index of the property to read.
+	 * @return The retrieved value of the property on the given object.
+	 * @throws IndexOutOfBoundsException if the given index does not identify a readable property of type <code>double</code>.
+	 */
+	public double getDouble(@Nonnull T object, int index);
+
+	/**
+	 * Retrieves the value of a single property of type <code>boolean</code> without boxing.
+	 * @param object The object the property value of which should be returned.
+	 * @param index The index of the property to read.
+	 * @return The retrieved value of the property on the given object.
+	 * @throws IndexOutOfBoundsException if the given index does not identify a readable property of type <code>boolean</code>.
+	 */
+	public boolean getBoolean(@Nonnull T object, int index);
+
+	/**
+	 * Retrieves the values of all readable properties.
+	 * @param object The object the property values of which should be returned.
+	 * @param values The array in which to store each property value at the index of its property; the elements at the indexes of any properties that are not
+	 *          readable are left unchanged.
+	 * @throws IndexOutOfBoundsException if the given array is not long enough to hold all the property values.
+	 */
+	public void readAll(@Nonnull T object, @Nonnull Object[] values);
+
+}
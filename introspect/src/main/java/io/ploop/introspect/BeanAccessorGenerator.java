@@ -0,0 +1,362 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+import static org.objectweb.asm.Opcodes.*;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.reflect.Method;
+import java.util.*;
+
+import javax.annotation.*;
+
+import org.objectweb.asm.*;
+
+import com.fasterxml.classmate.members.ResolvedMethod;
+
+/**
+ * Generates a {@link BeanAccessor} class for a bean type at runtime, invoking the getters of the bean directly.
+ * <p>
+ * Each generated class is defined in the package and class loader of the bean type using {@link MethodHandles#privateLookupIn(Class, Lookup)}, so that it is
+ * garbage collected along with the bean type without requiring a class loader of its own. Hidden classes, which would be unloaded independently of the bean
+ * type, require Java 15 and so are not available to the Java 11 release targeted by this library. If the package of the bean type is not open to this library,
+ * or if {@link BeanAccessor} is not visible to the class loader of the bean type, the generated class is instead defined in its own class loader, the parent
+ * of which is the class loader of the bean type. In either case the bean type and all its getters must be publicly accessible.
+ * </p>
+ * @author Garret Wilson
+ */
+public final class BeanAccessorGenerator {
+
+	/**
+	 * The prefix of the names of bean accessor classes that cannot be generated in the package of the bean class, to which the bean class name and
+	 * {@link #GENERATED_CLASS_NAME_SUFFIX} are appended.
+	 */
+	public static final String GENERATED_CLASS_NAME_PREFIX = "io.ploop.introspect.generated.";
+
+	/** The suffix of the names of generated bean accessor classes, which is appended to the bean class name. */
+	public static final String GENERATED_CLASS_NAME_SUFFIX = "$$BeanAccessor";
+
+	/** The version of the generated class files, matching the Java release targeted by this library. */
+	private static final int CLASS_FILE_VERSION = V11;
+
+	private static final String OBJECT_INTERNAL_NAME = Type.getInternalName(Object.class);
+
+	private static final String BEAN_ACCESSOR_INTERNAL_NAME = Type.getInternalName(BeanAccessor.class);
+
+	private static final String INDEX_OUT_OF_BOUNDS_EXCEPTION_INTERNAL_NAME = Type.getInternalName(IndexOutOfBoundsException.class);
+
+	/** This class cannot be instantiated. */
+	private BeanAccessorGenerator() {
+	}
+
+	/**
+	 * Generates and instantiates a bean accessor for the given bean class.
+	 * @param <T> The type of bean being accessed.
+	 * @param beanClass The class of bean to access.
+	 * @param getterMethods The getter methods of the bean, in the order of the indexes by which the generated accessor will access them, with <code>null</code>
+	 *          for any property that is not readable.
+	 * @return A new bean accessor invoking the given getters directly.
+	 * @throws IllegalAccessException if the bean class or one of the getters is not publicly accessible.
+	 * @throws ReflectiveOperationException if the generated class could not be instantiated.
+	 * @throws LinkageError if the generated class could not be defined.
+	 * @throws SecurityException if a class loader for the generated class is not permitted to be created.
+	 */
+	public static <T> BeanAccessor<T> generate(@Nonnull final Class<T> beanClass, @Nonnull final List<ResolvedMethod> getterMethods)
+			throws ReflectiveOperationException {
+		for(final ResolvedMethod getterMethod : getterMethods) { //make sure the generated class will be able to access all the getters
+			if(getterMethod != null) {
+				MethodHandlePropertyReader.findGetterMethodHandle(beanClass, getterMethod);
+			}
+		}
+		Class<?> generatedClass = defineClassInBeanPackage(beanClass, getterMethods);
+		if(generatedClass == null) {
+			final String className = GENERATED_CLASS_NAME_PREFIX + beanClass.getName() + GENERATED_CLASS_NAME_SUFFIX;
+			final byte[] classBytes = generateClass(className.replace('.', '/'), beanClass, getterMethods);
+			generatedClass = new BeanAccessorClassLoader(beanClass.getClassLoader()).defineClass(className, classBytes);
+		}
+		@SuppressWarnings("unchecked")
+		final BeanAccessor<T> beanAccessor = (BeanAccessor<T>)generatedClass.getConstructor().newInstance();
+		return beanAccessor;
+	}
+
+	/**
+	 * Generates a bean accessor class and defines it in the package and class loader of the bean class.
+	 * @param beanClass The class of bean to access.
+	 * @param getterMethods The getter methods of the bean, in order of their indexes, with <code>null</code> for any property that is not readable.
+	 * @return The generated class, or <code>null</code> if the class could not be defined in the package of the bean class, for example because the package is
+	 *         not open to this library, because {@link BeanAccessor} is not visible to the class loader of the bean class, or because an accessor class has
+	 *         already been defined there for the bean class.
+	 */
+	private static @Nullable Class<?> defineClassInBeanPackage(@Nonnull final Class<?> beanClass, @Nonnull final List<ResolvedMethod> getterMethods) {
+		final Lookup beanLookup;
+		try {
+			beanLookup = MethodHandles.privateLookupIn(beanClass, MethodHandles.lookup());
+		} catch(final IllegalAccessException | SecurityException illegalAccessException) {
+			return null;
+		}
+		final byte[] classBytes = generateClass((beanClass.getName() + GENERATED_CLASS_NAME_SUFFIX).replace('.', '/'), beanClass, getterMethods);
+		final Class<?> generatedClass;
+		try {
+			generatedClass = beanLookup.defineClass(classBytes);
+		} catch(final IllegalAccessException | LinkageError | SecurityException defineException) {
+			return null;
+		}
+		//the class loader of the bean class may see a different copy of the bean accessor interface
+		return BeanAccessor.class.isAssignableFrom(generatedClass) ? generatedClass : null;
+	}
+
+	/**
+	 * Generates the bytes of a bean accessor class.
+	 * @param internalName The internal name of the class to generate.
+	 * @param beanClass The class of bean to access.
+	 * @param getterMethods The getter methods of the bean, in order of their indexes, with <code>null</code> for any property that is not readable.
+	 * @return The bytes of the generated class file.
+	 */
+	static byte[] generateClass(@Nonnull final String internalName, @Nonnull final Class<?> beanClass, @Nonnull final List<ResolvedMethod> getterMethods) {
+		final String beanInternalName = Type.getInternalName(beanClass);
+		final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+		classWriter.visit(CLASS_FILE_VERSION, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, internalName, null, OBJECT_INTERNAL_NAME,
+				new String[] {BEAN_ACCESSOR_INTERNAL_NAME});
+
+		//constructor
+		final MethodVisitor constructorVisitor = classWriter.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		constructorVisitor.visitCode();
+		constructorVisitor.visitVarInsn(ALOAD, 0);
+		constructorVisitor.visitMethodInsn(INVOKESPECIAL, OBJECT_INTERNAL_NAME, "<init>", "()V", false);
+		constructorVisitor.visitInsn(RETURN);
+		constructorVisitor.visitMaxs(0, 0);
+		constructorVisitor.visitEnd();
+
+		//Object get(Object object, int index)
+		visitGetMethod(classWriter, "get", null, beanClass, beanInternalName, getterMethods);
+		//int getInt(Object object, int index), etc.
+		visitGetMethod(classWriter, "getInt", int.class, beanClass, beanInternalName, getterMethods);
+		visitGetMethod(classWriter, "getLong", long.class, beanClass, beanInternalName, getterMethods);
+		visitGetMethod(classWriter, "getDouble", double.class, beanClass, beanInternalName, getterMethods);
+		visitGetMethod(classWriter, "getBoolean", boolean.class, beanClass, beanInternalName, getterMethods);
+
+		//void readAll(Object object, Object[] values)
+		final MethodVisitor readAllVisitor = classWriter.visitMethod(ACC_PUBLIC, "readAll", "(Ljava/lang/Object;[Ljava/lang/Object;)V", null, null);
+		readAllVisitor.visitCode();
+		readAllVisitor.visitVarInsn(ALOAD, 1);
+		readAllVisitor.visitTypeInsn(CHECKCAST, beanInternalName);
+		readAllVisitor.visitVarInsn(ASTORE, 3);
+		for(int i = 0, getterCount = getterMethods.size(); i < getterCount; i++) {
+			final ResolvedMethod getterMethod = getterMethods.get(i);
+			if(getterMethod == null) { //skip properties that are not readable
+				continue;
+			}
+			readAllVisitor.visitVarInsn(ALOAD, 2);
+			visitPushInt(readAllVisitor, i);
+			readAllVisitor.visitVarInsn(ALOAD, 3);
+			visitBoxedGetterInvocation(readAllVisitor, beanClass, beanInternalName, getterMethod);
+			readAllVisitor.visitInsn(AASTORE);
+		}
+		readAllVisitor.visitInsn(RETURN);
+		readAllVisitor.visitMaxs(0, 0);
+		readAllVisitor.visitEnd();
+
+		classWriter.visitEnd();
+		return classWriter.toByteArray();
+	}
+
+	/**
+	 * Generates a method to retrieve the value of a single property by index, switching on the index to invoke the appropriate getter. The method has the
+	 * signature <code><var>valueClass</var> <var>methodName</var>(Object object, int index)</code>, and only includes the getters returning the value class;
+	 * any other index results in an {@link IndexOutOfBoundsException}.
+	 * @param classWriter The writer of the class being generated.
+	 * @param methodName The name of the method to generate.
+	 * @param valueClass The primitive type of property values the method returns, or <code>null</code> if the method returns values of all properties as
+	 *          objects, boxing primitive values.
+	 * @param beanClass The class of bean to access.
+	 * @param beanInternalName The internal name of the bean class.
+	 * @param getterMethods The getter methods of the bean, in order of their indexes, with <code>null</code> for any property that is not readable.
+	 */
+	private static void visitGetMethod(@Nonnull final ClassWriter classWriter, @Nonnull final String methodName, @Nullable final Class<?> valueClass,
+			@Nonnull final Class<?> beanClass, @Nonnull final String beanInternalName, @Nonnull final List<ResolvedMethod> getterMethods) {
+		final Type valueType = valueClass != null ? Type.getType(valueClass) : Type.getType(Object.class);
+		final MethodVisitor methodVisitor = classWriter.visitMethod(ACC_PUBLIC, methodName, "(Ljava/lang/Object;I)" + valueType.getDescriptor(), null, null);
+		methodVisitor.visitCode();
+		final List<Integer> indexes = new ArrayList<>(getterMethods.size());
+		for(int i = 0, getterCount = getterMethods.size(); i < getterCount; i++) {
+			final ResolvedMethod getterMethod = getterMethods.get(i);
+			if(getterMethod != null && (valueClass == null || getterMethod.getRawMember().getReturnType() == valueClass)) {
+				indexes.add(i);
+			}
+		}
+		final Label defaultLabel = new Label();
+		if(!indexes.isEmpty()) {
+			final int indexCount = indexes.size();
+			final int[] keys = new int[indexCount];
+			final Label[] caseLabels = new Label[indexCount];
+			for(int i = 0; i < indexCount; i++) {
+				keys[i] = indexes.get(i);
+				caseLabels[i] = new Label();
+			}
+			methodVisitor.visitVarInsn(ILOAD, 2);
+			if(keys[indexCount - 1] - keys[0] == indexCount - 1) { //if the indexes are contiguous, use a table switch
+				methodVisitor.visitTableSwitchInsn(keys[0], keys[indexCount - 1], defaultLabel, caseLabels);
+			} else {
+				methodVisitor.visitLookupSwitchInsn(defaultLabel, keys, caseLabels);
+			}
+			for(int i = 0; i < indexCount; i++) {
+				methodVisitor.visitLabel(caseLabels[i]);
+				methodVisitor.visitVarInsn(ALOAD, 1);
+				methodVisitor.visitTypeInsn(CHECKCAST, beanInternalName);
+				final ResolvedMethod getterMethod = getterMethods.get(keys[i]);
+				if(valueClass != null) {
+					visitGetterInvocation(methodVisitor, beanClass, beanInternalName, getterMethod);
+				} else {
+					visitBoxedGetterInvocation(methodVisitor, beanClass, beanInternalName, getterMethod);
+				}
+				methodVisitor.visitInsn(valueType.getOpcode(IRETURN));
+			}
+		}
+		methodVisitor.visitLabel(defaultLabel);
+		methodVisitor.visitTypeInsn(NEW, INDEX_OUT_OF_BOUNDS_EXCEPTION_INTERNAL_NAME);
+		methodVisitor.visitInsn(DUP);
+		methodVisitor.visitVarInsn(ILOAD, 2);
+		methodVisitor.visitMethodInsn(INVOKESTATIC, Type.getInternalName(String.class), "valueOf", "(I)Ljava/lang/String;", false);
+		methodVisitor.visitMethodInsn(INVOKESPECIAL, INDEX_OUT_OF_BOUNDS_EXCEPTION_INTERNAL_NAME, "<init>", "(Ljava/lang/String;)V", false);
+		methodVisitor.visitInsn(ATHROW);
+		methodVisitor.visitMaxs(0, 0);
+		methodVisitor.visitEnd();
+	}
+
+	/**
+	 * Generates the invocation of a getter on a bean already on the operand stack, leaving the value on the stack.
+	 * @param methodVisitor The visitor of the method being generated.
+	 * @param beanClass The class of bean being accessed.
+	 * @param beanInternalName The internal name of the bean class.
+	 * @param getterMethod The getter method to invoke.
+	 */
+	private static void visitGetterInvocation(@Nonnull final MethodVisitor methodVisitor, @Nonnull final Class<?> beanClass,
+			@Nonnull final String beanInternalName, @Nonnull final ResolvedMethod getterMethod) {
+		final Method rawGetterMethod = getterMethod.getRawMember();
+		final boolean isInterface = beanClass.isInterface();
+		methodVisitor.visitMethodInsn(isInterface ? INVOKEINTERFACE : INVOKEVIRTUAL, beanInternalName, rawGetterMethod.getName(),
+				Type.getMethodDescriptor(rawGetterMethod), isInterface);
+	}
+
+	/**
+	 * Generates the invocation of a getter on a bean already on the operand stack, leaving the value, boxed if necessary, on the stack.
+	 * @param methodVisitor The visitor of the method being generated.
+	 * @param beanClass The class of bean being accessed.
+	 * @param beanInternalName The internal name of the bean class.
+	 * @param getterMethod The getter method to invoke.
+	 */
+	private static void visitBoxedGetterInvocation(@Nonnull final MethodVisitor methodVisitor, @Nonnull final Class<?> beanClass,
+			@Nonnull final String beanInternalName, @Nonnull final ResolvedMethod getterMethod) {
+		visitGetterInvocation(methodVisitor, beanClass, beanInternalName, getterMethod);
+		visitBox(methodVisitor, Type.getType(getterMethod.getRawMember().getReturnType()));
+	}
+
+	/**
+	 * Generates the boxing of a value on the operand stack if it is of a primitive type.
+	 * @param methodVisitor The visitor of the method being generated.
+	 * @param type The type of value on the stack.
+	 */
+	private static void visitBox(@Nonnull final MethodVisitor methodVisitor, @Nonnull final Type type) {
+		final Class<?> boxClass;
+		switch(type.getSort()) {
+			case Type.BOOLEAN:
+				boxClass = Boolean.class;
+				break;
+			case Type.BYTE:
+				boxClass = Byte.class;
+				break;
+			case Type.CHAR:
+				boxClass = Character.class;
+				break;
+			case Type.DOUBLE:
+				boxClass = Double.class;
+				break;
+			case Type.FLOAT:
+				boxClass = Float.class;
+				break;
+			case Type.INT:
+				boxClass = Integer.class;
+				break;
+			case Type.LONG:
+				boxClass = Long.class;
+				break;
+			case Type.SHORT:
+				boxClass = Short.class;
+				break;
+			default: //references need no boxing
+				return;
+		}
+		final String boxInternalName = Type.getInternalName(boxClass);
+		methodVisitor.visitMethodInsn(INVOKESTATIC, boxInternalName, "valueOf", "(" + type.getDescriptor() + ")L" + boxInternalName + ";", false);
+	}
+
+	/**
+	 * Generates pushing an integer constant onto the operand stack using the most compact instruction.
+	 * @param methodVisitor The visitor of the method being generated.
+	 * @param value The value to push.
+	 */
+	private static void visitPushInt(@Nonnull final MethodVisitor methodVisitor, final int value) {
+		if(value >= -1 && value <= 5) {
+			methodVisitor.visitInsn(ICONST_0 + value);
+		} else if(value >= Byte.MIN_VALUE && value <= Byte.MAX_VALUE) {
+			methodVisitor.visitIntInsn(BIPUSH, value);
+		} else if(value >= Short.MIN_VALUE && value <= Short.MAX_VALUE) {
+			methodVisitor.visitIntInsn(SIPUSH, value);
+		} else {
+			methodVisitor.visitLdcInsn(value);
+		}
+	}
+
+	/**
+	 * A class loader for defining a single generated bean accessor class. It delegates to the class loader of the bean class, except that it always makes
+	 * {@link BeanAccessor} available, even if it is not visible to the bean class loader.
+	 * @author Garret Wilson
+	 */
+	private static final class BeanAccessorClassLoader extends ClassLoader {
+
+		/**
+		 * Constructor.
+		 * @param parent The class loader of the bean class, or <code>null</code> for the bootstrap class loader.
+		 */
+		public BeanAccessorClassLoader(@Nullable final ClassLoader parent) {
+			super(parent);
+		}
+
+		@Override
+		protected Class<?> loadClass(final String name, final boolean resolve) throws ClassNotFoundException {
+			if(BeanAccessor.class.getName().equals(name)) {
+				return BeanAccessor.class;
+			}
+			return super.loadClass(name, resolve);
+		}
+
+		/**
+		 * Defines the generated class.
+		 * @param name The binary name of the class.
+		 * @param classBytes The bytes of the class file.
+		 * @return The defined class.
+		 * @throws LinkageError if the class could not be defined.
+		 */
+		public Class<?> defineClass(@Nonnull final String name, @Nonnull final byte[] classBytes) {
+			return defineClass(requireNonNull(name), classBytes, 0, classBytes.length);
+		}
+
+	}
+
+}
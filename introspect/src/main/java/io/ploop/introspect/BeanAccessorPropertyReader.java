@@ -0,0 +1,257 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+import static io.ploop.reflect.Reflector.*;
+
+import java.lang.reflect.InvocationTargetException;
+
+import javax.annotation.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A strategy for retrieving the value of an object property from a {@link BeanAccessor}, which typically accesses all the properties of the bean type.
+ * <p>
+ * The static factory method {@link #forIndex(TypeInfo, BeanAccessor, int, boolean)} returns one of the primitive specializations such as {@link OfInt} for
+ * <code>int</code>, <code>long</code>, <code>double</code>, and <code>boolean</code> properties, which can read values without boxing.
+ * </p>
+ * @param <T> The type of object this property is for.
+ * @param <V> The type of value stored in the property.
+ * @author Garret Wilson
+ */
+public class BeanAccessorPropertyReader<T, V> extends BasePropertyReader<T, V> {
+
+	private final BeanAccessor<T> beanAccessor;
+
+	/** @return The accessor of all the bean properties. */
+	protected BeanAccessor<T> getBeanAccessor() {
+		return beanAccessor;
+	}
+
+	private final int index;
+
+	/** @return The index of this property in the bean accessor. */
+	protected int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Constructor.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param beanAccessor The accessor of all the bean properties.
+	 * @param index The index of this property in the bean accessor.
+	 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
+	 * @throws IllegalArgumentException if the given index is negative.
+	 */
+	public BeanAccessorPropertyReader(@Nonnull final TypeInfo<V> valueType, @Nonnull final BeanAccessor<T> beanAccessor, final int index,
+			final boolean valueTypeVerified) {
+		super(valueType, valueTypeVerified);
+		this.beanAccessor = requireNonNull(beanAccessor);
+		if(index < 0) {
+			throw new IllegalArgumentException(String.format("Invalid bean accessor index %d.", index));
+		}
+		this.index = index;
+	}
+
+	/**
+	 * Creates a reader for a property of a bean accessor, specialized for reading primitive values without boxing if the value type is <code>int</code>,
+	 * <code>long</code>, <code>double</code>, or <code>boolean</code>.
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param beanAccessor The accessor of all the bean properties.
+	 * @param index The index of this property in the bean accessor.
+	 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
+	 * @return A new reader of the bean accessor property.
+	 * @throws IllegalArgumentException if the given index is negative.
+	 * @see OfInt
+	 * @see OfLong
+	 * @see OfDouble
+	 * @see OfBoolean
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, V> BeanAccessorPropertyReader<T, V> forIndex(@Nonnull final TypeInfo<V> valueType, @Nonnull final BeanAccessor<T> beanAccessor,
+			final int index, final boolean valueTypeVerified) {
+		final Class<V> valueClass = valueType.getErasedType();
+		if(valueClass == int.class) {
+			return (BeanAccessorPropertyReader<T, V>)new OfInt<T>((TypeInfo<Integer>)valueType, beanAccessor, index);
+		} else if(valueClass == long.class) {
+			return (BeanAccessorPropertyReader<T, V>)new OfLong<T>((TypeInfo<Long>)valueType, beanAccessor, index);
+		} else if(valueClass == double.class) {
+			return (BeanAccessorPropertyReader<T, V>)new OfDouble<T>((TypeInfo<Double>)valueType, beanAccessor, index);
+		} else if(valueClass == boolean.class) {
+			return (BeanAccessorPropertyReader<T, V>)new OfBoolean<T>((TypeInfo<Boolean>)valueType, beanAccessor, index);
+		}
+		return new BeanAccessorPropertyReader<>(valueType, beanAccessor, index, valueTypeVerified);
+	}
+
+	@Override
+	public V getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		requireNonNull(object);
+		final Object value;
+		try {
+			value = beanAccessor.get(object, index);
+		} catch(final Throwable throwable) {
+			throw toInvocationTargetException(throwable);
+		}
+		return castValue(value);
+	}
+
+	/**
+	 * A reader of a bean accessor property of type <code>int</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfInt<T> extends BeanAccessorPropertyReader<T, Integer> implements IntPropertyReader<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param beanAccessor The accessor of all the bean properties.
+		 * @param index The index of this property in the bean accessor.
+		 * @throws IllegalArgumentException if the given index is negative.
+		 */
+		public OfInt(@Nonnull final TypeInfo<Integer> valueType, @Nonnull final BeanAccessor<T> beanAccessor, final int index) {
+			super(valueType, beanAccessor, index, true); //primitive values are read without being cast
+		}
+
+		@Override
+		public int getInt(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return getBeanAccessor().getInt(object, getIndex());
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public Integer getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getInt(object);
+		}
+
+	}
+
+	/**
+	 * A reader of a bean accessor property of type <code>long</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfLong<T> extends BeanAccessorPropertyReader<T, Long> implements LongPropertyReader<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param beanAccessor The accessor of all the bean properties.
+		 * @param index The index of this property in the bean accessor.
+		 * @throws IllegalArgumentException if the given index is negative.
+		 */
+		public OfLong(@Nonnull final TypeInfo<Long> valueType, @Nonnull final BeanAccessor<T> beanAccessor, final int index) {
+			super(valueType, beanAccessor, index, true); //primitive values are read without being cast
+		}
+
+		@Override
+		public long getLong(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return getBeanAccessor().getLong(object, getIndex());
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public Long getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getLong(object);
+		}
+
+	}
+
+	/**
+	 * A reader of a bean accessor property of type <code>double</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfDouble<T> extends BeanAccessorPropertyReader<T, Double> implements DoublePropertyReader<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param beanAccessor The accessor of all the bean properties.
+		 * @param index The index of this property in the bean accessor.
+		 * @throws IllegalArgumentException if the given index is negative.
+		 */
+		public OfDouble(@Nonnull final TypeInfo<Double> valueType, @Nonnull final BeanAccessor<T> beanAccessor, final int index) {
+			super(valueType, beanAccessor, index, true); //primitive values are read without being cast
+		}
+
+		@Override
+		public double getDouble(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return getBeanAccessor().getDouble(object, getIndex());
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public Double getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getDouble(object);
+		}
+
+	}
+
+	/**
+	 * A reader of a bean accessor property of type <code>boolean</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfBoolean<T> extends BeanAccessorPropertyReader<T, Boolean> implements BooleanPropertyReader<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param beanAccessor The accessor of all the bean properties.
+		 * @param index The index of this property in the bean accessor.
+		 * @throws IllegalArgumentException if the given index is negative.
+		 */
+		public OfBoolean(@Nonnull final TypeInfo<Boolean> valueType, @Nonnull final BeanAccessor<T> beanAccessor, final int index) {
+			super(valueType, beanAccessor, index, true); //primitive values are read without being cast
+		}
+
+		@Override
+		public boolean getBoolean(final T object)
+				throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return getBeanAccessor().getBoolean(object, getIndex());
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public Boolean getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getBoolean(object);
+		}
+
+	}
+
+}
@@ -0,0 +1,176 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+
+import java.lang.reflect.*;
+import java.util.concurrent.*;
+
+import javax.annotation.*;
+
+import io.ploop.convert.*;
+
+/**
+ * Copies property values between objects of introspected types, using compiled and cached {@link BeanMapper mapping plans}.
+ * <p>
+ * Values are converted using the converter registry of the copier where the source and target property types differ. A property with a concrete bean type
+ * outside the Java platform on both sides is copied deeply by mapping its value to a new instance of the target property type.
+ * </p>
+ * <p>
+ * A copier is thread-safe.
+ * </p>
+ * @author Garret Wilson
+ * @see BeanMapper
+ */
+public final class BeanCopier {
+
+	/** The shared copier using the standard converters. */
+	public static final BeanCopier INSTANCE = new BeanCopier(ConverterRegistry.createDefault());
+
+	private final ConverterRegistry converterRegistry;
+
+	/** @return The registry of converters used where source and target property types differ. */
+	public ConverterRegistry getConverterRegistry() {
+		return converterRegistry;
+	}
+
+	/**
+	 * The cached mappers stored with their source classes, keyed to target class. A mapper is stored here if the class loader of the source class is the same as
+	 * or a descendant of the class loader of the target class, so that the source class already keeps the target class from being unloaded.
+	 */
+	private final ClassValue<ConcurrentMap<Class<?>, BeanMapper<?, ?>>> sourceClassMappers = new ClassValue<ConcurrentMap<Class<?>, BeanMapper<?, ?>>>() {
+		@Override
+		protected ConcurrentMap<Class<?>, BeanMapper<?, ?>> computeValue(final Class<?> sourceClass) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * The cached mappers stored with their target classes, keyed to source class. A mapper is stored here if the class loader of the target class is a
+	 * descendant of the class loader of the source class, so that the target class already keeps the source class from being unloaded.
+	 */
+	private final ClassValue<ConcurrentMap<Class<?>, BeanMapper<?, ?>>> targetClassMappers = new ClassValue<ConcurrentMap<Class<?>, BeanMapper<?, ?>>>() {
+		@Override
+		protected ConcurrentMap<Class<?>, BeanMapper<?, ?>> computeValue(final Class<?> targetClass) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	/**
+	 * Constructor.
+	 * @param converterRegistry The registry of converters to use where source and target property types differ. Converters registered later may not be used
+	 *          by mappers already compiled.
+	 */
+	public BeanCopier(@Nonnull final ConverterRegistry converterRegistry) {
+		this.converterRegistry = requireNonNull(converterRegistry);
+	}
+
+	/**
+	 * Returns the mapper from objects of one type to objects of another. The mapping plan is compiled on first request and cached with whichever of the two
+	 * classes was loaded by the descendant class loader, as a mapper refers to both classes and must not keep either from being unloaded with its class loader.
+	 * If neither class loader is a descendant of the other, a new mapper is compiled for each request.
+	 * @param <S> The type of source object.
+	 * @param <T> The type of target object.
+	 * @param sourceClass The type of source object.
+	 * @param targetClass The type of target object.
+	 * @return The mapper between the types.
+	 * @throws ConversionException if some source property value cannot be converted to the type of the corresponding target property.
+	 */
+	@SuppressWarnings("unchecked")
+	public <S, T> BeanMapper<S, T> getMapper(@Nonnull final Class<S> sourceClass, @Nonnull final Class<T> targetClass) {
+		requireNonNull(sourceClass);
+		requireNonNull(targetClass);
+		if(isClassLoaderDescendant(sourceClass, targetClass)) {
+			return (BeanMapper<S, T>)sourceClassMappers.get(sourceClass).computeIfAbsent(targetClass, key -> createMapper(sourceClass, targetClass));
+		}
+		if(isClassLoaderDescendant(targetClass, sourceClass)) {
+			return (BeanMapper<S, T>)targetClassMappers.get(targetClass).computeIfAbsent(sourceClass, key -> createMapper(sourceClass, targetClass));
+		}
+		return createMapper(sourceClass, targetClass);
+	}
+
+	/**
+	 * Compiles a new mapper from objects of one type to objects of another.
+	 * @param <S> The type of source object.
+	 * @param <T> The type of target object.
+	 * @param sourceClass The type of source object.
+	 * @param targetClass The type of target object.
+	 * @return A new mapper between the types.
+	 * @throws ConversionException if some source property value cannot be converted to the type of the corresponding target property.
+	 */
+	private <S, T> BeanMapper<S, T> createMapper(@Nonnull final Class<S> sourceClass, @Nonnull final Class<T> targetClass) {
+		return new BeanMapper<>(this, Introspection.of(sourceClass), Introspection.of(targetClass));
+	}
+
+	/**
+	 * Determines whether the class loader of one class is the same as or a descendant of the class loader of another class. In that case the first class keeps
+	 * the other class from being unloaded, because a class loader refers to its parent and to the classes it has loaded.
+	 * @param descendantClass The class the class loader of which may be a descendant.
+	 * @param ancestorClass The class the class loader of which may be an ancestor.
+	 * @return <code>true</code> if the class loader of the descendant class is the same as or a descendant of the class loader of the ancestor class.
+	 */
+	static boolean isClassLoaderDescendant(@Nonnull final Class<?> descendantClass, @Nonnull final Class<?> ancestorClass) {
+		final ClassLoader ancestorClassLoader = ancestorClass.getClassLoader();
+		if(ancestorClassLoader == null) { //the bootstrap class loader is never unloaded
+			return true;
+		}
+		for(ClassLoader classLoader = descendantClass.getClassLoader(); classLoader != null; classLoader = classLoader.getParent()) {
+			if(classLoader == ancestorClassLoader) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Creates an object of the target type and copies into it the property values of a source object.
+	 * @param <T> The type of target object.
+	 * @param source The source object.
+	 * @param targetClass The type of target object.
+	 * @return A new target object with the property values copied from the source.
+	 * @throws UnsupportedOperationException if the target type has no public no-argument constructor.
+	 * @throws ConversionException if some source property value cannot be converted to the type of the corresponding target property.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method, including the constructor, throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 * @see BeanMapper#map(Object)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T map(@Nonnull final Object source, @Nonnull final Class<T> targetClass)
+			throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		return getMapper((Class<Object>)source.getClass(), targetClass).map(source);
+	}
+
+	/**
+	 * Copies the property values of a source object into a target object.
+	 * @param <T> The type of target object.
+	 * @param source The source object.
+	 * @param target The target object.
+	 * @throws ConversionException if some source property value cannot be converted to the type of the corresponding target property.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 * @see BeanMapper#copy(Object, Object)
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> void copy(@Nonnull final Object source, @Nonnull final T target)
+			throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		getMapper((Class<Object>)source.getClass(), (Class<T>)target.getClass()).copy(source, target);
+	}
+
+}
@@ -0,0 +1,361 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+import static io.ploop.reflect.Reflector.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.function.*;
+
+import javax.annotation.*;
+
+import io.ploop.convert.*;
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A compiled plan for copying the property values of objects of a source type to objects of a target type.
+ * <p>
+ * Each writable property of the target type is paired when the mapper is created with the readable property of the same name in the source type, if any,
+ * and a copying step is chosen once for the pair, so that copying requires no name lookups. Values of <code>int</code>, <code>long</code>,
+ * <code>double</code>, and <code>boolean</code> properties with primitive specializations on both sides are copied without boxing, including when converted
+ * between these types by a standard numeric converter. Where the property types otherwise differ, a converter is found from the converter registry of the
+ * {@link BeanCopier}. A property with a concrete bean type outside the Java platform on both sides is copied deeply using the mapper between the property
+ * types; a source object reached more than once, including through a cycle, is mapped to the same target object.
+ * </p>
+ * <p>
+ * A mapper is thread-safe. Mappers are obtained from {@link BeanCopier#getMapper(Class, Class)}.
+ * </p>
+ * @param <S> The type of source object.
+ * @param <T> The type of target object.
+ * @author Garret Wilson
+ */
+public final class BeanMapper<S, T> {
+
+	private final BeanCopier copier;
+
+	private final Introspection<S> sourceIntrospection;
+
+	/** @return The introspection of the type of source object. */
+	public Introspection<S> getSourceIntrospection() {
+		return sourceIntrospection;
+	}
+
+	private final Introspection<T> targetIntrospection;
+
+	/** @return The introspection of the type of target object. */
+	public Introspection<T> getTargetIntrospection() {
+		return targetIntrospection;
+	}
+
+	/** The copying steps, one for each pair of properties. */
+	private final Step<S, T>[] steps;
+
+	/** Whether some step maps a nested bean, requiring objects already mapped to be tracked. */
+	private final boolean deep;
+
+	/** The constructor for creating new target instances, or <code>null</code> if the target type has no public no-argument constructor. */
+	@Nullable
+	private final MethodHandle constructor;
+
+	/**
+	 * Constructor.
+	 * @param copier The copier providing converters and the mappers of nested beans.
+	 * @param sourceIntrospection The introspection of the type of source object.
+	 * @param targetIntrospection The introspection of the type of target object.
+	 * @throws ConversionException if some source property value cannot be converted to the type of the corresponding target property.
+	 */
+	@SuppressWarnings("unchecked")
+	BeanMapper(@Nonnull final BeanCopier copier, @Nonnull final Introspection<S> sourceIntrospection, @Nonnull final Introspection<T> targetIntrospection) {
+		this.copier = requireNonNull(copier);
+		this.sourceIntrospection = requireNonNull(sourceIntrospection);
+		this.targetIntrospection = requireNonNull(targetIntrospection);
+		final List<Step<S, T>> steps = new ArrayList<>(targetIntrospection.getPropertyCount());
+		boolean deep = false;
+		for(final Property<T, ?> targetProperty : targetIntrospection.getProperties()) {
+			if(!targetProperty.isWritable()) {
+				continue;
+			}
+			final Property<S, ?> sourceProperty = sourceIntrospection.getProperty(targetProperty.getName());
+			if(sourceProperty == null || !sourceProperty.isReadable()) {
+				continue;
+			}
+			final Step<S, T> step = createStep(sourceProperty, targetProperty);
+			deep |= step instanceof NestedStep;
+			steps.add(step);
+		}
+		this.steps = steps.toArray(new Step[steps.size()]);
+		this.deep = deep;
+		this.constructor = findPublicConstructor(targetIntrospection.getObjectType().getErasedType()).orElse(null);
+	}
+
+	/**
+	 * Determines whether values of a class are copied deeply as nested beans: a concrete class that is not an array or enum and is outside the Java platform.
+	 * @param valueClass The class of value.
+	 * @return <code>true</code> if values of the class are beans to be mapped.
+	 */
+	static boolean isBeanClass(@Nonnull final Class<?> valueClass) {
+		if(valueClass.isPrimitive() || valueClass.isArray() || valueClass.isEnum() || valueClass.isInterface() || Modifier.isAbstract(valueClass.getModifiers())) {
+			return false;
+		}
+		final String className = valueClass.getName();
+		return !className.startsWith("java.") && !className.startsWith("javax.");
+	}
+
+	/**
+	 * Creates the step for copying the value of a source property to a target property.
+	 * @param sourceProperty The readable source property.
+	 * @param targetProperty The writable target property of the same name.
+	 * @return A step copying the property value.
+	 * @throws ConversionException if the source property value cannot be converted to the type of the target property.
+	 */
+	@SuppressWarnings("unchecked")
+	private Step<S, T> createStep(@Nonnull final Property<S, ?> sourceProperty, @Nonnull final Property<T, ?> targetProperty) {
+		final TypeInfo<Object> sourceType = (TypeInfo<Object>)sourceProperty.getValueType();
+		final TypeInfo<Object> targetType = (TypeInfo<Object>)targetProperty.getValueType();
+		final Class<?> sourceClass = sourceType.getErasedType();
+		final Class<?> targetClass = targetType.getErasedType();
+		if(isBeanClass(sourceClass) && isBeanClass(targetClass)) {
+			return new NestedStep<>(copier, sourceProperty, targetProperty);
+		}
+		//primitive values copied without boxing
+		final IntProperty<S> sourceIntProperty = sourceClass == int.class && sourceProperty instanceof IntProperty ? (IntProperty<S>)sourceProperty : null;
+		final LongProperty<S> sourceLongProperty = sourceClass == long.class && sourceProperty instanceof LongProperty ? (LongProperty<S>)sourceProperty : null;
+		final DoubleProperty<S> sourceDoubleProperty = sourceClass == double.class && sourceProperty instanceof DoubleProperty ? (DoubleProperty<S>)sourceProperty
+				: null;
+		final IntProperty<T> targetIntProperty = targetClass == int.class && targetProperty instanceof IntProperty ? (IntProperty<T>)targetProperty : null;
+		final LongProperty<T> targetLongProperty = targetClass == long.class && targetProperty instanceof LongProperty ? (LongProperty<T>)targetProperty : null;
+		final DoubleProperty<T> targetDoubleProperty = targetClass == double.class && targetProperty instanceof DoubleProperty ? (DoubleProperty<T>)targetProperty
+				: null;
+		if(sourceIntProperty != null && targetIntProperty != null) {
+			return (source, target, mapped) -> targetIntProperty.setInt(target, sourceIntProperty.getInt(source));
+		} else if(sourceLongProperty != null && targetLongProperty != null) {
+			return (source, target, mapped) -> targetLongProperty.setLong(target, sourceLongProperty.getLong(source));
+		} else if(sourceDoubleProperty != null && targetDoubleProperty != null) {
+			return (source, target, mapped) -> targetDoubleProperty.setDouble(target, sourceDoubleProperty.getDouble(source));
+		} else if(sourceClass == boolean.class && targetClass == boolean.class && sourceProperty instanceof BooleanProperty
+				&& targetProperty instanceof BooleanProperty) {
+			final BooleanProperty<S> sourceBooleanProperty = (BooleanProperty<S>)sourceProperty;
+			final BooleanProperty<T> targetBooleanProperty = (BooleanProperty<T>)targetProperty;
+			return (source, target, mapped) -> targetBooleanProperty.setBoolean(target, sourceBooleanProperty.getBoolean(source));
+		}
+		final Converter<Object, Object> converter;
+		try {
+			converter = copier.getConverterRegistry().getConverter(sourceType, targetType);
+		} catch(final ConversionException conversionException) {
+			throw new ConversionException(String.format("Property %s of %s cannot be copied to %s: %s", sourceProperty.getName(),
+					sourceIntrospection.getObjectType(), targetIntrospection.getObjectType(), conversionException.getMessage()), conversionException);
+		}
+		//primitive values converted without boxing
+		if(sourceIntProperty != null) {
+			if(targetLongProperty != null && converter instanceof IntToLongFunction) {
+				final IntToLongFunction function = (IntToLongFunction)converter;
+				return (source, target, mapped) -> targetLongProperty.setLong(target, function.applyAsLong(sourceIntProperty.getInt(source)));
+			} else if(targetDoubleProperty != null && converter instanceof IntToDoubleFunction) {
+				final IntToDoubleFunction function = (IntToDoubleFunction)converter;
+				return (source, target, mapped) -> targetDoubleProperty.setDouble(target, function.applyAsDouble(sourceIntProperty.getInt(source)));
+			}
+		} else if(sourceLongProperty != null) {
+			if(targetIntProperty != null && converter instanceof LongToIntFunction) {
+				final LongToIntFunction function = (LongToIntFunction)converter;
+				return (source, target, mapped) -> targetIntProperty.setInt(target, function.applyAsInt(sourceLongProperty.getLong(source)));
+			} else if(targetDoubleProperty != null && converter instanceof LongToDoubleFunction) {
+				final LongToDoubleFunction function = (LongToDoubleFunction)converter;
+				return (source, target, mapped) -> targetDoubleProperty.setDouble(target, function.applyAsDouble(sourceLongProperty.getLong(source)));
+			}
+		} else if(sourceDoubleProperty != null) {
+			if(targetIntProperty != null && converter instanceof DoubleToIntFunction) {
+				final DoubleToIntFunction function = (DoubleToIntFunction)converter;
+				return (source, target, mapped) -> targetIntProperty.setInt(target, function.applyAsInt(sourceDoubleProperty.getDouble(source)));
+			} else if(targetLongProperty != null && converter instanceof DoubleToLongFunction) {
+				final DoubleToLongFunction function = (DoubleToLongFunction)converter;
+				return (source, target, mapped) -> targetLongProperty.setLong(target, function.applyAsLong(sourceDoubleProperty.getDouble(source)));
+			}
+		}
+		final Property<S, Object> sourceValueProperty = (Property<S, Object>)sourceProperty;
+		final Property<T, Object> targetValueProperty = (Property<T, Object>)targetProperty;
+		if(converter instanceof AssignmentConverter && !targetClass.isPrimitive()) { //a primitive target still needs a check for null
+			return (source, target, mapped) -> targetValueProperty.setValue(target, sourceValueProperty.getValue(source));
+		}
+		return (source, target, mapped) -> targetValueProperty.setValue(target, converter.convert(sourceValueProperty.getValue(source)));
+	}
+
+	/**
+	 * Creates an object of the target type and copies into it the property values of a source object.
+	 * @param source The source object.
+	 * @return A new target object with the property values copied from the source.
+	 * @throws UnsupportedOperationException if the target type has no public no-argument constructor.
+	 * @throws ConversionException if some source property value cannot be converted to the type of the corresponding target property.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method, including the constructor, throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public T map(@Nonnull final S source) throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		return map(requireNonNull(source), deep ? new IdentityHashMap<>() : null);
+	}
+
+	/**
+	 * Creates an object of the target type and copies into it the property values of a source object, recording the mapping.
+	 * @param source The source object.
+	 * @param mapped The target objects already created, keyed to their source objects, or <code>null</code> if no nested beans are being mapped.
+	 * @return A new target object with the property values copied from the source.
+	 * @throws UnsupportedOperationException if the target type has no public no-argument constructor.
+	 * @throws ConversionException if some source property value cannot be converted to the type of the corresponding target property.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method, including the constructor, throws an exception.
+	 */
+	T map(@Nonnull final S source, @Nullable final IdentityHashMap<Object, Object> mapped) throws IllegalAccessException, InvocationTargetException {
+		final T target = newInstance();
+		if(mapped != null) {
+			mapped.put(source, target); //record the target before copying so that cycles resolve to it
+		}
+		copy(source, target, mapped);
+		return target;
+	}
+
+	/**
+	 * Copies the property values of a source object into a target object.
+	 * @param source The source object.
+	 * @param target The target object.
+	 * @throws ConversionException if some source property value cannot be converted to the type of the corresponding target property.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public void copy(@Nonnull final S source, @Nonnull final T target) throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		requireNonNull(source);
+		requireNonNull(target);
+		IdentityHashMap<Object, Object> mapped = null;
+		if(deep) {
+			mapped = new IdentityHashMap<>();
+			mapped.put(source, target);
+		}
+		copy(source, target, mapped);
+	}
+
+	/**
+	 * Copies the property values of a source object into a target object by performing each step.
+	 * @param source The source object.
+	 * @param target The target object.
+	 * @param mapped The target objects already created, keyed to their source objects, or <code>null</code> if no nested beans are being mapped.
+	 * @throws ConversionException if some source property value cannot be converted to the type of the corresponding target property.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 */
+	private void copy(@Nonnull final S source, @Nonnull final T target, @Nullable final IdentityHashMap<Object, Object> mapped)
+			throws IllegalAccessException, InvocationTargetException {
+		for(final Step<S, T> step : steps) {
+			step.copy(source, target, mapped);
+		}
+	}
+
+	/**
+	 * Creates a new instance of the target type.
+	 * @return A new instance.
+	 * @throws UnsupportedOperationException if the target type has no public no-argument constructor.
+	 * @throws InvocationTargetException if the constructor throws an exception.
+	 */
+	@SuppressWarnings("unchecked")
+	private T newInstance() throws InvocationTargetException {
+		if(constructor == null) {
+			throw new UnsupportedOperationException(String.format("Type %s has no public no-argument constructor.", targetIntrospection.getObjectType()));
+		}
+		return (T)invokeConstructor(constructor);
+	}
+
+	/**
+	 * The copying of a single property value.
+	 * @param <S> The type of source object.
+	 * @param <T> The type of target object.
+	 * @author Garret Wilson
+	 */
+	@FunctionalInterface
+	private interface Step<S, T> {
+
+		/**
+		 * Copies a property value from a source object to a target object.
+		 * @param source The source object.
+		 * @param target The target object.
+		 * @param mapped The target objects already created, keyed to their source objects, or <code>null</code> if no nested beans are being mapped.
+		 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+		 * @throws InvocationTargetException if some underlying method throws an exception.
+		 */
+		void copy(@Nonnull S source, @Nonnull T target, @Nullable IdentityHashMap<Object, Object> mapped) throws IllegalAccessException, InvocationTargetException;
+
+	}
+
+	/**
+	 * A step that maps a nested bean to a new instance of the target property type, or to the target object already mapped from it. The mapper between the
+	 * property types is looked up when first needed, so that a type may contain properties of its own type.
+	 * @param <S> The type of source object.
+	 * @param <T> The type of target object.
+	 * @param <SV> The type of source property value.
+	 * @param <TV> The type of target property value.
+	 * @author Garret Wilson
+	 */
+	private static final class NestedStep<S, T, SV, TV> implements Step<S, T> {
+
+		private final BeanCopier copier;
+
+		private final Property<S, SV> sourceProperty;
+
+		private final Property<T, TV> targetProperty;
+
+		private final Class<TV> targetValueClass;
+
+		@Nullable
+		private volatile BeanMapper<SV, TV> valueMapper = null;
+
+		/**
+		 * Constructor.
+		 * @param copier The copier providing the mapper between the property types.
+		 * @param sourceProperty The source property.
+		 * @param targetProperty The target property.
+		 */
+		NestedStep(@Nonnull final BeanCopier copier, @Nonnull final Property<S, SV> sourceProperty, @Nonnull final Property<T, TV> targetProperty) {
+			this.copier = copier;
+			this.sourceProperty = sourceProperty;
+			this.targetProperty = targetProperty;
+			this.targetValueClass = targetProperty.getValueType().getErasedType();
+		}
+
+		/** @return The mapper between the property types. */
+		private BeanMapper<SV, TV> getValueMapper() {
+			BeanMapper<SV, TV> valueMapper = this.valueMapper;
+			if(valueMapper == null) { //the race is benign, as the mappers are cached
+				this.valueMapper = valueMapper = copier.getMapper(sourceProperty.getValueType().getErasedType(), targetValueClass);
+			}
+			return valueMapper;
+		}
+
+		@Override
+		public void copy(final S source, final T target, final IdentityHashMap<Object, Object> mapped)
+				throws IllegalAccessException, InvocationTargetException {
+			final SV value = sourceProperty.getValue(source);
+			TV targetValue = null;
+			if(value != null) {
+				final Object mappedValue = mapped.get(value);
+				targetValue = targetValueClass.isInstance(mappedValue) ? targetValueClass.cast(mappedValue) : getValueMapper().map(value, mapped);
+			}
+			targetProperty.setValue(target, targetValue);
+		}
+
+	}
+
+}
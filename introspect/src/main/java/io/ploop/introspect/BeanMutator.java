@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import javax.annotation.*;
+
+/**
+ * Direct update of all the writable properties of a bean type, identified by index; the counterpart of {@link BeanAccessor}.
+ * <p>
+ * Implementations are typically generated for each bean type, invoking each setter directly. Property values passed as objects are unboxed if the property
+ * is primitive; values of <code>int</code>, <code>long</code>, <code>double</code>, and <code>boolean</code> properties may also be passed without boxing
+ * using methods such as {@link #setInt(Object, int, int)}.
+ * </p>
+ * <p>
+ * Values are not checked before being passed to the setter; an inappropriate value results in a {@link ClassCastException} or a
+ * {@link NullPointerException}. Any exception thrown by a setter is propagated unchanged, even if it is a checked exception.
+ * </p>
+ * @param <T> The type of bean being updated.
+ * @author Garret Wilson
+ * @see BeanMutatorPropertyWriter
+ */
+public interface BeanMutator<T> {
+
+	/**
+	 * Updates the value of a single property.
+	 * @param object The object the property value of which should be set.
+	 * @param index The index of the property to write.
+	 * @param value The value to set for the property.
+	 * @throws IndexOutOfBoundsException if the given index does not identify a writable property.
+	 */
+	public void set(@Nonnull T object, int index, @Nullable Object value);
+
+	/**
+	 * Updates the value of a single property of type <code>int</code> without boxing.
+	 * @param object The object the property value of which should be set.
+	 * @param index The index of the property to write.
+	 * @param value The value to set for the property.
+	 * @throws IndexOutOfBoundsException if the given index does not identify a writable property of type <code>int</code>.
+	 */
+	public void setInt(@Nonnull T object, int index, int value);
+
+	/**
+	 * Updates the value of a single property of type <code>long</code> without boxing.
+	 * @param object The object the property value of which should be set.
+	 * @param index The index of the property to write.
+	 * @param value The value to set for the property.
+	 * @throws IndexOutOfBoundsException if the given index does not identify a writable property of type <code>long</code>.
+	 */
+	public void setLong(@Nonnull T object, int index, long value);
+
+	/**
+	 * Updates the value of a single property of type <code>double</code> without boxing.
+	 * @param object The object the property value of which should be set.
+	 * @param index The index of the property to write.
+	 * @param value The value to set for the property.
+	 * @throws IndexOutOfBoundsException if the given index does not identify a writable property of type <code>double</code>.
+	 */
+	public void setDouble(@Nonnull T object, int index, double value);
+
+	/**
+	 * Updates the value of a single property of type <code>boolean</code> without boxing.
+	 * @param object The object the property value of which should be set.
+	 * @param index The index of the property to write.
+	 * @param value The value to set for the property.
+	 * @throws IndexOutOfBoundsException if the given index does not identify a writable property of type <code>boolean</code>.
+	 */
+	public void setBoolean(@Nonnull T object, int index, boolean value);
+
+}
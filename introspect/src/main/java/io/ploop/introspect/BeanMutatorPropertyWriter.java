@@ -0,0 +1,275 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+import static io.ploop.reflect.Reflector.*;
+
+import java.lang.reflect.InvocationTargetException;
+
+import javax.annotation.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A strategy for setting the value of an object property using a {@link BeanMutator}, which typically updates all the properties of the bean type.
+ * <p>
+ * The static factory method {@link #forIndex(TypeInfo, BeanMutator, int)} returns one of the primitive specializations such as {@link OfInt} for
+ * <code>int</code>, <code>long</code>, <code>double</code>, and <code>boolean</code> properties, which can write values without boxing.
+ * </p>
+ * @param <T> The type of object this property is for.
+ * @param <V> The type of value stored in the property.
+ * @author Garret Wilson
+ */
+public class BeanMutatorPropertyWriter<T, V> extends BasePropertyValueInfo<V> implements PropertyWriter<T, V> {
+
+	private final BeanMutator<T> beanMutator;
+
+	/** @return The mutator of all the bean properties. */
+	protected BeanMutator<T> getBeanMutator() {
+		return beanMutator;
+	}
+
+	private final int index;
+
+	/** @return The index of this property in the bean mutator. */
+	protected int getIndex() {
+		return index;
+	}
+
+	/**
+	 * Constructor.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param beanMutator The mutator of all the bean properties.
+	 * @param index The index of this property in the bean mutator.
+	 * @throws IllegalArgumentException if the given index is negative.
+	 */
+	public BeanMutatorPropertyWriter(@Nonnull final TypeInfo<V> valueType, @Nonnull final BeanMutator<T> beanMutator, final int index) {
+		super(valueType);
+		this.beanMutator = requireNonNull(beanMutator);
+		if(index < 0) {
+			throw new IllegalArgumentException(String.format("Invalid bean mutator index %d.", index));
+		}
+		this.index = index;
+	}
+
+	/**
+	 * Creates a writer for a property of a bean mutator, specialized for writing primitive values without boxing if the value type is <code>int</code>,
+	 * <code>long</code>, <code>double</code>, or <code>boolean</code>.
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param beanMutator The mutator of all the bean properties.
+	 * @param index The index of this property in the bean mutator.
+	 * @return A new writer of the bean mutator property.
+	 * @throws IllegalArgumentException if the given index is negative.
+	 * @see OfInt
+	 * @see OfLong
+	 * @see OfDouble
+	 * @see OfBoolean
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, V> BeanMutatorPropertyWriter<T, V> forIndex(@Nonnull final TypeInfo<V> valueType, @Nonnull final BeanMutator<T> beanMutator,
+			final int index) {
+		final Class<V> valueClass = valueType.getErasedType();
+		if(valueClass == int.class) {
+			return (BeanMutatorPropertyWriter<T, V>)new OfInt<T>((TypeInfo<Integer>)valueType, beanMutator, index);
+		} else if(valueClass == long.class) {
+			return (BeanMutatorPropertyWriter<T, V>)new OfLong<T>((TypeInfo<Long>)valueType, beanMutator, index);
+		} else if(valueClass == double.class) {
+			return (BeanMutatorPropertyWriter<T, V>)new OfDouble<T>((TypeInfo<Double>)valueType, beanMutator, index);
+		} else if(valueClass == boolean.class) {
+			return (BeanMutatorPropertyWriter<T, V>)new OfBoolean<T>((TypeInfo<Boolean>)valueType, beanMutator, index);
+		}
+		return new BeanMutatorPropertyWriter<>(valueType, beanMutator, index);
+	}
+
+	@Override
+	public void setValue(final T object, final V value)
+			throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		requireNonNull(object);
+		if(value == null ? getValueType().getErasedType().isPrimitive() : !getValueType().isReflectionInstance(value)) {
+			throw new IllegalArgumentException(String.format("Value %s is not appropriate for property type %s.", value, getValueType()));
+		}
+		try {
+			beanMutator.set(object, index, value);
+		} catch(final Throwable throwable) {
+			throw toInvocationTargetException(throwable);
+		}
+	}
+
+	/**
+	 * A writer of a bean mutator property of type <code>int</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfInt<T> extends BeanMutatorPropertyWriter<T, Integer> implements IntPropertyWriter<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param beanMutator The mutator of all the bean properties.
+		 * @param index The index of this property in the bean mutator.
+		 * @throws IllegalArgumentException if the given index is negative.
+		 */
+		public OfInt(@Nonnull final TypeInfo<Integer> valueType, @Nonnull final BeanMutator<T> beanMutator, final int index) {
+			super(valueType, beanMutator, index);
+		}
+
+		@Override
+		public void setInt(final T object, final int value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				getBeanMutator().setInt(object, getIndex(), value);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Integer value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setInt(object, value);
+		}
+
+	}
+
+	/**
+	 * A writer of a bean mutator property of type <code>long</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfLong<T> extends BeanMutatorPropertyWriter<T, Long> implements LongPropertyWriter<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param beanMutator The mutator of all the bean properties.
+		 * @param index The index of this property in the bean mutator.
+		 * @throws IllegalArgumentException if the given index is negative.
+		 */
+		public OfLong(@Nonnull final TypeInfo<Long> valueType, @Nonnull final BeanMutator<T> beanMutator, final int index) {
+			super(valueType, beanMutator, index);
+		}
+
+		@Override
+		public void setLong(final T object, final long value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				getBeanMutator().setLong(object, getIndex(), value);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Long value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setLong(object, value);
+		}
+
+	}
+
+	/**
+	 * A writer of a bean mutator property of type <code>double</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfDouble<T> extends BeanMutatorPropertyWriter<T, Double> implements DoublePropertyWriter<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param beanMutator The mutator of all the bean properties.
+		 * @param index The index of this property in the bean mutator.
+		 * @throws IllegalArgumentException if the given index is negative.
+		 */
+		public OfDouble(@Nonnull final TypeInfo<Double> valueType, @Nonnull final BeanMutator<T> beanMutator, final int index) {
+			super(valueType, beanMutator, index);
+		}
+
+		@Override
+		public void setDouble(final T object, final double value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				getBeanMutator().setDouble(object, getIndex(), value);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Double value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setDouble(object, value);
+		}
+
+	}
+
+	/**
+	 * A writer of a bean mutator property of type <code>boolean</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfBoolean<T> extends BeanMutatorPropertyWriter<T, Boolean> implements BooleanPropertyWriter<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param beanMutator The mutator of all the bean properties.
+		 * @param index The index of this property in the bean mutator.
+		 * @throws IllegalArgumentException if the given index is negative.
+		 */
+		public OfBoolean(@Nonnull final TypeInfo<Boolean> valueType, @Nonnull final BeanMutator<T> beanMutator, final int index) {
+			super(valueType, beanMutator, index);
+		}
+
+		@Override
+		public void setBoolean(final T object, final boolean value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				getBeanMutator().setBoolean(object, getIndex(), value);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Boolean value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setBoolean(object, value);
+		}
+
+	}
+
+}
@@ -0,0 +1,26 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+/**
+ * Encapsulates reading and/or writing a value of a single object property of type <code>boolean</code> without boxing.
+ * @param <T> The type of object this property is for.
+ * @author Garret Wilson
+ */
+public interface BooleanProperty<T> extends Property<T, Boolean>, BooleanPropertyReader<T>, BooleanPropertyWriter<T> {
+
+}
@@ -0,0 +1,929 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+import java.nio.*;
+import java.nio.channels.FileChannel;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.*;
+
+/**
+ * A reusable batch of column vectors holding the values of the readable properties of a list of objects, one column per property.
+ * <p>
+ * Values of properties of type <code>int</code>, <code>short</code>, and <code>byte</code> are stored in an <code>int[]</code> column; <code>long</code> in a
+ * <code>long[]</code> column; <code>double</code> and <code>float</code> in a <code>double[]</code> column; and <code>boolean</code> in a
+ * <code>boolean[]</code> column, for both the primitive types and their wrappers. Values of all other types are stored in an <code>Object[]</code> column.
+ * Primitive properties with specializations such as {@link IntProperty} are read without boxing. Each column has a null bitmap in which bit
+ * <code>index % 64</code> of word <code>index / 64</code> is set if the value at that index is <code>null</code>, in which case a primitive column holds
+ * zero.
+ * </p>
+ * <p>
+ * The column arrays are allocated once for the capacity of the batch and are overwritten by each {@link #read(List)}, so that a batch may be reused across
+ * many lists of objects without further allocation. The columns may be read in parallel using {@link #readParallel(List, ForkJoinPool)}, which splits the
+ * objects into chunks. The primitive columns may be {@link #export(FileChannel) exported} to a file through a memory-mapped buffer.
+ * </p>
+ * <p>
+ * A batch is not thread-safe.
+ * </p>
+ * @param <T> The type of object the values are read from.
+ * @author Garret Wilson
+ */
+public final class ColumnBatch<T> {
+
+	/** The kind of values stored in a column. */
+	public enum ColumnType {
+		/** <code>int</code> values, in an <code>int[]</code> array. */
+		INT,
+		/** <code>long</code> values, in a <code>long[]</code> array. */
+		LONG,
+		/** <code>double</code> values, in a <code>double[]</code> array. */
+		DOUBLE,
+		/** <code>boolean</code> values, in a <code>boolean[]</code> array. */
+		BOOLEAN,
+		/** Values of any type, in an <code>Object[]</code> array. */
+		OBJECT
+	}
+
+	/** The number of objects at or below which a parallel read is not split further; a multiple of 64 so that chunks do not share null bitmap words. */
+	static final int CHUNK_SIZE = 1024;
+
+	/** The maximum number of bytes exported through a single memory-mapped buffer, which is limited to the range of an <code>int</code>. */
+	static final int MAX_MAPPED_REGION_LENGTH = Integer.MAX_VALUE;
+
+	private final Introspection<T> introspection;
+
+	/** @return The introspection of the type of object the values are read from. */
+	public Introspection<T> getIntrospection() {
+		return introspection;
+	}
+
+	private final int capacity;
+
+	/** @return The maximum number of objects the batch can hold. */
+	public int getCapacity() {
+		return capacity;
+	}
+
+	private int size = 0;
+
+	/** @return The number of objects the values of which were last read into the batch. */
+	public int getSize() {
+		return size;
+	}
+
+	/** The columns, indexed by property ordinal, with <code>null</code> for any property that is not readable. */
+	private final Column<T>[] columns;
+
+	/** The columns of readable properties, in order of property ordinal. */
+	private final Column<T>[] readColumns;
+
+	/** The columns of readable properties with primitive values, which are exported, in order of property ordinal. */
+	private final PrimitiveColumn<T>[] exportColumns;
+
+	/**
+	 * Constructor.
+	 * @param introspection The introspection of the type of object the values are read from.
+	 * @param capacity The maximum number of objects the batch can hold.
+	 * @throws IllegalArgumentException if the capacity is negative.
+	 */
+	@SuppressWarnings("unchecked")
+	public ColumnBatch(@Nonnull final Introspection<T> introspection, final int capacity) {
+		this.introspection = requireNonNull(introspection);
+		if(capacity < 0) {
+			throw new IllegalArgumentException(String.format("Invalid capacity %d.", capacity));
+		}
+		this.capacity = capacity;
+		final int propertyCount = introspection.getPropertyCount();
+		this.columns = new Column[propertyCount];
+		final List<Column<T>> readColumns = new ArrayList<>(propertyCount);
+		final List<PrimitiveColumn<T>> exportColumns = new ArrayList<>(propertyCount);
+		for(int ordinal = 0; ordinal < propertyCount; ordinal++) {
+			final Property<T, ?> property = introspection.getProperty(ordinal);
+			if(property.isReadable()) {
+				final Column<T> column = createColumn(property, capacity);
+				columns[ordinal] = column;
+				readColumns.add(column);
+				if(column instanceof PrimitiveColumn) {
+					exportColumns.add((PrimitiveColumn<T>)column);
+				}
+			}
+		}
+		this.readColumns = readColumns.toArray(new Column[readColumns.size()]);
+		this.exportColumns = exportColumns.toArray(new PrimitiveColumn[exportColumns.size()]);
+	}
+
+	/**
+	 * Creates a column for the values of a property.
+	 * @param <T> The type of object the values are read from.
+	 * @param property The property the values of which will be stored.
+	 * @param capacity The maximum number of values to store.
+	 * @return A new column appropriate for the property type.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> Column<T> createColumn(@Nonnull final Property<T, ?> property, final int capacity) {
+		final Class<?> valueClass = property.getValueType().getErasedType();
+		if(valueClass == int.class || valueClass == Integer.class || valueClass == short.class || valueClass == Short.class || valueClass == byte.class
+				|| valueClass == Byte.class) {
+			return new IntColumn<>(property, capacity);
+		} else if(valueClass == long.class || valueClass == Long.class) {
+			return new LongColumn<>(property, capacity);
+		} else if(valueClass == double.class || valueClass == Double.class || valueClass == float.class || valueClass == Float.class) {
+			return new DoubleColumn<>(property, capacity);
+		} else if(valueClass == boolean.class || valueClass == Boolean.class) {
+			return new BooleanColumn<>(property, capacity);
+		}
+		return new ObjectColumn<>(property, capacity);
+	}
+
+	//columns
+
+	/**
+	 * Returns the kind of values stored for a property.
+	 * @param ordinal The ordinal of the property.
+	 * @return The type of column for the property, which will not be present if the property is not readable.
+	 * @throws IndexOutOfBoundsException if the ordinal is out of range.
+	 */
+	public Optional<ColumnType> getColumnType(final int ordinal) {
+		final Column<T> column = columns[ordinal];
+		return column != null ? Optional.of(column.getType()) : Optional.empty();
+	}
+
+	/**
+	 * Returns the column for a property, checking its type.
+	 * @param ordinal The ordinal of the property.
+	 * @param columnType The expected column type.
+	 * @return The column.
+	 * @throws IndexOutOfBoundsException if the ordinal is out of range.
+	 * @throws IllegalArgumentException if the property is not readable or its column is of a different type.
+	 */
+	private Column<T> getColumn(final int ordinal, @Nullable final ColumnType columnType) {
+		final Column<T> column = columns[ordinal];
+		if(column == null) {
+			throw new IllegalArgumentException(String.format("Property %s is not readable.", introspection.getProperty(ordinal).getName()));
+		}
+		if(columnType != null && column.getType() != columnType) {
+			throw new IllegalArgumentException(
+					String.format("Property %s is stored in a %s column, not %s.", introspection.getProperty(ordinal).getName(), column.getType(), columnType));
+		}
+		return column;
+	}
+
+	/**
+	 * Returns the values of an <code>int</code> column. Only the first {@link #getSize()} values are valid.
+	 * @param ordinal The ordinal of the property.
+	 * @return The array of values, which is reused for each read.
+	 * @throws IndexOutOfBoundsException if the ordinal is out of range.
+	 * @throws IllegalArgumentException if the property is not stored in an {@link ColumnType#INT} column.
+	 */
+	public int[] getIntColumn(final int ordinal) {
+		return ((IntColumn<T>)getColumn(ordinal, ColumnType.INT)).values;
+	}
+
+	/**
+	 * Returns the values of a <code>long</code> column. Only the first {@link #getSize()} values are valid.
+	 * @param ordinal The ordinal of the property.
+	 * @return The array of values, which is reused for each read.
+	 * @throws IndexOutOfBoundsException if the ordinal is out of range.
+	 * @throws IllegalArgumentException if the property is not stored in a {@link ColumnType#LONG} column.
+	 */
+	public long[] getLongColumn(final int ordinal) {
+		return ((LongColumn<T>)getColumn(ordinal, ColumnType.LONG)).values;
+	}
+
+	/**
+	 * Returns the values of a <code>double</code> column. Only the first {@link #getSize()} values are valid.
+	 * @param ordinal The ordinal of the property.
+	 * @return The array of values, which is reused for each read.
+	 * @throws IndexOutOfBoundsException if the ordinal is out of range.
+	 * @throws IllegalArgumentException if the property is not stored in a {@link ColumnType#DOUBLE} column.
+	 */
+	public double[] getDoubleColumn(final int ordinal) {
+		return ((DoubleColumn<T>)getColumn(ordinal, ColumnType.DOUBLE)).values;
+	}
+
+	/**
+	 * Returns the values of a <code>boolean</code> column. Only the first {@link #getSize()} values are valid.
+	 * @param ordinal The ordinal of the property.
+	 * @return The array of values, which is reused for each read.
+	 * @throws IndexOutOfBoundsException if the ordinal is out of range.
+	 * @throws IllegalArgumentException if the property is not stored in a {@link ColumnType#BOOLEAN} column.
+	 */
+	public boolean[] getBooleanColumn(final int ordinal) {
+		return ((BooleanColumn<T>)getColumn(ordinal, ColumnType.BOOLEAN)).values;
+	}
+
+	/**
+	 * Returns the values of an object column. Only the first {@link #getSize()} values are valid; the remaining elements are <code>null</code>.
+	 * @param ordinal The ordinal of the property.
+	 * @return The array of values, which is reused for each read.
+	 * @throws IndexOutOfBoundsException if the ordinal is out of range.
+	 * @throws IllegalArgumentException if the property is not stored in an {@link ColumnType#OBJECT} column.
+	 */
+	public Object[] getObjectColumn(final int ordinal) {
+		return ((ObjectColumn<T>)getColumn(ordinal, ColumnType.OBJECT)).values;
+	}
+
+	/**
+	 * Returns the null bitmap of a column, in which bit <code>index % 64</code> of word <code>index / 64</code> is set if the value at that index is
+	 * <code>null</code>. Only the bits of the first {@link #getSize()} values are valid.
+	 * @param ordinal The ordinal of the property.
+	 * @return The null bitmap, which is reused for each read.
+	 * @throws IndexOutOfBoundsException if the ordinal is out of range.
+	 * @throws IllegalArgumentException if the property is not readable.
+	 */
+	public long[] getNullBitmap(final int ordinal) {
+		return getColumn(ordinal, null).nullBitmap;
+	}
+
+	/**
+	 * Indicates whether a value in a column is <code>null</code>.
+	 * @param ordinal The ordinal of the property.
+	 * @param index The index of the object.
+	 * @return <code>true</code> if the property value of the object at the given index was <code>null</code>.
+	 * @throws IndexOutOfBoundsException if the ordinal is out of range, or the index is not less than the size of the batch.
+	 * @throws IllegalArgumentException if the property is not readable.
+	 */
+	public boolean isNull(final int ordinal, final int index) {
+		Objects.checkIndex(index, size);
+		return (getNullBitmap(ordinal)[index >>> 6] & (1L << index)) != 0;
+	}
+
+	//reading
+
+	/**
+	 * Reads the values of the readable properties of the given objects into the columns, replacing any values previously read.
+	 * @param objects The objects the property values of which should be read.
+	 * @throws IllegalArgumentException if there are more objects than the capacity of the batch.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public void read(@Nonnull final List<? extends T> objects) throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		final int newSize = prepareRead(objects);
+		for(final Column<T> column : readColumns) {
+			column.read(objects, 0, newSize);
+		}
+	}
+
+	/**
+	 * Reads the values of the readable properties of the given objects into the columns in parallel using the common fork-join pool, replacing any values
+	 * previously read.
+	 * @param objects The objects the property values of which should be read; the list should support fast random access.
+	 * @throws IllegalArgumentException if there are more objects than the capacity of the batch.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 * @see ForkJoinPool#commonPool()
+	 */
+	public void readParallel(@Nonnull final List<? extends T> objects) throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		readParallel(objects, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Reads the values of the readable properties of the given objects into the columns in parallel, replacing any values previously read. The objects are
+	 * split recursively into chunks, each of which is read into all the columns by a separate fork-join task. The property readers must be safe to call from
+	 * multiple threads.
+	 * @param objects The objects the property values of which should be read; the list should support fast random access.
+	 * @param pool The pool in which to run the tasks.
+	 * @throws IllegalArgumentException if there are more objects than the capacity of the batch.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public void readParallel(@Nonnull final List<? extends T> objects, @Nonnull final ForkJoinPool pool)
+			throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		final int newSize = prepareRead(objects);
+		final AtomicReference<ReflectiveOperationException> failure = new AtomicReference<>();
+		pool.invoke(new ReadTask<>(readColumns, objects, 0, newSize, failure));
+		final ReflectiveOperationException exception = failure.get();
+		if(exception instanceof IllegalAccessException) {
+			throw (IllegalAccessException)exception;
+		} else if(exception != null) {
+			throw (InvocationTargetException)exception;
+		}
+	}
+
+	/**
+	 * Prepares to read the values of a list of objects, updating the size of the batch and releasing references to any objects no longer in the batch.
+	 * @param objects The objects the property values of which will be read.
+	 * @return The new size of the batch.
+	 * @throws IllegalArgumentException if there are more objects than the capacity of the batch.
+	 */
+	private int prepareRead(@Nonnull final List<? extends T> objects) {
+		final int newSize = objects.size();
+		if(newSize > capacity) {
+			throw new IllegalArgumentException(String.format("Batch capacity %d cannot hold %d objects.", capacity, newSize));
+		}
+		if(newSize < size) {
+			for(final Column<T> column : readColumns) {
+				column.release(newSize, size);
+			}
+		}
+		size = newSize;
+		return newSize;
+	}
+
+	/**
+	 * A task for reading a range of objects into the columns, splitting it into chunks of {@link ColumnBatch#CHUNK_SIZE}.
+	 * @param <T> The type of object the values are read from.
+	 * @author Garret Wilson
+	 */
+	private static final class ReadTask<T> extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final Column<T>[] columns;
+		private final List<? extends T> objects;
+		private final int from;
+		private final int to;
+		private final AtomicReference<ReflectiveOperationException> failure;
+
+		/**
+		 * Constructor.
+		 * @param columns The columns into which to read.
+		 * @param objects The objects the property values of which should be read.
+		 * @param from The index of the first object to read, which must be a multiple of 64.
+		 * @param to The index after the last object to read.
+		 * @param failure The holder of the first reflective exception thrown by any task.
+		 */
+		ReadTask(@Nonnull final Column<T>[] columns, @Nonnull final List<? extends T> objects, final int from, final int to,
+				@Nonnull final AtomicReference<ReflectiveOperationException> failure) {
+			this.columns = columns;
+			this.objects = objects;
+			this.from = from;
+			this.to = to;
+			this.failure = failure;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from > CHUNK_SIZE) {
+				final int middle = from + ((to - from) / CHUNK_SIZE + 1) / 2 * CHUNK_SIZE; //keep chunks aligned to null bitmap words
+				invokeAll(new ReadTask<>(columns, objects, from, middle, failure), new ReadTask<>(columns, objects, middle, to, failure));
+				return;
+			}
+			if(failure.get() != null) { //don't continue reading if another chunk failed
+				return;
+			}
+			try {
+				for(final Column<T> column : columns) {
+					column.read(objects, from, to);
+				}
+			} catch(final IllegalAccessException | InvocationTargetException exception) {
+				failure.compareAndSet(null, exception);
+			}
+		}
+
+	}
+
+	//export
+
+	/**
+	 * Appends the values of the primitive columns to the end of a file by way of memory-mapped buffers, so that large exports need no intermediate buffers on
+	 * the heap. The file is mapped in successive regions of at most {@value #MAX_MAPPED_REGION_LENGTH} bytes, so that the export may exceed the size of a
+	 * single buffer.
+	 * <p>
+	 * The exported batch consists of the number of objects as a 32-bit integer, followed by each primitive column in order of property ordinal: the words of
+	 * the null bitmap, followed by the values, with <code>boolean</code> values written as single bytes of <code>0</code> or <code>1</code>. All numbers are
+	 * written in big-endian order. Object columns are not exported.
+	 * </p>
+	 * @param channel The channel of the file, which must be open for reading and writing.
+	 * @return The number of bytes written.
+	 * @throws IOException if there was an error writing to the file.
+	 */
+	public long export(@Nonnull final FileChannel channel) throws IOException {
+		return export(channel, MAX_MAPPED_REGION_LENGTH);
+	}
+
+	/**
+	 * Appends the values of the primitive columns to the end of a file, mapping regions of at most the given length.
+	 * @param channel The channel of the file, which must be open for reading and writing.
+	 * @param maxRegionLength The maximum number of bytes to map at once, which must be at least {@link Long#BYTES}.
+	 * @return The number of bytes written.
+	 * @throws IllegalArgumentException if the maximum region length is less than {@link Long#BYTES}.
+	 * @throws IOException if there was an error writing to the file.
+	 * @see #export(FileChannel)
+	 */
+	long export(@Nonnull final FileChannel channel, final int maxRegionLength) throws IOException {
+		if(maxRegionLength < Long.BYTES) {
+			throw new IllegalArgumentException(String.format("Invalid maximum region length %d.", maxRegionLength));
+		}
+		final int wordCount = (size + 63) >>> 6;
+		long length = Integer.BYTES;
+		for(final PrimitiveColumn<T> column : exportColumns) {
+			length += (long)wordCount * Long.BYTES + (long)size * column.getValueLength();
+		}
+		final MappedRegionWriter writer = new MappedRegionWriter(channel, channel.size(), length, maxRegionLength);
+		writer.reserve(Integer.BYTES).putInt(size);
+		for(final PrimitiveColumn<T> column : exportColumns) {
+			column.export(writer, size);
+		}
+		writer.force();
+		return length;
+	}
+
+	/**
+	 * Writes a contiguous range of a file through successive memory-mapped regions, mapping a new region whenever the current one cannot hold the next value.
+	 * @author Garret Wilson
+	 */
+	private static final class MappedRegionWriter {
+
+		private final FileChannel channel;
+		private final long end;
+		private final int maxRegionLength;
+
+		/** The position in the file of the start of the current region. */
+		private long regionPosition;
+
+		/** The buffer of the current region, or <code>null</code> if no region has been mapped. */
+		@Nullable
+		private MappedByteBuffer buffer = null;
+
+		/**
+		 * Constructor.
+		 * @param channel The channel of the file, which must be open for reading and writing.
+		 * @param position The position in the file at which to start writing.
+		 * @param length The total number of bytes that will be written.
+		 * @param maxRegionLength The maximum number of bytes to map at once.
+		 */
+		MappedRegionWriter(@Nonnull final FileChannel channel, final long position, final long length, final int maxRegionLength) {
+			this.channel = channel;
+			this.regionPosition = position;
+			this.end = position + length;
+			this.maxRegionLength = maxRegionLength;
+		}
+
+		/**
+		 * Returns a buffer positioned at the next byte to write with room for at least the given number of bytes, mapping the next region of the file if needed.
+		 * @param minLength The number of bytes needed, which must not exceed the number of bytes still to be written.
+		 * @return The buffer of the current region.
+		 * @throws IOException if there was an error mapping the file.
+		 */
+		ByteBuffer reserve(final int minLength) throws IOException {
+			MappedByteBuffer buffer = this.buffer;
+			if(buffer == null || buffer.remaining() < minLength) {
+				if(buffer != null) {
+					buffer.force();
+					regionPosition += buffer.position();
+				}
+				this.buffer = buffer = channel.map(FileChannel.MapMode.READ_WRITE, regionPosition, Math.min(end - regionPosition, maxRegionLength));
+			}
+			return buffer;
+		}
+
+		/** Forces any changes to the current region to be written to the file. */
+		void force() {
+			if(buffer != null) {
+				buffer.force();
+			}
+		}
+
+	}
+
+	//columns
+
+	/**
+	 * A column of property values.
+	 * @param <T> The type of object the values are read from.
+	 * @author Garret Wilson
+	 */
+	private abstract static class Column<T> {
+
+		/** The null bitmap, one bit per value. */
+		final long[] nullBitmap;
+
+		/**
+		 * Constructor.
+		 * @param capacity The maximum number of values to store.
+		 */
+		Column(final int capacity) {
+			this.nullBitmap = new long[(capacity + 63) >>> 6];
+		}
+
+		/** @return The kind of values stored in the column. */
+		abstract ColumnType getType();
+
+		/**
+		 * Reads the property values of a range of objects into the column, clearing and updating the corresponding null bitmap words.
+		 * @param objects The objects the property values of which should be read.
+		 * @param from The index of the first object to read, which must be a multiple of 64.
+		 * @param to The index after the last object to read.
+		 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+		 * @throws InvocationTargetException if some underlying method throws an exception.
+		 */
+		final void read(@Nonnull final List<? extends T> objects, final int from, final int to) throws IllegalAccessException, InvocationTargetException {
+			Arrays.fill(nullBitmap, from >>> 6, (to + 63) >>> 6, 0L);
+			readValues(objects, from, to);
+		}
+
+		/**
+		 * Reads the property values of a range of objects into the column, marking <code>null</code> values in the null bitmap, which has been cleared.
+		 * @param objects The objects the property values of which should be read.
+		 * @param from The index of the first object to read.
+		 * @param to The index after the last object to read.
+		 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+		 * @throws InvocationTargetException if some underlying method throws an exception.
+		 */
+		abstract void readValues(@Nonnull List<? extends T> objects, int from, int to) throws IllegalAccessException, InvocationTargetException;
+
+		/**
+		 * Marks a value as <code>null</code> in the null bitmap.
+		 * @param index The index of the value.
+		 */
+		final void setNull(final int index) {
+			nullBitmap[index >>> 6] |= 1L << index;
+		}
+
+		/**
+		 * Releases any references held for values no longer in the batch.
+		 * @param from The index of the first value no longer in the batch.
+		 * @param to The index after the last value no longer in the batch.
+		 */
+		void release(final int from, final int to) {
+		}
+
+	}
+
+	/**
+	 * A column of primitive values, which can be exported.
+	 * @param <T> The type of object the values are read from.
+	 * @author Garret Wilson
+	 */
+	private abstract static class PrimitiveColumn<T> extends Column<T> {
+
+		/**
+		 * Constructor.
+		 * @param capacity The maximum number of values to store.
+		 */
+		PrimitiveColumn(final int capacity) {
+			super(capacity);
+		}
+
+		/** @return The number of bytes in each exported value. */
+		abstract int getValueLength();
+
+		/**
+		 * Writes the words of the null bitmap followed by the values of the column, in as many regions as needed.
+		 * @param writer The writer of the mapped regions of the file.
+		 * @param size The number of values to write.
+		 * @throws IOException if there was an error mapping the file.
+		 */
+		final void export(@Nonnull final MappedRegionWriter writer, final int size) throws IOException {
+			final int wordCount = (size + 63) >>> 6;
+			for(int word = 0; word < wordCount;) {
+				final ByteBuffer buffer = writer.reserve(Long.BYTES);
+				final int count = Math.min(wordCount - word, buffer.remaining() / Long.BYTES);
+				buffer.asLongBuffer().put(nullBitmap, word, count);
+				buffer.position(buffer.position() + count * Long.BYTES);
+				word += count;
+			}
+			final int valueLength = getValueLength();
+			for(int index = 0; index < size;) {
+				final ByteBuffer buffer = writer.reserve(valueLength);
+				final int count = Math.min(size - index, buffer.remaining() / valueLength);
+				exportValues(buffer, index, index + count);
+				index += count;
+			}
+		}
+
+		/**
+		 * Writes a range of values of the column, advancing the position of the buffer.
+		 * @param buffer The buffer into which to write the values, which has room for all of them.
+		 * @param from The index of the first value to write.
+		 * @param to The index after the last value to write.
+		 */
+		abstract void exportValues(@Nonnull ByteBuffer buffer, int from, int to);
+
+	}
+
+	/**
+	 * A column of <code>int</code> values.
+	 * @param <T> The type of object the values are read from.
+	 * @author Garret Wilson
+	 */
+	private static final class IntColumn<T> extends PrimitiveColumn<T> {
+
+		private final Property<T, ?> property;
+
+		/** The property specialization for reading without boxing, or <code>null</code> if the property values may be <code>null</code>. */
+		@Nullable
+		private final IntProperty<T> intProperty;
+
+		final int[] values;
+
+		/**
+		 * Constructor.
+		 * @param property The property the values of which are stored.
+		 * @param capacity The maximum number of values to store.
+		 */
+		@SuppressWarnings("unchecked")
+		IntColumn(@Nonnull final Property<T, ?> property, final int capacity) {
+			super(capacity);
+			this.property = property;
+			this.intProperty = property instanceof IntProperty && property.getValueType().getErasedType() == int.class ? (IntProperty<T>)property : null;
+			this.values = new int[capacity];
+		}
+
+		@Override
+		ColumnType getType() {
+			return ColumnType.INT;
+		}
+
+		@Override
+		int getValueLength() {
+			return Integer.BYTES;
+		}
+
+		@Override
+		void readValues(final List<? extends T> objects, final int from, final int to) throws IllegalAccessException, InvocationTargetException {
+			if(intProperty != null) {
+				for(int index = from; index < to; index++) {
+					values[index] = intProperty.getInt(objects.get(index));
+				}
+			} else {
+				for(int index = from; index < to; index++) {
+					final Object value = property.getValue(objects.get(index));
+					if(value != null) {
+						values[index] = ((Number)value).intValue();
+					} else {
+						values[index] = 0;
+						setNull(index);
+					}
+				}
+			}
+		}
+
+		@Override
+		void exportValues(final ByteBuffer buffer, final int from, final int to) {
+			buffer.asIntBuffer().put(values, from, to - from);
+			buffer.position(buffer.position() + (to - from) * Integer.BYTES);
+		}
+
+	}
+
+	/**
+	 * A column of <code>long</code> values.
+	 * @param <T> The type of object the values are read from.
+	 * @author Garret Wilson
+	 */
+	private static final class LongColumn<T> extends PrimitiveColumn<T> {
+
+		private final Property<T, ?> property;
+
+		/** The property specialization for reading without boxing, or <code>null</code> if the property values may be <code>null</code>. */
+		@Nullable
+		private final LongProperty<T> longProperty;
+
+		final long[] values;
+
+		/**
+		 * Constructor.
+		 * @param property The property the values of which are stored.
+		 * @param capacity The maximum number of values to store.
+		 */
+		@SuppressWarnings("unchecked")
+		LongColumn(@Nonnull final Property<T, ?> property, final int capacity) {
+			super(capacity);
+			this.property = property;
+			this.longProperty = property instanceof LongProperty && property.getValueType().getErasedType() == long.class ? (LongProperty<T>)property : null;
+			this.values = new long[capacity];
+		}
+
+		@Override
+		ColumnType getType() {
+			return ColumnType.LONG;
+		}
+
+		@Override
+		int getValueLength() {
+			return Long.BYTES;
+		}
+
+		@Override
+		void readValues(final List<? extends T> objects, final int from, final int to) throws IllegalAccessException, InvocationTargetException {
+			if(longProperty != null) {
+				for(int index = from; index < to; index++) {
+					values[index] = longProperty.getLong(objects.get(index));
+				}
+			} else {
+				for(int index = from; index < to; index++) {
+					final Object value = property.getValue(objects.get(index));
+					if(value != null) {
+						values[index] = ((Number)value).longValue();
+					} else {
+						values[index] = 0L;
+						setNull(index);
+					}
+				}
+			}
+		}
+
+		@Override
+		void exportValues(final ByteBuffer buffer, final int from, final int to) {
+			buffer.asLongBuffer().put(values, from, to - from);
+			buffer.position(buffer.position() + (to - from) * Long.BYTES);
+		}
+
+	}
+
+	/**
+	 * A column of <code>double</code> values.
+	 * @param <T> The type of object the values are read from.
+	 * @author Garret Wilson
+	 */
+	private static final class DoubleColumn<T> extends PrimitiveColumn<T> {
+
+		private final Property<T, ?> property;
+
+		/** The property specialization for reading without boxing, or <code>null</code> if the property values may be <code>null</code>. */
+		@Nullable
+		private final DoubleProperty<T> doubleProperty;
+
+		final double[] values;
+
+		/**
+		 * Constructor.
+		 * @param property The property the values of which are stored.
+		 * @param capacity The maximum number of values to store.
+		 */
+		@SuppressWarnings("unchecked")
+		DoubleColumn(@Nonnull final Property<T, ?> property, final int capacity) {
+			super(capacity);
+			this.property = property;
+			this.doubleProperty = property instanceof DoubleProperty && property.getValueType().getErasedType() == double.class ? (DoubleProperty<T>)property
+					: null;
+			this.values = new double[capacity];
+		}
+
+		@Override
+		ColumnType getType() {
+			return ColumnType.DOUBLE;
+		}
+
+		@Override
+		int getValueLength() {
+			return Double.BYTES;
+		}
+
+		@Override
+		void readValues(final List<? extends T> objects, final int from, final int to) throws IllegalAccessException, InvocationTargetException {
+			if(doubleProperty != null) {
+				for(int index = from; index < to; index++) {
+					values[index] = doubleProperty.getDouble(objects.get(index));
+				}
+			} else {
+				for(int index = from; index < to; index++) {
+					final Object value = property.getValue(objects.get(index));
+					if(value != null) {
+						values[index] = ((Number)value).doubleValue();
+					} else {
+						values[index] = 0.0;
+						setNull(index);
+					}
+				}
+			}
+		}
+
+		@Override
+		void exportValues(final ByteBuffer buffer, final int from, final int to) {
+			buffer.asDoubleBuffer().put(values, from, to - from);
+			buffer.position(buffer.position() + (to - from) * Double.BYTES);
+		}
+
+	}
+
+	/**
+	 * A column of <code>boolean</code> values.
+	 * @param <T> The type of object the values are read from.
+	 * @author Garret Wilson
+	 */
+	private static final class BooleanColumn<T> extends PrimitiveColumn<T> {
+
+		private final Property<T, ?> property;
+
+		/** The property specialization for reading without boxing, or <code>null</code> if the property values may be <code>null</code>. */
+		@Nullable
+		private final BooleanProperty<T> booleanProperty;
+
+		final boolean[] values;
+
+		/**
+		 * Constructor.
+		 * @param property The property the values of which are stored.
+		 * @param capacity The maximum number of values to store.
+		 */
+		@SuppressWarnings("unchecked")
+		BooleanColumn(@Nonnull final Property<T, ?> property, final int capacity) {
+			super(capacity);
+			this.property = property;
+			this.booleanProperty = property instanceof BooleanProperty && property.getValueType().getErasedType() == boolean.class
+					? (BooleanProperty<T>)property
+					: null;
+			this.values = new boolean[capacity];
+		}
+
+		@Override
+		ColumnType getType() {
+			return ColumnType.BOOLEAN;
+		}
+
+		@Override
+		int getValueLength() {
+			return 1;
+		}
+
+		@Override
+		void readValues(final List<? extends T> objects, final int from, final int to) throws IllegalAccessException, InvocationTargetException {
+			if(booleanProperty != null) {
+				for(int index = from; index < to; index++) {
+					values[index] = booleanProperty.getBoolean(objects.get(index));
+				}
+			} else {
+				for(int index = from; index < to; index++) {
+					final Object value = property.getValue(objects.get(index));
+					if(value != null) {
+						values[index] = ((Boolean)value).booleanValue();
+					} else {
+						values[index] = false;
+						setNull(index);
+					}
+				}
+			}
+		}
+
+		@Override
+		void exportValues(final ByteBuffer buffer, final int from, final int to) {
+			for(int index = from; index < to; index++) {
+				buffer.put(values[index] ? (byte)1 : (byte)0);
+			}
+		}
+
+	}
+
+	/**
+	 * A column of values of any type.
+	 * @param <T> The type of object the values are read from.
+	 * @author Garret Wilson
+	 */
+	private static final class ObjectColumn<T> extends Column<T> {
+
+		private final Property<T, ?> property;
+
+		final Object[] values;
+
+		/**
+		 * Constructor.
+		 * @param property The property the values of which are stored.
+		 * @param capacity The maximum number of values to store.
+		 */
+		ObjectColumn(@Nonnull final Property<T, ?> property, final int capacity) {
+			super(capacity);
+			this.property = property;
+			this.values = new Object[capacity];
+		}
+
+		@Override
+		ColumnType getType() {
+			return ColumnType.OBJECT;
+		}
+
+		@Override
+		void readValues(final List<? extends T> objects, final int from, final int to) throws IllegalAccessException, InvocationTargetException {
+			for(int index = from; index < to; index++) {
+				final Object value = property.getValue(objects.get(index));
+				values[index] = value;
+				if(value == null) {
+					setNull(index);
+				}
+			}
+		}
+
+		@Override
+		void release(final int from, final int to) {
+			Arrays.fill(values, from, to, null);
+		}
+
+	}
+
+}
@@ -0,0 +1,532 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.*;
+
+/**
+ * Determines which properties of objects have changed since a snapshot of their values was taken.
+ * <p>
+ * A {@link Snapshot} records the values of the readable properties of an object compactly: values of <code>int</code>, <code>long</code>,
+ * <code>double</code>, and <code>boolean</code> properties with primitive specializations such as {@link IntProperty} are stored in a single
+ * <code>long[]</code> array without boxing, while values of other properties are stored by reference along with their hash codes. When checking an object
+ * against its snapshot, a primitive value is dirty if it differs; a reference value is dirty if it is not the same instance as in the snapshot and is not
+ * equal to it, or if it is the same instance but its hash code has changed, indicating that it was modified in place. The contents of arrays are compared
+ * and hashed as for {@link Arrays#deepEquals(Object[], Object[])}. A reference value modified in place without changing its hash code will not be detected.
+ * </p>
+ * <p>
+ * The dirty properties of many objects may be found in parallel using {@link #findDirtyParallel(List, List, ForkJoinPool)}.
+ * </p>
+ * <p>
+ * A dirty checker is thread-safe, and may be shared across sessions.
+ * </p>
+ * @param <T> The type of object checked.
+ * @author Garret Wilson
+ */
+public final class DirtyChecker<T> {
+
+	/** The number of objects at or below which a parallel check is not split further. */
+	static final int CHUNK_SIZE = 256;
+
+	private final Introspection<T> introspection;
+
+	/** @return The introspection of the type of object checked. */
+	public Introspection<T> getIntrospection() {
+		return introspection;
+	}
+
+	/** The slots of the readable properties, in order of property ordinal. */
+	private final Slot<T>[] slots;
+
+	/** The number of primitive values in each snapshot. */
+	private final int primitiveCount;
+
+	/** The number of reference values in each snapshot. */
+	private final int referenceCount;
+
+	/**
+	 * Constructor.
+	 * @param introspection The introspection of the type of object checked.
+	 */
+	@SuppressWarnings("unchecked")
+	public DirtyChecker(@Nonnull final Introspection<T> introspection) {
+		this.introspection = requireNonNull(introspection);
+		final List<Slot<T>> slots = new ArrayList<>(introspection.getPropertyCount());
+		int primitiveCount = 0;
+		int referenceCount = 0;
+		for(int ordinal = 0; ordinal < introspection.getPropertyCount(); ordinal++) {
+			final Property<T, ?> property = introspection.getProperty(ordinal);
+			if(!property.isReadable()) {
+				continue;
+			}
+			final Class<?> valueClass = property.getValueType().getErasedType();
+			if(property instanceof IntProperty && valueClass == int.class) {
+				slots.add(new IntSlot<>(ordinal, primitiveCount++, (IntProperty<T>)property));
+			} else if(property instanceof LongProperty && valueClass == long.class) {
+				slots.add(new LongSlot<>(ordinal, primitiveCount++, (LongProperty<T>)property));
+			} else if(property instanceof DoubleProperty && valueClass == double.class) {
+				slots.add(new DoubleSlot<>(ordinal, primitiveCount++, (DoubleProperty<T>)property));
+			} else if(property instanceof BooleanProperty && valueClass == boolean.class) {
+				slots.add(new BooleanSlot<>(ordinal, primitiveCount++, (BooleanProperty<T>)property));
+			} else {
+				slots.add(new ReferenceSlot<>(ordinal, referenceCount++, property));
+			}
+		}
+		this.slots = slots.toArray(new Slot[slots.size()]);
+		this.primitiveCount = primitiveCount;
+		this.referenceCount = referenceCount;
+	}
+
+	/**
+	 * Takes a snapshot of the values of the readable properties of an object.
+	 * @param object The object the property values of which should be recorded.
+	 * @return A new snapshot of the property values.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public Snapshot snapshot(@Nonnull final T object) throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		requireNonNull(object);
+		final Snapshot snapshot = new Snapshot(introspection, primitiveCount, referenceCount);
+		for(final Slot<T> slot : slots) {
+			slot.record(object, snapshot);
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Ensures that a snapshot was taken by a checker for the same type of object.
+	 * @param snapshot The snapshot to check.
+	 * @return The snapshot.
+	 * @throws IllegalArgumentException if the snapshot is of another type of object.
+	 */
+	private Snapshot checkSnapshot(@Nonnull final Snapshot snapshot) {
+		if(snapshot.introspection != introspection) {
+			throw new IllegalArgumentException(String.format("Snapshot of %s cannot be used to check %s.", snapshot.introspection.getObjectType(),
+					introspection.getObjectType()));
+		}
+		return snapshot;
+	}
+
+	/**
+	 * Indicates whether any readable property of an object has changed since a snapshot was taken, stopping at the first change found.
+	 * @param object The object to check.
+	 * @param snapshot The snapshot of the object property values taken earlier.
+	 * @return <code>true</code> if the value of some property differs from that in the snapshot.
+	 * @throws IllegalArgumentException if the snapshot was not taken by a checker of the same type of object.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public boolean isDirty(@Nonnull final T object, @Nonnull final Snapshot snapshot)
+			throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		requireNonNull(object);
+		checkSnapshot(snapshot);
+		for(final Slot<T> slot : slots) {
+			if(slot.isDirty(object, snapshot)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Determines which readable properties of an object have changed since a snapshot was taken.
+	 * @param object The object to check.
+	 * @param snapshot The snapshot of the object property values taken earlier.
+	 * @return A new bit set with the ordinals set of the properties the values of which differ from those in the snapshot; empty if the object is not dirty.
+	 * @throws IllegalArgumentException if the snapshot was not taken by a checker of the same type of object.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public BitSet findDirty(@Nonnull final T object, @Nonnull final Snapshot snapshot)
+			throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		requireNonNull(object);
+		checkSnapshot(snapshot);
+		final BitSet dirtyOrdinals = new BitSet(introspection.getPropertyCount());
+		for(final Slot<T> slot : slots) {
+			if(slot.isDirty(object, snapshot)) {
+				dirtyOrdinals.set(slot.ordinal);
+			}
+		}
+		return dirtyOrdinals;
+	}
+
+	/**
+	 * Determines in parallel using the common fork-join pool which readable properties of each of the given objects have changed since their snapshots were
+	 * taken.
+	 * @param objects The objects to check; the list should support fast random access.
+	 * @param snapshots The snapshot of each object, in the same order as the objects.
+	 * @return A list of bit sets, one for each object in the same order, with the ordinals set of the properties the values of which differ from those in the
+	 *         snapshot.
+	 * @throws IllegalArgumentException if the number of snapshots is not the same as the number of objects, or a snapshot was not taken by a checker of the
+	 *           same type of object.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 * @see ForkJoinPool#commonPool()
+	 */
+	public List<BitSet> findDirtyParallel(@Nonnull final List<? extends T> objects, @Nonnull final List<Snapshot> snapshots)
+			throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		return findDirtyParallel(objects, snapshots, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Determines in parallel which readable properties of each of the given objects have changed since their snapshots were taken. The objects are split
+	 * recursively into chunks, each of which is checked by a separate fork-join task. The property readers must be safe to call from multiple threads.
+	 * @param objects The objects to check; the list should support fast random access.
+	 * @param snapshots The snapshot of each object, in the same order as the objects.
+	 * @param pool The pool in which to run the tasks.
+	 * @return A list of bit sets, one for each object in the same order, with the ordinals set of the properties the values of which differ from those in the
+	 *         snapshot.
+	 * @throws IllegalArgumentException if the number of snapshots is not the same as the number of objects, or a snapshot was not taken by a checker of the
+	 *           same type of object.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public List<BitSet> findDirtyParallel(@Nonnull final List<? extends T> objects, @Nonnull final List<Snapshot> snapshots, @Nonnull final ForkJoinPool pool)
+			throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		final int count = objects.size();
+		if(snapshots.size() != count) {
+			throw new IllegalArgumentException(String.format("There are %d snapshots for %d objects.", snapshots.size(), count));
+		}
+		final BitSet[] dirtyOrdinals = new BitSet[count];
+		final AtomicReference<ReflectiveOperationException> failure = new AtomicReference<>();
+		pool.invoke(new FindDirtyTask(objects, snapshots, dirtyOrdinals, 0, count, failure));
+		final ReflectiveOperationException exception = failure.get();
+		if(exception instanceof IllegalAccessException) {
+			throw (IllegalAccessException)exception;
+		} else if(exception != null) {
+			throw (InvocationTargetException)exception;
+		}
+		return Arrays.asList(dirtyOrdinals);
+	}
+
+	/**
+	 * A task for finding the dirty properties of a range of objects.
+	 * @author Garret Wilson
+	 */
+	private final class FindDirtyTask extends RecursiveAction {
+
+		private static final long serialVersionUID = 1L;
+
+		private final List<? extends T> objects;
+		private final List<Snapshot> snapshots;
+		private final BitSet[] dirtyOrdinals;
+		private final int from;
+		private final int to;
+		private final AtomicReference<ReflectiveOperationException> failure;
+
+		/**
+		 * Constructor.
+		 * @param objects The objects to check.
+		 * @param snapshots The snapshot of each object.
+		 * @param dirtyOrdinals The array in which to store the dirty property ordinals of each object.
+		 * @param from The index of the first object to check.
+		 * @param to The index after the last object to check.
+		 * @param failure The holder of the first reflective exception thrown by any task.
+		 */
+		FindDirtyTask(@Nonnull final List<? extends T> objects, @Nonnull final List<Snapshot> snapshots, @Nonnull final BitSet[] dirtyOrdinals, final int from,
+				final int to, @Nonnull final AtomicReference<ReflectiveOperationException> failure) {
+			this.objects = objects;
+			this.snapshots = snapshots;
+			this.dirtyOrdinals = dirtyOrdinals;
+			this.from = from;
+			this.to = to;
+			this.failure = failure;
+		}
+
+		@Override
+		protected void compute() {
+			if(to - from > CHUNK_SIZE) {
+				final int middle = (from + to) >>> 1;
+				invokeAll(new FindDirtyTask(objects, snapshots, dirtyOrdinals, from, middle, failure),
+						new FindDirtyTask(objects, snapshots, dirtyOrdinals, middle, to, failure));
+				return;
+			}
+			if(failure.get() != null) { //don't continue checking if another chunk failed
+				return;
+			}
+			try {
+				for(int index = from; index < to; index++) {
+					dirtyOrdinals[index] = findDirty(objects.get(index), snapshots.get(index));
+				}
+			} catch(final IllegalAccessException | InvocationTargetException exception) {
+				failure.compareAndSet(null, exception);
+			}
+		}
+
+	}
+
+	/**
+	 * A record of the values of the readable properties of an object at some point in time. A snapshot is immutable once taken.
+	 * @author Garret Wilson
+	 * @see DirtyChecker#snapshot(Object)
+	 */
+	public static final class Snapshot {
+
+		/** The introspection of the type of object recorded, for verifying that the snapshot is used with a compatible checker. */
+		private final Introspection<?> introspection;
+
+		/** The primitive values, with <code>double</code> values stored as their bits and <code>boolean</code> values stored as 0 or 1. */
+		private final long[] primitives;
+
+		/** The reference values. */
+		private final Object[] references;
+
+		/** The hash codes of the reference values. */
+		private final int[] referenceHashes;
+
+		/**
+		 * Constructor.
+		 * @param introspection The introspection of the type of object recorded.
+		 * @param primitiveCount The number of primitive values.
+		 * @param referenceCount The number of reference values.
+		 */
+		private Snapshot(@Nonnull final Introspection<?> introspection, final int primitiveCount, final int referenceCount) {
+			this.introspection = introspection;
+			this.primitives = new long[primitiveCount];
+			this.references = new Object[referenceCount];
+			this.referenceHashes = new int[referenceCount];
+		}
+
+	}
+
+	/**
+	 * The recording and comparison of a single property value in a snapshot.
+	 * @param <T> The type of object checked.
+	 * @author Garret Wilson
+	 */
+	private abstract static class Slot<T> {
+
+		/** The ordinal of the property. */
+		final int ordinal;
+
+		/** The index of the value in the snapshot primitives or references. */
+		final int index;
+
+		/**
+		 * Constructor.
+		 * @param ordinal The ordinal of the property.
+		 * @param index The index of the value in the snapshot primitives or references.
+		 */
+		Slot(final int ordinal, final int index) {
+			this.ordinal = ordinal;
+			this.index = index;
+		}
+
+		/**
+		 * Records the property value of an object in a snapshot.
+		 * @param object The object the property value of which should be recorded.
+		 * @param snapshot The snapshot being taken.
+		 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+		 * @throws InvocationTargetException if some underlying method throws an exception.
+		 */
+		abstract void record(@Nonnull T object, @Nonnull Snapshot snapshot) throws IllegalAccessException, InvocationTargetException;
+
+		/**
+		 * Determines whether the property value of an object differs from that recorded in a snapshot.
+		 * @param object The object to check.
+		 * @param snapshot The snapshot taken earlier.
+		 * @return <code>true</code> if the property value has changed.
+		 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+		 * @throws InvocationTargetException if some underlying method throws an exception.
+		 */
+		abstract boolean isDirty(@Nonnull T object, @Nonnull Snapshot snapshot) throws IllegalAccessException, InvocationTargetException;
+
+	}
+
+	/**
+	 * A slot for an <code>int</code> property, read without boxing.
+	 * @param <T> The type of object checked.
+	 * @author Garret Wilson
+	 */
+	private static final class IntSlot<T> extends Slot<T> {
+
+		private final IntProperty<T> property;
+
+		/**
+		 * Constructor.
+		 * @param ordinal The ordinal of the property.
+		 * @param index The index of the value in the snapshot primitives.
+		 * @param property The property.
+		 */
+		IntSlot(final int ordinal, final int index, @Nonnull final IntProperty<T> property) {
+			super(ordinal, index);
+			this.property = property;
+		}
+
+		@Override
+		void record(final T object, final Snapshot snapshot) throws IllegalAccessException, InvocationTargetException {
+			snapshot.primitives[index] = property.getInt(object);
+		}
+
+		@Override
+		boolean isDirty(final T object, final Snapshot snapshot) throws IllegalAccessException, InvocationTargetException {
+			return snapshot.primitives[index] != property.getInt(object);
+		}
+
+	}
+
+	/**
+	 * A slot for a <code>long</code> property, read without boxing.
+	 * @param <T> The type of object checked.
+	 * @author Garret Wilson
+	 */
+	private static final class LongSlot<T> extends Slot<T> {
+
+		private final LongProperty<T> property;
+
+		/**
+		 * Constructor.
+		 * @param ordinal The ordinal of the property.
+		 * @param index The index of the value in the snapshot primitives.
+		 * @param property The property.
+		 */
+		LongSlot(final int ordinal, final int index, @Nonnull final LongProperty<T> property) {
+			super(ordinal, index);
+			this.property = property;
+		}
+
+		@Override
+		void record(final T object, final Snapshot snapshot) throws IllegalAccessException, InvocationTargetException {
+			snapshot.primitives[index] = property.getLong(object);
+		}
+
+		@Override
+		boolean isDirty(final T object, final Snapshot snapshot) throws IllegalAccessException, InvocationTargetException {
+			return snapshot.primitives[index] != property.getLong(object);
+		}
+
+	}
+
+	/**
+	 * A slot for a <code>double</code> property, read without boxing and compared by its bits so that <code>NaN</code> is equal to itself.
+	 * @param <T> The type of object checked.
+	 * @author Garret Wilson
+	 */
+	private static final class DoubleSlot<T> extends Slot<T> {
+
+		private final DoubleProperty<T> property;
+
+		/**
+		 * Constructor.
+		 * @param ordinal The ordinal of the property.
+		 * @param index The index of the value in the snapshot primitives.
+		 * @param property The property.
+		 */
+		DoubleSlot(final int ordinal, final int index, @Nonnull final DoubleProperty<T> property) {
+			super(ordinal, index);
+			this.property = property;
+		}
+
+		@Override
+		void record(final T object, final Snapshot snapshot) throws IllegalAccessException, InvocationTargetException {
+			snapshot.primitives[index] = Double.doubleToLongBits(property.getDouble(object));
+		}
+
+		@Override
+		boolean isDirty(final T object, final Snapshot snapshot) throws IllegalAccessException, InvocationTargetException {
+			return snapshot.primitives[index] != Double.doubleToLongBits(property.getDouble(object));
+		}
+
+	}
+
+	/**
+	 * A slot for a <code>boolean</code> property, read without boxing.
+	 * @param <T> The type of object checked.
+	 * @author Garret Wilson
+	 */
+	private static final class BooleanSlot<T> extends Slot<T> {
+
+		private final BooleanProperty<T> property;
+
+		/**
+		 * Constructor.
+		 * @param ordinal The ordinal of the property.
+		 * @param index The index of the value in the snapshot primitives.
+		 * @param property The property.
+		 */
+		BooleanSlot(final int ordinal, final int index, @Nonnull final BooleanProperty<T> property) {
+			super(ordinal, index);
+			this.property = property;
+		}
+
+		@Override
+		void record(final T object, final Snapshot snapshot) throws IllegalAccessException, InvocationTargetException {
+			snapshot.primitives[index] = property.getBoolean(object) ? 1L : 0L;
+		}
+
+		@Override
+		boolean isDirty(final T object, final Snapshot snapshot) throws IllegalAccessException, InvocationTargetException {
+			return snapshot.primitives[index] != (property.getBoolean(object) ? 1L : 0L);
+		}
+
+	}
+
+	/**
+	 * A slot for a property of any type, recorded by reference along with its hash code.
+	 * @param <T> The type of object checked.
+	 * @author Garret Wilson
+	 */
+	private static final class ReferenceSlot<T> extends Slot<T> {
+
+		private final Property<T, ?> property;
+
+		/**
+		 * Constructor.
+		 * @param ordinal The ordinal of the property.
+		 * @param index The index of the value in the snapshot references.
+		 * @param property The property.
+		 */
+		ReferenceSlot(final int ordinal, final int index, @Nonnull final Property<T, ?> property) {
+			super(ordinal, index);
+			this.property = property;
+		}
+
+		@Override
+		void record(final T object, final Snapshot snapshot) throws IllegalAccessException, InvocationTargetException {
+			final Object value = property.getValue(object);
+			snapshot.references[index] = value;
+			snapshot.referenceHashes[index] = PropertyEquivalence.hashValue(value);
+		}
+
+		@Override
+		boolean isDirty(final T object, final Snapshot snapshot) throws IllegalAccessException, InvocationTargetException {
+			final Object value = property.getValue(object);
+			final Object snapshotValue = snapshot.references[index];
+			if(value == snapshotValue) { //the same instance may have been modified in place
+				return value != null && PropertyEquivalence.hashValue(value) != snapshot.referenceHashes[index];
+			}
+			if(value == null || snapshotValue == null) {
+				return true;
+			}
+			return PropertyEquivalence.hashValue(value) != snapshot.referenceHashes[index] || !PropertyEquivalence.equalValues(value, snapshotValue);
+		}
+
+	}
+
+}
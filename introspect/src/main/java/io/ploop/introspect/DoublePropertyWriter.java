@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import java.lang.reflect.InvocationTargetException;
+
+import javax.annotation.*;
+
+/**
+ * A strategy for setting the value of an object property of type <code>double</code> without boxing.
+ * @param <T> The type of object this property is for.
+ * @author Garret Wilson
+ */
+public interface DoublePropertyWriter<T> extends PropertyWriter<T, Double> {
+
+	/**
+	 * Sets the value of the property for a given instance as a <code>double</code>.
+	 * @param object The object the property value of which should be set.
+	 * @param value The value to set for the property.
+	 * @throws UnsupportedOperationException if this property is not writable.
+	 * @throws IllegalArgumentException the given value is inappropriate for the property.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public void setDouble(@Nonnull final T object, final double value)
+			throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError;
+
+}
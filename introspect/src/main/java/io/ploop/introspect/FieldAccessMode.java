@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+
+import java.lang.invoke.VarHandle;
+import java.lang.invoke.VarHandle.AccessMode;
+
+import javax.annotation.*;
+
+/**
+ * The memory ordering semantics with which a property backed directly by a field reads and writes the field.
+ * @author Garret Wilson
+ * @see VarHandle
+ */
+public enum FieldAccessMode {
+
+	/** Plain access, with the semantics of reading and writing a non-<code>volatile</code> field. */
+	PLAIN(AccessMode.GET, AccessMode.SET),
+
+	/** Opaque access, guaranteeing atomicity and coherence for the field but no ordering with respect to other variables. */
+	OPAQUE(AccessMode.GET_OPAQUE, AccessMode.SET_OPAQUE),
+
+	/** Volatile access, with the semantics of reading and writing a <code>volatile</code> field. */
+	VOLATILE(AccessMode.GET_VOLATILE, AccessMode.SET_VOLATILE);
+
+	private final AccessMode readAccessMode;
+
+	/** @return The variable handle access mode for reading the field. */
+	public AccessMode getReadAccessMode() {
+		return readAccessMode;
+	}
+
+	private final AccessMode writeAccessMode;
+
+	/** @return The variable handle access mode for writing the field. */
+	public AccessMode getWriteAccessMode() {
+		return writeAccessMode;
+	}
+
+	/**
+	 * Constructor.
+	 * @param readAccessMode The variable handle access mode for reading the field.
+	 * @param writeAccessMode The variable handle access mode for writing the field.
+	 */
+	private FieldAccessMode(@Nonnull final AccessMode readAccessMode, @Nonnull final AccessMode writeAccessMode) {
+		this.readAccessMode = requireNonNull(readAccessMode);
+		this.writeAccessMode = requireNonNull(writeAccessMode);
+	}
+
+}
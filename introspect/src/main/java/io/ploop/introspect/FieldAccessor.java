@@ -0,0 +1,113 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import javax.annotation.*;
+
+/**
+ * Direct access to a single field of a type, in a particular {@link FieldAccessMode}.
+ * <p>
+ * Implementations are typically generated at runtime for each field by {@link FieldAccessorGenerator}, accessing the field through a variable handle held in
+ * a <code>static final</code> field, which the JIT compiler treats as a constant so that each access compiles to a direct field access. Values accessed as
+ * objects are boxed if the field is primitive; values of <code>int</code>, <code>long</code>, <code>double</code>, and <code>boolean</code> fields may also be
+ * accessed without boxing using methods such as {@link #getInt(Object)}, but only if the field is of that type.
+ * </p>
+ * <p>
+ * As with {@link java.lang.invoke.VarHandle}, an object that is not an instance of the declaring class of the field results in a {@link ClassCastException},
+ * as does a value that cannot be assigned to the field.
+ * </p>
+ * @param <T> The type of object containing the field.
+ * @author Garret Wilson
+ */
+public interface FieldAccessor<T> {
+
+	/**
+	 * Reads the value of the field.
+	 * @param object The object the field value of which should be returned.
+	 * @return The value of the field on the given object.
+	 */
+	public Object get(@Nonnull T object);
+
+	/**
+	 * Reads the value of a field of type <code>int</code> without boxing.
+	 * @param object The object the field value of which should be returned.
+	 * @return The value of the field on the given object.
+	 */
+	public int getInt(@Nonnull T object);
+
+	/**
+	 * Reads the value of a field of type <code>long</code> without boxing.
+	 * @param object The object the field value of which should be returned.
+	 * @return The value of the field on the given object.
+	 */
+	public long getLong(@Nonnull T object);
+
+	/**
+	 * Reads the value of a field of type <code>double</code> without boxing.
+	 * @param object The object the field value of which should be returned.
+	 * @return The value of the field on the given object.
+	 */
+	public double getDouble(@Nonnull T object);
+
+	/**
+	 * Reads the value of a field of type <code>boolean</code> without boxing.
+	 * @param object The object the field value of which should be returned.
+	 * @return The value of the field on the given object.
+	 */
+	public boolean getBoolean(@Nonnull T object);
+
+	/**
+	 * Writes the value of the field.
+	 * @param object The object the field value of which should be set.
+	 * @param value The value to write, which will be unboxed if the field is primitive.
+	 * @throws UnsupportedOperationException if the field cannot be written in the access mode, as for a <code>final</code> field.
+	 */
+	public void set(@Nonnull T object, @Nullable Object value);
+
+	/**
+	 * Writes the value of a field of type <code>int</code> without boxing.
+	 * @param object The object the field value of which should be set.
+	 * @param value The value to write.
+	 * @throws UnsupportedOperationException if the field cannot be written in the access mode, as for a <code>final</code> field.
+	 */
+	public void setInt(@Nonnull T object, int value);
+
+	/**
+	 * Writes the value of a field of type <code>long</code> without boxing.
+	 * @param object The object the field value of which should be set.
+	 * @param value The value to write.
+	 * @throws UnsupportedOperationException if the field cannot be written in the access mode, as for a <code>final</code> field.
+	 */
+	public void setLong(@Nonnull T object, long value);
+
+	/**
+	 * Writes the value of a field of type <code>double</code> without boxing.
+	 * @param object The object the field value of which should be set.
+	 * @param value The value to write.
+	 * @throws UnsupportedOperationException if the field cannot be written in the access mode, as for a <code>final</code> field.
+	 */
+	public void setDouble(@Nonnull T object, double value);
+
+	/**
+	 * Writes the value of a field of type <code>boolean</code> without boxing.
+	 * @param object The object the field value of which should be set.
+	 * @param value The value to write.
+	 * @throws UnsupportedOperationException if the field cannot be written in the access mode, as for a <code>final</code> field.
+	 */
+	public void setBoolean(@Nonnull T object, boolean value);
+
+}
@@ -0,0 +1,238 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+import static org.objectweb.asm.Opcodes.*;
+
+import java.lang.invoke.VarHandle;
+import java.util.function.Supplier;
+
+import javax.annotation.*;
+
+import org.objectweb.asm.*;
+
+/**
+ * Generates a {@link FieldAccessor} class for a field at runtime, accessing the field through a variable handle stored in a <code>static final</code> field of
+ * the generated class.
+ * <p>
+ * A variable handle stored in an instance field is not treated as a constant by the JIT compiler, so each access must dispatch on the handle at runtime. A
+ * variable handle in a <code>static final</code> field is a constant, so that accessing the field through it compiles to a direct field access, whatever
+ * the access to the field itself.
+ * </p>
+ * <p>
+ * Each generated class is defined in its own class loader, the parent of which is the class loader of this library, so that the class and the variable handle
+ * it holds are garbage collected along with the accessor instance. The generated class refers only to {@link FieldAccessor} and to classes of the Java
+ * platform, so the class of the field need not be visible to it. Hidden classes, which could receive the variable handle as class data, require Java 16 and
+ * so are not available to the Java 11 release targeted by this library; instead the generated class retrieves the variable handle from its class loader
+ * during class initialization.
+ * </p>
+ * @author Garret Wilson
+ */
+public final class FieldAccessorGenerator {
+
+	/**
+	 * The prefix of the names of generated field accessor classes, to which the name of the class containing the field and
+	 * {@link #GENERATED_CLASS_NAME_SUFFIX} are appended.
+	 */
+	public static final String GENERATED_CLASS_NAME_PREFIX = "io.ploop.introspect.generated.";
+
+	/** The suffix of the names of generated field accessor classes, which is appended to the name of the class containing the field. */
+	public static final String GENERATED_CLASS_NAME_SUFFIX = "$$FieldAccessor";
+
+	/** The version of the generated class files, matching the Java release targeted by this library. */
+	private static final int CLASS_FILE_VERSION = V11;
+
+	/** The name of the static field of each generated class holding the variable handle. */
+	private static final String VAR_HANDLE_FIELD_NAME = "VAR_HANDLE";
+
+	private static final String OBJECT_INTERNAL_NAME = Type.getInternalName(Object.class);
+
+	private static final String FIELD_ACCESSOR_INTERNAL_NAME = Type.getInternalName(FieldAccessor.class);
+
+	private static final String VAR_HANDLE_INTERNAL_NAME = Type.getInternalName(VarHandle.class);
+
+	private static final String VAR_HANDLE_DESCRIPTOR = Type.getDescriptor(VarHandle.class);
+
+	/** This class cannot be instantiated. */
+	private FieldAccessorGenerator() {
+	}
+
+	/**
+	 * Generates and instantiates an accessor for the field of the given variable handle.
+	 * @param <T> The type of object containing the field.
+	 * @param varHandle The variable handle of the field, with the object as its single coordinate.
+	 * @param fieldAccessMode The mode with which to read and write the field.
+	 * @return A new field accessor accessing the field through the variable handle as a constant.
+	 * @throws IllegalArgumentException if the variable handle does not have a single coordinate.
+	 * @throws ReflectiveOperationException if the generated class could not be instantiated.
+	 * @throws LinkageError if the generated class could not be defined or initialized.
+	 * @throws SecurityException if a class loader for the generated class is not permitted to be created.
+	 */
+	public static <T> FieldAccessor<T> generate(@Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode)
+			throws ReflectiveOperationException {
+		if(varHandle.coordinateTypes().size() != 1) {
+			throw new IllegalArgumentException("Field variable handle must have the object as its single coordinate: " + varHandle);
+		}
+		final String className = GENERATED_CLASS_NAME_PREFIX + varHandle.coordinateTypes().get(0).getName() + GENERATED_CLASS_NAME_SUFFIX;
+		final byte[] classBytes = generateClass(className.replace('.', '/'), fieldAccessMode);
+		final Class<?> generatedClass = new FieldAccessorClassLoader(varHandle).defineClass(className, classBytes);
+		@SuppressWarnings("unchecked")
+		final FieldAccessor<T> fieldAccessor = (FieldAccessor<T>)generatedClass.getConstructor().newInstance();
+		return fieldAccessor;
+	}
+
+	/**
+	 * Generates the bytes of a field accessor class. The class initializer retrieves the variable handle from the class loader of the class, which must be a
+	 * {@link Supplier} of the variable handle.
+	 * @param internalName The internal name of the class to generate.
+	 * @param fieldAccessMode The mode with which to read and write the field.
+	 * @return The bytes of the generated class file.
+	 */
+	static byte[] generateClass(@Nonnull final String internalName, @Nonnull final FieldAccessMode fieldAccessMode) {
+		final ClassWriter classWriter = new ClassWriter(ClassWriter.COMPUTE_FRAMES);
+		classWriter.visit(CLASS_FILE_VERSION, ACC_PUBLIC | ACC_FINAL | ACC_SUPER | ACC_SYNTHETIC, internalName, null, OBJECT_INTERNAL_NAME,
+				new String[] {FIELD_ACCESSOR_INTERNAL_NAME});
+		classWriter.visitField(ACC_PRIVATE | ACC_STATIC | ACC_FINAL, VAR_HANDLE_FIELD_NAME, VAR_HANDLE_DESCRIPTOR, null, null).visitEnd();
+
+		//static initializer: VAR_HANDLE = (VarHandle)((Supplier<?>)Generated.class.getClassLoader()).get()
+		final MethodVisitor initializerVisitor = classWriter.visitMethod(ACC_STATIC, "<clinit>", "()V", null, null);
+		initializerVisitor.visitCode();
+		initializerVisitor.visitLdcInsn(Type.getObjectType(internalName));
+		initializerVisitor.visitMethodInsn(INVOKEVIRTUAL, Type.getInternalName(Class.class), "getClassLoader", "()Ljava/lang/ClassLoader;", false);
+		final String supplierInternalName = Type.getInternalName(Supplier.class);
+		initializerVisitor.visitTypeInsn(CHECKCAST, supplierInternalName);
+		initializerVisitor.visitMethodInsn(INVOKEINTERFACE, supplierInternalName, "get", "()Ljava/lang/Object;", true);
+		initializerVisitor.visitTypeInsn(CHECKCAST, VAR_HANDLE_INTERNAL_NAME);
+		initializerVisitor.visitFieldInsn(PUTSTATIC, internalName, VAR_HANDLE_FIELD_NAME, VAR_HANDLE_DESCRIPTOR);
+		initializerVisitor.visitInsn(RETURN);
+		initializerVisitor.visitMaxs(0, 0);
+		initializerVisitor.visitEnd();
+
+		//constructor
+		final MethodVisitor constructorVisitor = classWriter.visitMethod(ACC_PUBLIC, "<init>", "()V", null, null);
+		constructorVisitor.visitCode();
+		constructorVisitor.visitVarInsn(ALOAD, 0);
+		constructorVisitor.visitMethodInsn(INVOKESPECIAL, OBJECT_INTERNAL_NAME, "<init>", "()V", false);
+		constructorVisitor.visitInsn(RETURN);
+		constructorVisitor.visitMaxs(0, 0);
+		constructorVisitor.visitEnd();
+
+		//Object get(Object object), int getInt(Object object), etc.
+		final String readMethodName = fieldAccessMode.getReadAccessMode().methodName();
+		visitGetMethod(classWriter, internalName, "get", Object.class, readMethodName);
+		visitGetMethod(classWriter, internalName, "getInt", int.class, readMethodName);
+		visitGetMethod(classWriter, internalName, "getLong", long.class, readMethodName);
+		visitGetMethod(classWriter, internalName, "getDouble", double.class, readMethodName);
+		visitGetMethod(classWriter, internalName, "getBoolean", boolean.class, readMethodName);
+		//void set(Object object, Object value), void setInt(Object object, int value), etc.
+		final String writeMethodName = fieldAccessMode.getWriteAccessMode().methodName();
+		visitSetMethod(classWriter, internalName, "set", Object.class, writeMethodName);
+		visitSetMethod(classWriter, internalName, "setInt", int.class, writeMethodName);
+		visitSetMethod(classWriter, internalName, "setLong", long.class, writeMethodName);
+		visitSetMethod(classWriter, internalName, "setDouble", double.class, writeMethodName);
+		visitSetMethod(classWriter, internalName, "setBoolean", boolean.class, writeMethodName);
+
+		classWriter.visitEnd();
+		return classWriter.toByteArray();
+	}
+
+	/**
+	 * Generates a method to read the field, with the signature <code><var>valueClass</var> <var>methodName</var>(Object object)</code>. The variable handle is
+	 * invoked with the same signature, so that it converts the value as necessary, for example by boxing a primitive value.
+	 * @param classWriter The writer of the class being generated.
+	 * @param internalName The internal name of the class being generated.
+	 * @param methodName The name of the method to generate.
+	 * @param valueClass The type of value the method returns.
+	 * @param varHandleMethodName The name of the variable handle method for reading the field in the access mode.
+	 */
+	private static void visitGetMethod(@Nonnull final ClassWriter classWriter, @Nonnull final String internalName, @Nonnull final String methodName,
+			@Nonnull final Class<?> valueClass, @Nonnull final String varHandleMethodName) {
+		final Type valueType = Type.getType(valueClass);
+		final String methodDescriptor = "(Ljava/lang/Object;)" + valueType.getDescriptor();
+		final MethodVisitor methodVisitor = classWriter.visitMethod(ACC_PUBLIC, methodName, methodDescriptor, null, null);
+		methodVisitor.visitCode();
+		methodVisitor.visitFieldInsn(GETSTATIC, internalName, VAR_HANDLE_FIELD_NAME, VAR_HANDLE_DESCRIPTOR);
+		methodVisitor.visitVarInsn(ALOAD, 1);
+		methodVisitor.visitMethodInsn(INVOKEVIRTUAL, VAR_HANDLE_INTERNAL_NAME, varHandleMethodName, methodDescriptor, false);
+		methodVisitor.visitInsn(valueType.getOpcode(IRETURN));
+		methodVisitor.visitMaxs(0, 0);
+		methodVisitor.visitEnd();
+	}
+
+	/**
+	 * Generates a method to write the field, with the signature <code>void <var>methodName</var>(Object object, <var>valueClass</var> value)</code>. The
+	 * variable handle is invoked with the same signature, so that it converts the value as necessary, for example by unboxing a primitive value.
+	 * @param classWriter The writer of the class being generated.
+	 * @param internalName The internal name of the class being generated.
+	 * @param methodName The name of the method to generate.
+	 * @param valueClass The type of value the method accepts.
+	 * @param varHandleMethodName The name of the variable handle method for writing the field in the access mode.
+	 */
+	private static void visitSetMethod(@Nonnull final ClassWriter classWriter, @Nonnull final String internalName, @Nonnull final String methodName,
+			@Nonnull final Class<?> valueClass, @Nonnull final String varHandleMethodName) {
+		final Type valueType = Type.getType(valueClass);
+		final String methodDescriptor = "(Ljava/lang/Object;" + valueType.getDescriptor() + ")V";
+		final MethodVisitor methodVisitor = classWriter.visitMethod(ACC_PUBLIC, methodName, methodDescriptor, null, null);
+		methodVisitor.visitCode();
+		methodVisitor.visitFieldInsn(GETSTATIC, internalName, VAR_HANDLE_FIELD_NAME, VAR_HANDLE_DESCRIPTOR);
+		methodVisitor.visitVarInsn(ALOAD, 1);
+		methodVisitor.visitVarInsn(valueType.getOpcode(ILOAD), 2);
+		methodVisitor.visitMethodInsn(INVOKEVIRTUAL, VAR_HANDLE_INTERNAL_NAME, varHandleMethodName, methodDescriptor, false);
+		methodVisitor.visitInsn(RETURN);
+		methodVisitor.visitMaxs(0, 0);
+		methodVisitor.visitEnd();
+	}
+
+	/**
+	 * A class loader for defining a single generated field accessor class, supplying the variable handle to the class when it is initialized. It delegates to
+	 * the class loader of this library, to which {@link FieldAccessor} is visible.
+	 * @author Garret Wilson
+	 */
+	private static final class FieldAccessorClassLoader extends ClassLoader implements Supplier<VarHandle> {
+
+		private final VarHandle varHandle;
+
+		/**
+		 * Constructor.
+		 * @param varHandle The variable handle to supply to the generated class.
+		 */
+		public FieldAccessorClassLoader(@Nonnull final VarHandle varHandle) {
+			super(FieldAccessor.class.getClassLoader());
+			this.varHandle = requireNonNull(varHandle);
+		}
+
+		/** @return The variable handle to be stored in the generated class. */
+		@Override
+		public VarHandle get() {
+			return varHandle;
+		}
+
+		/**
+		 * Defines the generated class.
+		 * @param name The binary name of the class.
+		 * @param classBytes The bytes of the class file.
+		 * @return The defined class.
+		 * @throws LinkageError if the class could not be defined.
+		 */
+		public Class<?> defineClass(@Nonnull final String name, @Nonnull final byte[] classBytes) {
+			return defineClass(requireNonNull(name), classBytes, 0, classBytes.length);
+		}
+
+	}
+
+}
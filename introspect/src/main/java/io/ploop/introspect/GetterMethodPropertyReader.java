@@ -31,7 +31,7 @@
  * @param <V> The type of value stored in the property.
  * @author Garret Wilson
  */
-public class GetterMethodPropertyReader<T, V> extends BasePropertyValueInfo<V> implements PropertyReader<T, V> {
+public class GetterMethodPropertyReader<T, V> extends BasePropertyReader<T, V> {
 
 	private final ResolvedMethod getterMethod;
 
@@ -39,16 +39,17 @@
 	 * Constructor.
 	 * @param valueType The resolved type of value the property represents.
 	 * @param getterMethod The method to use for getting the property value .
+	 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
 	 */
-	public GetterMethodPropertyReader(@Nonnull final TypeInfo<V> valueType, @Nonnull final ResolvedMethod getterMethod) {
-		super(valueType);
+	public GetterMethodPropertyReader(@Nonnull final TypeInfo<V> valueType, @Nonnull final ResolvedMethod getterMethod, final boolean valueTypeVerified) {
+		super(valueType, valueTypeVerified);
 		//TODO verify that the getter method has a compatible signature
 		this.getterMethod = Objects.requireNonNull(getterMethod);
 	}
 
 	@Override
 	public V getValue(T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
-		return getValueType().castReflection(getterMethod.getRawMember().invoke(object));
+		return castValue(getterMethod.getRawMember().invoke(object));
 	}
 
 }
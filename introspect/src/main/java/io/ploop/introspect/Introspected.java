@@ -0,0 +1,38 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.lang.annotation.ElementType.*;
+import static java.lang.annotation.RetentionPolicy.*;
+
+import java.lang.annotation.*;
+
+/**
+ * Indicates that the introspection of a class should be precomputed at build time.
+ * <p>
+ * When the <code>ploop-introspect-processor</code> annotation processor is present during compilation, it generates an {@link IntrospectionDescriptor} for
+ * each annotated class, which directly invokes the accessor methods of the class, along with an {@link IntrospectionIndex} by which
+ * {@link Introspection#of(Class)} finds the descriptor without resolving the members of the class using reflection. Classes for which no descriptor could be
+ * generated, such as generic classes or classes that are not public, are discovered at runtime as usual.
+ * </p>
+ * @author Garret Wilson
+ */
+@Documented
+@Retention(CLASS)
+@Target(TYPE)
+public @interface Introspected {
+}
@@ -17,10 +17,12 @@
 package io.ploop.introspect;
 
 import static java.util.Objects.*;
+import static io.ploop.reflect.Reflector.*;
 
+import java.lang.reflect.*;
 import java.util.*;
 
-import javax.annotation.Nonnull;
+import javax.annotation.*;
 
 import io.ploop.reflect.TypeInfo;
 
@@ -36,8 +38,21 @@
  */
 public class Introspection<T> {
 
-	/** The immutable map of properties, mapped to property name. */
-	private Map<String, Property<T, ?>> propertiesByName;
+	/** The properties in the order they were given, each at the index of its ordinal. */
+	private final Property<T, ?>[] properties;
+
+	/** The immutable list view of the properties. */
+	private final List<Property<T, ?>> propertyList;
+
+	/** The property names in sorted order, for looking up properties by name using a binary search. */
+	private final String[] sortedPropertyNames;
+
+	/**
+	 * The ordinals of the properties in the order of {@link #sortedPropertyNames}, or <code>null</code> if the properties were given in order of name so that
+	 * each sorted index is also the ordinal.
+	 */
+	@Nullable
+	private final int[] sortedPropertyOrdinals;
 
 	private final TypeInfo<T> objectType;
 
@@ -48,7 +63,7 @@ public TypeInfo<T> getObjectType() {
 
 	/** @return The number of properties the object has. */
 	public int getPropertyCount() {
-		return propertiesByName.size();
+		return properties.length;
 	}
 
 	/**
@@ -57,7 +72,21 @@ public int getPropertyCount() {
 	 * @return <code>true</code> if the object has the indicated property.
 	 */
 	public boolean hasProperty(@Nonnull final String name) {
-		return propertiesByName.containsKey(requireNonNull(name));
+		return getPropertyOrdinal(name) >= 0;
+	}
+
+	/**
+	 * Determines the ordinal of a property, which is its index in the order of {@link #getProperties()}. The ordinal of a property never changes for an
+	 * introspection.
+	 * @param name The name of the property.
+	 * @return The ordinal of the named property, or <code>-1</code> if there is no property with the given name.
+	 */
+	public int getPropertyOrdinal(@Nonnull final String name) {
+		final int sortedIndex = Arrays.binarySearch(sortedPropertyNames, requireNonNull(name));
+		if(sortedIndex < 0) {
+			return -1;
+		}
+		return sortedPropertyOrdinals != null ? sortedPropertyOrdinals[sortedIndex] : sortedIndex;
 	}
 
 	/**
@@ -66,42 +95,349 @@ public boolean hasProperty(@Nonnull final String name) {
 	 * @return The named property, or <code>null</code> if there is no property with the given name.
 	 */
 	public Property<T, ?> getProperty(@Nonnull final String name) {
-		return propertiesByName.get(requireNonNull(name));
+		final int ordinal = getPropertyOrdinal(name);
+		return ordinal >= 0 ? properties[ordinal] : null;
+	}
+
+	/**
+	 * Retrieves a property by its ordinal.
+	 * @param ordinal The ordinal of the property, which is its index in the order of {@link #getProperties()}.
+	 * @return The property with the given ordinal.
+	 * @throws IndexOutOfBoundsException if the ordinal is negative or not less than the {@link #getPropertyCount()}.
+	 */
+	public Property<T, ?> getProperty(final int ordinal) {
+		return properties[ordinal];
+	}
+
+	/**
+	 * Returns the available properties, each at the index of its ordinal. For introspections created by the {@link Introspector}, the properties are in order of
+	 * property name.
+	 * @return The unmodifiable list of the properties of the object.
+	 */
+	public List<Property<T, ?>> getProperties() {
+		return propertyList;
 	}
 
+	private final BeanAccessor<T> beanAccessor;
+
 	/**
-	 * Returns the available properties. No particular order is guaranteed.
-	 * @return The properties of the object.
+	 * Returns the accessor providing direct access to all the readable properties, if one was generated. The index of each property in the accessor is its
+	 * ordinal.
+	 * @return The accessor of all the readable properties, which will not be present if bean accessor generation is not enabled or not permitted for the type.
+	 * @see Introspector#isGenerateBeanAccessors()
 	 */
-	public Collection<Property<T, ?>> getProperties() {
-		return propertiesByName.values();
+	public Optional<BeanAccessor<T>> getBeanAccessor() {
+		return Optional.ofNullable(beanAccessor);
+	}
+
+	@Nullable
+	private final IntrospectionMetadata metadata;
+
+	/**
+	 * Returns the description of the members backing the properties, which allows the properties to be recreated without discovering them again.
+	 * @return The description of the members backing the properties, or <code>null</code> if the properties cannot be recreated from their members alone, for
+	 *         example because they are accessed via reflection or via a bean accessor, or because the introspector did not describe them.
+	 * @see IntrospectionStore
+	 */
+	@Nullable
+	IntrospectionMetadata getMetadata() {
+		return metadata;
+	}
+
+	//bulk reading
+
+	/**
+	 * Reads the values of all readable properties of an object.
+	 * @param object The object the property values of which should be read.
+	 * @return A new array containing each property value at the ordinal of its property, with <code>null</code> for any property that is not readable.
+	 * @throws IllegalArgumentException if the object is not an instance of the introspected type.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 * @see #readAll(Object, Object[])
+	 */
+	public Object[] readAll(@Nonnull final T object) throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		final Object[] values = new Object[properties.length];
+		readAll(object, values);
+		return values;
+	}
+
+	/**
+	 * Reads the values of all readable properties of an object into an array, which may be reused across objects.
+	 * <p>
+	 * If a {@link BeanAccessor} is available, all the values are read with a single call to {@link BeanAccessor#readAll(Object, Object[])}.
+	 * </p>
+	 * @param object The object the property values of which should be read.
+	 * @param values The array in which to store each property value at the ordinal of its property; the elements at the ordinals of any properties that are not
+	 *          readable are left unchanged.
+	 * @throws IndexOutOfBoundsException if the given array is not long enough to hold all the property values.
+	 * @throws IllegalArgumentException if the object is not an instance of the introspected type.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public void readAll(@Nonnull final T object, @Nonnull final Object[] values)
+			throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		requireNonNull(object);
+		if(values.length < properties.length) {
+			throw new IndexOutOfBoundsException(String.format("Array length %d cannot hold %d property values.", values.length, properties.length));
+		}
+		if(!objectType.getErasedType().isInstance(object)) { //check up front so that the result does not depend on how the values are read
+			throw new IllegalArgumentException(String.format("Object %s is not an instance of %s.", object, objectType));
+		}
+		if(beanAccessor != null) {
+			try {
+				beanAccessor.readAll(object, values);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+			return;
+		}
+		final Property<T, ?>[] properties = this.properties;
+		for(int ordinal = 0; ordinal < properties.length; ordinal++) {
+			final Property<T, ?> property = properties[ordinal];
+			if(property.isReadable()) {
+				values[ordinal] = property.getValue(object);
+			}
+		}
+	}
+
+	/**
+	 * Reads the values of all readable properties of each of the given objects, passing them to a consumer one object at a time. A single array of values is
+	 * reused for all the objects.
+	 * @param <E> The type of exception the consumer may throw.
+	 * @param objects The objects the property values of which should be read.
+	 * @param consumer The consumer to receive the property values of each object, each at the ordinal of its property, with <code>null</code> for any property
+	 *          that is not readable.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 * @throws E if the consumer throws an exception.
+	 */
+	public <E extends Exception> void readRows(@Nonnull final Iterable<? extends T> objects, @Nonnull final PropertyValuesConsumer<? super T, E> consumer)
+			throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError, E {
+		final Object[] values = new Object[properties.length];
+		for(final T object : objects) {
+			readAll(object, values);
+			consumer.accept(object, values);
+		}
+	}
+
+	/**
+	 * Reads the values of a property of each of the given objects.
+	 * <p>
+	 * For primitive properties, the methods such as {@link #readIntColumn(IntProperty, List)} read the values without boxing. To read all the properties of
+	 * many objects into reusable columns, see {@link ColumnBatch}.
+	 * </p>
+	 * @param property The property to read.
+	 * @param objects The objects the property values of which should be read.
+	 * @return A new array containing the property value of each object, in the order of the objects.
+	 * @throws UnsupportedOperationException if the property is not readable.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public Object[] readColumn(@Nonnull final Property<T, ?> property, @Nonnull final List<? extends T> objects)
+			throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		final Object[] values = new Object[objects.size()];
+		int index = 0;
+		for(final T object : objects) {
+			values[index++] = property.getValue(object);
+		}
+		return values;
+	}
+
+	/**
+	 * Reads the values of a <code>int</code> property of each of the given objects without boxing.
+	 * @param property The property to read.
+	 * @param objects The objects the property values of which should be read.
+	 * @return A new array containing the property value of each object, in the order of the objects.
+	 * @throws UnsupportedOperationException if the property is not readable.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public int[] readIntColumn(@Nonnull final IntProperty<T> property, @Nonnull final List<? extends T> objects)
+			throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		final int[] values = new int[objects.size()];
+		int index = 0;
+		for(final T object : objects) {
+			values[index++] = property.getInt(object);
+		}
+		return values;
+	}
+
+	/**
+	 * Reads the values of a <code>long</code> property of each of the given objects without boxing.
+	 * @param property The property to read.
+	 * @param objects The objects the property values of which should be read.
+	 * @return A new array containing the property value of each object, in the order of the objects.
+	 * @throws UnsupportedOperationException if the property is not readable.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public long[] readLongColumn(@Nonnull final LongProperty<T> property, @Nonnull final List<? extends T> objects)
+			throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		final long[] values = new long[objects.size()];
+		int index = 0;
+		for(final T object : objects) {
+			values[index++] = property.getLong(object);
+		}
+		return values;
+	}
+
+	/**
+	 * Reads the values of a <code>double</code> property of each of the given objects without boxing.
+	 * @param property The property to read.
+	 * @param objects The objects the property values of which should be read.
+	 * @return A new array containing the property value of each object, in the order of the objects.
+	 * @throws UnsupportedOperationException if the property is not readable.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public double[] readDoubleColumn(@Nonnull final DoubleProperty<T> property, @Nonnull final List<? extends T> objects)
+			throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		final double[] values = new double[objects.size()];
+		int index = 0;
+		for(final T object : objects) {
+			values[index++] = property.getDouble(object);
+		}
+		return values;
+	}
+
+	/**
+	 * Reads the values of a <code>boolean</code> property of each of the given objects without boxing.
+	 * @param property The property to read.
+	 * @param objects The objects the property values of which should be read.
+	 * @return A new array containing the property value of each object, in the order of the objects.
+	 * @throws UnsupportedOperationException if the property is not readable.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public boolean[] readBooleanColumn(@Nonnull final BooleanProperty<T> property, @Nonnull final List<? extends T> objects)
+			throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		final boolean[] values = new boolean[objects.size()];
+		int index = 0;
+		for(final T object : objects) {
+			values[index++] = property.getBoolean(object);
+		}
+		return values;
 	}
 
 	/**
 	 * Creates a new introspection of the given object type.
 	 * @param objectType The type of object to be described.
-	 * @return An introspection of the indicated object type.
+	 * @param properties The properties of the object type, which will be assigned ordinals in the order given.
+	 * @param beanAccessor The accessor of all the readable properties, indexed by property ordinal, or <code>null</code> if no bean accessor is available.
+	 * @throws IllegalArgumentException if more than one property has the same name.
+	 */
+	Introspection(@Nonnull final TypeInfo<T> objectType, @Nonnull final Iterable<Property<T, ?>> properties, @Nullable final BeanAccessor<T> beanAccessor) {
+		this(objectType, properties, beanAccessor, null);
+	}
+
+	/**
+	 * Creates a new introspection of the given object type, with a description of the members backing the properties.
+	 * @param objectType The type of object to be described.
+	 * @param properties The properties of the object type, which will be assigned ordinals in the order given.
+	 * @param beanAccessor The accessor of all the readable properties, indexed by property ordinal, or <code>null</code> if no bean accessor is available.
+	 * @param metadata The description of the members backing the properties, in the same order, or <code>null</code> if the properties cannot be recreated
+	 *          from their members alone.
+	 * @throws IllegalArgumentException if more than one property has the same name.
 	 */
-	private Introspection(@Nonnull final TypeInfo<T> objectType, @Nonnull final Iterable<Property<T, ?>> properties) {
+	@SuppressWarnings("unchecked")
+	Introspection(@Nonnull final TypeInfo<T> objectType, @Nonnull final Iterable<Property<T, ?>> properties, @Nullable final BeanAccessor<T> beanAccessor,
+			@Nullable final IntrospectionMetadata metadata) {
 		this.objectType = requireNonNull(objectType);
-		//build a map of properties and store an immutable version of it
-		final Map<String, Property<T, ?>> propertiesByName = new HashMap<>();
-		for(final Property<T, ?> property : properties) {
-			propertiesByName.put(property.getName(), property);
+		this.beanAccessor = beanAccessor;
+		this.metadata = metadata;
+		final List<Property<T, ?>> propertyList = new ArrayList<>();
+		properties.forEach(propertyList::add);
+		this.properties = propertyList.toArray(new Property[propertyList.size()]);
+		this.propertyList = Collections.unmodifiableList(Arrays.asList(this.properties));
+		final int propertyCount = this.properties.length;
+		final String[] propertyNames = new String[propertyCount];
+		boolean isSorted = true;
+		for(int ordinal = 0; ordinal < propertyCount; ordinal++) {
+			propertyNames[ordinal] = this.properties[ordinal].getName();
+			if(ordinal > 0 && propertyNames[ordinal - 1].compareTo(propertyNames[ordinal]) >= 0) {
+				isSorted = false;
+			}
+		}
+		if(isSorted) { //the common case; the names are unique and the ordinals are the sorted indexes
+			this.sortedPropertyNames = propertyNames;
+			this.sortedPropertyOrdinals = null;
+		} else {
+			final Integer[] sortedOrdinals = new Integer[propertyCount];
+			for(int ordinal = 0; ordinal < propertyCount; ordinal++) {
+				sortedOrdinals[ordinal] = ordinal;
+			}
+			Arrays.sort(sortedOrdinals, (ordinal1, ordinal2) -> propertyNames[ordinal1].compareTo(propertyNames[ordinal2]));
+			this.sortedPropertyNames = new String[propertyCount];
+			this.sortedPropertyOrdinals = new int[propertyCount];
+			for(int sortedIndex = 0; sortedIndex < propertyCount; sortedIndex++) {
+				final int ordinal = sortedOrdinals[sortedIndex];
+				sortedPropertyNames[sortedIndex] = propertyNames[ordinal];
+				sortedPropertyOrdinals[sortedIndex] = ordinal;
+				if(sortedIndex > 0 && sortedPropertyNames[sortedIndex - 1].equals(sortedPropertyNames[sortedIndex])) {
+					throw new IllegalArgumentException(String.format("Duplicate property name %s.", sortedPropertyNames[sortedIndex]));
+				}
+			}
 		}
-		this.propertiesByName = Collections.unmodifiableMap(propertiesByName);
 	}
 
 	/**
 	 * Returns an introspection of the given object type.
+	 * <p>
+	 * Introspections are cached, so that the properties of each class are only discovered once. If the class is annotated with {@link Introspected} and its
+	 * introspection was precomputed at build time, the precomputed descriptor is used instead of discovering the properties using reflection.
+	 * </p>
 	 * @param <P> The type of object being described.
 	 * @param objectClass The type of object to be described.
 	 * @return An introspection of the indicated object type.
+	 * @see IntrospectionCache#INSTANCE
 	 */
 	public static <P> Introspection<P> of(@Nonnull final Class<P> objectClass) {
-		//TODO cache introspections 
-		final TypeInfo<P> objectType = TypeInfo.forClass(objectClass);
-		return new Introspection<>(objectType, Introspector.INSTANCE.discoverProperties(objectType).values());
+		return IntrospectionCache.INSTANCE.get(objectClass);
+	}
+
+	/**
+	 * Returns an introspection of the given object type, resolving the value types of its properties using any type arguments.
+	 * <p>
+	 * For example an introspection of <code>Page&lt;Customer&gt;</code> would indicate that a <code>List&lt;T&gt; getItems()</code> getter method provides a
+	 * property with a value type of <code>List&lt;Customer&gt;</code>, allowing consumers to choose how to handle the elements before reading any values.
+	 * Introspections are cached for each resolved type. If the type is not parameterized, this method is equivalent to {@link #of(Class)}.
+	 * </p>
+	 * @param <P> The type of object being described.
+	 * @param objectType Information about the type of object to be described.
+	 * @return An introspection of the indicated object type.
+	 * @see IntrospectionCache#get(TypeInfo)
+	 */
+	public static <P> Introspection<P> of(@Nonnull final TypeInfo<P> objectType) {
+		return IntrospectionCache.INSTANCE.get(objectType);
+	}
+
+	/**
+	 * Returns an introspection of the given object type, which may be a {@link ParameterizedType} such as one obtained from a type token or from the generic
+	 * signature of a member.
+	 * @param objectType The type of object to be described.
+	 * @return An introspection of the indicated object type.
+	 * @see #of(TypeInfo)
+	 */
+	public static Introspection<?> of(@Nonnull final Type objectType) {
+		return of(TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(requireNonNull(objectType))));
+	}
+
+	/**
+	 * Creates a new introspection of the given object type, discovering its properties. The introspection is not cached.
+	 * @param <P> The type of object being described.
+	 * @param objectClass The type of object to be described.
+	 * @return A new introspection of the indicated object type.
+	 */
+	static <P> Introspection<P> create(@Nonnull final Class<P> objectClass) {
+		return Introspector.INSTANCE.introspect(TypeInfo.forClass(objectClass));
 	}
 
 }
@@ -0,0 +1,524 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+
+import java.io.*;
+import java.lang.ref.*;
+import java.net.*;
+import java.nio.file.*;
+import java.time.Duration;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.*;
+import java.util.jar.*;
+import java.util.stream.Stream;
+
+import javax.annotation.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A thread-safe cache of introspections, keyed to the class being described.
+ * <p>
+ * The cache is backed by a {@link ClassValue}, so each introspection is stored with the class it describes and does not prevent that class, or the class
+ * loader that loaded it, from being garbage collected. Lookups of cached introspections do not lock.
+ * </p>
+ * <p>
+ * The statistics are maintained for monitoring purposes. If several threads request an introspection of the same class concurrently the first time, more
+ * than one miss may be recorded for that class, although only one introspection will ever be returned.
+ * </p>
+ * <p>
+ * If the classes to be used are known in advance, the cache may be prewarmed at startup by introspecting them in parallel using
+ * {@link #prewarm(Collection, Executor)}, so that the first requests for them do not incur the cost of discovery.
+ * </p>
+ * <p>
+ * An {@link IntrospectionStore} may be installed using {@link #setStore(IntrospectionStore)} so that the properties discovered for classes are remembered
+ * across restarts of the application.
+ * </p>
+ * <p>
+ * Introspections of parameterized types such as <code>Page&lt;Customer&gt;</code>, requested using {@link #get(TypeInfo)}, are cached separately for each
+ * resolved type, but are stored with the erased class so that they are removed along with it by {@link #invalidate(Class)}. Because the type arguments may
+ * have been loaded by other class loaders than the erased class, these introspections are held weakly and are only retained as long as they are in use;
+ * otherwise caching an introspection of a library class parameterized with an application class would prevent the application class from being unloaded.
+ * They are always discovered at runtime, as neither precomputed descriptors nor the store record type arguments.
+ * </p>
+ * @author Garret Wilson
+ * @see Introspection#of(Class)
+ */
+public final class IntrospectionCache {
+
+	/** Singleton instance, used by {@link Introspection#of(Class)}. */
+	public static final IntrospectionCache INSTANCE = new IntrospectionCache();
+
+	private final LongAdder hitCount = new LongAdder();
+
+	private final LongAdder missCount = new LongAdder();
+
+	private final LongAdder evictionCount = new LongAdder();
+
+	/**
+	 * The holders of the cached introspections. A holder is created cheaply for any class requested, and an empty holder indicates that an introspection is not
+	 * present, either because it has not yet been created or because it was invalidated.
+	 */
+	private final ClassValue<AtomicReference<Introspection<?>>> introspectionHolders = new ClassValue<AtomicReference<Introspection<?>>>() {
+		@Override
+		protected AtomicReference<Introspection<?>> computeValue(final Class<?> type) {
+			return new AtomicReference<>();
+		}
+	};
+
+	/**
+	 * The weakly held introspections of parameterized types, grouped by erased class. Each entry is keyed to the weak reference to the introspection itself, so
+	 * that neither the introspection nor the type arguments it refers to are strongly reachable from the erased class. Entries are looked up using an
+	 * {@link ObjectTypeKey}.
+	 */
+	private final ClassValue<ConcurrentMap<Object, ParameterizedIntrospectionReference>> parameterizedIntrospections =
+			new ClassValue<ConcurrentMap<Object, ParameterizedIntrospectionReference>>() {
+				@Override
+				protected ConcurrentMap<Object, ParameterizedIntrospectionReference> computeValue(final Class<?> type) {
+					return new ConcurrentHashMap<>();
+				}
+			};
+
+	/** The queue of references to introspections of parameterized types that are no longer in use. */
+	private final ReferenceQueue<Introspection<?>> parameterizedIntrospectionReferenceQueue = new ReferenceQueue<>();
+
+	@Nullable
+	private volatile IntrospectionStore store = null;
+
+	/** @return The persistent store from which introspections are restored and in which new introspections are recorded, if one is installed. */
+	public Optional<IntrospectionStore> getStore() {
+		return Optional.ofNullable(store);
+	}
+
+	/**
+	 * Installs a persistent store from which introspections not yet cached will be restored if possible, and in which newly created introspections will be
+	 * recorded. The store is not saved automatically; the application should call {@link IntrospectionStore#save()} when appropriate, such as at shutdown.
+	 * @param store The store to use, or <code>null</code> if no store should be used.
+	 */
+	public void setStore(@Nullable final IntrospectionStore store) {
+		this.store = store;
+	}
+
+	/** This class cannot be publicly instantiated. */
+	private IntrospectionCache() {
+	}
+
+	/** @return The number of requests for an introspection that was already cached. */
+	public long getHitCount() {
+		return hitCount.sum();
+	}
+
+	/** @return The number of requests for which an introspection was not cached and had to be created. */
+	public long getMissCount() {
+		return missCount.sum();
+	}
+
+	/** @return The number of cached introspections that have been removed by invalidation. */
+	public long getEvictionCount() {
+		return evictionCount.sum();
+	}
+
+	/**
+	 * Returns the introspection of the given class, creating and caching it if necessary.
+	 * <p>
+	 * An introspection is created from a descriptor precomputed at build time if one is available in an {@link IntrospectionIndex}. Otherwise it is restored
+	 * from the installed {@link IntrospectionStore}, if any, or else the properties of the class are discovered at runtime and recorded in the store.
+	 * </p>
+	 * @param <T> The type of object being described.
+	 * @param objectClass The type of object to be described.
+	 * @return An introspection of the indicated object type.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Introspection<T> get(@Nonnull final Class<T> objectClass) {
+		final AtomicReference<Introspection<?>> introspectionHolder = introspectionHolders.get(requireNonNull(objectClass));
+		final Introspection<?> cachedIntrospection = introspectionHolder.get();
+		if(cachedIntrospection != null) {
+			hitCount.increment();
+			return (Introspection<T>)cachedIntrospection;
+		}
+		missCount.increment();
+		final Introspection<T> introspection = IntrospectionDescriptor.find(objectClass).map(IntrospectionDescriptor::createIntrospection)
+				.orElseGet(() -> createIntrospection(objectClass));
+		if(introspectionHolder.compareAndSet(null, introspection)) {
+			return introspection;
+		}
+		//another thread beat us to it, so use its introspection unless it has already been invalidated
+		final Introspection<?> otherIntrospection = introspectionHolder.get();
+		return otherIntrospection != null ? (Introspection<T>)otherIntrospection : introspection;
+	}
+
+	/**
+	 * Returns the introspection of the given type, creating and caching it if necessary.
+	 * <p>
+	 * If the type is parameterized, the value types of the properties of the returned introspection are resolved using the type arguments; for example the
+	 * <code>items</code> property of <code>Page&lt;Customer&gt;</code> would have a value type of <code>List&lt;Customer&gt;</code>. Otherwise this method
+	 * returns the same introspection as {@link #get(Class)}.
+	 * </p>
+	 * @param <T> The type of object being described.
+	 * @param objectType Information about the type of object to be described.
+	 * @return An introspection of the indicated object type.
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> Introspection<T> get(@Nonnull final TypeInfo<T> objectType) {
+		final Class<T> objectClass = objectType.getErasedType();
+		if(objectType == TypeInfo.forClass(objectClass)) { //type information is canonical
+			return get(objectClass);
+		}
+		expungeStaleParameterizedIntrospections();
+		final ConcurrentMap<Object, ParameterizedIntrospectionReference> introspections = parameterizedIntrospections.get(objectClass);
+		final ParameterizedIntrospectionReference reference = introspections.get(new ObjectTypeKey(objectType));
+		final Introspection<?> cachedIntrospection = reference != null ? reference.get() : null;
+		if(cachedIntrospection != null) {
+			hitCount.increment();
+			return (Introspection<T>)cachedIntrospection;
+		}
+		missCount.increment();
+		final Introspection<T> introspection = Introspector.INSTANCE.introspect(objectType);
+		final ParameterizedIntrospectionReference newReference = new ParameterizedIntrospectionReference(introspection, introspections,
+				parameterizedIntrospectionReferenceQueue);
+		while(true) {
+			final ParameterizedIntrospectionReference otherReference = introspections.putIfAbsent(newReference, newReference);
+			if(otherReference == null) {
+				return introspection;
+			}
+			final Introspection<?> otherIntrospection = otherReference.get();
+			if(otherIntrospection != null) { //another thread beat us to it
+				return (Introspection<T>)otherIntrospection;
+			}
+			introspections.remove(otherReference, otherReference); //the other introspection was collected after the lookup
+		}
+	}
+
+	/** Removes entries for introspections of parameterized types that have been garbage collected. */
+	private void expungeStaleParameterizedIntrospections() {
+		Reference<? extends Introspection<?>> reference;
+		while((reference = parameterizedIntrospectionReferenceQueue.poll()) != null) {
+			((ParameterizedIntrospectionReference)reference).expunge();
+		}
+	}
+
+	/**
+	 * Creates an introspection of a class for which no precomputed descriptor is available, restoring it from the installed store if possible and otherwise
+	 * discovering its properties and recording them in the store.
+	 * @param <T> The type of object being described.
+	 * @param objectClass The type of object to be described.
+	 * @return A new introspection of the indicated object type.
+	 */
+	private <T> Introspection<T> createIntrospection(@Nonnull final Class<T> objectClass) {
+		final IntrospectionStore store = this.store;
+		if(store == null) {
+			return Introspection.create(objectClass);
+		}
+		return store.restore(objectClass).orElseGet(() -> {
+			final Introspection<T> introspection = store.introspect(objectClass);
+			store.record(introspection);
+			return introspection;
+		});
+	}
+
+	/**
+	 * Indicates whether an introspection of the given class is currently cached. This method does not affect the cache statistics.
+	 * @param objectClass The class to check.
+	 * @return <code>true</code> if an introspection of the class is cached.
+	 */
+	public boolean isCached(@Nonnull final Class<?> objectClass) {
+		return introspectionHolders.get(requireNonNull(objectClass)).get() != null;
+	}
+
+	/**
+	 * Introspects the given classes in parallel using the common fork-join pool, caching the introspections.
+	 * @param objectClasses The classes to introspect.
+	 * @return A future report of the time taken for each class and any failures, completed when all the classes have been processed.
+	 * @see ForkJoinPool#commonPool()
+	 */
+	public CompletableFuture<PrewarmReport> prewarm(@Nonnull final Collection<? extends Class<?>> objectClasses) {
+		return prewarm(objectClasses, ForkJoinPool.commonPool());
+	}
+
+	/**
+	 * Introspects the given classes in parallel, caching the introspections. Each class is introspected in a separate task on the given executor, which may
+	 * for example be a fork-join pool or an executor using virtual threads. A failure to introspect one class does not prevent the others from being
+	 * introspected; all failures are included in the report.
+	 * @param objectClasses The classes to introspect.
+	 * @param executor The executor on which to introspect the classes.
+	 * @return A future report of the time taken for each class and any failures, completed when all the classes have been processed.
+	 * @throws RejectedExecutionException if the executor does not accept the introspection tasks.
+	 */
+	public CompletableFuture<PrewarmReport> prewarm(@Nonnull final Collection<? extends Class<?>> objectClasses, @Nonnull final Executor executor) {
+		final Map<String, Callable<Class<?>>> classSuppliers = new LinkedHashMap<>(objectClasses.size());
+		for(final Class<?> objectClass : objectClasses) {
+			classSuppliers.put(objectClass.getName(), () -> objectClass);
+		}
+		return prewarm(classSuppliers, executor);
+	}
+
+	/**
+	 * Introspects in parallel all the classes in a package and its subpackages available to a class loader, caching the introspections. Classes are found in
+	 * directories and JAR files; they are loaded without being initialized. Annotation types, local and anonymous classes, and classes generated by Ploop are
+	 * skipped.
+	 * @param packageName The name of the root package of the classes to introspect; may be the empty string for the unnamed package.
+	 * @param classLoader The class loader from which to load the classes.
+	 * @param executor The executor on which to introspect the classes.
+	 * @return A future report of the time taken for each class, any failures, including classes that could not be loaded, and the classes skipped, completed
+	 *         when all the classes have been processed.
+	 * @throws IOException if there was an error finding the classes in the package.
+	 * @throws RejectedExecutionException if the executor does not accept the introspection tasks.
+	 * @see #prewarm(Collection, Executor)
+	 */
+	public CompletableFuture<PrewarmReport> prewarm(@Nonnull final String packageName, @Nonnull final ClassLoader classLoader, @Nonnull final Executor executor)
+			throws IOException {
+		final Map<String, Callable<Class<?>>> classSuppliers = new LinkedHashMap<>();
+		for(final String className : findClassNames(packageName, classLoader)) {
+			classSuppliers.put(className, () -> {
+				final Class<?> objectClass = Class.forName(className, false, classLoader);
+				return objectClass.isAnnotation() || objectClass.isAnonymousClass() || objectClass.isLocalClass() || objectClass.isSynthetic() ? null : objectClass;
+			});
+		}
+		return prewarm(classSuppliers, executor);
+	}
+
+	/**
+	 * Introspects classes in parallel, caching the introspections.
+	 * @param classSuppliers The suppliers of the classes to introspect, keyed to the binary names of the classes. A supplier may return <code>null</code> if
+	 *          the class should be skipped.
+	 * @param executor The executor on which to introspect the classes.
+	 * @return A future report of the time taken for each class, any failures, and the classes skipped, completed when all the classes have been processed.
+	 */
+	private CompletableFuture<PrewarmReport> prewarm(@Nonnull final Map<String, Callable<Class<?>>> classSuppliers, @Nonnull final Executor executor) {
+		final long startNanoTime = System.nanoTime();
+		final Map<String, Duration> durations = new ConcurrentHashMap<>();
+		final Map<String, Throwable> failures = new ConcurrentHashMap<>();
+		final Set<String> skipped = ConcurrentHashMap.newKeySet();
+		final CompletableFuture<?>[] futures = new CompletableFuture<?>[classSuppliers.size()];
+		int futureIndex = 0;
+		for(final Map.Entry<String, Callable<Class<?>>> classSupplierEntry : classSuppliers.entrySet()) {
+			final String className = classSupplierEntry.getKey();
+			final Callable<Class<?>> classSupplier = classSupplierEntry.getValue();
+			futures[futureIndex++] = CompletableFuture.runAsync(() -> {
+				final long classStartNanoTime = System.nanoTime();
+				try {
+					final Class<?> objectClass = classSupplier.call();
+					if(objectClass == null) { //skip classes that should not be introspected
+						skipped.add(className);
+						return;
+					}
+					get(objectClass);
+				} catch(final Exception | LinkageError throwable) {
+					failures.put(className, throwable);
+				}
+				durations.put(className, Duration.ofNanos(System.nanoTime() - classStartNanoTime));
+			}, executor);
+		}
+		return CompletableFuture.allOf(futures)
+				.thenApply(result -> new PrewarmReport(durations, failures, skipped, Duration.ofNanos(System.nanoTime() - startNanoTime)));
+	}
+
+	/**
+	 * Finds the names of all the classes in a package and its subpackages available to a class loader, in directories or JAR files. Package and module
+	 * descriptors are not included, nor are classes generated by Ploop such as introspection descriptors, the names of which contain <code>$$</code>.
+	 * @param packageName The name of the root package of the classes to find; may be the empty string for the unnamed package.
+	 * @param classLoader The class loader from which the classes are available.
+	 * @return The binary names of the classes found, in order.
+	 * @throws IOException if there was an error finding the classes in the package.
+	 */
+	static SortedSet<String> findClassNames(@Nonnull final String packageName, @Nonnull final ClassLoader classLoader) throws IOException {
+		final String packagePath = packageName.replace('.', '/');
+		final SortedSet<String> classNames = new TreeSet<>();
+		final Enumeration<URL> packageUrls = classLoader.getResources(packagePath);
+		while(packageUrls.hasMoreElements()) {
+			final URL packageUrl = packageUrls.nextElement();
+			switch(packageUrl.getProtocol()) {
+				case "file":
+					{
+						final Path packageDirectory;
+						try {
+							packageDirectory = Paths.get(packageUrl.toURI());
+						} catch(final URISyntaxException uriSyntaxException) {
+							throw new IOException(uriSyntaxException);
+						}
+						try (final Stream<Path> paths = Files.walk(packageDirectory)) {
+							paths.filter(Files::isRegularFile).forEach(path -> {
+								final String relativePath = packageDirectory.relativize(path).toString().replace(File.separatorChar, '/');
+								addClassName(classNames, packagePath.isEmpty() ? relativePath : packagePath + '/' + relativePath);
+							});
+						}
+					}
+					break;
+				case "jar":
+					{
+						final JarURLConnection jarConnection = (JarURLConnection)packageUrl.openConnection();
+						jarConnection.setUseCaches(false); //get our own JAR file instance, which we can close
+						final String entryPrefix = packagePath.isEmpty() ? "" : packagePath + '/';
+						try (final JarFile jarFile = jarConnection.getJarFile()) {
+							jarFile.stream().map(JarEntry::getName).filter(entryName -> entryName.startsWith(entryPrefix))
+									.forEach(entryName -> addClassName(classNames, entryName));
+						}
+					}
+					break;
+				default: //other sources of classes, such as the runtime image, are not scanned
+					break;
+			}
+		}
+		return classNames;
+	}
+
+	/**
+	 * Adds the name of a class to a set of class names if the given resource path identifies a class that should be introspected.
+	 * @param classNames The class names to update.
+	 * @param resourcePath The path of a resource relative to the class path root, using <code>/</code> as a separator.
+	 */
+	private static void addClassName(@Nonnull final Set<String> classNames, @Nonnull final String resourcePath) {
+		final String classFileExtension = ".class";
+		if(!resourcePath.endsWith(classFileExtension) || resourcePath.endsWith("-info" + classFileExtension) || resourcePath.contains("$$")) {
+			return;
+		}
+		classNames.add(resourcePath.substring(0, resourcePath.length() - classFileExtension.length()).replace('/', '.'));
+	}
+
+	/**
+	 * Removes any cached introspection of the given class, so that the next request will discover the class anew. This is useful for example when classes are
+	 * redeployed and the cached information is known to be stale. Any cached introspections of parameterized types of the class are removed as well.
+	 * @param objectClass The class the introspection of which should be removed.
+	 * @return <code>true</code> if an introspection of the class or of one of its parameterized types had been cached.
+	 */
+	public boolean invalidate(@Nonnull final Class<?> objectClass) {
+		boolean evicted = false;
+		if(introspectionHolders.get(requireNonNull(objectClass)).getAndSet(null) != null) {
+			evictionCount.increment();
+			evicted = true;
+		}
+		final Iterator<ParameterizedIntrospectionReference> parameterizedIntrospectionReferenceIterator = parameterizedIntrospections.get(objectClass).values()
+				.iterator();
+		while(parameterizedIntrospectionReferenceIterator.hasNext()) {
+			final boolean inUse = parameterizedIntrospectionReferenceIterator.next().get() != null;
+			parameterizedIntrospectionReferenceIterator.remove();
+			if(inUse) {
+				evictionCount.increment();
+				evicted = true;
+			}
+		}
+		return evicted;
+	}
+
+	/**
+	 * A weak reference to an introspection of a parameterized type, which serves as its own key in the map of introspections of its erased class. Once cleared,
+	 * a reference is only equal to itself, so that it can still be removed from the map.
+	 * @author Garret Wilson
+	 */
+	private static final class ParameterizedIntrospectionReference extends WeakReference<Introspection<?>> {
+
+		private final int hashCode;
+
+		private final ConcurrentMap<Object, ParameterizedIntrospectionReference> introspections;
+
+		/**
+		 * Constructor.
+		 * @param introspection The introspection of a parameterized type.
+		 * @param introspections The map of introspections of the erased class, in which this reference is stored.
+		 * @param referenceQueue The queue with which the reference is registered.
+		 */
+		public ParameterizedIntrospectionReference(@Nonnull final Introspection<?> introspection,
+				@Nonnull final ConcurrentMap<Object, ParameterizedIntrospectionReference> introspections,
+				@Nonnull final ReferenceQueue<Introspection<?>> referenceQueue) {
+			super(introspection, referenceQueue);
+			this.hashCode = introspection.getObjectType().hashCode();
+			this.introspections = introspections;
+		}
+
+		/** @return The type described by the referenced introspection, or <code>null</code> if the reference has been cleared. */
+		@Nullable
+		public TypeInfo<?> getObjectType() {
+			final Introspection<?> introspection = get();
+			return introspection != null ? introspection.getObjectType() : null;
+		}
+
+		/** Removes this reference from the map of introspections in which it was stored. */
+		public void expunge() {
+			introspections.remove(this, this);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if(this == object) {
+				return true;
+			}
+			final TypeInfo<?> objectType = getObjectType();
+			if(objectType == null) {
+				return false;
+			}
+			if(object instanceof ObjectTypeKey) {
+				return objectType == ((ObjectTypeKey)object).getObjectType(); //type information is canonical
+			}
+			if(object instanceof ParameterizedIntrospectionReference) {
+				return objectType == ((ParameterizedIntrospectionReference)object).getObjectType();
+			}
+			return false;
+		}
+
+	}
+
+	/**
+	 * A transient key for looking up an introspection of a parameterized type. A key is never stored in a map of introspections.
+	 * @author Garret Wilson
+	 */
+	private static final class ObjectTypeKey {
+
+		private final TypeInfo<?> objectType;
+
+		/** @return The type the introspection of which is being looked up. */
+		public TypeInfo<?> getObjectType() {
+			return objectType;
+		}
+
+		/**
+		 * Constructor.
+		 * @param objectType The type the introspection of which is being looked up.
+		 */
+		public ObjectTypeKey(@Nonnull final TypeInfo<?> objectType) {
+			this.objectType = requireNonNull(objectType);
+		}
+
+		@Override
+		public int hashCode() {
+			return objectType.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if(this == object) {
+				return true;
+			}
+			if(object instanceof ParameterizedIntrospectionReference) {
+				return objectType == ((ParameterizedIntrospectionReference)object).getObjectType(); //type information is canonical
+			}
+			if(object instanceof ObjectTypeKey) {
+				return objectType == ((ObjectTypeKey)object).getObjectType();
+			}
+			return false;
+		}
+
+	}
+
+}
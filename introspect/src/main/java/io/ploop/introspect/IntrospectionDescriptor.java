@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Collections.*;
+import static java.util.Objects.*;
+
+import java.lang.ref.*;
+import java.util.*;
+import java.util.ServiceLoader.Provider;
+import java.util.concurrent.atomic.AtomicReference;
+
+import javax.annotation.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Describes the properties of a class as determined at build time, and provides direct access to them.
+ * <p>
+ * Implementations are typically generated by the <code>ploop-introspect-processor</code> annotation processor for classes annotated with
+ * {@link Introspected}, implementing {@link BeanAccessor} and {@link BeanMutator} by invoking the accessor methods of the class directly. An introspection
+ * created from a descriptor requires no runtime reflection over the members of the class.
+ * </p>
+ * @param <T> The type of object being described.
+ * @author Garret Wilson
+ * @see IntrospectionIndex
+ */
+public abstract class IntrospectionDescriptor<T> implements BeanAccessor<T>, BeanMutator<T> {
+
+	/** The suffix appended to the binary name of a class to form the binary name of its generated descriptor class. */
+	public static final String DESCRIPTOR_CLASS_NAME_SUFFIX = "$$Introspection";
+
+	/**
+	 * The index classes available to each class loader, grouped by package name. The index classes are only referred to weakly, so that the values do not
+	 * prevent the class loader from being garbage collected; each index class nevertheless remains loaded as long as the class loader is in use. This map is
+	 * only consulted the first time a descriptor of a class is requested.
+	 */
+	private static final Map<ClassLoader, Map<String, List<Reference<Class<? extends IntrospectionIndex>>>>> indexClassesByClassLoader = synchronizedMap(
+			new WeakHashMap<>());
+
+	/**
+	 * The instance of each index class, stored with the index class. The instance is created by its service provider when the indexes available to a class
+	 * loader are located, so that no reflection is needed to find or instantiate index classes.
+	 */
+	private static final ClassValue<AtomicReference<IntrospectionIndex>> INDEXES = new ClassValue<AtomicReference<IntrospectionIndex>>() {
+		@Override
+		protected AtomicReference<IntrospectionIndex> computeValue(final Class<?> indexClass) {
+			return new AtomicReference<>();
+		}
+	};
+
+	/** The precomputed descriptor of each class, if any, stored with the class it describes. */
+	private static final ClassValue<Optional<IntrospectionDescriptor<?>>> DESCRIPTORS = new ClassValue<Optional<IntrospectionDescriptor<?>>>() {
+		@Override
+		protected Optional<IntrospectionDescriptor<?>> computeValue(final Class<?> objectClass) {
+			return Optional.ofNullable(findDescriptor(objectClass));
+		}
+	};
+
+	private final Class<T> objectClass;
+
+	/** @return The class of object being described. */
+	public Class<T> getObjectClass() {
+		return objectClass;
+	}
+
+	/**
+	 * Constructor.
+	 * @param objectClass The class of object being described.
+	 */
+	protected IntrospectionDescriptor(@Nonnull final Class<T> objectClass) {
+		this.objectClass = requireNonNull(objectClass);
+	}
+
+	/**
+	 * Creates the properties of the object class. Each property is accessed using the index of its ordinal in the returned list.
+	 * @return The properties of the object class, in order of property name.
+	 * @see #createProperty(String, TypeInfo, int, boolean, boolean)
+	 */
+	protected abstract List<Property<T, ?>> createProperties();
+
+	/**
+	 * Creates a property accessed through this descriptor.
+	 * <p>
+	 * As the compiler has verified the types of the accessor methods invoked, the values read are not checked at runtime unless
+	 * {@link Introspector#isCheckPropertyValues()} is enabled for {@link Introspector#INSTANCE}.
+	 * </p>
+	 * @param <V> The type of value stored in the property.
+	 * @param name The name of the property.
+	 * @param propertyType The type of the property.
+	 * @param index The index by which this descriptor accesses the property.
+	 * @param readable Whether the property can be read using {@link BeanAccessor} methods such as {@link #get(Object, int)}.
+	 * @param writable Whether the property can be written using {@link BeanMutator} methods such as {@link #set(Object, int, Object)}.
+	 * @return The new property.
+	 * @throws IllegalArgumentException if the property is neither readable nor writable.
+	 */
+	protected <V> Property<T, V> createProperty(@Nonnull final String name, @Nonnull final TypeInfo<V> propertyType, final int index, final boolean readable,
+			final boolean writable) {
+		final PropertyReader<T, V> propertyReader = readable
+				? BeanAccessorPropertyReader.forIndex(propertyType, this, index, !Introspector.INSTANCE.isCheckPropertyValues())
+				: null;
+		final PropertyWriter<T, V> propertyWriter = writable ? BeanMutatorPropertyWriter.forIndex(propertyType, this, index) : null;
+		return ReaderWriterProperty.create(name, propertyType, propertyReader, propertyWriter);
+	}
+
+	/**
+	 * Creates a new introspection of the object class from this descriptor. This descriptor serves as the introspection's bean accessor.
+	 * @return A new introspection of the described object class.
+	 * @see Introspection#getBeanAccessor()
+	 */
+	public Introspection<T> createIntrospection() {
+		return new Introspection<>(TypeInfo.forClass(objectClass), createProperties(), this);
+	}
+
+	/**
+	 * Finds a descriptor of the given class in the introspection indexes available to the class loader of the class.
+	 * <p>
+	 * The descriptor is located only once, and is then stored with the class using a {@link ClassValue}, so that it neither prevents the class from being
+	 * garbage collected nor requires locking to retrieve.
+	 * </p>
+	 * @param <T> The type of object to be described.
+	 * @param objectClass The class of object to be described.
+	 * @return A descriptor of the class if one was precomputed.
+	 * @see IntrospectionIndex
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> Optional<IntrospectionDescriptor<T>> find(@Nonnull final Class<T> objectClass) {
+		return (Optional<IntrospectionDescriptor<T>>)(Optional<?>)DESCRIPTORS.get(requireNonNull(objectClass));
+	}
+
+	/**
+	 * Locates a descriptor of the given class in the introspection indexes available to the class loader of the class. As indexes are generated per package,
+	 * only the indexes in the package of the class are consulted.
+	 * @param objectClass The class of object to be described.
+	 * @return A descriptor of the class, or <code>null</code> if none was precomputed.
+	 */
+	@Nullable
+	private static IntrospectionDescriptor<?> findDescriptor(@Nonnull final Class<?> objectClass) {
+		final ClassLoader classLoader = objectClass.getClassLoader();
+		if(classLoader == null) { //system classes are never indexed
+			return null;
+		}
+		final String className = objectClass.getName();
+		for(final Reference<Class<? extends IntrospectionIndex>> indexClassReference : getIndexClasses(classLoader).getOrDefault(objectClass.getPackageName(),
+				emptyList())) {
+			final Class<? extends IntrospectionIndex> indexClass = indexClassReference.get();
+			final IntrospectionIndex index = indexClass != null ? INDEXES.get(indexClass).get() : null;
+			if(index == null) {
+				continue;
+			}
+			final IntrospectionDescriptor<?> descriptor = index.findDescriptor(className);
+			if(descriptor != null && descriptor.getObjectClass() == objectClass) { //make sure the class was not loaded by another class loader
+				return descriptor;
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the introspection index classes available to a class loader, locating them and instantiating each using its service provider if necessary.
+	 * <p>
+	 * An index that cannot be instantiated is skipped, and its classes will be discovered at runtime. If the service configuration itself cannot be read, no
+	 * further indexes are located, as the iteration over the providers cannot proceed past the error.
+	 * </p>
+	 * @param classLoader The class loader with which to locate indexes.
+	 * @return The index classes available to the class loader, grouped by package name.
+	 */
+	private static Map<String, List<Reference<Class<? extends IntrospectionIndex>>>> getIndexClasses(@Nonnull final ClassLoader classLoader) {
+		Map<String, List<Reference<Class<? extends IntrospectionIndex>>>> indexClasses = indexClassesByClassLoader.get(classLoader);
+		if(indexClasses == null) { //if more than one thread locates the indexes concurrently, the last set located will be cached
+			indexClasses = new HashMap<>();
+			final Iterator<Provider<IntrospectionIndex>> providerIterator = ServiceLoader.load(IntrospectionIndex.class, classLoader).stream().iterator();
+			while(true) {
+				final Provider<IntrospectionIndex> provider;
+				try {
+					if(!providerIterator.hasNext()) {
+						break;
+					}
+					provider = providerIterator.next();
+				} catch(final ServiceConfigurationError serviceConfigurationError) { //the error would recur on each attempt to continue, so stop locating indexes
+					break;
+				}
+				final Class<? extends IntrospectionIndex> indexClass = provider.type();
+				final AtomicReference<IntrospectionIndex> indexHolder = INDEXES.get(indexClass);
+				if(indexHolder.get() == null) {
+					try {
+						indexHolder.compareAndSet(null, provider.get());
+					} catch(final ServiceConfigurationError serviceConfigurationError) { //skip an index that cannot be instantiated
+						continue;
+					}
+				}
+				indexClasses.computeIfAbsent(indexClass.getPackageName(), packageName -> new ArrayList<>()).add(new WeakReference<>(indexClass));
+			}
+			indexClassesByClassLoader.put(classLoader, indexClasses);
+		}
+		return indexClasses;
+	}
+
+}
@@ -0,0 +1,40 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import javax.annotation.*;
+
+/**
+ * An index of introspection descriptors precomputed at build time, typically generated by the <code>ploop-introspect-processor</code> annotation processor
+ * for classes annotated with {@link Introspected}.
+ * <p>
+ * Implementations are located as services using {@link java.util.ServiceLoader}, so that descriptors can be found without reflection. An implementation
+ * should not load any descriptor class until it is requested.
+ * </p>
+ * @author Garret Wilson
+ * @see IntrospectionDescriptor#find(Class)
+ */
+public interface IntrospectionIndex {
+
+	/**
+	 * Retrieves a descriptor of the class with the given name.
+	 * @param className The binary name of the class to be described.
+	 * @return A descriptor of the class, or <code>null</code> if this index has no descriptor of a class with the given name.
+	 */
+	public @Nullable IntrospectionDescriptor<?> findDescriptor(@Nonnull String className);
+
+}
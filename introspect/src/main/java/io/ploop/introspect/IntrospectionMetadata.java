@@ -0,0 +1,323 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.lang.invoke.MethodType.*;
+import static java.util.Objects.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.*;
+
+import javax.annotation.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A description of the members from which the properties of an introspection were discovered, sufficient to recreate the properties by looking up each
+ * member directly, without resolving all the members of the object type again.
+ * @author Garret Wilson
+ * @see IntrospectionStore
+ */
+final class IntrospectionMetadata {
+
+	private final List<PropertyMetadata> properties;
+
+	/** @return The descriptions of the properties, in the order of their ordinals. */
+	public List<PropertyMetadata> getProperties() {
+		return properties;
+	}
+
+	/**
+	 * Constructor.
+	 * @param properties The descriptions of the properties, in the order of their ordinals.
+	 */
+	public IntrospectionMetadata(@Nonnull final List<PropertyMetadata> properties) {
+		this.properties = List.copyOf(properties);
+	}
+
+	/**
+	 * Recreates an introspection of an object type from the described members.
+	 * @param <T> The type of object being described.
+	 * @param objectType The type of object to be described.
+	 * @param checkPropertyValues Whether every value read from a property should be checked at runtime, even if verified during introspection.
+	 * @return A new introspection of the object type.
+	 * @throws ReflectiveOperationException if one of the members could not be found or accessed.
+	 */
+	public <T> Introspection<T> createIntrospection(@Nonnull final TypeInfo<T> objectType, final boolean checkPropertyValues)
+			throws ReflectiveOperationException {
+		final Class<T> objectClass = objectType.getErasedType();
+		final List<Property<T, ?>> introspectionProperties = new ArrayList<>(properties.size());
+		for(final PropertyMetadata property : properties) {
+			introspectionProperties.add(property.createProperty(objectClass, property.getType(), checkPropertyValues));
+		}
+		return new Introspection<>(objectType, introspectionProperties, null, this);
+	}
+
+	/**
+	 * A description of a property and the members used to read and write it.
+	 * @author Garret Wilson
+	 */
+	public static final class PropertyMetadata {
+
+		private final String name;
+
+		/** @return The name of the property. */
+		public String getName() {
+			return name;
+		}
+
+		private final TypeInfo<?> type;
+
+		/** @return The type of the property. */
+		public TypeInfo<?> getType() {
+			return type;
+		}
+
+		private final boolean valueTypeVerified;
+
+		/** @return <code>true</code> if the values produced by the reader member were verified during introspection to be instances of the property type. */
+		public boolean isValueTypeVerified() {
+			return valueTypeVerified;
+		}
+
+		@Nullable
+		private final MemberMetadata readerMember;
+
+		/** @return The member from which the property is read, or <code>null</code> if the property is not readable. */
+		public @Nullable MemberMetadata getReaderMember() {
+			return readerMember;
+		}
+
+		@Nullable
+		private final MemberMetadata writerMember;
+
+		/** @return The member to which the property is written, or <code>null</code> if the property is not writable. */
+		public @Nullable MemberMetadata getWriterMember() {
+			return writerMember;
+		}
+
+		/**
+		 * Constructor.
+		 * @param name The name of the property.
+		 * @param type The type of the property.
+		 * @param valueTypeVerified <code>true</code> if the values produced by the reader member were verified to be instances of the property type.
+		 * @param readerMember The member from which the property is read, or <code>null</code> if the property is not readable.
+		 * @param writerMember The member to which the property is written, or <code>null</code> if the property is not writable.
+		 */
+		public PropertyMetadata(@Nonnull final String name, @Nonnull final TypeInfo<?> type, final boolean valueTypeVerified,
+				@Nullable final MemberMetadata readerMember, @Nullable final MemberMetadata writerMember) {
+			this.name = requireNonNull(name);
+			this.type = requireNonNull(type);
+			this.valueTypeVerified = valueTypeVerified;
+			this.readerMember = readerMember;
+			this.writerMember = writerMember;
+		}
+
+		/**
+		 * Recreates the described property.
+		 * @param <T> The type of object the property is for.
+		 * @param <V> The type of value stored in the property.
+		 * @param objectClass The class of object the property is for.
+		 * @param valueType The type of the property.
+		 * @param checkPropertyValues Whether every value read from the property should be checked at runtime, even if verified during introspection.
+		 * @return A new property accessing the described members.
+		 * @throws ReflectiveOperationException if one of the members could not be found or accessed.
+		 */
+		<T, V> Property<T, V> createProperty(@Nonnull final Class<T> objectClass, @Nonnull final TypeInfo<V> valueType, final boolean checkPropertyValues)
+				throws ReflectiveOperationException {
+			final PropertyReader<T, V> reader = readerMember != null
+					? readerMember.createReader(objectClass, valueType, isValueTypeVerified() && !checkPropertyValues)
+					: null;
+			final PropertyWriter<T, V> writer = writerMember != null ? writerMember.createWriter(objectClass, valueType) : null;
+			return ReaderWriterProperty.create(getName(), valueType, reader, writer);
+		}
+
+	}
+
+	/** The kind of member backing a property. */
+	public enum MemberKind {
+		/** A method with no parameters returning the property value. */
+		GETTER_METHOD,
+		/** A method with a single parameter accepting the property value. */
+		SETTER_METHOD,
+		/** An instance field accessed directly. */
+		FIELD;
+	}
+
+	/**
+	 * A description of a member backing a property, with enough information to look up the member directly. Methods are looked up publicly via the object
+	 * class; fields are looked up in their declaring class.
+	 * @author Garret Wilson
+	 */
+	public static final class MemberMetadata {
+
+		private final MemberKind kind;
+
+		/** @return The kind of member. */
+		public MemberKind getKind() {
+			return kind;
+		}
+
+		@Nullable
+		private final Class<?> declaringClass;
+
+		/** @return The class declaring the member if it is a field, or <code>null</code> if the member is a method. */
+		public @Nullable Class<?> getDeclaringClass() {
+			return declaringClass;
+		}
+
+		private final String name;
+
+		/** @return The name of the member. */
+		public String getName() {
+			return name;
+		}
+
+		private final Class<?> rawType;
+
+		/** @return The erased type of the member: the getter return type, the setter parameter type, or the field type. */
+		public Class<?> getRawType() {
+			return rawType;
+		}
+
+		@Nullable
+		private final FieldAccessMode fieldAccessMode;
+
+		/** @return The mode with which the member is accessed if it is a field, or <code>null</code> if the member is a method. */
+		public @Nullable FieldAccessMode getFieldAccessMode() {
+			return fieldAccessMode;
+		}
+
+		/**
+		 * Constructor.
+		 * @param kind The kind of member.
+		 * @param declaringClass The class declaring the member if it is a field, or <code>null</code> if the member is a method.
+		 * @param name The name of the member.
+		 * @param rawType The erased type of the member: the getter return type, the setter parameter type, or the field type.
+		 * @param fieldAccessMode The mode with which the member is accessed if it is a field, or <code>null</code> if the member is a method.
+		 * @throws IllegalArgumentException if a declaring class and access mode are not given for a field, or are given for a method.
+		 */
+		public MemberMetadata(@Nonnull final MemberKind kind, @Nullable final Class<?> declaringClass, @Nonnull final String name,
+				@Nonnull final Class<?> rawType, @Nullable final FieldAccessMode fieldAccessMode) {
+			this.kind = requireNonNull(kind);
+			if((kind == MemberKind.FIELD) != (declaringClass != null && fieldAccessMode != null)) {
+				throw new IllegalArgumentException(String.format("Member %s of kind %s must have a declaring class and access mode only if it is a field.", name, kind));
+			}
+			this.declaringClass = declaringClass;
+			this.name = requireNonNull(name);
+			this.rawType = requireNonNull(rawType);
+			this.fieldAccessMode = fieldAccessMode;
+		}
+
+		/**
+		 * Describes a getter method.
+		 * @param method The getter method.
+		 * @return A description of the method.
+		 */
+		public static MemberMetadata forGetterMethod(@Nonnull final Method method) {
+			return new MemberMetadata(MemberKind.GETTER_METHOD, null, method.getName(), method.getReturnType(), null);
+		}
+
+		/**
+		 * Describes a setter method.
+		 * @param method The setter method.
+		 * @return A description of the method.
+		 * @throws IllegalArgumentException if the method does not have a single parameter.
+		 */
+		public static MemberMetadata forSetterMethod(@Nonnull final Method method) {
+			if(method.getParameterCount() != 1) {
+				throw new IllegalArgumentException(String.format("Setter method %s does not have a single parameter.", method));
+			}
+			return new MemberMetadata(MemberKind.SETTER_METHOD, null, method.getName(), method.getParameterTypes()[0], null);
+		}
+
+		/**
+		 * Describes a field.
+		 * @param field The field.
+		 * @param fieldAccessMode The mode with which the field is accessed.
+		 * @return A description of the field.
+		 */
+		public static MemberMetadata forField(@Nonnull final Field field, @Nonnull final FieldAccessMode fieldAccessMode) {
+			return new MemberMetadata(MemberKind.FIELD, field.getDeclaringClass(), field.getName(), field.getType(), requireNonNull(fieldAccessMode));
+		}
+
+		/**
+		 * Creates a reader accessing the described member.
+		 * @param <T> The type of object the property is for.
+		 * @param <V> The type of value stored in the property.
+		 * @param objectClass The class of object the property is for.
+		 * @param valueType The type of the property.
+		 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
+		 * @return A new reader for the member.
+		 * @throws IllegalStateException if the member is a setter method.
+		 * @throws ReflectiveOperationException if the member could not be found or accessed.
+		 */
+		public <T, V> PropertyReader<T, V> createReader(@Nonnull final Class<T> objectClass, @Nonnull final TypeInfo<V> valueType,
+				final boolean valueTypeVerified) throws ReflectiveOperationException {
+			switch(getKind()) {
+				case GETTER_METHOD:
+					return MethodHandlePropertyReader.forMethodHandle(valueType, MethodHandles.publicLookup().findVirtual(objectClass, getName(), methodType(getRawType())),
+							valueTypeVerified);
+				case FIELD:
+					return VarHandlePropertyReader.forVarHandle(valueType, findFieldVarHandle(objectClass), getFieldAccessMode(), valueTypeVerified);
+				default:
+					throw new IllegalStateException(String.format("Member %s of kind %s cannot be read.", getName(), getKind()));
+			}
+		}
+
+		/**
+		 * Creates a writer accessing the described member.
+		 * @param <T> The type of object the property is for.
+		 * @param <V> The type of value stored in the property.
+		 * @param objectClass The class of object the property is for.
+		 * @param valueType The type of the property.
+		 * @return A new writer for the member.
+		 * @throws IllegalStateException if the member is a getter method.
+		 * @throws ReflectiveOperationException if the member could not be found or accessed.
+		 */
+		public <T, V> PropertyWriter<T, V> createWriter(@Nonnull final Class<T> objectClass, @Nonnull final TypeInfo<V> valueType)
+				throws ReflectiveOperationException {
+			switch(getKind()) {
+				case SETTER_METHOD:
+					return MethodHandlePropertyWriter.forMethodHandle(valueType,
+							MethodHandles.publicLookup().findVirtual(objectClass, getName(), methodType(void.class, getRawType())));
+				case FIELD:
+					return VarHandlePropertyWriter.forVarHandle(valueType, findFieldVarHandle(objectClass), getFieldAccessMode());
+				default:
+					throw new IllegalStateException(String.format("Member %s of kind %s cannot be written.", getName(), getKind()));
+			}
+		}
+
+		/**
+		 * Looks up a variable handle for the described field.
+		 * @param objectClass The class of object the property is for.
+		 * @return A variable handle for accessing the field on an instance of the object class.
+		 * @throws NoSuchFieldException if the declaring class no longer has a field with the described name and type.
+		 * @throws IllegalAccessException if the field is not accessible.
+		 */
+		private VarHandle findFieldVarHandle(@Nonnull final Class<?> objectClass) throws NoSuchFieldException, IllegalAccessException {
+			final Field field = requireNonNull(getDeclaringClass()).getDeclaredField(getName());
+			if(field.getType() != getRawType()) {
+				throw new NoSuchFieldException(String.format("Field %s is no longer of type %s.", field, getRawType().getName()));
+			}
+			return VarHandlePropertyReader.findFieldVarHandle(objectClass, field);
+		}
+
+	}
+
+}
@@ -0,0 +1,540 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Objects.*;
+
+import java.io.*;
+import java.lang.reflect.Type;
+import java.nio.*;
+import java.nio.file.*;
+import java.security.*;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import javax.annotation.*;
+
+import com.fasterxml.classmate.ResolvedType;
+import com.fasterxml.classmate.types.ResolvedRecursiveType;
+
+import io.ploop.introspect.IntrospectionMetadata.*;
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A persistent store of the properties discovered for classes, allowing introspections to be recreated after a restart by looking up the members backing the
+ * properties directly, without resolving all the members of each class again.
+ * <p>
+ * Each class is stored with the name, type, and backing members of each property, keyed to the class name and a hash of the class files of the class and its
+ * supertypes. If the class or one of its supertypes has changed, its entry is ignored and will be replaced when the class is introspected again. Classes
+ * loaded by the bootstrap class loader are not hashed; instead the entire store is ignored if it was written by a different version of the Java runtime.
+ * Because the way properties are discovered and accessed depends on the configuration of the {@link Introspector}, the store is likewise ignored if it was
+ * written with a different configuration, such as with bean accessor generation turned on or off.
+ * </p>
+ * <p>
+ * Only introspections whose properties are accessed via method handles or variable handles can be stored; for example a class with properties accessed via a
+ * generated bean accessor, or via reflection because a getter is not publicly accessible, is always introspected anew.
+ * </p>
+ * <p>
+ * The store is kept in a compact binary file which is read into memory when opened. The file is deliberately not memory-mapped: a mapping stays in place
+ * until it is garbage-collected, and some platforms such as Windows do not permit a mapped file to be replaced, which would prevent the store from being
+ * saved. New entries are kept in memory until the store is {@link #save() saved}. A
+ * store may be used concurrently by multiple threads. To use a store for {@link Introspection#of(Class)}, install it using
+ * {@link IntrospectionCache#setStore(IntrospectionStore)}.
+ * </p>
+ * @author Garret Wilson
+ */
+public final class IntrospectionStore {
+
+	/** The first four bytes of a store file: <code>PLIS</code>. */
+	private static final int MAGIC_NUMBER = 0x504C4953;
+
+	/** The version of the format of the store file. */
+	private static final short FORMAT_VERSION = 2;
+
+	/** The algorithm for hashing class files. */
+	private static final String CLASS_HASH_ALGORITHM = "SHA-256";
+
+	private static final byte TYPE_TAG_CLASS = 'C';
+
+	private static final byte TYPE_TAG_ARRAY = 'A';
+
+	/** The value indicating that no member is present. */
+	private static final byte NO_MEMBER = -1;
+
+	/** The primitive types, which cannot be loaded by name. */
+	private static final Map<String, Class<?>> PRIMITIVE_CLASSES_BY_NAME;
+
+	static {
+		final Map<String, Class<?>> primitiveClassesByName = new HashMap<>();
+		for(final Class<?> primitiveClass : List.of(boolean.class, byte.class, char.class, short.class, int.class, long.class, float.class, double.class,
+				void.class)) {
+			primitiveClassesByName.put(primitiveClass.getName(), primitiveClass);
+		}
+		PRIMITIVE_CLASSES_BY_NAME = Collections.unmodifiableMap(primitiveClassesByName);
+	}
+
+	private final Path file;
+
+	/** @return The file in which the store is kept. */
+	public Path getFile() {
+		return file;
+	}
+
+	private final Introspector introspector;
+
+	/** @return The introspector whose configuration the introspections in the store reflect, and which determines how restored properties are accessed. */
+	Introspector getIntrospector() {
+		return introspector;
+	}
+
+	/** The introspector with the same configuration as {@link #getIntrospector()}, which also describes the members backing the properties for recording. */
+	private final Introspector describingIntrospector;
+
+	/**
+	 * The entries read from the store file, keyed to class name. Each entry is a read-only buffer containing the class hash followed by the encoded property
+	 * descriptions.
+	 */
+	private final Map<String, ByteBuffer> storedEntries;
+
+	/** The entries recorded since the store was opened, keyed to class name, in the same form as {@link #storedEntries}, replacing any stored entries. */
+	private final Map<String, ByteBuffer> recordedEntries = new ConcurrentHashMap<>();
+
+	private final AtomicBoolean modified = new AtomicBoolean(false);
+
+	/** @return Whether entries have been recorded since the store was opened or last saved. */
+	public boolean isModified() {
+		return modified.get();
+	}
+
+	/**
+	 * Constructor.
+	 * @param file The file in which the store is kept.
+	 * @param introspector The introspector whose configuration the introspections in the store reflect.
+	 * @param storedEntries The entries read from the store file, keyed to class name.
+	 */
+	private IntrospectionStore(@Nonnull final Path file, @Nonnull final Introspector introspector, @Nonnull final Map<String, ByteBuffer> storedEntries) {
+		this.file = requireNonNull(file);
+		this.introspector = requireNonNull(introspector);
+		this.describingIntrospector = introspector.withMemberDescriptions();
+		this.storedEntries = requireNonNull(storedEntries);
+	}
+
+	/**
+	 * Opens a store kept in the given file, reading the file if it exists. A file that does not exist results in an empty store, which will create the
+	 * file when saved. A file that is not a valid store, or that was written by a different version of the Java runtime or with a different configuration of
+	 * the singleton {@link Introspector#INSTANCE}, is ignored and will be replaced when the store is saved.
+	 * @param file The file in which the store is kept.
+	 * @return The opened store.
+	 * @throws IOException if there was an error reading the file.
+	 */
+	public static IntrospectionStore open(@Nonnull final Path file) throws IOException {
+		return open(file, Introspector.INSTANCE);
+	}
+
+	/**
+	 * Opens a store kept in the given file for introspections created by the given introspector.
+	 * @param file The file in which the store is kept.
+	 * @param introspector The introspector whose configuration the introspections in the store reflect.
+	 * @return The opened store.
+	 * @throws IOException if there was an error reading the file.
+	 * @see #open(Path)
+	 */
+	static IntrospectionStore open(@Nonnull final Path file, @Nonnull final Introspector introspector) throws IOException {
+		if(!Files.exists(file)) {
+			return new IntrospectionStore(file, introspector, Map.of());
+		}
+		final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file)).asReadOnlyBuffer();
+		final Map<String, ByteBuffer> storedEntries = new HashMap<>();
+		try {
+			if(buffer.getInt() != MAGIC_NUMBER || buffer.getShort() != FORMAT_VERSION || !readString(buffer).equals(Runtime.version().toString())
+					|| !readString(buffer).equals(describeConfiguration(introspector))) {
+				return new IntrospectionStore(file, introspector, Map.of());
+			}
+			final int entryCount = buffer.getInt();
+			for(int entryIndex = 0; entryIndex < entryCount; entryIndex++) {
+				final String className = readString(buffer);
+				final int entryLength = buffer.getInt();
+				final ByteBuffer entry = buffer.slice().limit(entryLength);
+				buffer.position(buffer.position() + entryLength);
+				storedEntries.put(className, entry);
+			}
+		} catch(final BufferUnderflowException | IllegalArgumentException invalidFileException) { //treat a truncated or corrupt file as empty
+			return new IntrospectionStore(file, introspector, Map.of());
+		}
+		return new IntrospectionStore(file, introspector, storedEntries);
+	}
+
+	/**
+	 * Recreates the introspection of a class from its stored entry, if the class has not changed since it was recorded. Values read from the properties are
+	 * checked at runtime as determined by {@link Introspector#isCheckPropertyValues()} of the introspector for which the store was opened.
+	 * @param <T> The type of object being described.
+	 * @param objectClass The type of object to be described.
+	 * @return The recreated introspection, which will not be present if the class has no entry, if the class or one of its supertypes has changed, or if a
+	 *         member backing one of the properties can no longer be accessed.
+	 */
+	public <T> Optional<Introspection<T>> restore(@Nonnull final Class<T> objectClass) {
+		final String className = objectClass.getName();
+		ByteBuffer entry = recordedEntries.get(className);
+		if(entry == null) {
+			entry = storedEntries.get(className);
+			if(entry == null) {
+				return Optional.empty();
+			}
+		}
+		entry = entry.duplicate(); //each thread needs its own position
+		try {
+			final byte[] classHash = hashClassFiles(objectClass);
+			if(classHash == null || !ByteBuffer.wrap(classHash).equals(entry.slice().limit(classHash.length))) {
+				return Optional.empty();
+			}
+			entry.position(entry.position() + classHash.length);
+			final IntrospectionMetadata metadata = readMetadata(entry, objectClass.getClassLoader());
+			return Optional.of(metadata.createIntrospection(TypeInfo.forClass(objectClass), getIntrospector().isCheckPropertyValues()));
+		} catch(final IOException | ReflectiveOperationException | LinkageError | RuntimeException exception) { //treat anything unexpected as a stale entry
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Introspects a class using the configuration of the introspector for which the store was opened, describing the members backing the properties so that
+	 * the introspection can be {@link #record(Introspection) recorded} without discovering the properties again.
+	 * @param <T> The type of object being described.
+	 * @param objectClass The type of object to be described.
+	 * @return A new introspection of the class.
+	 */
+	<T> Introspection<T> introspect(@Nonnull final Class<T> objectClass) {
+		return describingIntrospector.introspect(TypeInfo.forClass(objectClass));
+	}
+
+	/**
+	 * Records an introspection so that it may later be restored, replacing any existing entry for the same class. If the introspection does not describe the
+	 * members backing its properties, the class is introspected again to describe them.
+	 * @param introspection The introspection to record.
+	 * @return <code>true</code> if the introspection was recorded, or <code>false</code> if the introspection cannot be stored, for example because its
+	 *         properties are not all accessed via method or variable handles, or because the class file of the class cannot be read.
+	 */
+	public boolean record(@Nonnull final Introspection<?> introspection) {
+		final Class<?> objectClass = introspection.getObjectType().getErasedType();
+		final byte[] classHash;
+		try {
+			classHash = hashClassFiles(objectClass);
+		} catch(final IOException ioException) {
+			return false;
+		}
+		return classHash != null && record(introspection, classHash);
+	}
+
+	/**
+	 * Records an introspection for the given class hash, replacing any existing entry for the same class.
+	 * @param introspection The introspection to record.
+	 * @param classHash The hash of the class files of the described class and its supertypes.
+	 * @return <code>true</code> if the introspection was recorded, or <code>false</code> if the introspection cannot be stored.
+	 * @see #hashClassFiles(Class)
+	 */
+	boolean record(@Nonnull final Introspection<?> introspection, @Nonnull final byte[] classHash) {
+		IntrospectionMetadata metadata = introspection.getMetadata();
+		if(metadata == null) { //build the description on demand, as introspections created outside the store do not describe their members
+			metadata = introspect(introspection.getObjectType().getErasedType()).getMetadata();
+		}
+		if(metadata == null) {
+			return false;
+		}
+		final ByteArrayOutputStream entryBytes = new ByteArrayOutputStream();
+		try (final DataOutputStream entryOutput = new DataOutputStream(entryBytes)) {
+			entryOutput.write(classHash);
+			writeMetadata(entryOutput, metadata);
+		} catch(final IOException ioException) {
+			throw new UncheckedIOException(ioException); //writing to memory should not fail
+		} catch(final IllegalArgumentException unsupportedTypeException) {
+			return false;
+		}
+		recordedEntries.put(introspection.getObjectType().getErasedType().getName(), ByteBuffer.wrap(entryBytes.toByteArray()).asReadOnlyBuffer());
+		modified.set(true);
+		return true;
+	}
+
+	/**
+	 * Writes all the stored and recorded entries to the store file, replacing it atomically if the file system permits.
+	 * @throws IOException if there was an error writing the file.
+	 */
+	public void save() throws IOException {
+		modified.set(false); //any entries recorded while saving will cause the store to be marked as modified again
+		final Map<String, ByteBuffer> entries = new TreeMap<>(storedEntries);
+		entries.putAll(recordedEntries);
+		final Path directory = getFile().toAbsolutePath().getParent();
+		final Path tempFile = Files.createTempFile(directory, getFile().getFileName().toString(), ".tmp");
+		try {
+			try (final DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+				output.writeInt(MAGIC_NUMBER);
+				output.writeShort(FORMAT_VERSION);
+				writeString(output, Runtime.version().toString());
+				writeString(output, describeConfiguration(getIntrospector()));
+				output.writeInt(entries.size());
+				for(final Map.Entry<String, ByteBuffer> entry : entries.entrySet()) {
+					writeString(output, entry.getKey());
+					final ByteBuffer entryBuffer = entry.getValue().duplicate();
+					output.writeInt(entryBuffer.remaining());
+					final byte[] entryBytes = new byte[entryBuffer.remaining()];
+					entryBuffer.get(entryBytes);
+					output.write(entryBytes);
+				}
+			}
+			try {
+				Files.move(tempFile, getFile(), StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+			} catch(final AtomicMoveNotSupportedException atomicMoveNotSupportedException) {
+				Files.move(tempFile, getFile(), StandardCopyOption.REPLACE_EXISTING);
+			}
+		} finally {
+			Files.deleteIfExists(tempFile);
+		}
+	}
+
+	/**
+	 * Describes the configuration of an introspector affecting the introspections it creates, so that a store written with a different configuration can be
+	 * ignored. A property access policy that is not a {@link PropertyAccessStrategy} is identified only by its class.
+	 * @param introspector The introspector whose configuration to describe.
+	 * @return A description of the configuration of the introspector.
+	 */
+	static String describeConfiguration(@Nonnull final Introspector introspector) {
+		final PropertyAccessPolicy propertyAccessPolicy = introspector.getPropertyAccessPolicy();
+		return "generateBeanAccessors=" + introspector.isGenerateBeanAccessors() + ";checkPropertyValues=" + introspector.isCheckPropertyValues()
+				+ ";propertyAccessPolicy=" + (propertyAccessPolicy instanceof PropertyAccessStrategy ? ((PropertyAccessStrategy)propertyAccessPolicy).name()
+						: propertyAccessPolicy.getClass().getName());
+	}
+
+	/**
+	 * Computes a hash of the class files of a class and all its superclasses and superinterfaces, which changes if any of those classes changes. Classes loaded
+	 * by the bootstrap class loader are not included.
+	 * @param objectClass The class to hash.
+	 * @return The hash of the class files, or <code>null</code> if the class file of some class could not be found.
+	 * @throws IOException if there was an error reading a class file.
+	 */
+	static @Nullable byte[] hashClassFiles(@Nonnull final Class<?> objectClass) throws IOException {
+		final MessageDigest messageDigest;
+		try {
+			messageDigest = MessageDigest.getInstance(CLASS_HASH_ALGORITHM);
+		} catch(final NoSuchAlgorithmException noSuchAlgorithmException) {
+			throw new IllegalStateException(noSuchAlgorithmException); //every Java implementation is required to support SHA-256
+		}
+		final Set<Class<?>> visitedClasses = new HashSet<>();
+		final Deque<Class<?>> classes = new ArrayDeque<>();
+		classes.add(objectClass);
+		while(!classes.isEmpty()) {
+			final Class<?> type = classes.remove();
+			final ClassLoader classLoader = type.getClassLoader();
+			if(classLoader == null || !visitedClasses.add(type)) { //classes of the runtime are covered by the runtime version
+				continue;
+			}
+			try (final InputStream inputStream = classLoader.getResourceAsStream(type.getName().replace('.', '/') + ".class")) {
+				if(inputStream == null) {
+					return null;
+				}
+				messageDigest.update(type.getName().getBytes(UTF_8));
+				messageDigest.update(inputStream.readAllBytes());
+			}
+			if(type.getSuperclass() != null) {
+				classes.add(type.getSuperclass());
+			}
+			classes.addAll(Arrays.asList(type.getInterfaces()));
+		}
+		return messageDigest.digest();
+	}
+
+	//encoding
+
+	/**
+	 * Writes the description of the properties of an introspection.
+	 * @param output The output to which to write.
+	 * @param metadata The description of the properties.
+	 * @throws IOException if there was an error writing.
+	 * @throws IllegalArgumentException if the type of some property cannot be encoded.
+	 */
+	private static void writeMetadata(@Nonnull final DataOutput output, @Nonnull final IntrospectionMetadata metadata) throws IOException {
+		final List<PropertyMetadata> properties = metadata.getProperties();
+		output.writeInt(properties.size());
+		for(final PropertyMetadata property : properties) {
+			writeString(output, property.getName());
+			writeType(output, property.getType().getResolvedType());
+			output.writeBoolean(property.isValueTypeVerified());
+			writeMember(output, property.getReaderMember());
+			writeMember(output, property.getWriterMember());
+		}
+	}
+
+	/**
+	 * Reads the description of the properties of an introspection.
+	 * @param buffer The buffer from which to read.
+	 * @param classLoader The class loader with which to load referenced classes, or <code>null</code> for the bootstrap class loader.
+	 * @return The description of the properties.
+	 * @throws ClassNotFoundException if a referenced class could not be found.
+	 * @throws BufferUnderflowException if the data is truncated.
+	 * @throws IllegalArgumentException if the data is invalid.
+	 */
+	private static IntrospectionMetadata readMetadata(@Nonnull final ByteBuffer buffer, @Nullable final ClassLoader classLoader) throws ClassNotFoundException {
+		final int propertyCount = buffer.getInt();
+		final List<PropertyMetadata> properties = new ArrayList<>(propertyCount);
+		for(int propertyIndex = 0; propertyIndex < propertyCount; propertyIndex++) {
+			final String name = readString(buffer);
+			final TypeInfo<?> type = TypeInfo.forResolvedType(readType(buffer, classLoader));
+			final boolean valueTypeVerified = buffer.get() != 0;
+			final MemberMetadata readerMember = readMember(buffer, classLoader);
+			final MemberMetadata writerMember = readMember(buffer, classLoader);
+			properties.add(new PropertyMetadata(name, type, valueTypeVerified, readerMember, writerMember));
+		}
+		return new IntrospectionMetadata(properties);
+	}
+
+	/**
+	 * Writes a resolved type as its erased class and type parameters, recursively.
+	 * @param output The output to which to write.
+	 * @param type The type to write.
+	 * @throws IOException if there was an error writing.
+	 * @throws IllegalArgumentException if the type is self-referential and cannot be encoded.
+	 */
+	private static void writeType(@Nonnull final DataOutput output, @Nonnull final ResolvedType type) throws IOException {
+		if(type instanceof ResolvedRecursiveType) {
+			throw new IllegalArgumentException(String.format("Recursive type %s cannot be stored.", type));
+		}
+		if(type.isArray()) {
+			output.writeByte(TYPE_TAG_ARRAY);
+			writeType(output, type.getArrayElementType());
+			return;
+		}
+		output.writeByte(TYPE_TAG_CLASS);
+		writeString(output, type.getErasedType().getName());
+		final List<ResolvedType> typeParameters = type.getTypeParameters();
+		output.writeByte(typeParameters.size());
+		for(final ResolvedType typeParameter : typeParameters) {
+			writeType(output, typeParameter);
+		}
+	}
+
+	/**
+	 * Reads a resolved type.
+	 * @param buffer The buffer from which to read.
+	 * @param classLoader The class loader with which to load the classes, or <code>null</code> for the bootstrap class loader.
+	 * @return The resolved type.
+	 * @throws ClassNotFoundException if a class of the type could not be found.
+	 * @throws IllegalArgumentException if the data is invalid.
+	 */
+	private static ResolvedType readType(@Nonnull final ByteBuffer buffer, @Nullable final ClassLoader classLoader) throws ClassNotFoundException {
+		final byte tag = buffer.get();
+		switch(tag) {
+			case TYPE_TAG_ARRAY:
+				return TypeInfo.TYPE_RESOLVER.arrayType(readType(buffer, classLoader));
+			case TYPE_TAG_CLASS:
+				{
+					final Class<?> erasedClass = readClass(buffer, classLoader);
+					final Type[] typeParameters = new Type[buffer.get()];
+					for(int typeParameterIndex = 0; typeParameterIndex < typeParameters.length; typeParameterIndex++) {
+						typeParameters[typeParameterIndex] = readType(buffer, classLoader);
+					}
+					return TypeInfo.TYPE_RESOLVER.resolve(erasedClass, typeParameters);
+				}
+			default:
+				throw new IllegalArgumentException(String.format("Unknown type tag %d.", tag));
+		}
+	}
+
+	/**
+	 * Writes the description of a member backing a property.
+	 * @param output The output to which to write.
+	 * @param member The description of the member, or <code>null</code> if there is no member.
+	 * @throws IOException if there was an error writing.
+	 */
+	private static void writeMember(@Nonnull final DataOutput output, @Nullable final MemberMetadata member) throws IOException {
+		if(member == null) {
+			output.writeByte(NO_MEMBER);
+			return;
+		}
+		output.writeByte(member.getKind().ordinal());
+		writeString(output, member.getName());
+		writeString(output, member.getRawType().getName());
+		if(member.getKind() == MemberKind.FIELD) {
+			writeString(output, member.getDeclaringClass().getName());
+			output.writeByte(member.getFieldAccessMode().ordinal());
+		}
+	}
+
+	/**
+	 * Reads the description of a member backing a property.
+	 * @param buffer The buffer from which to read.
+	 * @param classLoader The class loader with which to load referenced classes, or <code>null</code> for the bootstrap class loader.
+	 * @return The description of the member, or <code>null</code> if there is no member.
+	 * @throws ClassNotFoundException if a referenced class could not be found.
+	 * @throws IllegalArgumentException if the data is invalid.
+	 */
+	private static @Nullable MemberMetadata readMember(@Nonnull final ByteBuffer buffer, @Nullable final ClassLoader classLoader) throws ClassNotFoundException {
+		final byte kindOrdinal = buffer.get();
+		if(kindOrdinal == NO_MEMBER) {
+			return null;
+		}
+		final MemberKind kind = MemberKind.values()[kindOrdinal];
+		final String name = readString(buffer);
+		final Class<?> rawType = readClass(buffer, classLoader);
+		if(kind == MemberKind.FIELD) {
+			final Class<?> declaringClass = readClass(buffer, classLoader);
+			return new MemberMetadata(kind, declaringClass, name, rawType, FieldAccessMode.values()[buffer.get()]);
+		}
+		return new MemberMetadata(kind, null, name, rawType, null);
+	}
+
+	/**
+	 * Reads the name of a class and loads the class without initializing it.
+	 * @param buffer The buffer from which to read.
+	 * @param classLoader The class loader with which to load the class, or <code>null</code> for the bootstrap class loader.
+	 * @return The class.
+	 * @throws ClassNotFoundException if the class could not be found.
+	 */
+	private static Class<?> readClass(@Nonnull final ByteBuffer buffer, @Nullable final ClassLoader classLoader) throws ClassNotFoundException {
+		final String className = readString(buffer);
+		final Class<?> primitiveClass = PRIMITIVE_CLASSES_BY_NAME.get(className);
+		return primitiveClass != null ? primitiveClass : Class.forName(className, false, classLoader);
+	}
+
+	/**
+	 * Writes a string as its length followed by its UTF-8 bytes.
+	 * @param output The output to which to write.
+	 * @param string The string to write.
+	 * @throws IOException if there was an error writing.
+	 */
+	private static void writeString(@Nonnull final DataOutput output, @Nonnull final String string) throws IOException {
+		final byte[] bytes = string.getBytes(UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	/**
+	 * Reads a string written as its length followed by its UTF-8 bytes.
+	 * @param buffer The buffer from which to read.
+	 * @return The string read.
+	 * @throws BufferUnderflowException if the string is truncated.
+	 * @throws IllegalArgumentException if the length is invalid.
+	 */
+	private static String readString(@Nonnull final ByteBuffer buffer) {
+		final int length = buffer.getInt();
+		if(length < 0 || length > buffer.remaining()) {
+			throw new IllegalArgumentException(String.format("Invalid string length %d.", length));
+		}
+		final byte[] bytes = new byte[length];
+		buffer.get(bytes);
+		return new String(bytes, UTF_8);
+	}
+
+}
@@ -16,6 +16,9 @@
 
 package io.ploop.introspect;
 
+import static java.util.Objects.*;
+
+import java.lang.reflect.Field;
 import java.util.*;
 
 import javax.annotation.*;
@@ -31,9 +34,27 @@
  */
 public class Introspector {
 
-	/** Singleton instance. */
-	public static final Introspector INSTANCE = new Introspector();
+	/**
+	 * The name of the system property which, when set to <code>true</code>, enables the generation of a {@link BeanAccessor} class for each introspected bean
+	 * type by the singleton {@link #INSTANCE}.
+	 * @see BeanAccessorGenerator
+	 */
+	public static final String GENERATE_BEAN_ACCESSORS_PROPERTY = "io.ploop.introspect.generateBeanAccessors";
+
+	/**
+	 * The system property which, if set to <code>true</code>, causes the singleton instance to check at runtime every value read from a property, even if the
+	 * type of the getter method or field has been verified during introspection to be compatible with the property type. This is intended for debugging.
+	 * @see #isCheckPropertyValues()
+	 */
+	public static final String CHECK_PROPERTY_VALUES_PROPERTY = "io.ploop.introspect.checkPropertyValues";
+
+	/**
+	 * Singleton instance, using the {@link PropertyAccessPolicy#DEFAULT} property access policy.
+	 */
+	public static final Introspector INSTANCE = new Introspector(Boolean.getBoolean(GENERATE_BEAN_ACCESSORS_PROPERTY), PropertyAccessPolicy.DEFAULT,
+			Boolean.getBoolean(CHECK_PROPERTY_VALUES_PROPERTY));
 
+	/** The shared member resolver, which may be used concurrently because its configuration is never changed after construction. */
 	private static final MemberResolver memberResolver = new MemberResolver(TypeInfo.TYPE_RESOLVER);
 
 	/** @return The thread-safe member resolver. */
@@ -41,68 +62,449 @@ protected MemberResolver getMemberResolver() {
 		return memberResolver;
 	}
 
-	/** This class cannot be publicly instantiated. */
-	private Introspector() {
+	private final boolean generateBeanAccessors;
+
+	/** @return Whether a bean accessor class is generated for each introspected type, if permitted, to access the properties. */
+	public boolean isGenerateBeanAccessors() {
+		return generateBeanAccessors;
+	}
+
+	private final PropertyAccessPolicy propertyAccessPolicy;
+
+	/** @return The policy determining whether the properties of each type are accessed through accessor methods or directly through fields. */
+	public PropertyAccessPolicy getPropertyAccessPolicy() {
+		return propertyAccessPolicy;
+	}
+
+	private final boolean checkPropertyValues;
+
+	/**
+	 * Indicates whether every value read from a property is checked at runtime against the property type. If not, only values read from members not verified
+	 * during introspection to produce values of the property type are checked.
+	 * @return Whether values read from all properties are checked.
+	 * @see #isPropertyValueTypeVerified(TypeInfo, Class)
+	 */
+	public boolean isCheckPropertyValues() {
+		return checkPropertyValues;
+	}
+
+	private final boolean describeMembers;
+
+	/**
+	 * Indicates whether introspections describe the members backing their properties so that they may be recorded in an {@link IntrospectionStore}. This is
+	 * not part of the configuration affecting how properties are discovered or accessed.
+	 * @return Whether the members backing the properties are described.
+	 * @see Introspection#getMetadata()
+	 * @see #withMemberDescriptions()
+	 */
+	boolean isDescribeMembers() {
+		return describeMembers;
+	}
+
+	/**
+	 * Constructor using the {@link PropertyAccessPolicy#DEFAULT} property access policy. This class cannot be publicly instantiated.
+	 * @param generateBeanAccessors Whether a bean accessor class should be generated for each introspected type, if permitted, to access the properties.
+	 */
+	Introspector(final boolean generateBeanAccessors) {
+		this(generateBeanAccessors, PropertyAccessPolicy.DEFAULT);
+	}
+
+	/**
+	 * Constructor. This class cannot be publicly instantiated.
+	 * @param generateBeanAccessors Whether a bean accessor class should be generated for each introspected type, if permitted, to access the properties.
+	 * @param propertyAccessPolicy The policy determining whether the properties of each type are accessed through accessor methods or directly through fields.
+	 */
+	Introspector(final boolean generateBeanAccessors, @Nonnull final PropertyAccessPolicy propertyAccessPolicy) {
+		this(generateBeanAccessors, propertyAccessPolicy, false);
+	}
+
+	/**
+	 * Constructor. This class cannot be publicly instantiated.
+	 * @param generateBeanAccessors Whether a bean accessor class should be generated for each introspected type, if permitted, to access the properties.
+	 * @param propertyAccessPolicy The policy determining whether the properties of each type are accessed through accessor methods or directly through fields.
+	 * @param checkPropertyValues Whether every value read from a property should be checked at runtime, even if verified during introspection.
+	 */
+	Introspector(final boolean generateBeanAccessors, @Nonnull final PropertyAccessPolicy propertyAccessPolicy, final boolean checkPropertyValues) {
+		this(generateBeanAccessors, propertyAccessPolicy, checkPropertyValues, false);
+	}
+
+	/**
+	 * Constructor.
+	 * @param generateBeanAccessors Whether a bean accessor class should be generated for each introspected type, if permitted, to access the properties.
+	 * @param propertyAccessPolicy The policy determining whether the properties of each type are accessed through accessor methods or directly through fields.
+	 * @param checkPropertyValues Whether every value read from a property should be checked at runtime, even if verified during introspection.
+	 * @param describeMembers Whether introspections should describe the members backing their properties so that they may be recorded.
+	 */
+	private Introspector(final boolean generateBeanAccessors, @Nonnull final PropertyAccessPolicy propertyAccessPolicy, final boolean checkPropertyValues,
+			final boolean describeMembers) {
+		this.generateBeanAccessors = generateBeanAccessors;
+		this.propertyAccessPolicy = requireNonNull(propertyAccessPolicy);
+		this.checkPropertyValues = checkPropertyValues;
+		this.describeMembers = describeMembers;
+	}
+
+	/**
+	 * Returns an introspector with the same configuration as this one, but which describes the members backing the properties of the introspections it creates
+	 * so that they may be recorded in an {@link IntrospectionStore}.
+	 * @return An introspector describing the members backing the properties, which may be this introspector.
+	 * @see #isDescribeMembers()
+	 */
+	Introspector withMemberDescriptions() {
+		return isDescribeMembers() ? this : new Introspector(isGenerateBeanAccessors(), getPropertyAccessPolicy(), isCheckPropertyValues(), true);
 	}
 
 	/**
 	 * Discovers properties of the given object type.
 	 * @param <T> The type of the object of object to be described.
 	 * @param objectType Information about type of object to be described.
-	 * @return The map of discovered properties, mapped to property name.
+	 * @return The map of discovered properties, mapped to property name, in order of property name.
+	 * @see #introspect(TypeInfo)
 	 */
 	public <T> Map<String, Property<T, ?>> discoverProperties(@Nonnull final TypeInfo<T> objectType) {
-		final Map<String, PropertyReader<T, ?>> propertyReaders = new HashMap<>();
-		//TODO add writers
+		final Map<String, Property<T, ?>> properties = new LinkedHashMap<>();
+		for(final Property<T, ?> property : introspect(objectType).getProperties()) {
+			properties.put(property.getName(), property);
+		}
+		return properties;
+	}
 
-		//get properties from methods
+	/**
+	 * Creates an introspection of the given object type by discovering its properties. The properties will be in order of property name.
+	 * <p>
+	 * The {@link #getPropertyAccessPolicy()} determines whether properties are discovered from accessor methods or from fields.
+	 * </p>
+	 * @param <T> The type of the object of object to be described.
+	 * @param objectType Information about type of object to be described.
+	 * @return A new introspection of the given object type.
+	 * @see #introspectAccessors(TypeInfo, ResolvedTypeWithMembers)
+	 * @see #introspectFields(TypeInfo, ResolvedTypeWithMembers)
+	 */
+	public <T> Introspection<T> introspect(@Nonnull final TypeInfo<T> objectType) {
+		final PropertyAccessStrategy accessStrategy = getPropertyAccessPolicy().getAccessStrategy(objectType);
 		final ResolvedTypeWithMembers resolvedTypeWithMembers = getMemberResolver().resolve(objectType.getResolvedType(), null, null);
-		for(final ResolvedMethod method : resolvedTypeWithMembers.getMemberMethods()) {
+		if(accessStrategy != PropertyAccessStrategy.FIELDS) {
+			final Introspection<T> introspection = introspectAccessors(objectType, resolvedTypeWithMembers);
+			if(accessStrategy == PropertyAccessStrategy.ACCESSORS || !introspection.getProperties().isEmpty()) {
+				return introspection;
+			}
+		}
+		return introspectFields(objectType, resolvedTypeWithMembers);
+	}
 
-			//see if the method is a getter candidate
-			if(method.getArgumentCount() == 0 && method.getReturnType() != null) {
+	/**
+	 * Creates an introspection of the given object type by discovering its properties from accessor methods. The properties will be in order of property name.
+	 * <p>
+	 * Properties are discovered from public getter and setter methods following JavaBeans naming conventions. If a property has both a getter and a setter, the
+	 * setter must accept the type the getter returns. A property with no getter must have a single setter.
+	 * </p>
+	 * <p>
+	 * If generation of bean accessors is enabled and permitted for the object type, the properties will read their values using a generated {@link BeanAccessor}
+	 * which will also be available from the introspection.
+	 * </p>
+	 * @param <T> The type of the object of object to be described.
+	 * @param objectType Information about type of object to be described.
+	 * @param resolvedTypeWithMembers The resolved members of the object type.
+	 * @return A new introspection of the given object type.
+	 * @see #isGenerateBeanAccessors()
+	 */
+	protected <T> Introspection<T> introspectAccessors(@Nonnull final TypeInfo<T> objectType, @Nonnull final ResolvedTypeWithMembers resolvedTypeWithMembers) {
+		final Map<String, ResolvedMethod> getterMethods = new HashMap<>();
+		final Map<String, List<ResolvedMethod>> setterMethods = new HashMap<>();
+		for(final ResolvedMethod method : resolvedTypeWithMembers.getMemberMethods()) {
+			//TODO use annotations do determine if non-public methods should be used
+			if(!method.isPublic()) {
+				continue;
+			}
+			//TODO use annotations do determine if there should be a different name
+			if(method.getArgumentCount() == 0 && method.getReturnType() != null) { //see if the method is a getter candidate
 				final String propertyName = JavaBeans.getGetterPropertyName(method.getName());
-				//TODO use annotations do determine if there should be a different name
-				//TODO use annotations do determine if non-public methods should be used
-				if(propertyName != null && method.isPublic()) {
-					final TypeInfo<?> propertyValueType = TypeInfo.forResolvedType(method.getReturnType());
-					propertyReaders.put(propertyName, new GetterMethodPropertyReader<>(propertyValueType, method));
+				if(propertyName != null) {
+					getterMethods.put(propertyName, method);
+				}
+			} else if(method.getArgumentCount() == 1 && method.getReturnType() == null) { //see if the method is a setter candidate
+				final String propertyName = JavaBeans.getSetterPropertyName(method.getName());
+				if(propertyName != null) {
+					setterMethods.computeIfAbsent(propertyName, name -> new ArrayList<>(1)).add(method);
+				}
+			}
+		}
+
+		final SortedSet<String> candidatePropertyNames = new TreeSet<>(getterMethods.keySet());
+		candidatePropertyNames.addAll(setterMethods.keySet());
+		final int candidatePropertyCount = candidatePropertyNames.size();
+		//determine the type and accessors of each property, in order of property name
+		final List<String> propertyNames = new ArrayList<>(candidatePropertyCount);
+		final List<TypeInfo<?>> propertyTypes = new ArrayList<>(candidatePropertyCount);
+		final List<ResolvedMethod> propertyGetterMethods = new ArrayList<>(candidatePropertyCount);
+		final List<ResolvedMethod> propertySetterMethods = new ArrayList<>(candidatePropertyCount);
+		for(final String propertyName : candidatePropertyNames) {
+			final ResolvedMethod getterMethod = getterMethods.get(propertyName);
+			final List<ResolvedMethod> setterMethodCandidates = setterMethods.getOrDefault(propertyName, Collections.emptyList());
+			ResolvedMethod setterMethod = null;
+			final TypeInfo<?> propertyType;
+			if(getterMethod != null) {
+				propertyType = TypeInfo.forResolvedType(getterMethod.getReturnType());
+				for(final ResolvedMethod setterMethodCandidate : setterMethodCandidates) { //find a setter accepting the same type the getter returns
+					if(TypeInfo.forResolvedType(setterMethodCandidate.getArgumentType(0)) == propertyType) {
+						setterMethod = setterMethodCandidate;
+						break;
+					}
 				}
 			} else {
-				//TODO check for setters
+				if(setterMethodCandidates.size() != 1) { //a write-only property with overloaded setters is ambiguous
+					continue;
+				}
+				setterMethod = setterMethodCandidates.get(0);
+				propertyType = TypeInfo.forResolvedType(setterMethod.getArgumentType(0));
 			}
+			propertyNames.add(propertyName);
+			propertyTypes.add(propertyType);
+			propertyGetterMethods.add(getterMethod);
+			propertySetterMethods.add(setterMethod);
 		}
-		//TODO get properties from fields
-
-		final Map<String, Property<T, ?>> properties = new HashMap<>();
-		//add readable properties
-		for(final Map.Entry<String, PropertyReader<T, ?>> propertyReaderEntry : propertyReaders.entrySet()) {
-			final String propertyName = propertyReaderEntry.getKey();
-			final PropertyReader<T, ?> propertyReader = propertyReaderEntry.getValue();
-			//TODO see if there is a writer
-			final TypeInfo<?> propertyType = propertyReader.getValueType();
-			properties.put(propertyName, createProperty(propertyName, propertyType, propertyReader));
+
+		final BeanAccessor<T> beanAccessor = isGenerateBeanAccessors() && !getterMethods.isEmpty() ? createBeanAccessor(objectType, propertyGetterMethods)
+				: null;
+		final int propertyCount = propertyNames.size();
+		final List<Property<T, ?>> properties = new ArrayList<>(propertyCount);
+		//the members are only described if requested and every property can be recreated by looking up its members directly
+		List<IntrospectionMetadata.PropertyMetadata> propertyMetadatas = isDescribeMembers() && beanAccessor == null ? new ArrayList<>(propertyCount) : null;
+		for(int propertyIndex = 0; propertyIndex < propertyCount; propertyIndex++) {
+			final String propertyName = propertyNames.get(propertyIndex);
+			final TypeInfo<?> propertyType = propertyTypes.get(propertyIndex);
+			final ResolvedMethod getterMethod = propertyGetterMethods.get(propertyIndex);
+			final ResolvedMethod setterMethod = propertySetterMethods.get(propertyIndex);
+			final PropertyReader<T, ?> propertyReader;
+			if(getterMethod == null) {
+				propertyReader = null;
+			} else if(beanAccessor != null) {
+				propertyReader = BeanAccessorPropertyReader.forIndex(propertyType, beanAccessor, propertyIndex,
+						isPropertyValueTypeVerified(propertyType, getterMethod.getRawMember().getReturnType()));
+			} else {
+				propertyReader = createGetterMethodPropertyReader(objectType, propertyType, getterMethod);
+			}
+			final PropertyWriter<T, ?> propertyWriter = setterMethod != null ? createSetterMethodPropertyWriter(objectType, propertyType, setterMethod) : null;
+			properties.add(createProperty(propertyName, propertyType, propertyReader, propertyWriter));
+			if(propertyMetadatas != null) {
+				if((propertyReader == null || propertyReader instanceof MethodHandlePropertyReader)
+						&& (propertyWriter == null || propertyWriter instanceof MethodHandlePropertyWriter)) {
+					propertyMetadatas.add(new IntrospectionMetadata.PropertyMetadata(propertyName, propertyType, isValueTypeVerified(propertyReader),
+							getterMethod != null ? IntrospectionMetadata.MemberMetadata.forGetterMethod(getterMethod.getRawMember()) : null,
+							setterMethod != null ? IntrospectionMetadata.MemberMetadata.forSetterMethod(setterMethod.getRawMember()) : null));
+				} else { //a property accessed via reflection cannot be recreated from a method handle lookup
+					propertyMetadatas = null;
+				}
+			}
+		}
+		return new Introspection<>(objectType, properties, beanAccessor, propertyMetadatas != null ? new IntrospectionMetadata(propertyMetadatas) : null);
+	}
+
+	/**
+	 * Creates an introspection of the given object type by discovering its properties from its non-<code>transient</code> instance fields, which will be
+	 * accessed directly in the mode determined by the {@link #getPropertyAccessPolicy()}. The properties will be in order of property name. A property for a
+	 * <code>final</code> field is not writable, and a field that cannot be accessed is not a property.
+	 * @param <T> The type of the object of object to be described.
+	 * @param objectType Information about type of object to be described.
+	 * @param resolvedTypeWithMembers The resolved members of the object type.
+	 * @return A new introspection of the given object type.
+	 * @see PropertyAccessPolicy#getFieldAccessMode(ResolvedField)
+	 */
+	protected <T> Introspection<T> introspectFields(@Nonnull final TypeInfo<T> objectType, @Nonnull final ResolvedTypeWithMembers resolvedTypeWithMembers) {
+		final SortedMap<String, ResolvedField> fields = new TreeMap<>();
+		for(final ResolvedField field : resolvedTypeWithMembers.getMemberFields()) {
+			final Field rawField = field.getRawMember();
+			if(field.isTransient() || rawField.isSynthetic()) {
+				continue;
+			}
+			//a field hidden by a field of the same name in a subclass is not a property
+			fields.merge(field.getName(), field, (field1, field2) -> field1.getRawMember().getDeclaringClass()
+					.isAssignableFrom(field2.getRawMember().getDeclaringClass()) ? field2 : field1);
+		}
+		final List<Property<T, ?>> properties = new ArrayList<>(fields.size());
+		List<IntrospectionMetadata.PropertyMetadata> propertyMetadatas = isDescribeMembers() ? new ArrayList<>(fields.size()) : null;
+		for(final ResolvedField field : fields.values()) {
+			final TypeInfo<?> propertyType = TypeInfo.forResolvedType(field.getType());
+			final FieldAccessMode fieldAccessMode = getPropertyAccessPolicy().getFieldAccessMode(field);
+			final PropertyReader<T, ?> propertyReader = createFieldPropertyReader(objectType, propertyType, field, fieldAccessMode);
+			if(propertyReader == null) {
+				continue;
+			}
+			final PropertyWriter<T, ?> propertyWriter = !field.isFinal() ? createFieldPropertyWriter(objectType, propertyType, field, fieldAccessMode) : null;
+			properties.add(createProperty(field.getName(), propertyType, propertyReader, propertyWriter));
+			if(propertyMetadatas != null) {
+				if(propertyReader instanceof VarHandlePropertyReader && (propertyWriter == null || propertyWriter instanceof VarHandlePropertyWriter)) {
+					final IntrospectionMetadata.MemberMetadata fieldMetadata = IntrospectionMetadata.MemberMetadata.forField(field.getRawMember(), fieldAccessMode);
+					propertyMetadatas.add(new IntrospectionMetadata.PropertyMetadata(field.getName(), propertyType, isValueTypeVerified(propertyReader), fieldMetadata,
+							propertyWriter != null ? fieldMetadata : null));
+				} else {
+					propertyMetadatas = null;
+				}
+			}
+		}
+		return new Introspection<>(objectType, properties, null, propertyMetadatas != null ? new IntrospectionMetadata(propertyMetadatas) : null);
+	}
+
+	/**
+	 * Determines whether a property reader was created with its value type verified.
+	 * @param propertyReader The property reader, which may be <code>null</code>.
+	 * @return <code>true</code> if the reader is known not to check the values it reads.
+	 * @see BasePropertyReader#isValueTypeVerified()
+	 */
+	private static boolean isValueTypeVerified(@Nullable final PropertyReader<?, ?> propertyReader) {
+		return propertyReader instanceof BasePropertyReader && ((BasePropertyReader<?, ?>)propertyReader).isValueTypeVerified();
+	}
+
+	/**
+	 * Factory for creating an accessor of all the readable properties of a bean type by generating a bean accessor class.
+	 * @param <T> The type of bean being accessed.
+	 * @param objectType Information about the type of bean to access.
+	 * @param getterMethods The getter methods of the bean, in the order of the indexes by which the accessor will access them, with <code>null</code> for any
+	 *          property that is not readable.
+	 * @return The new bean accessor, or <code>null</code> if a bean accessor class could not be generated for the type, for example if the type is not public or
+	 *         the environment does not permit class definition.
+	 * @see BeanAccessorGenerator
+	 */
+	protected @Nullable <T> BeanAccessor<T> createBeanAccessor(@Nonnull final TypeInfo<T> objectType, @Nonnull final List<ResolvedMethod> getterMethods) {
+		try {
+			return BeanAccessorGenerator.generate(objectType.getErasedType(), getterMethods);
+		} catch(final ReflectiveOperationException | RuntimeException | LinkageError exception) { //class generation may fail in unexpected ways
+			return null; //fall back to accessing each property separately
+		}
+	}
+
+	/**
+	 * Determines whether the values produced by a member such as a getter method or field have been proved to be instances of a property type, so that a reader
+	 * need not check them at runtime.
+	 * <p>
+	 * This implementation verifies that the property type is assignable from the raw type of the member as declared, unless {@link #isCheckPropertyValues()} is
+	 * enabled, in which case no member type is considered verified. The resolved member type cannot be used, as the property type is resolved from it; for a
+	 * getter returning a type variable, such as <code>T getItem()</code> of a <code>Page&lt;Customer&gt;</code>, the member actually produces any
+	 * {@link Object}, which must be checked.
+	 * </p>
+	 * @param propertyType The type of the property.
+	 * @param memberClass The raw type of value the member produces, such as the return type of a getter method.
+	 * @return <code>true</code> if values produced by the member need not be checked when read.
+	 * @see BasePropertyReader#isValueTypeVerified()
+	 */
+	protected boolean isPropertyValueTypeVerified(@Nonnull final TypeInfo<?> propertyType, @Nonnull final Class<?> memberClass) {
+		return !isCheckPropertyValues() && propertyType.isReflectionAssignableFrom(memberClass);
+	}
+
+	/**
+	 * Factory for creating a strategy for reading a property via a getter method.
+	 * <p>
+	 * This implementation binds the getter to a method handle if it is publicly accessible via the object class, falling back to a reader that invokes the
+	 * getter using reflection.
+	 * </p>
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param objectType Information about the type of object the property is for.
+	 * @param propertyType The type of the property.
+	 * @param getterMethod The method for getting the property value.
+	 * @return The new property reader.
+	 * @see MethodHandlePropertyReader
+	 * @see GetterMethodPropertyReader
+	 */
+	protected <T, V> PropertyReader<T, V> createGetterMethodPropertyReader(@Nonnull final TypeInfo<T> objectType, @Nonnull final TypeInfo<V> propertyType,
+			@Nonnull final ResolvedMethod getterMethod) {
+		final boolean valueTypeVerified = isPropertyValueTypeVerified(propertyType, getterMethod.getRawMember().getReturnType());
+		try {
+			return MethodHandlePropertyReader.forGetterMethod(objectType.getErasedType(), propertyType, getterMethod, valueTypeVerified);
+		} catch(final IllegalAccessException illegalAccessException) {
+			return new GetterMethodPropertyReader<>(propertyType, getterMethod, valueTypeVerified);
+		}
+	}
+
+	/**
+	 * Factory for creating a strategy for writing a property via a setter method.
+	 * <p>
+	 * This implementation binds the setter to a method handle if it is publicly accessible via the object class, falling back to a writer that invokes the
+	 * setter using reflection.
+	 * </p>
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param objectType Information about the type of object the property is for.
+	 * @param propertyType The type of the property.
+	 * @param setterMethod The method for setting the property value.
+	 * @return The new property writer.
+	 * @see MethodHandlePropertyWriter
+	 * @see SetterMethodPropertyWriter
+	 */
+	protected <T, V> PropertyWriter<T, V> createSetterMethodPropertyWriter(@Nonnull final TypeInfo<T> objectType, @Nonnull final TypeInfo<V> propertyType,
+			@Nonnull final ResolvedMethod setterMethod) {
+		try {
+			return MethodHandlePropertyWriter.forSetterMethod(objectType.getErasedType(), propertyType, setterMethod);
+		} catch(final IllegalAccessException illegalAccessException) {
+			return new SetterMethodPropertyWriter<>(propertyType, setterMethod);
+		}
+	}
+
+	/**
+	 * Factory for creating a strategy for reading a property directly from a field.
+	 * <p>
+	 * This implementation reads the field through a variable handle.
+	 * </p>
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param objectType Information about the type of object the property is for.
+	 * @param propertyType The type of the property.
+	 * @param field The field backing the property.
+	 * @param fieldAccessMode The mode with which to read the field.
+	 * @return The new property reader, or <code>null</code> if the field is not accessible.
+	 * @see VarHandlePropertyReader
+	 */
+	protected @Nullable <T, V> PropertyReader<T, V> createFieldPropertyReader(@Nonnull final TypeInfo<T> objectType, @Nonnull final TypeInfo<V> propertyType,
+			@Nonnull final ResolvedField field, @Nonnull final FieldAccessMode fieldAccessMode) {
+		try {
+			return VarHandlePropertyReader.forField(objectType.getErasedType(), propertyType, field, fieldAccessMode,
+					isPropertyValueTypeVerified(propertyType, field.getRawMember().getType()));
+		} catch(final IllegalAccessException illegalAccessException) {
+			return null;
+		}
+	}
+
+	/**
+	 * Factory for creating a strategy for writing a property directly to a non-<code>final</code> field.
+	 * <p>
+	 * This implementation writes the field through a variable handle.
+	 * </p>
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param objectType Information about the type of object the property is for.
+	 * @param propertyType The type of the property.
+	 * @param field The field backing the property.
+	 * @param fieldAccessMode The mode with which to write the field.
+	 * @return The new property writer, or <code>null</code> if the field is not accessible.
+	 * @see VarHandlePropertyWriter
+	 */
+	protected @Nullable <T, V> PropertyWriter<T, V> createFieldPropertyWriter(@Nonnull final TypeInfo<T> objectType, @Nonnull final TypeInfo<V> propertyType,
+			@Nonnull final ResolvedField field, @Nonnull final FieldAccessMode fieldAccessMode) {
+		try {
+			return VarHandlePropertyWriter.forField(objectType.getErasedType(), propertyType, field, fieldAccessMode);
+		} catch(final IllegalAccessException illegalAccessException) {
+			return null;
 		}
-		//TODO add write-only properties
-		return properties;
 	}
 
 	/**
 	 * Factory for creating a property.
+	 * <p>
+	 * For <code>int</code>, <code>long</code>, <code>double</code>, and <code>boolean</code> property types, this implementation creates a primitive
+	 * specialization such as {@link IntProperty}.
+	 * </p>
 	 * @param <T> The type of object this property is for.
 	 * @param <V> The type of value stored in the property.
 	 * @param propertyName The name of the property.
 	 * @param propertyType The type of the property.
-	 * @param propertyReader The strategy for retrieving the value of the property.
+	 * @param propertyReader The strategy for retrieving the value of the property, or <code>null</code> if the property is not readable.
+	 * @param propertyWriter The strategy for setting the value of the property, or <code>null</code> if the property is not writable.
 	 * @return The new property instance.
 	 */
 	protected <T, V> Property<T, V> createProperty(@Nonnull final String propertyName, @Nonnull final TypeInfo<V> propertyType,
-			@Nonnull final PropertyReader<T, ?> propertyReader /*TODO add writer*/) {
+			@Nullable final PropertyReader<T, ?> propertyReader, @Nullable final PropertyWriter<T, ?> propertyWriter) {
 		//TODO make sure the types are compatible
 		//TODO wrap the properties with converters as appropriate to ensure the types match
-		@SuppressWarnings("unchecked")
-		final ReaderWriterProperty<T, V> property = new ReaderWriterProperty<T, V>(propertyName, propertyType, (PropertyReader<T, V>)propertyReader);
-		return property;
+		return ReaderWriterProperty.create(propertyName, propertyType, propertyReader, propertyWriter);
 	}
 
 }
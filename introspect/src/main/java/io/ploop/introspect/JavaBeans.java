@@ -16,7 +16,11 @@
 
 package io.ploop.introspect;
 
-import java.util.regex.*;
+import static java.lang.Character.*;
+
+import java.util.regex.Pattern;
+
+import javax.annotation.*;
 
 /**
  * Definitions for JavaBeans property determination.
@@ -25,8 +29,12 @@
  * Much of this code evolved in the <code>com.globalmentor.java.Classes</code> class, which started as <code>com.garretwilson.lang.ClassUtilities</code>.
  * </p>
  * 
+ * <p>
+ * Method names are parsed by scanning for the prefix directly rather than by using regular expressions, and property names are decapitalized following the
+ * same rules as <code>java.beans.Introspector.decapitalize(String)</code> without depending on the <code>java.desktop</code> module.
+ * </p>
+ * 
  * @author Garret Wilson
- * @see java.beans.Introspector
  */
 public class JavaBeans {
 
@@ -42,13 +50,17 @@ public class JavaBeans {
 	/**
 	 * The pattern recognizing a getter method name: "get" or "is" followed by any other characters (assuming they are Java characters), with the prefix in
 	 * matching group 1 and the property name in matching group 2.
+	 * @deprecated Getter method names are no longer parsed using regular expressions; use {@link #getGetterPropertyName(String)} instead.
 	 */
+	@Deprecated
 	public static final Pattern GETTER_METHOD_NAME_PATTERN = Pattern.compile("(" + GET_GETTER_PREFIX + '|' + IS_GETTER_PREFIX + ")(.+)");
 
 	/**
 	 * The pattern recognizing a setter method name: "set" followed by any other characters (assuming they are Java characters), with the prefix in matching group
 	 * 1 and the property name in matching group 2.
+	 * @deprecated Setter method names are no longer parsed using regular expressions; use {@link #getSetterPropertyName(String)} instead.
 	 */
+	@Deprecated
 	public static final Pattern SETTER_METHOD_NAME_PATTERN = Pattern.compile("(" + SET_SETTER_PREFIX + ")(.+)");
 
 	//property names from methods
@@ -56,32 +68,81 @@ public class JavaBeans {
 	/**
 	 * Determines the property name of the given candidate getter method name.
 	 * <p>
-	 * This implementation converts the method name to a property name using {@link java.beans.Introspector#decapitalize(String)}, which follows JavaBeans rules
-	 * for properties. Thus a method such as <code>getURL()</code> would yield the property name <code>URL</code>.
+	 * This implementation converts the method name to a property name using {@link #decapitalize(String)}, which follows JavaBeans rules for properties. Thus a
+	 * method such as <code>getURL()</code> would yield the property name <code>URL</code>.
 	 * </p>
 	 * @param methodName The method name, such as <code>"getPropertyName"</code> or <code>"isPropertyName"</code>.
 	 * @return The property name in the form <code><var>propertyName</var></code>, or <code>null</code> if the name of the method is not in the form
 	 *         <code>"get<var>PropertyName</var>"</code> or <code>"is<var>PropertyName</var>"</code>.
-	 * @see java.beans.Introspector#decapitalize(String)
+	 * @see #decapitalize(String)
 	 */
-	public static String getGetterPropertyName(final String methodName) {
-		final Matcher matcher = GETTER_METHOD_NAME_PATTERN.matcher(methodName);
-		return matcher.matches() ? java.beans.Introspector.decapitalize(matcher.group(2)) : null;
+	public static String getGetterPropertyName(@Nonnull final String methodName) {
+		if(hasNamePrefix(methodName, GET_GETTER_PREFIX)) {
+			return decapitalize(methodName, GET_GETTER_PREFIX.length());
+		}
+		if(hasNamePrefix(methodName, IS_GETTER_PREFIX)) {
+			return decapitalize(methodName, IS_GETTER_PREFIX.length());
+		}
+		return null;
 	}
 
 	/**
 	 * Determines the property name of the given candidate setter method name.
 	 * <p>
-	 * This implementation converts the method name to a property name using {@link java.beans.Introspector#decapitalize(String)}, which follows JavaBeans rules
-	 * for properties. Thus a method such as <code>setURL()</code> would yield the property name <code>URL</code>.
+	 * This implementation converts the method name to a property name using {@link #decapitalize(String)}, which follows JavaBeans rules for properties. Thus a
+	 * method such as <code>setURL()</code> would yield the property name <code>URL</code>.
 	 * </p>
 	 * @param methodName The method name, such as <code>"setPropertyName"</code>.
 	 * @return The property name in the form <code><var>propertyName</var></code>, or <code>null</code> if the name of the method is not in the form
 	 *         <code>"set<var>PropertyName</var>"</code>.
+	 * @see #decapitalize(String)
+	 */
+	public static String getSetterPropertyName(@Nonnull final String methodName) {
+		return hasNamePrefix(methodName, SET_SETTER_PREFIX) ? decapitalize(methodName, SET_SETTER_PREFIX.length()) : null;
+	}
+
+	/**
+	 * Determines whether a method name starts with the given prefix and has at least one character following the prefix.
+	 * @param methodName The method name.
+	 * @param prefix The method name prefix.
+	 * @return <code>true</code> if the method name is the prefix followed by at least one other character.
+	 */
+	private static boolean hasNamePrefix(@Nonnull final String methodName, @Nonnull final String prefix) {
+		return methodName.length() > prefix.length() && methodName.startsWith(prefix);
+	}
+
+	/**
+	 * Converts a capitalized name to a property name following JavaBeans rules. Normally the first character is converted to lowercase, but if the first two
+	 * characters are both uppercase, the name is left unchanged, so that <code>"FooBar"</code> becomes <code>"fooBar"</code> but <code>"URL"</code> remains
+	 * <code>"URL"</code>.
+	 * <p>
+	 * This method has the same semantics as <code>java.beans.Introspector.decapitalize(String)</code>.
+	 * </p>
+	 * @param name The name to decapitalize.
+	 * @return The decapitalized name, which will be the given string instance if no change is necessary.
+	 */
+	public static String decapitalize(@Nullable final String name) {
+		return name == null || name.isEmpty() ? name : decapitalize(name, 0);
+	}
+
+	/**
+	 * Converts the capitalized part of a string starting at the given index to a property name following JavaBeans rules, creating at most one new string.
+	 * @param string The string containing the name.
+	 * @param beginIndex The index at which the name begins; there must be at least one character at or after this index.
+	 * @return The decapitalized name.
+	 * @see #decapitalize(String)
 	 */
-	public static String getSetterPropertyName(final String methodName) {
-		final Matcher matcher = SETTER_METHOD_NAME_PATTERN.matcher(methodName);
-		return matcher.matches() ? java.beans.Introspector.decapitalize(matcher.group(2)) : null;
+	private static String decapitalize(@Nonnull final String string, final int beginIndex) {
+		final int endIndex = string.length();
+		final char firstChar = string.charAt(beginIndex);
+		final char propertyFirstChar = toLowerCase(firstChar);
+		if(propertyFirstChar == firstChar || (endIndex - beginIndex > 1 && isUpperCase(string.charAt(beginIndex + 1)) && isUpperCase(firstChar))) {
+			return beginIndex == 0 ? string : string.substring(beginIndex); //no change needed to the first character
+		}
+		final char[] propertyNameChars = new char[endIndex - beginIndex];
+		propertyNameChars[0] = propertyFirstChar;
+		string.getChars(beginIndex + 1, endIndex, propertyNameChars, 1);
+		return new String(propertyNameChars);
 	}
 
 }
@@ -0,0 +1,488 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.lang.invoke.MethodType.*;
+import static java.util.Objects.*;
+import static io.ploop.reflect.Reflector.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+
+import javax.annotation.*;
+
+import com.fasterxml.classmate.members.ResolvedMethod;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A strategy for retrieving the value of an object property by invoking a method handle bound once when the property is discovered.
+ * <p>
+ * Unlike {@link GetterMethodPropertyReader}, reading a value does not require an argument array or an access check. Moreover if the method handle directly
+ * invokes a public method of a public class visible to this library, a small class invoking the method is spun using {@link LambdaMetafactory}, so that the
+ * reader calls the method with an ordinary interface call, which the JIT compiler can inline at a monomorphic call site just as it would a direct call of
+ * the getter. A method handle stored in an instance field is not treated as a constant by the JIT compiler and so could not be inlined. Other method
+ * handles, such as those for classes loaded by a class loader not visible to this library, are invoked using {@link MethodHandle#invokeExact(Object...)}.
+ * </p>
+ * <p>
+ * For method handles returning <code>int</code>, <code>long</code>, <code>double</code>, or <code>boolean</code>, the static factory methods return one of
+ * the primitive specializations such as {@link OfInt}, which can read values without boxing.
+ * </p>
+ * @param <T> The type of object this property is for.
+ * @param <V> The type of value stored in the property.
+ * @author Garret Wilson
+ */
+public class MethodHandlePropertyReader<T, V> extends BasePropertyReader<T, V> {
+
+	/** The type of the method handle used for reading the value: <code>(Object)Object</code>. */
+	protected static final MethodType READER_METHOD_TYPE = methodType(Object.class, Object.class);
+
+	/** The lookup used to spin reader classes, which are nestmates of this class. */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/** The name of the method of each of the bound reader interfaces. */
+	private static final String READ_METHOD_NAME = "read";
+
+	private final ObjectReader reader;
+
+	/**
+	 * Constructor.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param readerMethodHandle The method handle for retrieving the property value; it must accept the object and return the value, and will be adapted to
+	 *          {@link #READER_METHOD_TYPE}.
+	 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
+	 * @throws WrongMethodTypeException if the method handle cannot be adapted to the reader method type.
+	 */
+	public MethodHandlePropertyReader(@Nonnull final TypeInfo<V> valueType, @Nonnull final MethodHandle readerMethodHandle, final boolean valueTypeVerified) {
+		this(valueType, bindReader(ObjectReader.class, readerMethodHandle, Object.class), valueTypeVerified);
+	}
+
+	/**
+	 * Constructor.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param reader The bound reader for retrieving the property value.
+	 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
+	 */
+	private MethodHandlePropertyReader(@Nonnull final TypeInfo<V> valueType, @Nonnull final ObjectReader reader, final boolean valueTypeVerified) {
+		super(valueType, valueTypeVerified);
+		this.reader = requireNonNull(reader);
+	}
+
+	/**
+	 * Creates a reader that invokes a getter method via a method handle. The getter is looked up as a public method of the object class, so that a public getter
+	 * declared in a non-public superclass may still be accessed through a public object class.
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param objectClass The class of object the property is for.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param getterMethod The method to use for getting the property value.
+	 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
+	 * @return A new reader invoking the getter method via a method handle.
+	 * @throws IllegalAccessException if the getter method is not publicly accessible via the object class.
+	 */
+	public static <T, V> MethodHandlePropertyReader<T, V> forGetterMethod(@Nonnull final Class<T> objectClass, @Nonnull final TypeInfo<V> valueType,
+			@Nonnull final ResolvedMethod getterMethod, final boolean valueTypeVerified) throws IllegalAccessException {
+		return forMethodHandle(valueType, findGetterMethodHandle(objectClass, getterMethod), valueTypeVerified);
+	}
+
+	/**
+	 * Creates a reader that invokes a method handle, specialized for reading primitive values without boxing if the method handle returns an <code>int</code>,
+	 * <code>long</code>, <code>double</code>, or <code>boolean</code>.
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param readerMethodHandle The method handle for retrieving the property value; it must accept the object and return the value.
+	 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
+	 * @return A new reader invoking the method handle.
+	 * @throws WrongMethodTypeException if the method handle does not accept a single object argument and return a value.
+	 * @see OfInt
+	 * @see OfLong
+	 * @see OfDouble
+	 * @see OfBoolean
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, V> MethodHandlePropertyReader<T, V> forMethodHandle(@Nonnull final TypeInfo<V> valueType, @Nonnull final MethodHandle readerMethodHandle,
+			final boolean valueTypeVerified) {
+		final Class<?> returnType = readerMethodHandle.type().returnType();
+		if(returnType == int.class) {
+			return (MethodHandlePropertyReader<T, V>)new OfInt<T>((TypeInfo<Integer>)valueType, readerMethodHandle);
+		} else if(returnType == long.class) {
+			return (MethodHandlePropertyReader<T, V>)new OfLong<T>((TypeInfo<Long>)valueType, readerMethodHandle);
+		} else if(returnType == double.class) {
+			return (MethodHandlePropertyReader<T, V>)new OfDouble<T>((TypeInfo<Double>)valueType, readerMethodHandle);
+		} else if(returnType == boolean.class) {
+			return (MethodHandlePropertyReader<T, V>)new OfBoolean<T>((TypeInfo<Boolean>)valueType, readerMethodHandle);
+		}
+		return new MethodHandlePropertyReader<>(valueType, readerMethodHandle, valueTypeVerified);
+	}
+
+	/**
+	 * Looks up a public method handle for a getter method of an object class.
+	 * @param objectClass The class of object the property is for.
+	 * @param getterMethod The method to use for getting the property value.
+	 * @return A method handle for invoking the getter method on an instance of the object class.
+	 * @throws IllegalAccessException if the getter method is not publicly accessible via the object class.
+	 */
+	protected static MethodHandle findGetterMethodHandle(@Nonnull final Class<?> objectClass, @Nonnull final ResolvedMethod getterMethod)
+			throws IllegalAccessException {
+		final Class<?> returnClass = getterMethod.getRawMember().getReturnType();
+		try {
+			return MethodHandles.publicLookup().findVirtual(requireNonNull(objectClass), getterMethod.getName(), methodType(returnClass));
+		} catch(final NoSuchMethodException noSuchMethodException) { //the getter was discovered on the class, so it is only "missing" if it is inaccessible
+			throw (IllegalAccessException)new IllegalAccessException(noSuchMethodException.getMessage()).initCause(noSuchMethodException);
+		}
+	}
+
+	/**
+	 * Binds a method handle to an implementation of one of the reader interfaces.
+	 * <p>
+	 * If the method handle is a direct handle to a public method of a public class, and the types it uses are visible to the class loader of this library, an
+	 * implementation is spun using {@link LambdaMetafactory} that invokes the method directly. Otherwise the implementation invokes the method handle.
+	 * </p>
+	 * @param <R> The type of reader interface.
+	 * @param readerInterface The reader interface, one of {@link ObjectReader}, {@link IntReader}, {@link LongReader}, {@link DoubleReader}, or
+	 *          {@link BooleanReader}.
+	 * @param readerMethodHandle The method handle for retrieving the property value; it must accept the object and return the value.
+	 * @param readType The type returned by the reader interface method.
+	 * @return An implementation of the reader interface invoking the method handle.
+	 * @throws WrongMethodTypeException if the method handle cannot be adapted to accept an object and return the read type.
+	 */
+	static <R> R bindReader(@Nonnull final Class<R> readerInterface, @Nonnull final MethodHandle readerMethodHandle, @Nonnull final Class<?> readType) {
+		final MethodType readerMethodType = methodType(readType, Object.class);
+		final MethodHandle adaptedReaderMethodHandle = readerMethodHandle.asType(readerMethodType);
+		final MethodType methodType = readerMethodHandle.type();
+		final Class<?> returnType = methodType.returnType();
+		if(methodType.parameterCount() == 1 && (readType.isPrimitive() ? returnType == readType : !returnType.isPrimitive())) { //only bind exact primitive types
+			try {
+				final MethodHandleInfo methodHandleInfo = LOOKUP.revealDirect(readerMethodHandle);
+				final Class<?> declaringClass = methodHandleInfo.getDeclaringClass();
+				if((methodHandleInfo.getReferenceKind() == MethodHandleInfo.REF_invokeVirtual
+						|| methodHandleInfo.getReferenceKind() == MethodHandleInfo.REF_invokeInterface) && Modifier.isPublic(declaringClass.getModifiers())
+						&& isVisible(declaringClass) && isVisible(methodType.parameterType(0)) && isVisible(returnType)) {
+					final CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, READ_METHOD_NAME, methodType(readerInterface), readerMethodType,
+							readerMethodHandle, methodType);
+					return readerInterface.cast(callSite.getTarget().invoke());
+				}
+			} catch(final IllegalArgumentException | SecurityException | LambdaConversionException | LinkageError exception) {
+				//the method handle is not direct or cannot be bound; fall back to invoking it
+			} catch(final Throwable throwable) { //creating the reader instance does not invoke any method of the object
+				throw new AssertionError(throwable);
+			}
+		}
+		final Object reader;
+		if(readerInterface == IntReader.class) {
+			reader = (IntReader)object -> (int)adaptedReaderMethodHandle.invokeExact(object);
+		} else if(readerInterface == LongReader.class) {
+			reader = (LongReader)object -> (long)adaptedReaderMethodHandle.invokeExact(object);
+		} else if(readerInterface == DoubleReader.class) {
+			reader = (DoubleReader)object -> (double)adaptedReaderMethodHandle.invokeExact(object);
+		} else if(readerInterface == BooleanReader.class) {
+			reader = (BooleanReader)object -> (boolean)adaptedReaderMethodHandle.invokeExact(object);
+		} else {
+			reader = (ObjectReader)object -> (Object)adaptedReaderMethodHandle.invokeExact(object);
+		}
+		return readerInterface.cast(reader);
+	}
+
+	/**
+	 * Determines whether a class can be referred to by name from a class spun by this class, that is, whether it is the class found with that name by the class
+	 * loader of this class.
+	 * @param type The class to check.
+	 * @return <code>true</code> if the class is visible to the class loader of this class.
+	 */
+	static boolean isVisible(@Nonnull Class<?> type) {
+		while(type.isArray()) {
+			type = type.getComponentType();
+		}
+		if(type.isPrimitive() || type.getClassLoader() == null) { //bootstrap classes are visible to all class loaders
+			return true;
+		}
+		try {
+			return Class.forName(type.getName(), false, MethodHandlePropertyReader.class.getClassLoader()) == type;
+		} catch(final ClassNotFoundException | LinkageError error) {
+			return false;
+		}
+	}
+
+	@Override
+	public V getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		requireNonNull(object);
+		final Object value;
+		try {
+			value = reader.read(object);
+		} catch(final Throwable throwable) {
+			throw toInvocationTargetException(throwable);
+		}
+		return castValue(value);
+	}
+
+	/** A bound reader of an object value. */
+	@FunctionalInterface
+	interface ObjectReader {
+
+		/**
+		 * Reads the value from an object.
+		 * @param object The object from which to read the value.
+		 * @return The value read.
+		 * @throws Throwable if the underlying method throws anything.
+		 */
+		Object read(Object object) throws Throwable;
+
+	}
+
+	/** A bound reader of an <code>int</code> value. */
+	@FunctionalInterface
+	interface IntReader {
+
+		/**
+		 * Reads the value from an object.
+		 * @param object The object from which to read the value.
+		 * @return The value read.
+		 * @throws Throwable if the underlying method throws anything.
+		 */
+		int read(Object object) throws Throwable;
+
+	}
+
+	/** A bound reader of a <code>long</code> value. */
+	@FunctionalInterface
+	interface LongReader {
+
+		/**
+		 * Reads the value from an object.
+		 * @param object The object from which to read the value.
+		 * @return The value read.
+		 * @throws Throwable if the underlying method throws anything.
+		 */
+		long read(Object object) throws Throwable;
+
+	}
+
+	/** A bound reader of a <code>double</code> value. */
+	@FunctionalInterface
+	interface DoubleReader {
+
+		/**
+		 * Reads the value from an object.
+		 * @param object The object from which to read the value.
+		 * @return The value read.
+		 * @throws Throwable if the underlying method throws anything.
+		 */
+		double read(Object object) throws Throwable;
+
+	}
+
+	/** A bound reader of a <code>boolean</code> value. */
+	@FunctionalInterface
+	interface BooleanReader {
+
+		/**
+		 * Reads the value from an object.
+		 * @param object The object from which to read the value.
+		 * @return The value read.
+		 * @throws Throwable if the underlying method throws anything.
+		 */
+		boolean read(Object object) throws Throwable;
+
+	}
+
+	/**
+	 * A reader invoking a method handle returning <code>int</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfInt<T> extends MethodHandlePropertyReader<T, Integer> implements IntPropertyReader<T> {
+
+		private final IntReader intReader;
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param readerMethodHandle The method handle for retrieving the property value; it must accept the object and return a <code>int</code>.
+		 * @throws WrongMethodTypeException if the method handle cannot be adapted to accept an object and return a <code>int</code>.
+		 */
+		public OfInt(@Nonnull final TypeInfo<Integer> valueType, @Nonnull final MethodHandle readerMethodHandle) {
+			this(valueType, bindReader(IntReader.class, readerMethodHandle, int.class));
+		}
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param intReader The bound reader for retrieving the property value.
+		 */
+		private OfInt(@Nonnull final TypeInfo<Integer> valueType, @Nonnull final IntReader intReader) {
+			super(valueType, intReader::read, true); //primitive values are read without being cast
+			this.intReader = intReader;
+		}
+
+		@Override
+		public int getInt(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return intReader.read(object);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public Integer getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getInt(object);
+		}
+
+	}
+
+	/**
+	 * A reader invoking a method handle returning <code>long</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfLong<T> extends MethodHandlePropertyReader<T, Long> implements LongPropertyReader<T> {
+
+		private final LongReader longReader;
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param readerMethodHandle The method handle for retrieving the property value; it must accept the object and return a <code>long</code>.
+		 * @throws WrongMethodTypeException if the method handle cannot be adapted to accept an object and return a <code>long</code>.
+		 */
+		public OfLong(@Nonnull final TypeInfo<Long> valueType, @Nonnull final MethodHandle readerMethodHandle) {
+			this(valueType, bindReader(LongReader.class, readerMethodHandle, long.class));
+		}
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param longReader The bound reader for retrieving the property value.
+		 */
+		private OfLong(@Nonnull final TypeInfo<Long> valueType, @Nonnull final LongReader longReader) {
+			super(valueType, longReader::read, true); //primitive values are read without being cast
+			this.longReader = longReader;
+		}
+
+		@Override
+		public long getLong(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return longReader.read(object);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public Long getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getLong(object);
+		}
+
+	}
+
+	/**
+	 * A reader invoking a method handle returning <code>double</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfDouble<T> extends MethodHandlePropertyReader<T, Double> implements DoublePropertyReader<T> {
+
+		private final DoubleReader doubleReader;
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param readerMethodHandle The method handle for retrieving the property value; it must accept the object and return a <code>double</code>.
+		 * @throws WrongMethodTypeException if the method handle cannot be adapted to accept an object and return a <code>double</code>.
+		 */
+		public OfDouble(@Nonnull final TypeInfo<Double> valueType, @Nonnull final MethodHandle readerMethodHandle) {
+			this(valueType, bindReader(DoubleReader.class, readerMethodHandle, double.class));
+		}
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param doubleReader The bound reader for retrieving the property value.
+		 */
+		private OfDouble(@Nonnull final TypeInfo<Double> valueType, @Nonnull final DoubleReader doubleReader) {
+			super(valueType, doubleReader::read, true); //primitive values are read without being cast
+			this.doubleReader = doubleReader;
+		}
+
+		@Override
+		public double getDouble(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return doubleReader.read(object);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public Double getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getDouble(object);
+		}
+
+	}
+
+	/**
+	 * A reader invoking a method handle returning <code>boolean</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfBoolean<T> extends MethodHandlePropertyReader<T, Boolean> implements BooleanPropertyReader<T> {
+
+		private final BooleanReader booleanReader;
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param readerMethodHandle The method handle for retrieving the property value; it must accept the object and return a <code>boolean</code>.
+		 * @throws WrongMethodTypeException if the method handle cannot be adapted to accept an object and return a <code>boolean</code>.
+		 */
+		public OfBoolean(@Nonnull final TypeInfo<Boolean> valueType, @Nonnull final MethodHandle readerMethodHandle) {
+			this(valueType, bindReader(BooleanReader.class, readerMethodHandle, boolean.class));
+		}
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param booleanReader The bound reader for retrieving the property value.
+		 */
+		private OfBoolean(@Nonnull final TypeInfo<Boolean> valueType, @Nonnull final BooleanReader booleanReader) {
+			super(valueType, booleanReader::read, true); //primitive values are read without being cast
+			this.booleanReader = booleanReader;
+		}
+
+		@Override
+		public boolean getBoolean(final T object)
+				throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return booleanReader.read(object);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public Boolean getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getBoolean(object);
+		}
+
+	}
+
+}
@@ -0,0 +1,503 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.lang.invoke.MethodType.*;
+import static java.util.Objects.*;
+import static io.ploop.reflect.Reflector.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+
+import javax.annotation.*;
+
+import com.fasterxml.classmate.members.ResolvedMethod;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A strategy for setting the value of an object property by invoking a method handle bound once when the property is discovered.
+ * <p>
+ * Unlike {@link SetterMethodPropertyWriter}, writing a value does not require an argument array or an access check. As with
+ * {@link MethodHandlePropertyReader}, if the method handle directly invokes a public method of a public class visible to this library, a small class invoking
+ * the method is spun using {@link LambdaMetafactory}, so that the JIT compiler can inline the setter; other method handles are invoked using
+ * {@link MethodHandle#invokeExact(Object...)}.
+ * </p>
+ * <p>
+ * For method handles accepting an <code>int</code>, <code>long</code>, <code>double</code>, or <code>boolean</code> value, the static factory methods return
+ * one of the primitive specializations such as {@link OfInt}, which can write values without boxing.
+ * </p>
+ * @param <T> The type of object this property is for.
+ * @param <V> The type of value stored in the property.
+ * @author Garret Wilson
+ */
+public class MethodHandlePropertyWriter<T, V> extends BasePropertyValueInfo<V> implements PropertyWriter<T, V> {
+
+	/** The type of the method handle used for writing the value: <code>(Object, Object)void</code>. */
+	protected static final MethodType WRITER_METHOD_TYPE = methodType(void.class, Object.class, Object.class);
+
+	/** The lookup used to spin writer classes, which are nestmates of this class. */
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+	/** The name of the method of each of the bound writer interfaces. */
+	private static final String WRITE_METHOD_NAME = "write";
+
+	private final ObjectWriter writer;
+
+	/**
+	 * Constructor.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param writerMethodHandle The method handle for setting the property value; it must accept the object and the value, and will be adapted to
+	 *          {@link #WRITER_METHOD_TYPE}, discarding any return value.
+	 * @throws WrongMethodTypeException if the method handle cannot be adapted to the writer method type.
+	 */
+	public MethodHandlePropertyWriter(@Nonnull final TypeInfo<V> valueType, @Nonnull final MethodHandle writerMethodHandle) {
+		this(valueType, bindWriter(ObjectWriter.class, writerMethodHandle, Object.class));
+	}
+
+	/**
+	 * Constructor.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param writer The bound writer for setting the property value.
+	 */
+	private MethodHandlePropertyWriter(@Nonnull final TypeInfo<V> valueType, @Nonnull final ObjectWriter writer) {
+		super(valueType);
+		this.writer = requireNonNull(writer);
+	}
+
+	/**
+	 * Creates a writer that invokes a setter method via a method handle. The setter is looked up as a public method of the object class, so that a public setter
+	 * declared in a non-public superclass may still be accessed through a public object class.
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param objectClass The class of object the property is for.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param setterMethod The method to use for setting the property value.
+	 * @return A new writer invoking the setter method via a method handle.
+	 * @throws IllegalAccessException if the setter method is not publicly accessible via the object class.
+	 */
+	public static <T, V> MethodHandlePropertyWriter<T, V> forSetterMethod(@Nonnull final Class<T> objectClass, @Nonnull final TypeInfo<V> valueType,
+			@Nonnull final ResolvedMethod setterMethod) throws IllegalAccessException {
+		return forMethodHandle(valueType, findSetterMethodHandle(objectClass, setterMethod));
+	}
+
+	/**
+	 * Looks up a public method handle for a setter method of an object class.
+	 * @param objectClass The class of object the property is for.
+	 * @param setterMethod The method to use for setting the property value.
+	 * @return A method handle for invoking the setter method on an instance of the object class.
+	 * @throws IllegalAccessException if the setter method is not publicly accessible via the object class.
+	 */
+	protected static MethodHandle findSetterMethodHandle(@Nonnull final Class<?> objectClass, @Nonnull final ResolvedMethod setterMethod)
+			throws IllegalAccessException {
+		final Method rawSetterMethod = setterMethod.getRawMember();
+		try {
+			return MethodHandles.publicLookup().findVirtual(requireNonNull(objectClass), setterMethod.getName(),
+					methodType(rawSetterMethod.getReturnType(), rawSetterMethod.getParameterTypes()));
+		} catch(final NoSuchMethodException noSuchMethodException) { //the setter was discovered on the class, so it is only "missing" if it is inaccessible
+			throw (IllegalAccessException)new IllegalAccessException(noSuchMethodException.getMessage()).initCause(noSuchMethodException);
+		}
+	}
+
+	/**
+	 * Creates a writer that invokes a method handle, specialized for writing primitive values without boxing if the method handle accepts an <code>int</code>,
+	 * <code>long</code>, <code>double</code>, or <code>boolean</code> value.
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param writerMethodHandle The method handle for setting the property value; it must accept the object and the value.
+	 * @return A new writer invoking the method handle.
+	 * @throws WrongMethodTypeException if the method handle does not accept an object and a value.
+	 * @see OfInt
+	 * @see OfLong
+	 * @see OfDouble
+	 * @see OfBoolean
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, V> MethodHandlePropertyWriter<T, V> forMethodHandle(@Nonnull final TypeInfo<V> valueType, @Nonnull final MethodHandle writerMethodHandle) {
+		final MethodType writerMethodType = writerMethodHandle.type();
+		if(writerMethodType.parameterCount() != 2) {
+			throw new WrongMethodTypeException("Writer method handle must accept an object and a value: " + writerMethodType);
+		}
+		final Class<?> parameterType = writerMethodType.parameterType(1);
+		if(parameterType == int.class) {
+			return (MethodHandlePropertyWriter<T, V>)new OfInt<T>((TypeInfo<Integer>)valueType, writerMethodHandle);
+		} else if(parameterType == long.class) {
+			return (MethodHandlePropertyWriter<T, V>)new OfLong<T>((TypeInfo<Long>)valueType, writerMethodHandle);
+		} else if(parameterType == double.class) {
+			return (MethodHandlePropertyWriter<T, V>)new OfDouble<T>((TypeInfo<Double>)valueType, writerMethodHandle);
+		} else if(parameterType == boolean.class) {
+			return (MethodHandlePropertyWriter<T, V>)new OfBoolean<T>((TypeInfo<Boolean>)valueType, writerMethodHandle);
+		}
+		return new MethodHandlePropertyWriter<>(valueType, writerMethodHandle);
+	}
+
+	/**
+	 * Binds a method handle to an implementation of one of the writer interfaces, in the same way as
+	 * {@link MethodHandlePropertyReader#bindReader(Class, MethodHandle, Class)}. Any value returned by the method handle is discarded.
+	 * @param <W> The type of writer interface.
+	 * @param writerInterface The writer interface, one of {@link ObjectWriter}, {@link IntWriter}, {@link LongWriter}, {@link DoubleWriter}, or
+	 *          {@link BooleanWriter}.
+	 * @param writerMethodHandle The method handle for setting the property value; it must accept the object and the value.
+	 * @param writeType The type of value accepted by the writer interface method.
+	 * @return An implementation of the writer interface invoking the method handle.
+	 * @throws WrongMethodTypeException if the method handle cannot be adapted to accept an object and a value of the write type.
+	 */
+	static <W> W bindWriter(@Nonnull final Class<W> writerInterface, @Nonnull final MethodHandle writerMethodHandle, @Nonnull final Class<?> writeType) {
+		final MethodType writerMethodType = methodType(void.class, Object.class, writeType);
+		final MethodHandle adaptedWriterMethodHandle = writerMethodHandle.asType(writerMethodType);
+		final MethodType methodType = writerMethodHandle.type();
+		final Class<?> parameterType = methodType.parameterType(1);
+		if(writeType.isPrimitive() ? parameterType == writeType : !parameterType.isPrimitive()) { //only bind exact primitive types
+			try {
+				final MethodHandleInfo methodHandleInfo = LOOKUP.revealDirect(writerMethodHandle);
+				final Class<?> declaringClass = methodHandleInfo.getDeclaringClass();
+				if((methodHandleInfo.getReferenceKind() == MethodHandleInfo.REF_invokeVirtual
+						|| methodHandleInfo.getReferenceKind() == MethodHandleInfo.REF_invokeInterface) && Modifier.isPublic(declaringClass.getModifiers())
+						&& MethodHandlePropertyReader.isVisible(declaringClass) && MethodHandlePropertyReader.isVisible(methodType.parameterType(0))
+						&& MethodHandlePropertyReader.isVisible(parameterType) && MethodHandlePropertyReader.isVisible(methodType.returnType())) {
+					final CallSite callSite = LambdaMetafactory.metafactory(LOOKUP, WRITE_METHOD_NAME, methodType(writerInterface), writerMethodType,
+							writerMethodHandle, methodType.changeReturnType(void.class));
+					return writerInterface.cast(callSite.getTarget().invoke());
+				}
+			} catch(final IllegalArgumentException | SecurityException | LambdaConversionException | LinkageError exception) {
+				//the method handle is not direct or cannot be bound; fall back to invoking it
+			} catch(final Throwable throwable) { //creating the writer instance does not invoke any method of the object
+				throw new AssertionError(throwable);
+			}
+		}
+		final Object writer; //each invocation is a statement rather than a lambda expression, so that the call site type returns void
+		if(writerInterface == IntWriter.class) {
+			writer = (IntWriter)(object, value) -> {
+				adaptedWriterMethodHandle.invokeExact(object, value);
+			};
+		} else if(writerInterface == LongWriter.class) {
+			writer = (LongWriter)(object, value) -> {
+				adaptedWriterMethodHandle.invokeExact(object, value);
+			};
+		} else if(writerInterface == DoubleWriter.class) {
+			writer = (DoubleWriter)(object, value) -> {
+				adaptedWriterMethodHandle.invokeExact(object, value);
+			};
+		} else if(writerInterface == BooleanWriter.class) {
+			writer = (BooleanWriter)(object, value) -> {
+				adaptedWriterMethodHandle.invokeExact(object, value);
+			};
+		} else {
+			writer = (ObjectWriter)(object, value) -> {
+				adaptedWriterMethodHandle.invokeExact(object, value);
+			};
+		}
+		return writerInterface.cast(writer);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation verifies that the value is an instance of the erased value type, or <code>null</code> for a non-primitive value type, before invoking
+	 * the method handle, so that an inappropriate value results in an {@link IllegalArgumentException} just as it would using reflection.
+	 * </p>
+	 */
+	@Override
+	public void setValue(final T object, final V value)
+			throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		requireNonNull(object);
+		if(value == null ? getValueType().getErasedType().isPrimitive() : !getValueType().isReflectionInstance(value)) {
+			throw new IllegalArgumentException(String.format("Value %s is not appropriate for property type %s.", value, getValueType()));
+		}
+		try {
+			writer.write(object, value);
+		} catch(final Throwable throwable) {
+			throw toInvocationTargetException(throwable);
+		}
+	}
+
+	/** A bound writer of an object value. */
+	@FunctionalInterface
+	interface ObjectWriter {
+
+		/**
+		 * Writes the value to an object.
+		 * @param object The object to which to write the value.
+		 * @param value The value to write.
+		 * @throws Throwable if the underlying method throws anything.
+		 */
+		void write(Object object, Object value) throws Throwable;
+
+	}
+
+	/** A bound writer of an <code>int</code> value. */
+	@FunctionalInterface
+	interface IntWriter {
+
+		/**
+		 * Writes the value to an object.
+		 * @param object The object to which to write the value.
+		 * @param value The value to write.
+		 * @throws Throwable if the underlying method throws anything.
+		 */
+		void write(Object object, int value) throws Throwable;
+
+	}
+
+	/**
+	 * A writer invoking a method handle accepting a <code>int</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfInt<T> extends MethodHandlePropertyWriter<T, Integer> implements IntPropertyWriter<T> {
+
+		private final IntWriter intWriter;
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param writerMethodHandle The method handle for setting the property value; it must accept the object and a <code>int</code> value.
+		 * @throws WrongMethodTypeException if the method handle cannot be adapted to accept an object and a <code>int</code>.
+		 */
+		public OfInt(@Nonnull final TypeInfo<Integer> valueType, @Nonnull final MethodHandle writerMethodHandle) {
+			this(valueType, bindWriter(IntWriter.class, writerMethodHandle, int.class));
+		}
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param intWriter The bound writer for setting the property value.
+		 */
+		private OfInt(@Nonnull final TypeInfo<Integer> valueType, @Nonnull final IntWriter intWriter) {
+			super(valueType, (object, value) -> intWriter.write(object, (Integer)value));
+			this.intWriter = intWriter;
+		}
+
+		@Override
+		public void setInt(final T object, final int value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				intWriter.write(object, value);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Integer value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setInt(object, value);
+		}
+
+	}
+
+	/** A bound writer of a <code>long</code> value. */
+	@FunctionalInterface
+	interface LongWriter {
+
+		/**
+		 * Writes the value to an object.
+		 * @param object The object to which to write the value.
+		 * @param value The value to write.
+		 * @throws Throwable if the underlying method throws anything.
+		 */
+		void write(Object object, long value) throws Throwable;
+
+	}
+
+	/**
+	 * A writer invoking a method handle accepting a <code>long</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfLong<T> extends MethodHandlePropertyWriter<T, Long> implements LongPropertyWriter<T> {
+
+		private final LongWriter longWriter;
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param writerMethodHandle The method handle for setting the property value; it must accept the object and a <code>long</code> value.
+		 * @throws WrongMethodTypeException if the method handle cannot be adapted to accept an object and a <code>long</code>.
+		 */
+		public OfLong(@Nonnull final TypeInfo<Long> valueType, @Nonnull final MethodHandle writerMethodHandle) {
+			this(valueType, bindWriter(LongWriter.class, writerMethodHandle, long.class));
+		}
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param longWriter The bound writer for setting the property value.
+		 */
+		private OfLong(@Nonnull final TypeInfo<Long> valueType, @Nonnull final LongWriter longWriter) {
+			super(valueType, (object, value) -> longWriter.write(object, (Long)value));
+			this.longWriter = longWriter;
+		}
+
+		@Override
+		public void setLong(final T object, final long value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				longWriter.write(object, value);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Long value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setLong(object, value);
+		}
+
+	}
+
+	/** A bound writer of a <code>double</code> value. */
+	@FunctionalInterface
+	interface DoubleWriter {
+
+		/**
+		 * Writes the value to an object.
+		 * @param object The object to which to write the value.
+		 * @param value The value to write.
+		 * @throws Throwable if the underlying method throws anything.
+		 */
+		void write(Object object, double value) throws Throwable;
+
+	}
+
+	/**
+	 * A writer invoking a method handle accepting a <code>double</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfDouble<T> extends MethodHandlePropertyWriter<T, Double> implements DoublePropertyWriter<T> {
+
+		private final DoubleWriter doubleWriter;
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param writerMethodHandle The method handle for setting the property value; it must accept the object and a <code>double</code> value.
+		 * @throws WrongMethodTypeException if the method handle cannot be adapted to accept an object and a <code>double</code>.
+		 */
+		public OfDouble(@Nonnull final TypeInfo<Double> valueType, @Nonnull final MethodHandle writerMethodHandle) {
+			this(valueType, bindWriter(DoubleWriter.class, writerMethodHandle, double.class));
+		}
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param doubleWriter The bound writer for setting the property value.
+		 */
+		private OfDouble(@Nonnull final TypeInfo<Double> valueType, @Nonnull final DoubleWriter doubleWriter) {
+			super(valueType, (object, value) -> doubleWriter.write(object, (Double)value));
+			this.doubleWriter = doubleWriter;
+		}
+
+		@Override
+		public void setDouble(final T object, final double value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				doubleWriter.write(object, value);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Double value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setDouble(object, value);
+		}
+
+	}
+
+	/** A bound writer of a <code>boolean</code> value. */
+	@FunctionalInterface
+	interface BooleanWriter {
+
+		/**
+		 * Writes the value to an object.
+		 * @param object The object to which to write the value.
+		 * @param value The value to write.
+		 * @throws Throwable if the underlying method throws anything.
+		 */
+		void write(Object object, boolean value) throws Throwable;
+
+	}
+
+	/**
+	 * A writer invoking a method handle accepting a <code>boolean</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfBoolean<T> extends MethodHandlePropertyWriter<T, Boolean> implements BooleanPropertyWriter<T> {
+
+		private final BooleanWriter booleanWriter;
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param writerMethodHandle The method handle for setting the property value; it must accept the object and a <code>boolean</code> value.
+		 * @throws WrongMethodTypeException if the method handle cannot be adapted to accept an object and a <code>boolean</code>.
+		 */
+		public OfBoolean(@Nonnull final TypeInfo<Boolean> valueType, @Nonnull final MethodHandle writerMethodHandle) {
+			this(valueType, bindWriter(BooleanWriter.class, writerMethodHandle, boolean.class));
+		}
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param booleanWriter The bound writer for setting the property value.
+		 */
+		private OfBoolean(@Nonnull final TypeInfo<Boolean> valueType, @Nonnull final BooleanWriter booleanWriter) {
+			super(valueType, (object, value) -> booleanWriter.write(object, (Boolean)value));
+			this.booleanWriter = booleanWriter;
+		}
+
+		@Override
+		public void setBoolean(final T object, final boolean value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				booleanWriter.write(object, value);
+			} catch(final Throwable throwable) {
+				throw toInvocationTargetException(throwable);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Boolean value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setBoolean(object, value);
+		}
+
+	}
+
+}
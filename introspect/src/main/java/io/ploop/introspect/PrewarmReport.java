@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Collections.*;
+import static java.util.Objects.*;
+
+import java.time.Duration;
+import java.util.*;
+
+import javax.annotation.*;
+
+/**
+ * The outcome of prewarming the introspection cache, with the time taken for each class, any failures, and any classes skipped.
+ * @author Garret Wilson
+ * @see IntrospectionCache#prewarm(Collection, java.util.concurrent.Executor)
+ */
+public final class PrewarmReport {
+
+	private final Map<String, Duration> durations;
+
+	/**
+	 * Returns the time taken to introspect each class, including classes that could not be introspected but not classes that were skipped. A class that was
+	 * already cached will show little or no time.
+	 * @return The durations of introspection, keyed to the binary name of each class, in order of class name.
+	 */
+	public Map<String, Duration> getDurations() {
+		return durations;
+	}
+
+	private final Map<String, Throwable> failures;
+
+	/** @return The error preventing each class from being loaded or introspected, keyed to the binary name of the class, in order of class name. */
+	public Map<String, Throwable> getFailures() {
+		return failures;
+	}
+
+	private final Set<String> skipped;
+
+	/**
+	 * Returns the classes that were loaded but skipped because they should not be introspected, such as annotation types when prewarming a package.
+	 * @return The binary names of the skipped classes, in order of class name.
+	 */
+	public Set<String> getSkipped() {
+		return skipped;
+	}
+
+	private final Duration elapsedTime;
+
+	/** @return The total time from the start of prewarming until all classes had been processed. */
+	public Duration getElapsedTime() {
+		return elapsedTime;
+	}
+
+	/**
+	 * Constructor. This class cannot be publicly instantiated; reports are created by {@link IntrospectionCache}.
+	 * @param durations The time taken to introspect each class, keyed to the binary name of each class.
+	 * @param failures The error preventing each failed class from being loaded or introspected, keyed to the binary name of the class.
+	 * @param skipped The binary names of the classes that were skipped.
+	 * @param elapsedTime The total time from the start of prewarming until all classes had been processed.
+	 */
+	PrewarmReport(@Nonnull final Map<String, Duration> durations, @Nonnull final Map<String, Throwable> failures, @Nonnull final Set<String> skipped,
+			@Nonnull final Duration elapsedTime) {
+		this.durations = unmodifiableSortedMap(new TreeMap<>(durations));
+		this.failures = unmodifiableSortedMap(new TreeMap<>(failures));
+		this.skipped = unmodifiableSortedSet(new TreeSet<>(skipped));
+		this.elapsedTime = requireNonNull(elapsedTime);
+	}
+
+	/** @return The number of classes processed, whether they were introspected, could not be introspected, or were skipped. */
+	public int getClassCount() {
+		return durations.size() + skipped.size();
+	}
+
+	/** @return <code>true</code> if all the classes were introspected without failure. */
+	public boolean isSuccessful() {
+		return failures.isEmpty();
+	}
+
+	/**
+	 * Determines the class that took the longest to introspect.
+	 * @return The binary name of the slowest class, if any classes were processed.
+	 */
+	public Optional<String> findSlowestClassName() {
+		return durations.entrySet().stream().max(Map.Entry.comparingByValue()).map(Map.Entry::getKey);
+	}
+
+	@Override
+	public String toString() {
+		return String.format("%d classes prewarmed in %d ms with %d failures and %d skipped", getClassCount(), elapsedTime.toMillis(), failures.size(),
+				skipped.size());
+	}
+
+}
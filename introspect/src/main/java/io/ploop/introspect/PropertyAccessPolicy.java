@@ -0,0 +1,61 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import javax.annotation.*;
+
+import com.fasterxml.classmate.members.ResolvedField;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A policy determining for each introspected type whether properties are accessed through accessor methods or directly through fields.
+ * <p>
+ * Each {@link PropertyAccessStrategy} is itself a policy applying that strategy to every type.
+ * </p>
+ * @author Garret Wilson
+ * @see Introspector
+ */
+public interface PropertyAccessPolicy {
+
+	/**
+	 * The default policy, which uses accessor methods for types that have them and fields for types that have none, accessing each field in the mode indicated
+	 * by its declaration.
+	 * @see PropertyAccessStrategy#PREFER_ACCESSORS
+	 */
+	public static final PropertyAccessPolicy DEFAULT = PropertyAccessStrategy.PREFER_ACCESSORS;
+
+	/**
+	 * Determines how the properties of an object type should be accessed.
+	 * @param objectType Information about the type of object being introspected.
+	 * @return The strategy for accessing the properties of the object type.
+	 */
+	public PropertyAccessStrategy getAccessStrategy(@Nonnull final TypeInfo<?> objectType);
+
+	/**
+	 * Determines the mode with which a property backed directly by a field accesses the field.
+	 * <p>
+	 * This default implementation uses {@link FieldAccessMode#VOLATILE} for fields declared <code>volatile</code>, and {@link FieldAccessMode#PLAIN} otherwise.
+	 * </p>
+	 * @param field The field backing the property.
+	 * @return The mode for reading and writing the field.
+	 */
+	public default FieldAccessMode getFieldAccessMode(@Nonnull final ResolvedField field) {
+		return field.isVolatile() ? FieldAccessMode.VOLATILE : FieldAccessMode.PLAIN;
+	}
+
+}
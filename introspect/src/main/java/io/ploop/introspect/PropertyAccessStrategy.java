@@ -0,0 +1,51 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * The source from which the properties of a type are discovered and through which they are accessed.
+ * <p>
+ * Properties backed by fields are discovered from the non-<code>transient</code> instance fields of the type and its supertypes. A <code>final</code> field
+ * results in a read-only property.
+ * </p>
+ * @author Garret Wilson
+ */
+public enum PropertyAccessStrategy implements PropertyAccessPolicy {
+
+	/** Properties are discovered from getter and setter methods following JavaBeans naming conventions. */
+	ACCESSORS,
+
+	/** Properties are discovered from instance fields, which are accessed directly. */
+	FIELDS,
+
+	/** Properties are discovered from accessor methods, or from instance fields if the type has no properties with accessor methods. */
+	PREFER_ACCESSORS;
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation returns this strategy for all types.
+	 * </p>
+	 */
+	@Override
+	public PropertyAccessStrategy getAccessStrategy(final TypeInfo<?> objectType) {
+		return this;
+	}
+
+}
@@ -0,0 +1,639 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+
+import java.lang.reflect.*;
+import java.util.*;
+
+import javax.annotation.*;
+
+/**
+ * Value equality, hashing, and ordering of objects based on the values of their readable properties.
+ * <p>
+ * The properties considered are either all the readable properties of an introspection, in order of property ordinal, or a given subset in a given order.
+ * Values of <code>int</code>, <code>long</code>, <code>double</code>, and <code>boolean</code> properties with primitive specializations such as
+ * {@link IntProperty} are compared and hashed without boxing. Reference values are compared with {@link Object#equals(Object)}; arrays are compared by
+ * content. <code>double</code> values are compared as by {@link Double#compare(double, double)}, so that <code>NaN</code> is equal to itself.
+ * </p>
+ * <p>
+ * Besides the conventional {@link #hash(Object)}, a {@link #hash64(Object) 64-bit hash} is available which does not depend on the Java runtime or on
+ * identity hash codes for the primitive types and their wrappers, strings, enums, and arrays of these, making it suitable for sharding and persistent keys.
+ * </p>
+ * <p>
+ * Objects may be ordered by comparing their property values in turn if the value type of every property considered is primitive, {@link Comparable}, or an
+ * array of primitives; <code>null</code> values are ordered first.
+ * </p>
+ * <p>
+ * An equivalence is thread-safe.
+ * </p>
+ * @param <T> The type of object compared.
+ * @author Garret Wilson
+ */
+public final class PropertyEquivalence<T> {
+
+	/** The hash of a <code>null</code> value. */
+	private static final long NULL_HASH64 = 0x6E756C6C6E756C6CL;
+
+	/** The multiplier for combining 64-bit hashes. */
+	private static final long HASH64_MULTIPLIER = 0x9E3779B97F4A7C15L;
+
+	private final Introspection<T> introspection;
+
+	/** @return The introspection of the type of object compared. */
+	public Introspection<T> getIntrospection() {
+		return introspection;
+	}
+
+	/** The elements of comparison, one for each property considered, in order. */
+	private final Element<T>[] elements;
+
+	private final boolean ordered;
+
+	/**
+	 * Indicates whether objects may be ordered using {@link #compare(Object, Object)}. Objects may be ordered if the value type of every property considered is
+	 * primitive, {@link Comparable}, or an array of primitives.
+	 * @return <code>true</code> if the equivalence supports ordering.
+	 */
+	public boolean isOrdered() {
+		return ordered;
+	}
+
+	/**
+	 * Constructor.
+	 * @param introspection The introspection of the type of object compared.
+	 * @param properties The properties considered, in order.
+	 * @throws IllegalArgumentException if one of the properties is not readable.
+	 */
+	@SuppressWarnings("unchecked")
+	private PropertyEquivalence(@Nonnull final Introspection<T> introspection, @Nonnull final List<Property<T, ?>> properties) {
+		this.introspection = requireNonNull(introspection);
+		this.elements = new Element[properties.size()];
+		boolean ordered = true;
+		for(int index = 0; index < elements.length; index++) {
+			final Property<T, ?> property = properties.get(index);
+			if(!property.isReadable()) {
+				throw new IllegalArgumentException(String.format("Property %s is not readable.", property.getName()));
+			}
+			final Class<?> valueClass = property.getValueType().getErasedType();
+			if(property instanceof IntProperty && valueClass == int.class) {
+				elements[index] = new IntElement<>((IntProperty<T>)property);
+			} else if(property instanceof LongProperty && valueClass == long.class) {
+				elements[index] = new LongElement<>((LongProperty<T>)property);
+			} else if(property instanceof DoubleProperty && valueClass == double.class) {
+				elements[index] = new DoubleElement<>((DoubleProperty<T>)property);
+			} else if(property instanceof BooleanProperty && valueClass == boolean.class) {
+				elements[index] = new BooleanElement<>((BooleanProperty<T>)property);
+			} else {
+				elements[index] = new ReferenceElement<>(property);
+				ordered &= valueClass.isPrimitive() || Comparable.class.isAssignableFrom(valueClass)
+						|| (valueClass.isArray() && valueClass.getComponentType().isPrimitive());
+			}
+		}
+		this.ordered = ordered;
+	}
+
+	/**
+	 * Returns an equivalence considering all the readable properties of an introspection, in order of property ordinal.
+	 * @param <T> The type of object compared.
+	 * @param introspection The introspection of the type of object compared.
+	 * @return An equivalence of the readable properties.
+	 */
+	public static <T> PropertyEquivalence<T> forIntrospection(@Nonnull final Introspection<T> introspection) {
+		final List<Property<T, ?>> properties = new ArrayList<>(introspection.getPropertyCount());
+		for(final Property<T, ?> property : introspection.getProperties()) {
+			if(property.isReadable()) {
+				properties.add(property);
+			}
+		}
+		return new PropertyEquivalence<>(introspection, properties);
+	}
+
+	/**
+	 * Returns an equivalence considering the given properties of an introspection, in the order given. The order determines the precedence of the properties
+	 * in ordering, and affects the hashes.
+	 * @param <T> The type of object compared.
+	 * @param introspection The introspection of the type of object compared.
+	 * @param propertyNames The names of the properties to consider.
+	 * @return An equivalence of the given properties.
+	 * @throws IllegalArgumentException if a property does not exist or is not readable.
+	 */
+	public static <T> PropertyEquivalence<T> forProperties(@Nonnull final Introspection<T> introspection, @Nonnull final String... propertyNames) {
+		final List<Property<T, ?>> properties = new ArrayList<>(propertyNames.length);
+		for(final String propertyName : propertyNames) {
+			if(!introspection.hasProperty(propertyName)) {
+				throw new IllegalArgumentException(String.format("Type %s has no property %s.", introspection.getObjectType(), propertyName));
+			}
+			properties.add(introspection.getProperty(propertyName));
+		}
+		return new PropertyEquivalence<>(introspection, properties);
+	}
+
+	/**
+	 * Determines whether two objects have equal values for all the properties considered.
+	 * @param object1 The first object, or <code>null</code>.
+	 * @param object2 The second object, or <code>null</code>.
+	 * @return <code>true</code> if the objects are the same instance, both <code>null</code>, or have equal property values.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public boolean equivalent(@Nullable final T object1, @Nullable final T object2)
+			throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		if(object1 == object2) {
+			return true;
+		}
+		if(object1 == null || object2 == null) {
+			return false;
+		}
+		for(final Element<T> element : elements) {
+			if(!element.equivalent(object1, object2)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Calculates a hash code of the values of the properties considered, consistent with {@link #equivalent(Object, Object)} and in the manner of
+	 * {@link Arrays#hashCode(Object[])}.
+	 * @param object The object to hash, or <code>null</code>.
+	 * @return The hash code, which is zero for <code>null</code>.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public int hash(@Nullable final T object) throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		if(object == null) {
+			return 0;
+		}
+		int hash = 1;
+		for(final Element<T> element : elements) {
+			hash = 31 * hash + element.hash(object);
+		}
+		return hash;
+	}
+
+	/**
+	 * Calculates a well-distributed 64-bit hash of the values of the properties considered, consistent with {@link #equivalent(Object, Object)}. The hash of
+	 * values of the primitive types and their wrappers, strings, enums (by name), and arrays of these is the same across runs and runtimes; the hash of other
+	 * values is derived from their {@link Object#hashCode()}, and is only as stable as that.
+	 * @param object The object to hash, or <code>null</code>.
+	 * @return The 64-bit hash.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public long hash64(@Nullable final T object) throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		if(object == null) {
+			return NULL_HASH64;
+		}
+		long hash = elements.length;
+		for(final Element<T> element : elements) {
+			hash = (hash + element.hash64(object)) * HASH64_MULTIPLIER;
+		}
+		return mix64(hash);
+	}
+
+	/**
+	 * Compares two objects by comparing the values of the properties considered in turn, ordering <code>null</code> objects first.
+	 * @param object1 The first object, or <code>null</code>.
+	 * @param object2 The second object, or <code>null</code>.
+	 * @return A negative integer, zero, or a positive integer as the first object is less than, equal to, or greater than the second.
+	 * @throws UnsupportedOperationException if the equivalence does not support ordering.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 * @see #isOrdered()
+	 */
+	public int compare(@Nullable final T object1, @Nullable final T object2)
+			throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		if(!ordered) {
+			throw new UnsupportedOperationException(String.format("Not all compared properties of %s are comparable.", introspection.getObjectType()));
+		}
+		if(object1 == object2) {
+			return 0;
+		}
+		if(object1 == null || object2 == null) {
+			return object1 == null ? -1 : 1;
+		}
+		for(final Element<T> element : elements) {
+			final int result = element.compare(object1, object2);
+			if(result != 0) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * Returns a comparator that orders objects using {@link #compare(Object, Object)}. As a comparator cannot throw checked exceptions, a reflective exception
+	 * is wrapped in an {@link UndeclaredThrowableException}.
+	 * @return A comparator using this equivalence.
+	 * @throws UnsupportedOperationException if the equivalence does not support ordering.
+	 */
+	public Comparator<T> asComparator() {
+		if(!ordered) {
+			throw new UnsupportedOperationException(String.format("Not all compared properties of %s are comparable.", introspection.getObjectType()));
+		}
+		return (object1, object2) -> {
+			try {
+				return compare(object1, object2);
+			} catch(final IllegalAccessException | InvocationTargetException exception) {
+				throw new UndeclaredThrowableException(exception);
+			}
+		};
+	}
+
+	//values
+
+	/**
+	 * Scrambles the bits of a 64-bit value using the finalizer of the SplitMix64 generator.
+	 * @param value The value to mix.
+	 * @return The mixed value.
+	 */
+	static long mix64(long value) {
+		value = (value ^ (value >>> 30)) * 0xBF58476D1CE4E5B9L;
+		value = (value ^ (value >>> 27)) * 0x94D049BB133111EBL;
+		return value ^ (value >>> 31);
+	}
+
+	/**
+	 * Calculates the hash code of a value, using the contents of an array.
+	 * @param value The value, which may be <code>null</code>.
+	 * @return The hash code of the value.
+	 */
+	static int hashValue(@Nullable final Object value) {
+		if(value == null) {
+			return 0;
+		}
+		return value.getClass().isArray() ? Arrays.deepHashCode(new Object[] {value}) : value.hashCode();
+	}
+
+	/**
+	 * Calculates a 64-bit hash of a value that is stable across runs for primitive wrappers, strings, enums, and arrays of these.
+	 * @param value The value, which may be <code>null</code>.
+	 * @return The 64-bit hash of the value.
+	 */
+	static long hash64Value(@Nullable final Object value) {
+		if(value == null) {
+			return NULL_HASH64;
+		} else if(value instanceof String) {
+			return hash64String((String)value);
+		} else if(value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+			return mix64(((Number)value).longValue());
+		} else if(value instanceof Double) {
+			return mix64(Double.doubleToLongBits((Double)value));
+		} else if(value instanceof Float) {
+			return mix64(Float.floatToIntBits((Float)value));
+		} else if(value instanceof Boolean) {
+			return mix64((Boolean)value ? 1 : 0);
+		} else if(value instanceof Character) {
+			return mix64((Character)value);
+		} else if(value instanceof Enum) {
+			return hash64String(((Enum<?>)value).name());
+		} else if(value.getClass().isArray()) {
+			final int length = Array.getLength(value);
+			long hash = length;
+			if(value instanceof byte[]) { //avoid boxing for the most common array type
+				for(final byte element : (byte[])value) {
+					hash = (hash + element) * HASH64_MULTIPLIER;
+				}
+			} else {
+				for(int index = 0; index < length; index++) {
+					hash = (hash + hash64Value(Array.get(value, index))) * HASH64_MULTIPLIER;
+				}
+			}
+			return mix64(hash);
+		}
+		return mix64(value.hashCode());
+	}
+
+	/**
+	 * Calculates a 64-bit FNV-1a hash of the UTF-16 code units of a string.
+	 * @param string The string to hash.
+	 * @return The 64-bit hash of the string.
+	 */
+	static long hash64String(@Nonnull final String string) {
+		long hash = 0xCBF29CE484222325L; //FNV-1a offset basis
+		for(int index = 0; index < string.length(); index++) {
+			hash ^= string.charAt(index);
+			hash *= 0x100000001B3L; //FNV-1a prime
+		}
+		return hash;
+	}
+
+	/**
+	 * Determines whether two non-<code>null</code> values are equal, comparing the contents of arrays.
+	 * @param value1 The first value.
+	 * @param value2 The second value.
+	 * @return <code>true</code> if the values are equal.
+	 */
+	static boolean equalValues(@Nonnull final Object value1, @Nonnull final Object value2) {
+		return value1.getClass().isArray() ? Arrays.deepEquals(new Object[] {value1}, new Object[] {value2}) : value1.equals(value2);
+	}
+
+	/**
+	 * Compares two non-<code>null</code> values that are either {@link Comparable} or arrays of primitives.
+	 * @param value1 The first value.
+	 * @param value2 The second value.
+	 * @return A negative integer, zero, or a positive integer as the first value is less than, equal to, or greater than the second.
+	 * @throws ClassCastException if the values cannot be compared.
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	static int compareValues(@Nonnull final Object value1, @Nonnull final Object value2) {
+		if(value1 instanceof Comparable) {
+			return ((Comparable)value1).compareTo(value2);
+		} else if(value1 instanceof byte[]) {
+			return Arrays.compare((byte[])value1, (byte[])value2);
+		} else if(value1 instanceof int[]) {
+			return Arrays.compare((int[])value1, (int[])value2);
+		} else if(value1 instanceof long[]) {
+			return Arrays.compare((long[])value1, (long[])value2);
+		} else if(value1 instanceof double[]) {
+			return Arrays.compare((double[])value1, (double[])value2);
+		} else if(value1 instanceof char[]) {
+			return Arrays.compare((char[])value1, (char[])value2);
+		} else if(value1 instanceof short[]) {
+			return Arrays.compare((short[])value1, (short[])value2);
+		} else if(value1 instanceof float[]) {
+			return Arrays.compare((float[])value1, (float[])value2);
+		} else if(value1 instanceof boolean[]) {
+			return Arrays.compare((boolean[])value1, (boolean[])value2);
+		}
+		throw new ClassCastException(String.format("Values of type %s are not comparable.", value1.getClass().getName()));
+	}
+
+	//elements
+
+	/**
+	 * The comparison of a single property value.
+	 * @param <T> The type of object compared.
+	 * @author Garret Wilson
+	 */
+	private abstract static class Element<T> {
+
+		/**
+		 * Determines whether the property values of two objects are equal.
+		 * @param object1 The first object.
+		 * @param object2 The second object.
+		 * @return <code>true</code> if the property values are equal.
+		 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+		 * @throws InvocationTargetException if some underlying method throws an exception.
+		 */
+		abstract boolean equivalent(@Nonnull T object1, @Nonnull T object2) throws IllegalAccessException, InvocationTargetException;
+
+		/**
+		 * Calculates the hash code of the property value of an object.
+		 * @param object The object.
+		 * @return The hash code of the property value.
+		 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+		 * @throws InvocationTargetException if some underlying method throws an exception.
+		 */
+		abstract int hash(@Nonnull T object) throws IllegalAccessException, InvocationTargetException;
+
+		/**
+		 * Calculates the stable 64-bit hash of the property value of an object.
+		 * @param object The object.
+		 * @return The 64-bit hash of the property value.
+		 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+		 * @throws InvocationTargetException if some underlying method throws an exception.
+		 */
+		abstract long hash64(@Nonnull T object) throws IllegalAccessException, InvocationTargetException;
+
+		/**
+		 * Compares the property values of two objects.
+		 * @param object1 The first object.
+		 * @param object2 The second object.
+		 * @return A negative integer, zero, or a positive integer as the first value is less than, equal to, or greater than the second.
+		 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+		 * @throws InvocationTargetException if some underlying method throws an exception.
+		 */
+		abstract int compare(@Nonnull T object1, @Nonnull T object2) throws IllegalAccessException, InvocationTargetException;
+
+	}
+
+	/**
+	 * An element for an <code>int</code> property, read without boxing.
+	 * @param <T> The type of object compared.
+	 * @author Garret Wilson
+	 */
+	private static final class IntElement<T> extends Element<T> {
+
+		private final IntProperty<T> property;
+
+		/**
+		 * Constructor.
+		 * @param property The property.
+		 */
+		IntElement(@Nonnull final IntProperty<T> property) {
+			this.property = property;
+		}
+
+		@Override
+		boolean equivalent(final T object1, final T object2) throws IllegalAccessException, InvocationTargetException {
+			return property.getInt(object1) == property.getInt(object2);
+		}
+
+		@Override
+		int hash(final T object) throws IllegalAccessException, InvocationTargetException {
+			return Integer.hashCode(property.getInt(object));
+		}
+
+		@Override
+		long hash64(final T object) throws IllegalAccessException, InvocationTargetException {
+			return mix64(property.getInt(object));
+		}
+
+		@Override
+		int compare(final T object1, final T object2) throws IllegalAccessException, InvocationTargetException {
+			return Integer.compare(property.getInt(object1), property.getInt(object2));
+		}
+
+	}
+
+	/**
+	 * An element for a <code>long</code> property, read without boxing.
+	 * @param <T> The type of object compared.
+	 * @author Garret Wilson
+	 */
+	private static final class LongElement<T> extends Element<T> {
+
+		private final LongProperty<T> property;
+
+		/**
+		 * Constructor.
+		 * @param property The property.
+		 */
+		LongElement(@Nonnull final LongProperty<T> property) {
+			this.property = property;
+		}
+
+		@Override
+		boolean equivalent(final T object1, final T object2) throws IllegalAccessException, InvocationTargetException {
+			return property.getLong(object1) == property.getLong(object2);
+		}
+
+		@Override
+		int hash(final T object) throws IllegalAccessException, InvocationTargetException {
+			return Long.hashCode(property.getLong(object));
+		}
+
+		@Override
+		long hash64(final T object) throws IllegalAccessException, InvocationTargetException {
+			return mix64(property.getLong(object));
+		}
+
+		@Override
+		int compare(final T object1, final T object2) throws IllegalAccessException, InvocationTargetException {
+			return Long.compare(property.getLong(object1), property.getLong(object2));
+		}
+
+	}
+
+	/**
+	 * An element for a <code>double</code> property, read without boxing and compared as by {@link Double#compare(double, double)}.
+	 * @param <T> The type of object compared.
+	 * @author Garret Wilson
+	 */
+	private static final class DoubleElement<T> extends Element<T> {
+
+		private final DoubleProperty<T> property;
+
+		/**
+		 * Constructor.
+		 * @param property The property.
+		 */
+		DoubleElement(@Nonnull final DoubleProperty<T> property) {
+			this.property = property;
+		}
+
+		@Override
+		boolean equivalent(final T object1, final T object2) throws IllegalAccessException, InvocationTargetException {
+			return Double.doubleToLongBits(property.getDouble(object1)) == Double.doubleToLongBits(property.getDouble(object2));
+		}
+
+		@Override
+		int hash(final T object) throws IllegalAccessException, InvocationTargetException {
+			return Double.hashCode(property.getDouble(object));
+		}
+
+		@Override
+		long hash64(final T object) throws IllegalAccessException, InvocationTargetException {
+			return mix64(Double.doubleToLongBits(property.getDouble(object)));
+		}
+
+		@Override
+		int compare(final T object1, final T object2) throws IllegalAccessException, InvocationTargetException {
+			return Double.compare(property.getDouble(object1), property.getDouble(object2));
+		}
+
+	}
+
+	/**
+	 * An element for a <code>boolean</code> property, read without boxing.
+	 * @param <T> The type of object compared.
+	 * @author Garret Wilson
+	 */
+	private static final class BooleanElement<T> extends Element<T> {
+
+		private final BooleanProperty<T> property;
+
+		/**
+		 * Constructor.
+		 * @param property The property.
+		 */
+		BooleanElement(@Nonnull final BooleanProperty<T> property) {
+			this.property = property;
+		}
+
+		@Override
+		boolean equivalent(final T object1, final T object2) throws IllegalAccessException, InvocationTargetException {
+			return property.getBoolean(object1) == property.getBoolean(object2);
+		}
+
+		@Override
+		int hash(final T object) throws IllegalAccessException, InvocationTargetException {
+			return Boolean.hashCode(property.getBoolean(object));
+		}
+
+		@Override
+		long hash64(final T object) throws IllegalAccessException, InvocationTargetException {
+			return mix64(property.getBoolean(object) ? 1 : 0);
+		}
+
+		@Override
+		int compare(final T object1, final T object2) throws IllegalAccessException, InvocationTargetException {
+			return Boolean.compare(property.getBoolean(object1), property.getBoolean(object2));
+		}
+
+	}
+
+	/**
+	 * An element for a property of any type.
+	 * @param <T> The type of object compared.
+	 * @author Garret Wilson
+	 */
+	private static final class ReferenceElement<T> extends Element<T> {
+
+		private final Property<T, ?> property;
+
+		/**
+		 * Constructor.
+		 * @param property The property.
+		 */
+		ReferenceElement(@Nonnull final Property<T, ?> property) {
+			this.property = property;
+		}
+
+		@Override
+		boolean equivalent(final T object1, final T object2) throws IllegalAccessException, InvocationTargetException {
+			final Object value1 = property.getValue(object1);
+			final Object value2 = property.getValue(object2);
+			if(value1 == value2) {
+				return true;
+			}
+			return value1 != null && value2 != null && equalValues(value1, value2);
+		}
+
+		@Override
+		int hash(final T object) throws IllegalAccessException, InvocationTargetException {
+			return hashValue(property.getValue(object));
+		}
+
+		@Override
+		long hash64(final T object) throws IllegalAccessException, InvocationTargetException {
+			return hash64Value(property.getValue(object));
+		}
+
+		@Override
+		int compare(final T object1, final T object2) throws IllegalAccessException, InvocationTargetException {
+			final Object value1 = property.getValue(object1);
+			final Object value2 = property.getValue(object2);
+			if(value1 == value2) {
+				return 0;
+			}
+			if(value1 == null || value2 == null) {
+				return value1 == null ? -1 : 1;
+			}
+			return compareValues(value1, value2);
+		}
+
+	}
+
+}
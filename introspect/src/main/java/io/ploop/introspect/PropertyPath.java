@@ -0,0 +1,337 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.lang.invoke.MethodType.*;
+import static java.util.Objects.*;
+
+import java.lang.reflect.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import javax.annotation.*;
+
+import com.fasterxml.classmate.ResolvedType;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A compiled path of properties for reading a nested value, such as <code>customer.address.zip</code> or <code>items[0].name</code>.
+ * <p>
+ * A path consists of property names separated by dots. Each property name may be followed by one or more zero-based indexes in brackets, selecting an
+ * element of a {@link List} or array. The path is parsed once against the static types of the properties, starting at the root type: each property is
+ * resolved from the introspection of the value type of the property before it, and the element type of a list is resolved from its type parameter. Reading
+ * the value then requires no name lookups.
+ * </p>
+ * <p>
+ * If the value at any step is <code>null</code>, or an index is beyond the end of a list or array, the value of the path is <code>null</code>.
+ * </p>
+ * <p>
+ * Compiled paths are cached for each root class, and are thread-safe. At most {@value #MAX_CACHED_PATH_COUNT} paths are cached for each root class, so
+ * that paths built from arbitrary input cannot grow the cache without bound; further paths are compiled each time they are requested.
+ * </p>
+ * <p>
+ * A path is evaluated by iterating its steps rather than by composing them into a single method handle. Only the last step can produce a primitive value,
+ * which is boxed once as the value of the path, so intermediate steps cause no boxing. The properties along a path may be accessed via method handles,
+ * variable handles, generated bean accessors, or reflection, which cannot all be combined into one method handle.
+ * </p>
+ * @param <T> The type of root object.
+ * @param <V> The type of value at the end of the path.
+ * @author Garret Wilson
+ */
+public final class PropertyPath<T, V> {
+
+	/** The maximum number of paths cached for each root class. */
+	static final int MAX_CACHED_PATH_COUNT = 256;
+
+	/** The cached paths for each root class, keyed to path string; the number of paths is limited to approximately {@link #MAX_CACHED_PATH_COUNT}. */
+	private static final ClassValue<ConcurrentMap<String, PropertyPath<?, ?>>> PATHS = new ClassValue<ConcurrentMap<String, PropertyPath<?, ?>>>() {
+		@Override
+		protected ConcurrentMap<String, PropertyPath<?, ?>> computeValue(final Class<?> type) {
+			return new ConcurrentHashMap<>();
+		}
+	};
+
+	private final TypeInfo<T> rootType;
+
+	/** @return The type of root object. */
+	public TypeInfo<T> getRootType() {
+		return rootType;
+	}
+
+	private final String path;
+
+	/** @return The path string. */
+	public String getPath() {
+		return path;
+	}
+
+	private final TypeInfo<V> valueType;
+
+	/** @return The static type of value at the end of the path. */
+	public TypeInfo<V> getValueType() {
+		return valueType;
+	}
+
+	/** The steps of the path, in order. */
+	private final Step[] steps;
+
+	/**
+	 * Constructor.
+	 * @param rootType The type of root object.
+	 * @param path The path string.
+	 * @param valueType The static type of value at the end of the path.
+	 * @param steps The steps of the path, in order.
+	 */
+	private PropertyPath(@Nonnull final TypeInfo<T> rootType, @Nonnull final String path, @Nonnull final TypeInfo<V> valueType, @Nonnull final Step[] steps) {
+		this.rootType = rootType;
+		this.path = path;
+		this.valueType = valueType;
+		this.steps = steps;
+	}
+
+	/**
+	 * Returns the compiled path from a root class. The path is compiled on first request and cached, unless {@value #MAX_CACHED_PATH_COUNT} paths have
+	 * already been cached for the root class.
+	 * @param <T> The type of root object.
+	 * @param rootClass The type of root object.
+	 * @param path The path string, such as <code>customer.address.zip</code>.
+	 * @return The compiled path.
+	 * @throws IllegalArgumentException if the path is not syntactically valid, if a property in the path does not exist or is not readable, or if an index
+	 *           follows a property that is not a list or array.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> PropertyPath<T, ?> of(@Nonnull final Class<T> rootClass, @Nonnull final String path) {
+		final ConcurrentMap<String, PropertyPath<?, ?>> paths = PATHS.get(requireNonNull(rootClass));
+		PropertyPath<?, ?> propertyPath = paths.get(requireNonNull(path));
+		if(propertyPath == null) {
+			propertyPath = compile(TypeInfo.forClass(rootClass), path);
+			if(paths.size() < MAX_CACHED_PATH_COUNT) { //concurrent requests may slightly exceed the limit, which is harmless
+				final PropertyPath<?, ?> cachedPropertyPath = paths.putIfAbsent(path, propertyPath);
+				if(cachedPropertyPath != null) {
+					propertyPath = cachedPropertyPath;
+				}
+			}
+		}
+		return (PropertyPath<T, ?>)propertyPath;
+	}
+
+	/**
+	 * Returns the compiled path from a root class, checking the type of value at the end of the path. The path is compiled on first request and cached.
+	 * @param <T> The type of root object.
+	 * @param <V> The type of value at the end of the path.
+	 * @param rootClass The type of root object.
+	 * @param path The path string, such as <code>customer.address.zip</code>.
+	 * @param valueClass The expected type of value at the end of the path, which may be the boxed type of a primitive value.
+	 * @return The compiled path.
+	 * @throws IllegalArgumentException if the path is not syntactically valid, if a property in the path does not exist or is not readable, if an index
+	 *           follows a property that is not a list or array, or if the value at the end of the path is not of the given type.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, V> PropertyPath<T, V> of(@Nonnull final Class<T> rootClass, @Nonnull final String path, @Nonnull final Class<V> valueClass) {
+		final PropertyPath<T, ?> propertyPath = of(rootClass, path);
+		final Class<?> pathValueClass = propertyPath.getValueType().getErasedType();
+		final Class<?> pathValueReferenceClass = pathValueClass.isPrimitive() ? methodType(pathValueClass).wrap().returnType() : pathValueClass;
+		if(valueClass != pathValueClass && !valueClass.isAssignableFrom(pathValueReferenceClass)) {
+			throw new IllegalArgumentException(String.format("Path %s of %s is of type %s, not %s.", path, rootClass.getName(), propertyPath.getValueType(),
+					valueClass.getName()));
+		}
+		return (PropertyPath<T, V>)propertyPath;
+	}
+
+	/**
+	 * Parses and compiles a path.
+	 * @param <T> The type of root object.
+	 * @param rootType The type of root object.
+	 * @param path The path string.
+	 * @return The compiled path.
+	 * @throws IllegalArgumentException if the path is not syntactically valid, if a property in the path does not exist or is not readable, or if an index
+	 *           follows a property that is not a list or array.
+	 */
+	@SuppressWarnings("unchecked")
+	static <T> PropertyPath<T, ?> compile(@Nonnull final TypeInfo<T> rootType, @Nonnull final String path) {
+		final List<Step> steps = new ArrayList<>();
+		TypeInfo<?> type = rootType;
+		final int length = path.length();
+		int index = 0;
+		do {
+			//property name
+			final int nameStart = index;
+			while(index < length && path.charAt(index) != '.' && path.charAt(index) != '[') {
+				index++;
+			}
+			if(index == nameStart) {
+				throw new IllegalArgumentException(String.format("Path \"%s\" is missing a property name at position %d.", path, nameStart));
+			}
+			final String name = path.substring(nameStart, index);
+			final Property<?, ?> property = Introspection.of(type).getProperty(name);
+			if(property == null) {
+				throw new IllegalArgumentException(String.format("Type %s in path \"%s\" has no property %s.", type, path, name));
+			}
+			if(!property.isReadable()) {
+				throw new IllegalArgumentException(String.format("Property %s of type %s in path \"%s\" is not readable.", name, type, path));
+			}
+			steps.add(new PropertyStep((Property<Object, ?>)property));
+			type = property.getValueType();
+			//indexes
+			while(index < length && path.charAt(index) == '[') {
+				final int indexStart = ++index;
+				while(index < length && path.charAt(index) >= '0' && path.charAt(index) <= '9') {
+					index++;
+				}
+				if(index == indexStart || index == length || path.charAt(index) != ']') {
+					throw new IllegalArgumentException(String.format("Path \"%s\" has an invalid index at position %d.", path, indexStart));
+				}
+				final int elementIndex;
+				try {
+					elementIndex = Integer.parseInt(path.substring(indexStart, index++));
+				} catch(final NumberFormatException numberFormatException) {
+					throw new IllegalArgumentException(String.format("Path \"%s\" has an invalid index at position %d.", path, indexStart), numberFormatException);
+				}
+				final ResolvedType resolvedType = type.getResolvedType();
+				if(resolvedType.isArray()) {
+					steps.add(new ArrayIndexStep(elementIndex));
+					type = TypeInfo.forResolvedType(resolvedType.getArrayElementType());
+				} else if(List.class.isAssignableFrom(type.getErasedType())) {
+					steps.add(new ListIndexStep(elementIndex));
+					final List<ResolvedType> typeParameters = resolvedType.typeParametersFor(List.class);
+					type = typeParameters != null && !typeParameters.isEmpty() ? TypeInfo.forResolvedType(typeParameters.get(0)) : TypeInfo.forClass(Object.class);
+				} else {
+					throw new IllegalArgumentException(String.format("Property %s in path \"%s\" is of type %s, which is not a list or array.", name, path, type));
+				}
+			}
+			if(index < length && path.charAt(index) != '.') {
+				throw new IllegalArgumentException(String.format("Path \"%s\" has an unexpected character at position %d.", path, index));
+			}
+		} while(index++ < length);
+		return new PropertyPath<>(rootType, path, (TypeInfo<Object>)type, steps.toArray(new Step[steps.size()]));
+	}
+
+	/**
+	 * Reads the value at the end of the path from a root object.
+	 * @param root The root object.
+	 * @return The value at the end of the path, or <code>null</code> if the value at any step is <code>null</code> or an index is beyond the end of a list or
+	 *         array.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	@SuppressWarnings("unchecked")
+	public @Nullable V getValue(@Nonnull final T root) throws IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		Object value = requireNonNull(root);
+		for(final Step step : steps) {
+			value = step.apply(value);
+			if(value == null) {
+				return null;
+			}
+		}
+		return (V)value;
+	}
+
+	@Override
+	public String toString() {
+		return rootType + ":" + path;
+	}
+
+	/**
+	 * A single step in navigating a path.
+	 * @author Garret Wilson
+	 */
+	private abstract static class Step {
+
+		/**
+		 * Navigates from one value to the next.
+		 * @param value The current value, which is not <code>null</code>.
+		 * @return The next value, or <code>null</code> if there is none.
+		 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+		 * @throws InvocationTargetException if some underlying method throws an exception.
+		 */
+		abstract @Nullable Object apply(@Nonnull Object value) throws IllegalAccessException, InvocationTargetException;
+
+	}
+
+	/**
+	 * A step reading a property value.
+	 * @author Garret Wilson
+	 */
+	private static final class PropertyStep extends Step {
+
+		private final Property<Object, ?> property;
+
+		/**
+		 * Constructor.
+		 * @param property The property to read.
+		 */
+		PropertyStep(@Nonnull final Property<Object, ?> property) {
+			this.property = property;
+		}
+
+		@Override
+		Object apply(final Object value) throws IllegalAccessException, InvocationTargetException {
+			return property.getValue(value);
+		}
+
+	}
+
+	/**
+	 * A step selecting an element of a list.
+	 * @author Garret Wilson
+	 */
+	private static final class ListIndexStep extends Step {
+
+		private final int index;
+
+		/**
+		 * Constructor.
+		 * @param index The index of the element.
+		 */
+		ListIndexStep(final int index) {
+			this.index = index;
+		}
+
+		@Override
+		Object apply(final Object value) {
+			final List<?> list = (List<?>)value;
+			return index < list.size() ? list.get(index) : null;
+		}
+
+	}
+
+	/**
+	 * A step selecting an element of an array.
+	 * @author Garret Wilson
+	 */
+	private static final class ArrayIndexStep extends Step {
+
+		private final int index;
+
+		/**
+		 * Constructor.
+		 * @param index The index of the element.
+		 */
+		ArrayIndexStep(final int index) {
+			this.index = index;
+		}
+
+		@Override
+		Object apply(final Object value) {
+			return index < Array.getLength(value) ? Array.get(value, index) : null;
+		}
+
+	}
+
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import javax.annotation.*;
+
+/**
+ * A receiver of the property values of a sequence of objects, one object at a time.
+ * @param <T> The type of object the property values are for.
+ * @param <E> The type of exception the consumer may throw.
+ * @author Garret Wilson
+ * @see Introspection#readRows(Iterable, PropertyValuesConsumer)
+ */
+@FunctionalInterface
+public interface PropertyValuesConsumer<T, E extends Exception> {
+
+	/**
+	 * Receives the property values of an object.
+	 * @param object The object the property values are for.
+	 * @param values The property values, each at the ordinal of its property. The array is reused for the next object and must not be retained.
+	 * @throws E if there is an error processing the values.
+	 */
+	public void accept(@Nonnull T object, @Nonnull Object[] values) throws E;
+
+}
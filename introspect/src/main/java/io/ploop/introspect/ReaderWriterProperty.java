@@ -24,6 +24,10 @@
 
 /**
  * Encapsulates accessors for reading and/or writing a value of single object property.
+ * <p>
+ * Primitive specializations such as {@link OfInt} are provided for <code>int</code>, <code>long</code>, <code>double</code>, and <code>boolean</code>
+ * properties.
+ * </p>
  * @param <T> The type of object this property is for.
  * @param <V> The type of value stored in the property.
  * @author Garret Wilson
@@ -32,24 +36,75 @@
 
 	private final PropertyReader<T, V> reader;
 
+	private final PropertyWriter<T, V> writer;
+
 	/**
-	 * Constructor.
+	 * Constructor for a property that is not writable.
 	 * @param name The name of the property.
 	 * @param valueType The resolved type of value the property represents.
 	 * @param reader The strategy for reading the property for an object.
 	 * @throws NullPointerException if the given name is <code>null</code>.
 	 * @throws IllegalArgumentException if the given name is not a valid Java variable name.
+	 * @throws IllegalArgumentException if no reader is given (the property must be readable or writable).
+	 */
+	public ReaderWriterProperty(@Nonnull final String name, @Nonnull final TypeInfo<V> valueType, @Nullable final PropertyReader<T, V> reader) {
+		this(name, valueType, reader, null);
+	}
+
+	/**
+	 * Constructor.
+	 * @param name The name of the property.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param reader The strategy for reading the property for an object, or <code>null</code> if the property is not readable.
+	 * @param writer The strategy for writing the property for an object, or <code>null</code> if the property is not writable.
+	 * @throws NullPointerException if the given name is <code>null</code>.
+	 * @throws IllegalArgumentException if the given name is not a valid Java variable name.
 	 * @throws IllegalArgumentException if neither a reader nor a writer is give (the property must be readable or writable).
 	 */
-	public ReaderWriterProperty(@Nonnull final String name, @Nonnull final TypeInfo<V> valueType,
-			@Nullable final PropertyReader<T, V> reader /*TODO add writer.*/) {
+	public ReaderWriterProperty(@Nonnull final String name, @Nonnull final TypeInfo<V> valueType, @Nullable final PropertyReader<T, V> reader,
+			@Nullable final PropertyWriter<T, V> writer) {
 		super(name, valueType);
 		this.reader = reader;
-		if(reader == null /*TODO && writer ==null*/) { //make sure either a reader or a writer was passed
+		this.writer = writer;
+		if(reader == null && writer == null) { //make sure either a reader or a writer was passed
 			throw new IllegalArgumentException(String.format("Property %s must have a reader or a writer.", name));
 		}
 	}
 
+	/**
+	 * Creates a property with the given reader and writer, specialized for accessing primitive values without boxing if the value type is <code>int</code>,
+	 * <code>long</code>, <code>double</code>, or <code>boolean</code>.
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param name The name of the property.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param reader The strategy for reading the property for an object, or <code>null</code> if the property is not readable.
+	 * @param writer The strategy for writing the property for an object, or <code>null</code> if the property is not writable.
+	 * @return The new property instance.
+	 * @throws NullPointerException if the given name is <code>null</code>.
+	 * @throws IllegalArgumentException if the given name is not a valid Java variable name.
+	 * @throws IllegalArgumentException if neither a reader nor a writer is give (the property must be readable or writable).
+	 * @see OfInt
+	 * @see OfLong
+	 * @see OfDouble
+	 * @see OfBoolean
+	 */
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public static <T, V> ReaderWriterProperty<T, V> create(@Nonnull final String name, @Nonnull final TypeInfo<V> valueType,
+			@Nullable final PropertyReader<T, ?> reader, @Nullable final PropertyWriter<T, ?> writer) {
+		final Class<V> valueClass = valueType.getErasedType();
+		if(valueClass == int.class) {
+			return (ReaderWriterProperty<T, V>)new OfInt<T>(name, (TypeInfo)valueType, (PropertyReader)reader, (PropertyWriter)writer);
+		} else if(valueClass == long.class) {
+			return (ReaderWriterProperty<T, V>)new OfLong<T>(name, (TypeInfo)valueType, (PropertyReader)reader, (PropertyWriter)writer);
+		} else if(valueClass == double.class) {
+			return (ReaderWriterProperty<T, V>)new OfDouble<T>(name, (TypeInfo)valueType, (PropertyReader)reader, (PropertyWriter)writer);
+		} else if(valueClass == boolean.class) {
+			return (ReaderWriterProperty<T, V>)new OfBoolean<T>(name, (TypeInfo)valueType, (PropertyReader)reader, (PropertyWriter)writer);
+		}
+		return new ReaderWriterProperty<T, V>(name, valueType, (PropertyReader<T, V>)reader, (PropertyWriter<T, V>)writer);
+	}
+
 	@Override
 	public boolean isReadable() {
 		return reader != null;
@@ -65,14 +120,213 @@ public V getValue(final T object) throws UnsupportedOperationException, IllegalA
 
 	@Override
 	public boolean isWritable() {
-		return false; //TODO implement
+		return writer != null;
 	}
 
 	@Override
 	public void setValue(final T object, final V value)
 			throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
-		//TODO implement
-		throw new UnsupportedOperationException(String.format("Property %s does not support writing.", getName()));
+		if(writer == null) {
+			throw new UnsupportedOperationException(String.format("Property %s does not support writing.", getName()));
+		}
+		writer.setValue(object, value);
+	}
+
+	/**
+	 * A property of type <code>int</code>, which can read and write values without boxing if its reader is an {@link IntPropertyReader} and its writer is
+	 * an {@link IntPropertyWriter}, respectively.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfInt<T> extends ReaderWriterProperty<T, Integer> implements IntProperty<T> {
+
+		private final IntPropertyReader<T> intReader;
+
+		private final IntPropertyWriter<T> intWriter;
+
+		/**
+		 * Constructor.
+		 * @param name The name of the property.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param reader The strategy for reading the property for an object, or <code>null</code> if the property is not readable.
+		 * @param writer The strategy for writing the property for an object, or <code>null</code> if the property is not writable.
+		 * @throws NullPointerException if the given name is <code>null</code>.
+		 * @throws IllegalArgumentException if the given name is not a valid Java variable name.
+		 * @throws IllegalArgumentException if neither a reader nor a writer is give (the property must be readable or writable).
+		 */
+		public OfInt(@Nonnull final String name, @Nonnull final TypeInfo<Integer> valueType, @Nullable final PropertyReader<T, Integer> reader,
+				@Nullable final PropertyWriter<T, Integer> writer) {
+			super(name, valueType, reader, writer);
+			this.intReader = reader instanceof IntPropertyReader ? (IntPropertyReader<T>)reader : null;
+			this.intWriter = writer instanceof IntPropertyWriter ? (IntPropertyWriter<T>)writer : null;
+		}
+
+		@Override
+		public int getInt(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(intReader != null) {
+				return intReader.getInt(object);
+			}
+			return getValue(object); //fall back to unboxing the value from the general reader
+		}
+
+		@Override
+		public void setInt(final T object, final int value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(intWriter != null) {
+				intWriter.setInt(object, value);
+			} else {
+				setValue(object, value); //fall back to boxing the value for the general writer
+			}
+		}
+
+	}
+
+	/**
+	 * A property of type <code>long</code>, which can read and write values without boxing if its reader is a {@link LongPropertyReader} and its writer is
+	 * a {@link LongPropertyWriter}, respectively.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfLong<T> extends ReaderWriterProperty<T, Long> implements LongProperty<T> {
+
+		private final LongPropertyReader<T> longReader;
+
+		private final LongPropertyWriter<T> longWriter;
+
+		/**
+		 * Constructor.
+		 * @param name The name of the property.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param reader The strategy for reading the property for an object, or <code>null</code> if the property is not readable.
+		 * @param writer The strategy for writing the property for an object, or <code>null</code> if the property is not writable.
+		 * @throws NullPointerException if the given name is <code>null</code>.
+		 * @throws IllegalArgumentException if the given name is not a valid Java variable name.
+		 * @throws IllegalArgumentException if neither a reader nor a writer is give (the property must be readable or writable).
+		 */
+		public OfLong(@Nonnull final String name, @Nonnull final TypeInfo<Long> valueType, @Nullable final PropertyReader<T, Long> reader,
+				@Nullable final PropertyWriter<T, Long> writer) {
+			super(name, valueType, reader, writer);
+			this.longReader = reader instanceof LongPropertyReader ? (LongPropertyReader<T>)reader : null;
+			this.longWriter = writer instanceof LongPropertyWriter ? (LongPropertyWriter<T>)writer : null;
+		}
+
+		@Override
+		public long getLong(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(longReader != null) {
+				return longReader.getLong(object);
+			}
+			return getValue(object); //fall back to unboxing the value from the general reader
+		}
+
+		@Override
+		public void setLong(final T object, final long value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(longWriter != null) {
+				longWriter.setLong(object, value);
+			} else {
+				setValue(object, value); //fall back to boxing the value for the general writer
+			}
+		}
+
+	}
+
+	/**
+	 * A property of type <code>double</code>, which can read and write values without boxing if its reader is a {@link DoublePropertyReader} and its writer is
+	 * a {@link DoublePropertyWriter}, respectively.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfDouble<T> extends ReaderWriterProperty<T, Double> implements DoubleProperty<T> {
+
+		private final DoublePropertyReader<T> doubleReader;
+
+		private final DoublePropertyWriter<T> doubleWriter;
+
+		/**
+		 * Constructor.
+		 * @param name The name of the property.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param reader The strategy for reading the property for an object, or <code>null</code> if the property is not readable.
+		 * @param writer The strategy for writing the property for an object, or <code>null</code> if the property is not writable.
+		 * @throws NullPointerException if the given name is <code>null</code>.
+		 * @throws IllegalArgumentException if the given name is not a valid Java variable name.
+		 * @throws IllegalArgumentException if neither a reader nor a writer is give (the property must be readable or writable).
+		 */
+		public OfDouble(@Nonnull final String name, @Nonnull final TypeInfo<Double> valueType, @Nullable final PropertyReader<T, Double> reader,
+				@Nullable final PropertyWriter<T, Double> writer) {
+			super(name, valueType, reader, writer);
+			this.doubleReader = reader instanceof DoublePropertyReader ? (DoublePropertyReader<T>)reader : null;
+			this.doubleWriter = writer instanceof DoublePropertyWriter ? (DoublePropertyWriter<T>)writer : null;
+		}
+
+		@Override
+		public double getDouble(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(doubleReader != null) {
+				return doubleReader.getDouble(object);
+			}
+			return getValue(object); //fall back to unboxing the value from the general reader
+		}
+
+		@Override
+		public void setDouble(final T object, final double value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(doubleWriter != null) {
+				doubleWriter.setDouble(object, value);
+			} else {
+				setValue(object, value); //fall back to boxing the value for the general writer
+			}
+		}
+
+	}
+
+	/**
+	 * A property of type <code>boolean</code>, which can read and write values without boxing if its reader is a {@link BooleanPropertyReader} and its writer is
+	 * a {@link BooleanPropertyWriter}, respectively.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfBoolean<T> extends ReaderWriterProperty<T, Boolean> implements BooleanProperty<T> {
+
+		private final BooleanPropertyReader<T> booleanReader;
+
+		private final BooleanPropertyWriter<T> booleanWriter;
+
+		/**
+		 * Constructor.
+		 * @param name The name of the property.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param reader The strategy for reading the property for an object, or <code>null</code> if the property is not readable.
+		 * @param writer The strategy for writing the property for an object, or <code>null</code> if the property is not writable.
+		 * @throws NullPointerException if the given name is <code>null</code>.
+		 * @throws IllegalArgumentException if the given name is not a valid Java variable name.
+		 * @throws IllegalArgumentException if neither a reader nor a writer is give (the property must be readable or writable).
+		 */
+		public OfBoolean(@Nonnull final String name, @Nonnull final TypeInfo<Boolean> valueType, @Nullable final PropertyReader<T, Boolean> reader,
+				@Nullable final PropertyWriter<T, Boolean> writer) {
+			super(name, valueType, reader, writer);
+			this.booleanReader = reader instanceof BooleanPropertyReader ? (BooleanPropertyReader<T>)reader : null;
+			this.booleanWriter = writer instanceof BooleanPropertyWriter ? (BooleanPropertyWriter<T>)writer : null;
+		}
+
+		@Override
+		public boolean getBoolean(final T object)
+				throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(booleanReader != null) {
+				return booleanReader.getBoolean(object);
+			}
+			return getValue(object); //fall back to unboxing the value from the general reader
+		}
+
+		@Override
+		public void setBoolean(final T object, final boolean value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(booleanWriter != null) {
+				booleanWriter.setBoolean(object, value);
+			} else {
+				setValue(object, value); //fall back to boxing the value for the general writer
+			}
+		}
+
 	}
 
 }
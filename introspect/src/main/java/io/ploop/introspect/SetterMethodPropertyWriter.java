@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import java.lang.reflect.InvocationTargetException;
+import java.util.Objects;
+
+import javax.annotation.*;
+
+import com.fasterxml.classmate.members.ResolvedMethod;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A strategy for setting the value of an object property by invoking a setter method using reflection.
+ * @param <T> The type of object this property is for.
+ * @param <V> The type of value stored in the property.
+ * @author Garret Wilson
+ */
+public class SetterMethodPropertyWriter<T, V> extends BasePropertyValueInfo<V> implements PropertyWriter<T, V> {
+
+	private final ResolvedMethod setterMethod;
+
+	/**
+	 * Constructor.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param setterMethod The method to use for setting the property value.
+	 */
+	public SetterMethodPropertyWriter(@Nonnull final TypeInfo<V> valueType, @Nonnull final ResolvedMethod setterMethod) {
+		super(valueType);
+		//TODO verify that the setter method has a compatible signature
+		this.setterMethod = Objects.requireNonNull(setterMethod);
+	}
+
+	@Override
+	public void setValue(final T object, final V value)
+			throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		setterMethod.getRawMember().invoke(Objects.requireNonNull(object), value);
+	}
+
+}
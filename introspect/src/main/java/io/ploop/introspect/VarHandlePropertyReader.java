@@ -0,0 +1,516 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.lang.reflect.Modifier.*;
+import static java.util.Objects.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+
+import javax.annotation.*;
+
+import com.fasterxml.classmate.members.ResolvedField;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A strategy for retrieving the value of an object property by reading a field directly through a variable handle, using a particular
+ * {@link FieldAccessMode}.
+ * <p>
+ * For fields of type <code>int</code>, <code>long</code>, <code>double</code>, or <code>boolean</code>, the static factory methods return one of the
+ * primitive specializations such as {@link OfInt}, which can read values without boxing.
+ * </p>
+ * @param <T> The type of object this property is for.
+ * @param <V> The type of value stored in the property.
+ * @author Garret Wilson
+ * @see VarHandle
+ */
+public class VarHandlePropertyReader<T, V> extends BasePropertyReader<T, V> {
+
+	private final VarHandle varHandle;
+
+	/** @return The variable handle of the field backing the property. */
+	public VarHandle getVarHandle() {
+		return varHandle;
+	}
+
+	private final FieldAccessMode fieldAccessMode;
+
+	/** @return The mode with which the field is read. */
+	public FieldAccessMode getFieldAccessMode() {
+		return fieldAccessMode;
+	}
+
+	private final FieldAccessor<T> fieldAccessor;
+
+	/** @return The accessor used to read the field. */
+	public FieldAccessor<T> getFieldAccessor() {
+		return fieldAccessor;
+	}
+
+	/**
+	 * Constructor.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param varHandle The variable handle of the field backing the property, with the object as its single coordinate.
+	 * @param fieldAccessMode The mode with which to read the field.
+	 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
+	 * @throws IllegalArgumentException if the variable handle does not have a single coordinate.
+	 */
+	public VarHandlePropertyReader(@Nonnull final TypeInfo<V> valueType, @Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode,
+			final boolean valueTypeVerified) {
+		super(valueType, valueTypeVerified);
+		if(varHandle.coordinateTypes().size() != 1) {
+			throw new IllegalArgumentException("Field variable handle must have the object as its single coordinate: " + varHandle);
+		}
+		this.varHandle = varHandle;
+		this.fieldAccessMode = requireNonNull(fieldAccessMode);
+		this.fieldAccessor = createFieldAccessor(varHandle, fieldAccessMode);
+	}
+
+	/**
+	 * Creates an accessor for a field, generated by {@link FieldAccessorGenerator} so that the variable handle is a constant if possible, or otherwise invoking
+	 * the variable handle held in an instance field.
+	 * @param <T> The type of object containing the field.
+	 * @param varHandle The variable handle of the field, with the object as its single coordinate.
+	 * @param fieldAccessMode The mode with which to read and write the field.
+	 * @return An accessor for the field of the variable handle.
+	 */
+	static <T> FieldAccessor<T> createFieldAccessor(@Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode) {
+		try {
+			return FieldAccessorGenerator.generate(varHandle, fieldAccessMode);
+		} catch(final ReflectiveOperationException | RuntimeException | LinkageError exception) { //class generation may fail in unexpected ways
+			return new VarHandleFieldAccessor<>(varHandle, fieldAccessMode);
+		}
+	}
+
+	/**
+	 * Verifies that a variable handle is for a field of the given type.
+	 * @param varHandle The variable handle of the field.
+	 * @param varType The type the field is expected to have.
+	 * @return The given variable handle.
+	 * @throws WrongMethodTypeException if the variable handle is not for a field of the given type.
+	 */
+	static VarHandle requireVarType(@Nonnull final VarHandle varHandle, @Nonnull final Class<?> varType) {
+		if(varHandle.varType() != varType) {
+			throw new WrongMethodTypeException(String.format("Field variable handle %s is not for a field of type %s.", varHandle, varType.getName()));
+		}
+		return varHandle;
+	}
+
+	/**
+	 * Creates a reader that reads a field via a variable handle.
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param objectClass The class of object the property is for.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param field The field backing the property.
+	 * @param fieldAccessMode The mode with which to read the field.
+	 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
+	 * @return A new reader reading the field via a variable handle.
+	 * @throws IllegalAccessException if the field is not accessible.
+	 */
+	public static <T, V> VarHandlePropertyReader<T, V> forField(@Nonnull final Class<T> objectClass, @Nonnull final TypeInfo<V> valueType,
+			@Nonnull final ResolvedField field, @Nonnull final FieldAccessMode fieldAccessMode, final boolean valueTypeVerified) throws IllegalAccessException {
+		return forVarHandle(valueType, findFieldVarHandle(objectClass, field), fieldAccessMode, valueTypeVerified);
+	}
+
+	/**
+	 * Creates a reader that reads a field via a variable handle, specialized for reading primitive values without boxing if the field is of type
+	 * <code>int</code>, <code>long</code>, <code>double</code>, or <code>boolean</code>.
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param varHandle The variable handle of the field backing the property, with the object as its single coordinate.
+	 * @param fieldAccessMode The mode with which to read the field.
+	 * @param valueTypeVerified <code>true</code> if the values read have been proved to be instances of the value type, so that no runtime check is needed.
+	 * @return A new reader reading the field via the variable handle.
+	 * @throws IllegalArgumentException if the variable handle does not have a single coordinate.
+	 * @see OfInt
+	 * @see OfLong
+	 * @see OfDouble
+	 * @see OfBoolean
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, V> VarHandlePropertyReader<T, V> forVarHandle(@Nonnull final TypeInfo<V> valueType, @Nonnull final VarHandle varHandle,
+			@Nonnull final FieldAccessMode fieldAccessMode, final boolean valueTypeVerified) {
+		final Class<?> varType = varHandle.varType();
+		if(varType == int.class) {
+			return (VarHandlePropertyReader<T, V>)new OfInt<T>((TypeInfo<Integer>)valueType, varHandle, fieldAccessMode);
+		} else if(varType == long.class) {
+			return (VarHandlePropertyReader<T, V>)new OfLong<T>((TypeInfo<Long>)valueType, varHandle, fieldAccessMode);
+		} else if(varType == double.class) {
+			return (VarHandlePropertyReader<T, V>)new OfDouble<T>((TypeInfo<Double>)valueType, varHandle, fieldAccessMode);
+		} else if(varType == boolean.class) {
+			return (VarHandlePropertyReader<T, V>)new OfBoolean<T>((TypeInfo<Boolean>)valueType, varHandle, fieldAccessMode);
+		}
+		return new VarHandlePropertyReader<>(valueType, varHandle, fieldAccessMode, valueTypeVerified);
+	}
+
+	/**
+	 * Looks up a variable handle for a resolved field of an object class.
+	 * @param objectClass The class of object the property is for.
+	 * @param field The field backing the property.
+	 * @return A variable handle for accessing the field on an instance of the object class.
+	 * @throws IllegalAccessException if the field is not accessible.
+	 * @see #findFieldVarHandle(Class, Field)
+	 */
+	protected static VarHandle findFieldVarHandle(@Nonnull final Class<?> objectClass, @Nonnull final ResolvedField field) throws IllegalAccessException {
+		return findFieldVarHandle(objectClass, field.getRawMember());
+	}
+
+	/**
+	 * Looks up a variable handle for a field of an object class. A public field of a public class is looked up publicly; otherwise the field is looked up with
+	 * private access to its declaring class, which requires that the package of the declaring class be open to this module.
+	 * @param objectClass The class of object the property is for.
+	 * @param rawField The field backing the property.
+	 * @return A variable handle for accessing the field on an instance of the object class.
+	 * @throws IllegalArgumentException if the field is not a member of the object class.
+	 * @throws IllegalAccessException if the field is not accessible.
+	 */
+	protected static VarHandle findFieldVarHandle(@Nonnull final Class<?> objectClass, @Nonnull final Field rawField) throws IllegalAccessException {
+		final Class<?> declaringClass = rawField.getDeclaringClass();
+		if(!declaringClass.isAssignableFrom(objectClass)) {
+			throw new IllegalArgumentException(String.format("Field %s is not a member of %s.", rawField, objectClass.getName()));
+		}
+		final MethodHandles.Lookup lookup = isPublic(rawField.getModifiers()) && isPublic(declaringClass.getModifiers()) ? MethodHandles.publicLookup()
+				: MethodHandles.privateLookupIn(declaringClass, MethodHandles.lookup());
+		try {
+			return lookup.findVarHandle(declaringClass, rawField.getName(), rawField.getType());
+		} catch(final NoSuchFieldException noSuchFieldException) { //the field was discovered on the class, so it is only "missing" if it is inaccessible
+			throw (IllegalAccessException)new IllegalAccessException(noSuchFieldException.getMessage()).initCause(noSuchFieldException);
+		}
+	}
+
+	@Override
+	public V getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		requireNonNull(object);
+		final Object value;
+		try {
+			value = fieldAccessor.get(object);
+		} catch(final ClassCastException classCastException) { //mirror reflection, which rejects an object that is not an instance of the declaring class
+			throw new IllegalArgumentException(classCastException.getMessage(), classCastException);
+		}
+		return castValue(value);
+	}
+
+	/**
+	 * A reader of a field of type <code>int</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfInt<T> extends VarHandlePropertyReader<T, Integer> implements IntPropertyReader<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param varHandle The variable handle of the <code>int</code> field backing the property, with the object as its single coordinate.
+		 * @param fieldAccessMode The mode with which to read the field.
+		 * @throws IllegalArgumentException if the variable handle does not have a single coordinate.
+		 * @throws WrongMethodTypeException if the variable handle is not for a <code>int</code> field.
+		 */
+		public OfInt(@Nonnull final TypeInfo<Integer> valueType, @Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode) {
+			super(valueType, requireVarType(varHandle, int.class), fieldAccessMode, true); //primitive values are read without being cast
+		}
+
+		@Override
+		public int getInt(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return getFieldAccessor().getInt(object);
+			} catch(final ClassCastException classCastException) { //mirror reflection, which rejects an object that is not an instance of the declaring class
+				throw new IllegalArgumentException(classCastException.getMessage(), classCastException);
+			}
+		}
+
+		@Override
+		public Integer getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getInt(object);
+		}
+
+	}
+
+	/**
+	 * A reader of a field of type <code>long</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfLong<T> extends VarHandlePropertyReader<T, Long> implements LongPropertyReader<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param varHandle The variable handle of the <code>long</code> field backing the property, with the object as its single coordinate.
+		 * @param fieldAccessMode The mode with which to read the field.
+		 * @throws IllegalArgumentException if the variable handle does not have a single coordinate.
+		 * @throws WrongMethodTypeException if the variable handle is not for a <code>long</code> field.
+		 */
+		public OfLong(@Nonnull final TypeInfo<Long> valueType, @Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode) {
+			super(valueType, requireVarType(varHandle, long.class), fieldAccessMode, true); //primitive values are read without being cast
+		}
+
+		@Override
+		public long getLong(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return getFieldAccessor().getLong(object);
+			} catch(final ClassCastException classCastException) { //mirror reflection, which rejects an object that is not an instance of the declaring class
+				throw new IllegalArgumentException(classCastException.getMessage(), classCastException);
+			}
+		}
+
+		@Override
+		public Long getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getLong(object);
+		}
+
+	}
+
+	/**
+	 * A reader of a field of type <code>double</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfDouble<T> extends VarHandlePropertyReader<T, Double> implements DoublePropertyReader<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param varHandle The variable handle of the <code>double</code> field backing the property, with the object as its single coordinate.
+		 * @param fieldAccessMode The mode with which to read the field.
+		 * @throws IllegalArgumentException if the variable handle does not have a single coordinate.
+		 * @throws WrongMethodTypeException if the variable handle is not for a <code>double</code> field.
+		 */
+		public OfDouble(@Nonnull final TypeInfo<Double> valueType, @Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode) {
+			super(valueType, requireVarType(varHandle, double.class), fieldAccessMode, true); //primitive values are read without being cast
+		}
+
+		@Override
+		public double getDouble(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return getFieldAccessor().getDouble(object);
+			} catch(final ClassCastException classCastException) { //mirror reflection, which rejects an object that is not an instance of the declaring class
+				throw new IllegalArgumentException(classCastException.getMessage(), classCastException);
+			}
+		}
+
+		@Override
+		public Double getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getDouble(object);
+		}
+
+	}
+
+	/**
+	 * A reader of a field of type <code>boolean</code>, which can read values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfBoolean<T> extends VarHandlePropertyReader<T, Boolean> implements BooleanPropertyReader<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param varHandle The variable handle of the <code>boolean</code> field backing the property, with the object as its single coordinate.
+		 * @param fieldAccessMode The mode with which to read the field.
+		 * @throws IllegalArgumentException if the variable handle does not have a single coordinate.
+		 * @throws WrongMethodTypeException if the variable handle is not for a <code>boolean</code> field.
+		 */
+		public OfBoolean(@Nonnull final TypeInfo<Boolean> valueType, @Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode) {
+			super(valueType, requireVarType(varHandle, boolean.class), fieldAccessMode, true); //primitive values are read without being cast
+		}
+
+		@Override
+		public boolean getBoolean(final T object)
+				throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				return getFieldAccessor().getBoolean(object);
+			} catch(final ClassCastException classCastException) { //mirror reflection, which rejects an object that is not an instance of the declaring class
+				throw new IllegalArgumentException(classCastException.getMessage(), classCastException);
+			}
+		}
+
+		@Override
+		public Boolean getValue(final T object) throws UnsupportedOperationException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			return getBoolean(object);
+		}
+
+	}
+
+
+	/**
+	 * A field accessor that invokes a variable handle held in an instance field, for use if a field accessor cannot be generated. As the variable handle is not a
+	 * constant, each access dispatches on the variable handle at runtime.
+	 * @param <T> The type of object containing the field.
+	 * @author Garret Wilson
+	 */
+	static final class VarHandleFieldAccessor<T> implements FieldAccessor<T> {
+
+		private final VarHandle varHandle;
+
+		private final FieldAccessMode fieldAccessMode;
+
+		/**
+		 * Constructor.
+		 * @param varHandle The variable handle of the field, with the object as its single coordinate.
+		 * @param fieldAccessMode The mode with which to read and write the field.
+		 */
+		VarHandleFieldAccessor(@Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode) {
+			this.varHandle = requireNonNull(varHandle);
+			this.fieldAccessMode = requireNonNull(fieldAccessMode);
+		}
+
+		@Override
+		public Object get(final T object) {
+			switch(fieldAccessMode) {
+				case OPAQUE:
+					return varHandle.getOpaque(object);
+				case VOLATILE:
+					return varHandle.getVolatile(object);
+				default:
+					return varHandle.get(object);
+			}
+		}
+
+		@Override
+		public int getInt(final T object) {
+			switch(fieldAccessMode) {
+				case OPAQUE:
+					return (int)varHandle.getOpaque(object);
+				case VOLATILE:
+					return (int)varHandle.getVolatile(object);
+				default:
+					return (int)varHandle.get(object);
+			}
+		}
+
+		@Override
+		public long getLong(final T object) {
+			switch(fieldAccessMode) {
+				case OPAQUE:
+					return (long)varHandle.getOpaque(object);
+				case VOLATILE:
+					return (long)varHandle.getVolatile(object);
+				default:
+					return (long)varHandle.get(object);
+			}
+		}
+
+		@Override
+		public double getDouble(final T object) {
+			switch(fieldAccessMode) {
+				case OPAQUE:
+					return (double)varHandle.getOpaque(object);
+				case VOLATILE:
+					return (double)varHandle.getVolatile(object);
+				default:
+					return (double)varHandle.get(object);
+			}
+		}
+
+		@Override
+		public boolean getBoolean(final T object) {
+			switch(fieldAccessMode) {
+				case OPAQUE:
+					return (boolean)varHandle.getOpaque(object);
+				case VOLATILE:
+					return (boolean)varHandle.getVolatile(object);
+				default:
+					return (boolean)varHandle.get(object);
+			}
+		}
+
+		@Override
+		public void set(final T object, final Object value) {
+			switch(fieldAccessMode) {
+				case OPAQUE:
+					varHandle.setOpaque(object, value);
+					break;
+				case VOLATILE:
+					varHandle.setVolatile(object, value);
+					break;
+				default:
+					varHandle.set(object, value);
+					break;
+			}
+		}
+
+		@Override
+		public void setInt(final T object, final int value) {
+			switch(fieldAccessMode) {
+				case OPAQUE:
+					varHandle.setOpaque(object, value);
+					break;
+				case VOLATILE:
+					varHandle.setVolatile(object, value);
+					break;
+				default:
+					varHandle.set(object, value);
+					break;
+			}
+		}
+
+		@Override
+		public void setLong(final T object, final long value) {
+			switch(fieldAccessMode) {
+				case OPAQUE:
+					varHandle.setOpaque(object, value);
+					break;
+				case VOLATILE:
+					varHandle.setVolatile(object, value);
+					break;
+				default:
+					varHandle.set(object, value);
+					break;
+			}
+		}
+
+		@Override
+		public void setDouble(final T object, final double value) {
+			switch(fieldAccessMode) {
+				case OPAQUE:
+					varHandle.setOpaque(object, value);
+					break;
+				case VOLATILE:
+					varHandle.setVolatile(object, value);
+					break;
+				default:
+					varHandle.set(object, value);
+					break;
+			}
+		}
+
+		@Override
+		public void setBoolean(final T object, final boolean value) {
+			switch(fieldAccessMode) {
+				case OPAQUE:
+					varHandle.setOpaque(object, value);
+					break;
+				case VOLATILE:
+					varHandle.setVolatile(object, value);
+					break;
+				default:
+					varHandle.set(object, value);
+					break;
+			}
+		}
+
+	}
+
+}
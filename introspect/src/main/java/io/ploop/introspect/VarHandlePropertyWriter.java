@@ -0,0 +1,318 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static java.util.Objects.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.annotation.*;
+
+import com.fasterxml.classmate.members.ResolvedField;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * A strategy for setting the value of an object property by writing a field directly through a variable handle, using a particular {@link FieldAccessMode}.
+ * <p>
+ * For fields of type <code>int</code>, <code>long</code>, <code>double</code>, or <code>boolean</code>, the static factory methods return one of the
+ * primitive specializations such as {@link OfInt}, which can write values without boxing.
+ * </p>
+ * @param <T> The type of object this property is for.
+ * @param <V> The type of value stored in the property.
+ * @author Garret Wilson
+ * @see VarHandle
+ */
+public class VarHandlePropertyWriter<T, V> extends BasePropertyValueInfo<V> implements PropertyWriter<T, V> {
+
+	private final VarHandle varHandle;
+
+	/** @return The variable handle of the field backing the property. */
+	public VarHandle getVarHandle() {
+		return varHandle;
+	}
+
+	private final FieldAccessMode fieldAccessMode;
+
+	/** @return The mode with which the field is written. */
+	public FieldAccessMode getFieldAccessMode() {
+		return fieldAccessMode;
+	}
+
+	private final FieldAccessor<T> fieldAccessor;
+
+	/** @return The accessor used to write the field. */
+	public FieldAccessor<T> getFieldAccessor() {
+		return fieldAccessor;
+	}
+
+	/**
+	 * Constructor.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param varHandle The variable handle of the field backing the property, with the object as its single coordinate.
+	 * @param fieldAccessMode The mode with which to write the field.
+	 * @throws IllegalArgumentException if the variable handle does not have a single coordinate, or does not support writing in the given mode, as for a
+	 *           <code>final</code> field.
+	 */
+	public VarHandlePropertyWriter(@Nonnull final TypeInfo<V> valueType, @Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode) {
+		super(valueType);
+		if(varHandle.coordinateTypes().size() != 1) {
+			throw new IllegalArgumentException("Field variable handle must have the object as its single coordinate: " + varHandle);
+		}
+		if(!varHandle.isAccessModeSupported(fieldAccessMode.getWriteAccessMode())) {
+			throw new IllegalArgumentException(String.format("Field variable handle %s does not support %s access.", varHandle, fieldAccessMode.getWriteAccessMode()));
+		}
+		this.varHandle = varHandle;
+		this.fieldAccessMode = fieldAccessMode;
+		this.fieldAccessor = VarHandlePropertyReader.createFieldAccessor(varHandle, fieldAccessMode);
+	}
+
+	/**
+	 * Creates a writer that writes a field via a variable handle.
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param objectClass The class of object the property is for.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param field The field backing the property.
+	 * @param fieldAccessMode The mode with which to write the field.
+	 * @return A new writer writing the field via a variable handle.
+	 * @throws IllegalArgumentException if the field is <code>final</code>.
+	 * @throws IllegalAccessException if the field is not accessible.
+	 */
+	public static <T, V> VarHandlePropertyWriter<T, V> forField(@Nonnull final Class<T> objectClass, @Nonnull final TypeInfo<V> valueType,
+			@Nonnull final ResolvedField field, @Nonnull final FieldAccessMode fieldAccessMode) throws IllegalAccessException {
+		return forVarHandle(valueType, VarHandlePropertyReader.findFieldVarHandle(objectClass, field), fieldAccessMode);
+	}
+
+	/**
+	 * Creates a writer that writes a field via a variable handle, specialized for writing primitive values without boxing if the field is of type
+	 * <code>int</code>, <code>long</code>, <code>double</code>, or <code>boolean</code>.
+	 * @param <T> The type of object this property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param valueType The resolved type of value the property represents.
+	 * @param varHandle The variable handle of the field backing the property, with the object as its single coordinate.
+	 * @param fieldAccessMode The mode with which to write the field.
+	 * @return A new writer writing the field via the variable handle.
+	 * @throws IllegalArgumentException if the variable handle does not have a single coordinate, or does not support writing in the given mode.
+	 * @see OfInt
+	 * @see OfLong
+	 * @see OfDouble
+	 * @see OfBoolean
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, V> VarHandlePropertyWriter<T, V> forVarHandle(@Nonnull final TypeInfo<V> valueType, @Nonnull final VarHandle varHandle,
+			@Nonnull final FieldAccessMode fieldAccessMode) {
+		final Class<?> varType = varHandle.varType();
+		if(varType == int.class) {
+			return (VarHandlePropertyWriter<T, V>)new OfInt<T>((TypeInfo<Integer>)valueType, varHandle, fieldAccessMode);
+		} else if(varType == long.class) {
+			return (VarHandlePropertyWriter<T, V>)new OfLong<T>((TypeInfo<Long>)valueType, varHandle, fieldAccessMode);
+		} else if(varType == double.class) {
+			return (VarHandlePropertyWriter<T, V>)new OfDouble<T>((TypeInfo<Double>)valueType, varHandle, fieldAccessMode);
+		} else if(varType == boolean.class) {
+			return (VarHandlePropertyWriter<T, V>)new OfBoolean<T>((TypeInfo<Boolean>)valueType, varHandle, fieldAccessMode);
+		}
+		return new VarHandlePropertyWriter<>(valueType, varHandle, fieldAccessMode);
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation verifies that the value is an instance of the erased value type, or <code>null</code> for a non-primitive value type, before writing
+	 * the field, so that an inappropriate value results in an {@link IllegalArgumentException} just as it would using reflection.
+	 * </p>
+	 */
+	@Override
+	public void setValue(final T object, final V value)
+			throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+		requireNonNull(object);
+		if(value == null ? getValueType().getErasedType().isPrimitive() : !getValueType().isReflectionInstance(value)) {
+			throw new IllegalArgumentException(String.format("Value %s is not appropriate for property type %s.", value, getValueType()));
+		}
+		try {
+			fieldAccessor.set(object, value);
+		} catch(final ClassCastException classCastException) { //mirror reflection, which rejects an object that is not an instance of the declaring class
+			throw new IllegalArgumentException(classCastException.getMessage(), classCastException);
+		}
+	}
+
+	/**
+	 * A writer of a field of type <code>int</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfInt<T> extends VarHandlePropertyWriter<T, Integer> implements IntPropertyWriter<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param varHandle The variable handle of the <code>int</code> field backing the property, with the object as its single coordinate.
+		 * @param fieldAccessMode The mode with which to write the field.
+		 * @throws IllegalArgumentException if the variable handle does not have a single coordinate, or does not support writing in the given mode.
+		 * @throws WrongMethodTypeException if the variable handle is not for a <code>int</code> field.
+		 */
+		public OfInt(@Nonnull final TypeInfo<Integer> valueType, @Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode) {
+			super(valueType, VarHandlePropertyReader.requireVarType(varHandle, int.class), fieldAccessMode);
+		}
+
+		@Override
+		public void setInt(final T object, final int value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				getFieldAccessor().setInt(object, value);
+			} catch(final ClassCastException classCastException) { //mirror reflection, which rejects an object that is not an instance of the declaring class
+				throw new IllegalArgumentException(classCastException.getMessage(), classCastException);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Integer value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setInt(object, value);
+		}
+
+	}
+
+	/**
+	 * A writer of a field of type <code>long</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfLong<T> extends VarHandlePropertyWriter<T, Long> implements LongPropertyWriter<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param varHandle The variable handle of the <code>long</code> field backing the property, with the object as its single coordinate.
+		 * @param fieldAccessMode The mode with which to write the field.
+		 * @throws IllegalArgumentException if the variable handle does not have a single coordinate, or does not support writing in the given mode.
+		 * @throws WrongMethodTypeException if the variable handle is not for a <code>long</code> field.
+		 */
+		public OfLong(@Nonnull final TypeInfo<Long> valueType, @Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode) {
+			super(valueType, VarHandlePropertyReader.requireVarType(varHandle, long.class), fieldAccessMode);
+		}
+
+		@Override
+		public void setLong(final T object, final long value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				getFieldAccessor().setLong(object, value);
+			} catch(final ClassCastException classCastException) { //mirror reflection, which rejects an object that is not an instance of the declaring class
+				throw new IllegalArgumentException(classCastException.getMessage(), classCastException);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Long value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setLong(object, value);
+		}
+
+	}
+
+	/**
+	 * A writer of a field of type <code>double</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfDouble<T> extends VarHandlePropertyWriter<T, Double> implements DoublePropertyWriter<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param varHandle The variable handle of the <code>double</code> field backing the property, with the object as its single coordinate.
+		 * @param fieldAccessMode The mode with which to write the field.
+		 * @throws IllegalArgumentException if the variable handle does not have a single coordinate, or does not support writing in the given mode.
+		 * @throws WrongMethodTypeException if the variable handle is not for a <code>double</code> field.
+		 */
+		public OfDouble(@Nonnull final TypeInfo<Double> valueType, @Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode) {
+			super(valueType, VarHandlePropertyReader.requireVarType(varHandle, double.class), fieldAccessMode);
+		}
+
+		@Override
+		public void setDouble(final T object, final double value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				getFieldAccessor().setDouble(object, value);
+			} catch(final ClassCastException classCastException) { //mirror reflection, which rejects an object that is not an instance of the declaring class
+				throw new IllegalArgumentException(classCastException.getMessage(), classCastException);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Double value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setDouble(object, value);
+		}
+
+	}
+
+	/**
+	 * A writer of a field of type <code>boolean</code>, which can write values without boxing.
+	 * @param <T> The type of object this property is for.
+	 * @author Garret Wilson
+	 */
+	public static class OfBoolean<T> extends VarHandlePropertyWriter<T, Boolean> implements BooleanPropertyWriter<T> {
+
+		/**
+		 * Constructor.
+		 * @param valueType The resolved type of value the property represents.
+		 * @param varHandle The variable handle of the <code>boolean</code> field backing the property, with the object as its single coordinate.
+		 * @param fieldAccessMode The mode with which to write the field.
+		 * @throws IllegalArgumentException if the variable handle does not have a single coordinate, or does not support writing in the given mode.
+		 * @throws WrongMethodTypeException if the variable handle is not for a <code>boolean</code> field.
+		 */
+		public OfBoolean(@Nonnull final TypeInfo<Boolean> valueType, @Nonnull final VarHandle varHandle, @Nonnull final FieldAccessMode fieldAccessMode) {
+			super(valueType, VarHandlePropertyReader.requireVarType(varHandle, boolean.class), fieldAccessMode);
+		}
+
+		@Override
+		public void setBoolean(final T object, final boolean value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			requireNonNull(object);
+			try {
+				getFieldAccessor().setBoolean(object, value);
+			} catch(final ClassCastException classCastException) { //mirror reflection, which rejects an object that is not an instance of the declaring class
+				throw new IllegalArgumentException(classCastException.getMessage(), classCastException);
+			}
+		}
+
+		@Override
+		public void setValue(final T object, final Boolean value)
+				throws UnsupportedOperationException, IllegalArgumentException, IllegalAccessException, InvocationTargetException, ExceptionInInitializerError {
+			if(value == null) {
+				throw new IllegalArgumentException("Primitive property value cannot be null.");
+			}
+			setBoolean(object, value);
+		}
+
+	}
+
+}
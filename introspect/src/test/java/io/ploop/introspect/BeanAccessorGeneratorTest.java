@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+
+import com.fasterxml.classmate.*;
+import com.fasterxml.classmate.members.ResolvedMethod;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Tests generating bean accessor classes.
+ * 
+ * @author Garret Wilson
+ * @see BeanAccessorGenerator
+ */
+public class BeanAccessorGeneratorTest {
+
+	/**
+	 * Finds member methods of a class.
+	 * @param objectClass The class containing the methods.
+	 * @param methodNames The names of the methods to find.
+	 * @return The resolved methods with the given names, in the same order.
+	 */
+	private static List<ResolvedMethod> findMethods(final Class<?> objectClass, final String... methodNames) {
+		final ResolvedTypeWithMembers typeWithMembers = new MemberResolver(TypeInfo.TYPE_RESOLVER).resolve(TypeInfo.forClass(objectClass).getResolvedType(), null,
+				null);
+		final List<ResolvedMethod> methods = new ArrayList<>();
+		for(final String methodName : methodNames) {
+			for(final ResolvedMethod method : typeWithMembers.getMemberMethods()) {
+				if(method.getName().equals(methodName)) {
+					methods.add(method);
+				}
+			}
+		}
+		assertThat(methods, hasSize(methodNames.length));
+		return methods;
+	}
+
+	/** @see BeanAccessorGenerator#generate(Class, List) */
+	@Test
+	public void testGeneratedAccessor() throws ReflectiveOperationException {
+		final SimpleFooBarBean fooBarBean = new SimpleFooBarBean();
+		fooBarBean.setFoo("test");
+		fooBarBean.setBar(123);
+		final BeanAccessor<SimpleFooBarBean> beanAccessor = BeanAccessorGenerator.generate(SimpleFooBarBean.class,
+				findMethods(SimpleFooBarBean.class, "getBar", "getFoo"));
+		assertThat(beanAccessor.getClass().getName(), is(SimpleFooBarBean.class.getName() + BeanAccessorGenerator.GENERATED_CLASS_NAME_SUFFIX));
+		assertThat(beanAccessor.getClass().getClassLoader(), is(sameInstance(SimpleFooBarBean.class.getClassLoader())));
+		assertThat(beanAccessor.get(fooBarBean, 0), is(123));
+		assertThat(beanAccessor.get(fooBarBean, 1), is("test"));
+		assertThrows(IndexOutOfBoundsException.class, () -> beanAccessor.get(fooBarBean, 2));
+		final Object[] values = new Object[2];
+		beanAccessor.readAll(fooBarBean, values);
+		assertThat(values, is(arrayContaining(123, "test")));
+	}
+
+	/** Tests that an accessor generated again for the same bean class, which cannot be defined in the bean package a second time, is still generated. */
+	@Test
+	public void testGenerateAgain() throws ReflectiveOperationException {
+		final BeanAccessor<PrimitiveValuesBean> beanAccessor = BeanAccessorGenerator.generate(PrimitiveValuesBean.class,
+				findMethods(PrimitiveValuesBean.class, "getCount"));
+		final BeanAccessor<PrimitiveValuesBean> otherBeanAccessor = BeanAccessorGenerator.generate(PrimitiveValuesBean.class,
+				findMethods(PrimitiveValuesBean.class, "getCount"));
+		assertThat(otherBeanAccessor.getClass(), is(not(sameInstance(beanAccessor.getClass()))));
+		assertThat(otherBeanAccessor.getInt(PrimitiveValuesBean.createPopulated(), 0), is(123));
+	}
+
+	/** Tests that an accessor for a class in a package not open to the generator is defined in its own class loader. */
+	@Test
+	public void testGenerateForClosedPackage() throws ReflectiveOperationException {
+		@SuppressWarnings("rawtypes")
+		final BeanAccessor<AbstractMap.SimpleEntry> beanAccessor = BeanAccessorGenerator.generate(AbstractMap.SimpleEntry.class,
+				findMethods(AbstractMap.SimpleEntry.class, "getKey", "getValue"));
+		assertThat(beanAccessor.getClass().getName(), is(BeanAccessorGenerator.GENERATED_CLASS_NAME_PREFIX + AbstractMap.SimpleEntry.class.getName()
+				+ BeanAccessorGenerator.GENERATED_CLASS_NAME_SUFFIX));
+		assertThat(beanAccessor.get(new AbstractMap.SimpleEntry<>("key", "value"), 1), is("value"));
+	}
+
+	/** @see BeanAccessorGenerator#generate(Class, List) */
+	@Test
+	public void testGenerateForInaccessibleClassThrowsException() {
+		assertThrows(IllegalAccessException.class, () -> BeanAccessorGenerator.generate(PrivateBean.class, findMethods(PrivateBean.class, "getFoo")));
+	}
+
+	/** Tests that the introspector wires properties to a generated bean accessor if enabled. */
+	@Test
+	public void testIntrospectorUsesGeneratedAccessor() throws ReflectiveOperationException {
+		final SimpleFooBarBean fooBarBean = new SimpleFooBarBean();
+		fooBarBean.setFoo("test");
+		fooBarBean.setBar(123);
+		final Introspection<SimpleFooBarBean> introspection = new Introspector(true).introspect(TypeInfo.forClass(SimpleFooBarBean.class));
+		assertThat(introspection.getBeanAccessor().isPresent(), is(true));
+		assertThat(introspection.getProperty("foo").getValue(fooBarBean), is("test"));
+		assertThat(introspection.getProperty("bar").getValue(fooBarBean), is(123));
+		assertThat(introspection.readAll(fooBarBean), is(arrayContaining(123, "test")));
+	}
+
+	/** Tests that the introspector wires primitive properties to the primitive getters of a generated bean accessor. */
+	@Test
+	public void testIntrospectorUsesGeneratedAccessorPrimitives() throws ReflectiveOperationException {
+		final PrimitiveValuesBean bean = PrimitiveValuesBean.createPopulated();
+		final Introspection<PrimitiveValuesBean> introspection = new Introspector(true).introspect(TypeInfo.forClass(PrimitiveValuesBean.class));
+		final BeanAccessor<PrimitiveValuesBean> beanAccessor = introspection.getBeanAccessor().get();
+		//properties are in order of name: active, count, initial, ratio, total
+		assertThat(beanAccessor.getBoolean(bean, 0), is(true));
+		assertThat(beanAccessor.getInt(bean, 1), is(123));
+		assertThat(beanAccessor.getDouble(bean, 3), is(0.5));
+		assertThat(beanAccessor.getLong(bean, 4), is(1234567890123L));
+		assertThrows(IndexOutOfBoundsException.class, () -> beanAccessor.getInt(bean, 0));
+		assertThrows(IndexOutOfBoundsException.class, () -> beanAccessor.getInt(bean, 2));
+		final Object[] values = new Object[5];
+		beanAccessor.readAll(bean, values);
+		assertThat(values, is(arrayContaining(true, 123, 'x', 0.5, 1234567890123L)));
+
+		assertThat(((IntProperty<PrimitiveValuesBean>)introspection.getProperty("count")).getInt(bean), is(123));
+		assertThat(((LongProperty<PrimitiveValuesBean>)introspection.getProperty("total")).getLong(bean), is(1234567890123L));
+		assertThat(((DoubleProperty<PrimitiveValuesBean>)introspection.getProperty("ratio")).getDouble(bean), is(0.5));
+		assertThat(((BooleanProperty<PrimitiveValuesBean>)introspection.getProperty("active")).getBoolean(bean), is(true));
+	}
+
+	/** Tests that the introspector falls back to accessing properties individually if a bean accessor cannot be generated. */
+	@Test
+	public void testIntrospectorFallsBackForInaccessibleClass() throws ReflectiveOperationException {
+		final Introspection<PrivateBean> introspection = new Introspector(true).introspect(TypeInfo.forClass(PrivateBean.class));
+		assertThat(introspection.getBeanAccessor().isPresent(), is(false));
+		assertThat(introspection.getPropertyCount(), is(1));
+	}
+
+	/** Tests that the introspector falls back to accessing properties individually if generating a bean accessor throws a runtime exception. */
+	@Test
+	public void testIntrospectorFallsBackForGenerationRuntimeException() throws ReflectiveOperationException {
+		final Introspector introspector = new Introspector(true) {
+			@Override
+			protected <T> BeanAccessor<T> createBeanAccessor(final TypeInfo<T> objectType, final List<ResolvedMethod> getterMethods) {
+				return super.createBeanAccessor(objectType, new AbstractList<ResolvedMethod>() { //simulate class generation failing unexpectedly
+					@Override
+					public ResolvedMethod get(final int index) {
+						throw new IllegalStateException("Getter method not available.");
+					}
+
+					@Override
+					public int size() {
+						return getterMethods.size();
+					}
+				});
+			}
+		};
+		final SimpleFooBarBean fooBarBean = new SimpleFooBarBean();
+		fooBarBean.setFoo("test");
+		fooBarBean.setBar(123);
+		final Introspection<SimpleFooBarBean> introspection = introspector.introspect(TypeInfo.forClass(SimpleFooBarBean.class));
+		assertThat(introspection.getBeanAccessor().isPresent(), is(false));
+		assertThat(introspection.readAll(fooBarBean), is(arrayContaining(123, "test")));
+	}
+
+	/** Tests that reading all values rejects an object of the wrong type the same way whether or not a bean accessor is used. */
+	@Test
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public void testReadAllWrongObjectTypeThrowsIllegalArgumentException() {
+		final Introspection introspection = new Introspector(true).introspect(TypeInfo.forClass(PrimitiveValuesBean.class));
+		assertThat(introspection.getBeanAccessor().isPresent(), is(true));
+		assertThrows(IllegalArgumentException.class, () -> introspection.readAll("foo", new Object[5]));
+		final Introspection fallbackIntrospection = new Introspector(false).introspect(TypeInfo.forClass(PrimitiveValuesBean.class));
+		assertThat(fallbackIntrospection.getBeanAccessor().isPresent(), is(false));
+		assertThrows(IllegalArgumentException.class, () -> fallbackIntrospection.readAll("foo", new Object[5]));
+	}
+
+	/** A bean that is not publicly accessible. */
+	private static class PrivateBean {
+
+		/** @return The foo. */
+		@SuppressWarnings("unused")
+		public String getFoo() {
+			return "foo";
+		}
+
+	}
+
+}
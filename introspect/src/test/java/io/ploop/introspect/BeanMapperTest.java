@@ -0,0 +1,357 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+
+import org.junit.jupiter.api.*;
+
+import io.ploop.convert.ConversionException;
+
+/**
+ * Tests copying property values between objects of different types.
+ * 
+ * @author Garret Wilson
+ * @see BeanCopier
+ * @see BeanMapper
+ */
+public class BeanMapperTest {
+
+	/** Tests copying properties with the same name, converting values where the types differ. */
+	@Test
+	public void testMap() throws Exception {
+		final PersonDto dto = new PersonDto();
+		dto.setId(12345678901L);
+		dto.setAge(42);
+		dto.setScore(7);
+		dto.setName("Jane");
+		dto.setNickname("J");
+		final PersonEntity entity = BeanCopier.INSTANCE.map(dto, PersonEntity.class);
+		assertThat(entity.getId(), is(12345678901L));
+		assertThat(entity.getAge(), is(42L));
+		assertThat(entity.getScore(), is(7.0));
+		assertThat(entity.getName(), is("Jane"));
+		assertThat(entity.getAddress(), is(nullValue()));
+		final BeanMapper<PersonDto, PersonEntity> mapper = BeanCopier.INSTANCE.getMapper(PersonDto.class, PersonEntity.class);
+		assertThat(BeanCopier.INSTANCE.getMapper(PersonDto.class, PersonEntity.class), is(sameInstance(mapper)));
+	}
+
+	/** Tests deep copying of nested beans, preserving shared references and cycles. */
+	@Test
+	public void testMapDeep() throws Exception {
+		final AddressDto address = new AddressDto();
+		address.setCity("Paris");
+		final PersonDto dto = new PersonDto();
+		dto.setName("Jane");
+		dto.setAddress(address);
+		final PersonDto friend = new PersonDto();
+		friend.setName("John");
+		friend.setAddress(address);
+		friend.setFriend(dto);
+		dto.setFriend(friend);
+		final PersonEntity entity = BeanCopier.INSTANCE.map(dto, PersonEntity.class);
+		assertThat(entity.getAddress().getCity(), is("Paris"));
+		assertThat(entity.getFriend().getName(), is("John"));
+		assertThat(entity.getFriend().getFriend(), is(sameInstance(entity)));
+		assertThat(entity.getFriend().getAddress(), is(sameInstance(entity.getAddress())));
+	}
+
+	/** Tests copying into an existing object, and a failure to convert. */
+	@Test
+	public void testCopy() throws Exception {
+		final PersonEntity source = new PersonEntity();
+		source.setAge(30L);
+		source.setScore(2.5);
+		final PersonDto target = new PersonDto();
+		target.setNickname("unchanged");
+		assertThrows(ConversionException.class, () -> BeanCopier.INSTANCE.copy(source, target)); //2.5 is not an integer
+		source.setScore(2.0);
+		BeanCopier.INSTANCE.copy(source, target);
+		assertThat(target.getAge(), is(30));
+		assertThat(target.getScore(), is(2));
+		assertThat(target.getNickname(), is("unchanged"));
+	}
+
+	/** @see BeanCopier#getMapper(Class, Class) */
+	@Test
+	public void testGetMapperCached() {
+		final BeanMapper<PersonEntity, PersonDto> mapper = BeanCopier.INSTANCE.getMapper(PersonEntity.class, PersonDto.class);
+		assertThat(BeanCopier.INSTANCE.getMapper(PersonEntity.class, PersonDto.class), is(sameInstance(mapper)));
+	}
+
+	/**
+	 * Tests that mappers between classes of related class loaders are cached, while mappers between classes of unrelated class loaders are not, so that the
+	 * cache does not keep a class loader from being unloaded.
+	 * @see BeanCopier#getMapper(Class, Class)
+	 */
+	@Test
+	public void testGetMapperAcrossClassLoaders() throws Exception {
+		final Class<?> childAddressDtoClass = new CopyingClassLoader(getClass().getClassLoader()).loadCopy(AddressDto.class);
+		final Class<?> otherChildAddressDtoClass = new CopyingClassLoader(getClass().getClassLoader()).loadCopy(AddressDto.class);
+		assertThat(BeanCopier.isClassLoaderDescendant(childAddressDtoClass, AddressEntity.class), is(true));
+		assertThat(BeanCopier.isClassLoaderDescendant(AddressEntity.class, childAddressDtoClass), is(false));
+		assertThat(BeanCopier.isClassLoaderDescendant(AddressEntity.class, String.class), is(true));
+		assertThat(BeanCopier.isClassLoaderDescendant(childAddressDtoClass, otherChildAddressDtoClass), is(false));
+		assertThat(BeanCopier.INSTANCE.getMapper(childAddressDtoClass, AddressEntity.class),
+				is(sameInstance(BeanCopier.INSTANCE.getMapper(childAddressDtoClass, AddressEntity.class))));
+		assertThat(BeanCopier.INSTANCE.getMapper(AddressEntity.class, childAddressDtoClass),
+				is(sameInstance(BeanCopier.INSTANCE.getMapper(AddressEntity.class, childAddressDtoClass))));
+		assertThat(BeanCopier.INSTANCE.getMapper(childAddressDtoClass, otherChildAddressDtoClass),
+				is(not(sameInstance(BeanCopier.INSTANCE.getMapper(childAddressDtoClass, otherChildAddressDtoClass)))));
+		final AddressEntity address = new AddressEntity();
+		address.setCity("Paris");
+		final Object copy = BeanCopier.INSTANCE.map(BeanCopier.INSTANCE.map(address, childAddressDtoClass), otherChildAddressDtoClass);
+		assertThat(copy, is(instanceOf(otherChildAddressDtoClass)));
+		assertThat(BeanCopier.INSTANCE.map(copy, AddressEntity.class).getCity(), is("Paris"));
+	}
+
+	/**
+	 * A class loader that defines its own copies of classes available from its parent.
+	 * @author Garret Wilson
+	 */
+	private static final class CopyingClassLoader extends ClassLoader {
+
+		/**
+		 * Constructor.
+		 * @param parent The parent class loader.
+		 */
+		public CopyingClassLoader(final ClassLoader parent) {
+			super(parent);
+		}
+
+		/**
+		 * Defines a copy of a class in this class loader.
+		 * @param originalClass The class to copy.
+		 * @return The copy of the class.
+		 * @throws IOException if the class file cannot be read.
+		 */
+		public Class<?> loadCopy(final Class<?> originalClass) throws IOException {
+			final String classFileName = originalClass.getName().substring(originalClass.getName().lastIndexOf('.') + 1) + ".class";
+			final byte[] classBytes;
+			try (final InputStream inputStream = originalClass.getResourceAsStream(classFileName)) {
+				classBytes = inputStream.readAllBytes();
+			}
+			return defineClass(originalClass.getName(), classBytes, 0, classBytes.length);
+		}
+
+	}
+
+	/** A data transfer object for an address. */
+	public static class AddressDto {
+
+		private String city;
+
+		/** @return The city. */
+		public String getCity() {
+			return city;
+		}
+
+		/** @param city The new city. */
+		public void setCity(final String city) {
+			this.city = city;
+		}
+
+	}
+
+	/** An entity for an address. */
+	public static class AddressEntity {
+
+		private String city;
+
+		/** @return The city. */
+		public String getCity() {
+			return city;
+		}
+
+		/** @param city The new city. */
+		public void setCity(final String city) {
+			this.city = city;
+		}
+
+	}
+
+	/** A data transfer object for a person. */
+	public static class PersonDto {
+
+		private long id;
+
+		/** @return The identifier. */
+		public long getId() {
+			return id;
+		}
+
+		/** @param id The new identifier. */
+		public void setId(final long id) {
+			this.id = id;
+		}
+
+		private int age;
+
+		/** @return The age. */
+		public int getAge() {
+			return age;
+		}
+
+		/** @param age The new age. */
+		public void setAge(final int age) {
+			this.age = age;
+		}
+
+		private int score;
+
+		/** @return The score. */
+		public int getScore() {
+			return score;
+		}
+
+		/** @param score The new score. */
+		public void setScore(final int score) {
+			this.score = score;
+		}
+
+		private String name;
+
+		/** @return The name. */
+		public String getName() {
+			return name;
+		}
+
+		/** @param name The new name. */
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		private String nickname;
+
+		/** @return The nickname, which has no corresponding entity property. */
+		public String getNickname() {
+			return nickname;
+		}
+
+		/** @param nickname The new nickname. */
+		public void setNickname(final String nickname) {
+			this.nickname = nickname;
+		}
+
+		private AddressDto address;
+
+		/** @return The address. */
+		public AddressDto getAddress() {
+			return address;
+		}
+
+		/** @param address The new address. */
+		public void setAddress(final AddressDto address) {
+			this.address = address;
+		}
+
+		private PersonDto friend;
+
+		/** @return The friend. */
+		public PersonDto getFriend() {
+			return friend;
+		}
+
+		/** @param friend The new friend. */
+		public void setFriend(final PersonDto friend) {
+			this.friend = friend;
+		}
+
+	}
+
+	/** An entity for a person, with some property types differing from those of the data transfer object. */
+	public static class PersonEntity {
+
+		private long id;
+
+		/** @return The identifier. */
+		public long getId() {
+			return id;
+		}
+
+		/** @param id The new identifier. */
+		public void setId(final long id) {
+			this.id = id;
+		}
+
+		private long age;
+
+		/** @return The age. */
+		public long getAge() {
+			return age;
+		}
+
+		/** @param age The new age. */
+		public void setAge(final long age) {
+			this.age = age;
+		}
+
+		private double score;
+
+		/** @return The score. */
+		public double getScore() {
+			return score;
+		}
+
+		/** @param score The new score. */
+		public void setScore(final double score) {
+			this.score = score;
+		}
+
+		private String name;
+
+		/** @return The name. */
+		public String getName() {
+			return name;
+		}
+
+		/** @param name The new name. */
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		private AddressEntity address;
+
+		/** @return The address. */
+		public AddressEntity getAddress() {
+			return address;
+		}
+
+		/** @param address The new address. */
+		public void setAddress(final AddressEntity address) {
+			this.address = address;
+		}
+
+		private PersonEntity friend;
+
+		/** @return The friend. */
+		public PersonEntity getFriend() {
+			return friend;
+		}
+
+		/** @param friend The new friend. */
+		public void setFriend(final PersonEntity friend) {
+			this.friend = friend;
+		}
+
+	}
+
+}
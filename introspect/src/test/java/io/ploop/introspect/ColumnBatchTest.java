@@ -0,0 +1,245 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.ForkJoinPool;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import io.ploop.introspect.ColumnBatch.ColumnType;
+
+/**
+ * Tests reading property values into column vectors.
+ * 
+ * @author Garret Wilson
+ * @see ColumnBatch
+ */
+public class ColumnBatchTest {
+
+	@TempDir
+	Path tempDirectory;
+
+	/**
+	 * Creates beans with varying values, some of them <code>null</code>.
+	 * @param count The number of beans to create.
+	 * @return The new beans.
+	 */
+	static List<ColumnsBean> createBeans(final int count) {
+		final List<ColumnsBean> beans = new ArrayList<>(count);
+		for(int index = 0; index < count; index++) {
+			final ColumnsBean bean = new ColumnsBean();
+			bean.setCount(index);
+			bean.setRank(index % 3 == 0 ? null : index * 10);
+			bean.setTotal(index * 1000L);
+			bean.setRatio(index / 4.0);
+			bean.setActive(index % 2 == 0);
+			bean.setName(index % 5 == 0 ? null : "bean" + index);
+			beans.add(bean);
+		}
+		return beans;
+	}
+
+	/**
+	 * Verifies the columns of a batch against the beans read.
+	 * @param batch The batch.
+	 * @param beans The beans read into the batch.
+	 */
+	static void assertColumns(final ColumnBatch<ColumnsBean> batch, final List<ColumnsBean> beans) {
+		final Introspection<ColumnsBean> introspection = batch.getIntrospection();
+		final int countOrdinal = introspection.getPropertyOrdinal("count");
+		final int rankOrdinal = introspection.getPropertyOrdinal("rank");
+		final int totalOrdinal = introspection.getPropertyOrdinal("total");
+		final int ratioOrdinal = introspection.getPropertyOrdinal("ratio");
+		final int activeOrdinal = introspection.getPropertyOrdinal("active");
+		final int nameOrdinal = introspection.getPropertyOrdinal("name");
+		assertThat(batch.getSize(), is(beans.size()));
+		for(int index = 0; index < beans.size(); index++) {
+			final ColumnsBean bean = beans.get(index);
+			assertThat(batch.getIntColumn(countOrdinal)[index], is(bean.getCount()));
+			assertThat(batch.isNull(countOrdinal, index), is(false));
+			assertThat(batch.isNull(rankOrdinal, index), is(bean.getRank() == null));
+			assertThat(batch.getIntColumn(rankOrdinal)[index], is(bean.getRank() != null ? bean.getRank() : 0));
+			assertThat(batch.getLongColumn(totalOrdinal)[index], is(bean.getTotal()));
+			assertThat(batch.getDoubleColumn(ratioOrdinal)[index], is(bean.getRatio()));
+			assertThat(batch.getBooleanColumn(activeOrdinal)[index], is(bean.isActive()));
+			assertThat(batch.getObjectColumn(nameOrdinal)[index], is(bean.getName()));
+			assertThat(batch.isNull(nameOrdinal, index), is(bean.getName() == null));
+		}
+	}
+
+	/** Tests the types of columns created for the properties. */
+	@Test
+	public void testColumnTypes() {
+		final Introspection<ColumnsBean> introspection = Introspection.of(ColumnsBean.class);
+		final ColumnBatch<ColumnsBean> batch = new ColumnBatch<>(introspection, 10);
+		assertThat(batch.getColumnType(introspection.getPropertyOrdinal("count")), is(Optional.of(ColumnType.INT)));
+		assertThat(batch.getColumnType(introspection.getPropertyOrdinal("rank")), is(Optional.of(ColumnType.INT)));
+		assertThat(batch.getColumnType(introspection.getPropertyOrdinal("total")), is(Optional.of(ColumnType.LONG)));
+		assertThat(batch.getColumnType(introspection.getPropertyOrdinal("ratio")), is(Optional.of(ColumnType.DOUBLE)));
+		assertThat(batch.getColumnType(introspection.getPropertyOrdinal("active")), is(Optional.of(ColumnType.BOOLEAN)));
+		assertThat(batch.getColumnType(introspection.getPropertyOrdinal("name")), is(Optional.of(ColumnType.OBJECT)));
+		assertThrows(IllegalArgumentException.class, () -> batch.getLongColumn(introspection.getPropertyOrdinal("count")));
+		assertThrows(IllegalArgumentException.class, () -> batch.read(createBeans(11)));
+	}
+
+	/** Tests reading batches sequentially and in parallel, reusing the same batch. */
+	@Test
+	public void testRead() throws Exception {
+		final ColumnBatch<ColumnsBean> batch = new ColumnBatch<>(Introspection.of(ColumnsBean.class), 5000);
+		final List<ColumnsBean> beans = createBeans(5000);
+		batch.read(beans);
+		assertColumns(batch, beans);
+		final List<ColumnsBean> fewerBeans = createBeans(1500);
+		Collections.reverse(fewerBeans);
+		final ForkJoinPool pool = new ForkJoinPool(4);
+		try {
+			batch.readParallel(fewerBeans, pool);
+		} finally {
+			pool.shutdown();
+		}
+		assertColumns(batch, fewerBeans);
+		assertThat(batch.getObjectColumn(batch.getIntrospection().getPropertyOrdinal("name"))[1500], is(nullValue()));
+		batch.readParallel(beans);
+		assertColumns(batch, beans);
+	}
+
+	/** Tests exporting the primitive columns to a memory-mapped file. */
+	@Test
+	public void testExport() throws Exception {
+		final ColumnBatch<ColumnsBean> batch = new ColumnBatch<>(Introspection.of(ColumnsBean.class), 100);
+		final Path file = tempDirectory.resolve("columns.bin");
+		try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			batch.read(createBeans(100));
+			final long length = batch.export(channel);
+			batch.read(createBeans(70));
+			assertThat(batch.export(channel), is(4L + 5 * 2 * 8 + 70 * (4 + 4 + 8 + 8 + 1)));
+			assertThat(channel.size(), is(length + 4 + 5 * 2 * 8 + 70 * (4 + 4 + 8 + 8 + 1)));
+		}
+		final ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+		assertThat(buffer.getInt(), is(100));
+		//properties in order of ordinal: active, count, rank, ratio, total; name is not exported
+		buffer.position(buffer.position() + 2 * Long.BYTES + 100); //active
+		buffer.position(buffer.position() + 2 * Long.BYTES); //count null bitmap
+		assertThat(buffer.getInt(), is(0));
+		assertThat(buffer.getInt(), is(1));
+		buffer.position(buffer.position() + 98 * Integer.BYTES);
+		assertThat(buffer.getLong(), is(0b1001001001001001001001001001001001001001001001001001001001001001L)); //rank null bitmap
+	}
+
+	/** Tests exporting through several mapped regions, which must produce the same bytes as exporting through a single region. */
+	@Test
+	public void testExportRegions() throws Exception {
+		final ColumnBatch<ColumnsBean> batch = new ColumnBatch<>(Introspection.of(ColumnsBean.class), 100);
+		batch.read(createBeans(100));
+		final Path file = tempDirectory.resolve("columns.bin");
+		final Path regionsFile = tempDirectory.resolve("columns-regions.bin");
+		try (final FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+				final FileChannel regionsChannel = FileChannel.open(regionsFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+			final long length = batch.export(channel);
+			assertThat(batch.export(regionsChannel, 12), is(length));
+			assertThrows(IllegalArgumentException.class, () -> batch.export(regionsChannel, Long.BYTES - 1));
+		}
+		assertThat(Files.readAllBytes(regionsFile), is(Files.readAllBytes(file)));
+	}
+
+	/** A bean with properties stored in each type of column. */
+	public static class ColumnsBean {
+
+		private int count;
+
+		/** @return The count. */
+		public int getCount() {
+			return count;
+		}
+
+		/** @param count The new count. */
+		public void setCount(final int count) {
+			this.count = count;
+		}
+
+		private Integer rank;
+
+		/** @return The rank, or <code>null</code> if not ranked. */
+		public Integer getRank() {
+			return rank;
+		}
+
+		/** @param rank The new rank, or <code>null</code> if not ranked. */
+		public void setRank(final Integer rank) {
+			this.rank = rank;
+		}
+
+		private long total;
+
+		/** @return The total. */
+		public long getTotal() {
+			return total;
+		}
+
+		/** @param total The new total. */
+		public void setTotal(final long total) {
+			this.total = total;
+		}
+
+		private double ratio;
+
+		/** @return The ratio. */
+		public double getRatio() {
+			return ratio;
+		}
+
+		/** @param ratio The new ratio. */
+		public void setRatio(final double ratio) {
+			this.ratio = ratio;
+		}
+
+		private boolean active;
+
+		/** @return Whether the bean is active. */
+		public boolean isActive() {
+			return active;
+		}
+
+		/** @param active Whether the bean is active. */
+		public void setActive(final boolean active) {
+			this.active = active;
+		}
+
+		private String name;
+
+		/** @return The name, or <code>null</code> if not named. */
+		public String getName() {
+			return name;
+		}
+
+		/** @param name The new name, or <code>null</code> if not named. */
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+	}
+
+}
@@ -0,0 +1,187 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests finding the properties that have changed since a snapshot.
+ * 
+ * @author Garret Wilson
+ * @see DirtyChecker
+ */
+public class DirtyCheckerTest {
+
+	/** Tests that an unmodified object is not dirty, even if reference values are replaced with equal values. */
+	@Test
+	public void testClean() throws Exception {
+		final DirtyChecker<TrackedBean> checker = new DirtyChecker<>(Introspection.of(TrackedBean.class));
+		final TrackedBean bean = new TrackedBean();
+		bean.setName("test");
+		bean.setData(new byte[] {1, 2, 3});
+		final DirtyChecker.Snapshot snapshot = checker.snapshot(bean);
+		assertThat(checker.isDirty(bean, snapshot), is(false));
+		bean.setName(new String("test"));
+		bean.setData(new byte[] {1, 2, 3});
+		bean.setRatio(Double.NaN);
+		bean.setRatio(0.0);
+		assertThat(checker.findDirty(bean, snapshot).isEmpty(), is(true));
+	}
+
+	/** Tests finding the ordinals of changed properties, including reference values modified in place. */
+	@Test
+	public void testFindDirty() throws Exception {
+		final Introspection<TrackedBean> introspection = Introspection.of(TrackedBean.class);
+		final DirtyChecker<TrackedBean> checker = new DirtyChecker<>(introspection);
+		final TrackedBean bean = new TrackedBean();
+		bean.setData(new byte[] {1, 2, 3});
+		final DirtyChecker.Snapshot snapshot = checker.snapshot(bean);
+		bean.setCount(5);
+		bean.setActive(true);
+		bean.setName("changed");
+		bean.getData()[1] = 9;
+		bean.getTags().add("tag");
+		final BitSet dirtyOrdinals = checker.findDirty(bean, snapshot);
+		final BitSet expected = new BitSet();
+		for(final String name : List.of("count", "active", "name", "data", "tags")) {
+			expected.set(introspection.getPropertyOrdinal(name));
+		}
+		assertThat(dirtyOrdinals, is(expected));
+		assertThat(checker.isDirty(bean, snapshot), is(true));
+		assertThrows(IllegalArgumentException.class,
+				() -> new DirtyChecker<>(Introspection.of(SimpleFooBarBean.class)).findDirty(new SimpleFooBarBean(), snapshot));
+	}
+
+	/** Tests finding the changed properties of many objects in parallel. */
+	@Test
+	public void testFindDirtyParallel() throws Exception {
+		final Introspection<TrackedBean> introspection = Introspection.of(TrackedBean.class);
+		final DirtyChecker<TrackedBean> checker = new DirtyChecker<>(introspection);
+		final int count = 3000;
+		final List<TrackedBean> beans = new ArrayList<>(count);
+		final List<DirtyChecker.Snapshot> snapshots = new ArrayList<>(count);
+		for(int index = 0; index < count; index++) {
+			final TrackedBean bean = new TrackedBean();
+			bean.setCount(index);
+			beans.add(bean);
+			snapshots.add(checker.snapshot(bean));
+		}
+		for(int index = 0; index < count; index += 7) {
+			beans.get(index).setTotal(index);
+		}
+		final List<BitSet> dirtyOrdinals = checker.findDirtyParallel(beans, snapshots);
+		final int totalOrdinal = introspection.getPropertyOrdinal("total");
+		for(int index = 0; index < count; index++) {
+			final BitSet expected = new BitSet();
+			if(index % 7 == 0 && index != 0) {
+				expected.set(totalOrdinal);
+			}
+			assertThat(dirtyOrdinals.get(index), is(expected));
+		}
+	}
+
+	/** A bean with primitive and reference properties. */
+	public static class TrackedBean {
+
+		private int count;
+
+		/** @return The count. */
+		public int getCount() {
+			return count;
+		}
+
+		/** @param count The new count. */
+		public void setCount(final int count) {
+			this.count = count;
+		}
+
+		private long total;
+
+		/** @return The total. */
+		public long getTotal() {
+			return total;
+		}
+
+		/** @param total The new total. */
+		public void setTotal(final long total) {
+			this.total = total;
+		}
+
+		private double ratio;
+
+		/** @return The ratio. */
+		public double getRatio() {
+			return ratio;
+		}
+
+		/** @param ratio The new ratio. */
+		public void setRatio(final double ratio) {
+			this.ratio = ratio;
+		}
+
+		private boolean active;
+
+		/** @return Whether the bean is active. */
+		public boolean isActive() {
+			return active;
+		}
+
+		/** @param active Whether the bean is active. */
+		public void setActive(final boolean active) {
+			this.active = active;
+		}
+
+		private String name;
+
+		/** @return The name. */
+		public String getName() {
+			return name;
+		}
+
+		/** @param name The new name. */
+		public void setName(final String name) {
+			this.name = name;
+		}
+
+		private byte[] data;
+
+		/** @return The data. */
+		public byte[] getData() {
+			return data;
+		}
+
+		/** @param data The new data. */
+		public void setData(final byte[] data) {
+			this.data = data;
+		}
+
+		private final List<String> tags = new ArrayList<>();
+
+		/** @return The tags, which may be modified in place. */
+		public List<String> getTags() {
+			return tags;
+		}
+
+	}
+
+}
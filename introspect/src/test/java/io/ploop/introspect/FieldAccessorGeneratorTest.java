@@ -0,0 +1,128 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.invoke.VarHandle;
+
+import org.junit.jupiter.api.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Tests generating field accessor classes.
+ * 
+ * @author Garret Wilson
+ * @see FieldAccessorGenerator
+ */
+public class FieldAccessorGeneratorTest {
+
+	/**
+	 * Finds a variable handle for a field of {@link FieldsBean}.
+	 * @param fieldName The name of the field.
+	 * @return A variable handle for the field.
+	 */
+	private static VarHandle findFieldsBeanVarHandle(final String fieldName) throws ReflectiveOperationException {
+		return VarHandlePropertyReader.findFieldVarHandle(FieldsBean.class, FieldsBean.class.getDeclaredField(fieldName));
+	}
+
+	/** @see FieldAccessorGenerator#generate(VarHandle, FieldAccessMode) */
+	@Test
+	public void testGenerateObjectField() throws ReflectiveOperationException {
+		for(final FieldAccessMode fieldAccessMode : FieldAccessMode.values()) {
+			final FieldAccessor<FieldsBean> fieldAccessor = FieldAccessorGenerator.generate(findFieldsBeanVarHandle("name"), fieldAccessMode);
+			assertThat(fieldAccessor.getClass().getName(), startsWith(FieldAccessorGenerator.GENERATED_CLASS_NAME_PREFIX));
+			final FieldsBean bean = new FieldsBean("id");
+			fieldAccessor.set(bean, "foo");
+			assertThat(bean.name, is("foo"));
+			assertThat(fieldAccessor.get(bean), is("foo"));
+			assertThrows(ClassCastException.class, () -> fieldAccessor.set(bean, 123));
+		}
+	}
+
+	/**
+	 * Tests that a generated accessor can access a private primitive field without boxing.
+	 * @see FieldAccessorGenerator#generate(VarHandle, FieldAccessMode)
+	 */
+	@Test
+	public void testGeneratePrivatePrimitiveField() throws ReflectiveOperationException {
+		final FieldAccessor<FieldsBean> fieldAccessor = FieldAccessorGenerator.generate(findFieldsBeanVarHandle("count"), FieldAccessMode.PLAIN);
+		final FieldsBean bean = new FieldsBean("id");
+		fieldAccessor.setInt(bean, 5);
+		assertThat(bean.count(), is(5));
+		assertThat(fieldAccessor.getInt(bean), is(5));
+		fieldAccessor.set(bean, 6);
+		assertThat(fieldAccessor.get(bean), is(6));
+	}
+
+	/** @see FieldAccessorGenerator#generate(VarHandle, FieldAccessMode) */
+	@Test
+	public void testGenerateFinalFieldRejectsWrite() throws ReflectiveOperationException {
+		final FieldAccessor<FieldsBean> fieldAccessor = FieldAccessorGenerator.generate(findFieldsBeanVarHandle("id"), FieldAccessMode.PLAIN);
+		final FieldsBean bean = new FieldsBean("id");
+		assertThat(fieldAccessor.get(bean), is("id"));
+		assertThrows(UnsupportedOperationException.class, () -> fieldAccessor.set(bean, "other"));
+	}
+
+	/** @see FieldAccessorGenerator#generate(VarHandle, FieldAccessMode) */
+	@Test
+	@SuppressWarnings({"rawtypes", "unchecked"})
+	public void testGeneratedAccessorRejectsWrongObjectType() throws ReflectiveOperationException {
+		final FieldAccessor fieldAccessor = FieldAccessorGenerator.generate(findFieldsBeanVarHandle("name"), FieldAccessMode.PLAIN);
+		assertThrows(ClassCastException.class, () -> fieldAccessor.get("not a bean"));
+	}
+
+	/**
+	 * Tests that the accessor used when no class can be generated accesses the field in each mode.
+	 * @see VarHandlePropertyReader.VarHandleFieldAccessor
+	 */
+	@Test
+	public void testVarHandleFieldAccessor() throws ReflectiveOperationException {
+		for(final FieldAccessMode fieldAccessMode : FieldAccessMode.values()) {
+			final FieldAccessor<FieldsBean> fieldAccessor = new VarHandlePropertyReader.VarHandleFieldAccessor<>(findFieldsBeanVarHandle("version"), fieldAccessMode);
+			final FieldsBean bean = new FieldsBean("id");
+			fieldAccessor.setLong(bean, 3L);
+			assertThat(bean.version, is(3L));
+			assertThat(fieldAccessor.getLong(bean), is(3L));
+			fieldAccessor.set(bean, 4L);
+			assertThat(fieldAccessor.get(bean), is(4L));
+		}
+	}
+
+	/**
+	 * Tests that the property readers and writers of fields use generated accessors.
+	 * @see VarHandlePropertyReader#getFieldAccessor()
+	 * @see VarHandlePropertyWriter#getFieldAccessor()
+	 */
+	@Test
+	public void testVarHandlePropertyUsesGeneratedAccessor() throws ReflectiveOperationException {
+		final VarHandle varHandle = findFieldsBeanVarHandle("version");
+		final VarHandlePropertyReader<FieldsBean, Long> reader = VarHandlePropertyReader.forVarHandle(TypeInfo.forClass(long.class), varHandle,
+				FieldAccessMode.VOLATILE, true);
+		final VarHandlePropertyWriter<FieldsBean, Long> writer = VarHandlePropertyWriter.forVarHandle(TypeInfo.forClass(long.class), varHandle,
+				FieldAccessMode.VOLATILE);
+		assertThat(reader.getFieldAccessor().getClass().getName(), startsWith(FieldAccessorGenerator.GENERATED_CLASS_NAME_PREFIX));
+		assertThat(writer.getFieldAccessor().getClass().getName(), startsWith(FieldAccessorGenerator.GENERATED_CLASS_NAME_PREFIX));
+		final FieldsBean bean = new FieldsBean("id");
+		((VarHandlePropertyWriter.OfLong<FieldsBean>)writer).setLong(bean, 7L);
+		assertThat(((VarHandlePropertyReader.OfLong<FieldsBean>)reader).getLong(bean), is(7L));
+	}
+
+}
@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+/**
+ * A record of fields with no accessor methods.
+ * @author Garret Wilson
+ */
+public class FieldsBean {
+
+	/** A public field. */
+	public String name;
+
+	/** A private primitive field. */
+	private int count;
+
+	/** A volatile field. */
+	public volatile long version;
+
+	/** A final field. */
+	public final String id;
+
+	/** A transient field, which is not a property. */
+	public transient Object cache;
+
+	/**
+	 * Constructor.
+	 * @param id The identifier.
+	 */
+	public FieldsBean(final String id) {
+		this.id = id;
+	}
+
+	/** @return The count, in a method that is not a getter. */
+	public int count() {
+		return count;
+	}
+
+}
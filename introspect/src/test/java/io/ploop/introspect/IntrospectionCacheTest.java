@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.lang.ref.WeakReference;
+import java.util.*;
+import java.util.concurrent.*;
+
+import org.junit.jupiter.api.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Tests caching of introspections.
+ * 
+ * @author Garret Wilson
+ * @see IntrospectionCache
+ */
+public class IntrospectionCacheTest {
+
+	/** Tests that the same introspection is returned for a class until it is invalidated. */
+	@Test
+	public void testCachedIntrospectionUntilInvalidated() {
+		final IntrospectionCache cache = IntrospectionCache.INSTANCE;
+		cache.invalidate(ComplexFooBarBean.class);
+		final long hitCount = cache.getHitCount();
+		final long missCount = cache.getMissCount();
+		final long evictionCount = cache.getEvictionCount();
+
+		final Introspection<ComplexFooBarBean> introspection = Introspection.of(ComplexFooBarBean.class);
+		assertThat(cache.getMissCount(), is(missCount + 1));
+		assertThat(Introspection.of(ComplexFooBarBean.class), is(sameInstance(introspection)));
+		assertThat(cache.getHitCount(), is(hitCount + 1));
+
+		assertThat(cache.invalidate(ComplexFooBarBean.class), is(true));
+		assertThat(cache.getEvictionCount(), is(evictionCount + 1));
+		assertThat(cache.invalidate(ComplexFooBarBean.class), is(false));
+		assertThat(cache.getEvictionCount(), is(evictionCount + 1));
+
+		final Introspection<ComplexFooBarBean> newIntrospection = Introspection.of(ComplexFooBarBean.class);
+		assertThat(newIntrospection, is(not(sameInstance(introspection))));
+		assertThat(newIntrospection.getPropertyCount(), is(2));
+		assertThat(cache.getMissCount(), is(missCount + 2));
+	}
+
+	/** Tests that introspections of parameterized types are cached separately and invalidated along with their erased class. */
+	@Test
+	public void testParameterizedTypeCachedUntilInvalidated() {
+		final IntrospectionCache cache = IntrospectionCache.INSTANCE;
+		final TypeInfo<?> pageType = TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(IntrospectionTest.Page.class, SimpleFooBarBean.class));
+		cache.invalidate(IntrospectionTest.Page.class);
+		final long missCount = cache.getMissCount();
+		final long evictionCount = cache.getEvictionCount();
+
+		final Introspection<?> introspection = cache.get(pageType);
+		final Introspection<?> rawIntrospection = cache.get(IntrospectionTest.Page.class);
+		assertThat(rawIntrospection, is(not(sameInstance(introspection))));
+		assertThat(cache.getMissCount(), is(missCount + 2));
+		assertThat(cache.get(pageType), is(sameInstance(introspection)));
+		assertThat(cache.get(TypeInfo.forClass(IntrospectionTest.Page.class)), is(sameInstance(rawIntrospection)));
+
+		assertThat(cache.invalidate(IntrospectionTest.Page.class), is(true));
+		assertThat(cache.getEvictionCount(), is(evictionCount + 2));
+		assertThat(cache.get(pageType), is(not(sameInstance(introspection))));
+	}
+
+	/** Tests that introspections of parameterized types are not retained once they are no longer in use. */
+	@Test
+	public void testParameterizedTypeIntrospectionHeldWeakly() throws InterruptedException {
+		final IntrospectionCache cache = IntrospectionCache.INSTANCE;
+		final TypeInfo<?> pageType = TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(IntrospectionTest.Page.class, FieldsBean.class));
+		final WeakReference<Introspection<?>> introspectionReference = new WeakReference<>(cache.get(pageType));
+		for(int i = 0; i < 100 && introspectionReference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertThat(introspectionReference.get(), is(nullValue()));
+		final long missCount = cache.getMissCount();
+		assertThat(cache.get(pageType).getObjectType(), is(sameInstance(pageType)));
+		assertThat(cache.getMissCount(), is(missCount + 1));
+	}
+
+	/** @see IntrospectionCache#prewarm(Collection, Executor) */
+	@Test
+	public void testPrewarm() {
+		final IntrospectionCache cache = IntrospectionCache.INSTANCE;
+		final List<Class<?>> objectClasses = Arrays.asList(ComplexFooBarBean.class, FieldsBean.class, PrimitiveValuesBean.class, SimpleFooBarBean.class);
+		objectClasses.forEach(cache::invalidate);
+		final ExecutorService executor = Executors.newFixedThreadPool(4);
+		try {
+			final PrewarmReport report = cache.prewarm(objectClasses, executor).join();
+			assertThat(report.isSuccessful(), is(true));
+			assertThat(report.getDurations().keySet(), contains(ComplexFooBarBean.class.getName(), FieldsBean.class.getName(),
+					PrimitiveValuesBean.class.getName(), SimpleFooBarBean.class.getName()));
+			assertThat(report.getSkipped(), is(empty()));
+			assertThat(report.getClassCount(), is(objectClasses.size()));
+			for(final Class<?> objectClass : objectClasses) {
+				assertThat(cache.isCached(objectClass), is(true));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/** @see IntrospectionCache#prewarm(String, ClassLoader, Executor) */
+	@Test
+	public void testPrewarmPackage() throws Exception {
+		final IntrospectionCache cache = IntrospectionCache.INSTANCE;
+		cache.invalidate(SimpleFooBarBean.class);
+		final PrewarmReport report = cache.prewarm(getClass().getPackage().getName(), getClass().getClassLoader(), ForkJoinPool.commonPool()).join();
+		assertThat(report.getDurations().keySet(), hasItems(SimpleFooBarBean.class.getName(), IntrospectionCache.class.getName()));
+		assertThat(report.getDurations().keySet(), not(hasItem(Introspected.class.getName())));
+		assertThat(report.getSkipped(), hasItem(Introspected.class.getName())); //annotation types are skipped
+		assertThat(report.getClassCount(), is(report.getDurations().size() + report.getSkipped().size()));
+		assertThat(report.getFailures().toString(), report.isSuccessful(), is(true));
+		assertThat(cache.isCached(SimpleFooBarBean.class), is(true));
+	}
+
+}
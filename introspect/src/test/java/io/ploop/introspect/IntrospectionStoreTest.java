@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.nio.file.*;
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+import org.junit.jupiter.api.io.TempDir;
+
+import com.fasterxml.classmate.GenericType;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Tests persisting introspections.
+ * 
+ * @author Garret Wilson
+ * @see IntrospectionStore
+ */
+public class IntrospectionStoreTest {
+
+	@TempDir
+	Path tempDirectory;
+
+	/** Tests that recorded introspections are restored with equivalent properties after the store is saved and reopened. */
+	@Test
+	public void testRestoreAfterSave() throws Exception {
+		final Path file = tempDirectory.resolve("introspections.bin");
+		final IntrospectionStore store = IntrospectionStore.open(file);
+		assertThat(store.restore(ComplexFooBarBean.class), is(Optional.empty()));
+		for(final Class<?> objectClass : List.of(ComplexFooBarBean.class, FieldsBean.class, GenericPropertiesBean.class)) {
+			assertThat(store.record(Introspection.create(objectClass)), is(true));
+		}
+		assertThat(store.isModified(), is(true));
+		store.save();
+		assertThat(store.isModified(), is(false));
+
+		final IntrospectionStore reopenedStore = IntrospectionStore.open(file);
+		for(final Class<?> objectClass : List.of(ComplexFooBarBean.class, FieldsBean.class, GenericPropertiesBean.class)) {
+			final Introspection<?> introspection = Introspection.create(objectClass);
+			final Introspection<?> restoredIntrospection = reopenedStore.restore(objectClass).orElseThrow();
+			assertThat(restoredIntrospection.getPropertyCount(), is(introspection.getPropertyCount()));
+			for(final Property<?, ?> property : introspection.getProperties()) {
+				final Property<?, ?> restoredProperty = restoredIntrospection.getProperty(property.getName());
+				assertThat(restoredProperty.getValueType(), is(sameInstance(property.getValueType())));
+				assertThat(restoredProperty.isReadable(), is(property.isReadable()));
+				assertThat(restoredProperty.isWritable(), is(property.isWritable()));
+			}
+		}
+
+		final ComplexFooBarBean bean = new ComplexFooBarBean();
+		@SuppressWarnings("unchecked")
+		final Property<ComplexFooBarBean, String> fooProperty = (Property<ComplexFooBarBean, String>)reopenedStore.restore(ComplexFooBarBean.class)
+				.orElseThrow().getProperty("foo");
+		fooProperty.setValue(bean, "test");
+		assertThat(bean.getFoo(), is("test"));
+		assertThat(fooProperty.getValue(bean), is("test"));
+		final FieldsBean fieldsBean = new FieldsBean("id");
+		fieldsBean.version = 5;
+		final LongProperty<FieldsBean> versionProperty = (LongProperty<FieldsBean>)reopenedStore.restore(FieldsBean.class).orElseThrow().getProperty("version");
+		assertThat(versionProperty.getLong(fieldsBean), is(5L));
+		assertThat(TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(new GenericType<Map<String, List<Integer>>>() {})),
+				is(sameInstance(reopenedStore.restore(GenericPropertiesBean.class).orElseThrow().getProperty("scores").getValueType())));
+
+		reopenedStore.save(); //replaces the file from which the store was read
+		assertThat(IntrospectionStore.open(file).restore(ComplexFooBarBean.class).isPresent(), is(true));
+	}
+
+	/** Tests that an entry recorded for different class files is not restored. */
+	@Test
+	public void testChangedClassNotRestored() throws Exception {
+		final IntrospectionStore store = IntrospectionStore.open(tempDirectory.resolve("introspections.bin"));
+		final byte[] classHash = IntrospectionStore.hashClassFiles(ComplexFooBarBean.class);
+		assertThat(store.record(Introspection.create(ComplexFooBarBean.class), classHash), is(true));
+		assertThat(store.restore(ComplexFooBarBean.class).isPresent(), is(true));
+		classHash[0]++;
+		assertThat(store.record(Introspection.create(ComplexFooBarBean.class), classHash), is(true));
+		assertThat(store.restore(ComplexFooBarBean.class), is(Optional.empty()));
+	}
+
+	/** Tests that a store written with a different introspector configuration is ignored, so that no introspection lacking a bean accessor is restored. */
+	@Test
+	public void testDifferentConfigurationIgnored() throws Exception {
+		final Path file = tempDirectory.resolve("introspections.bin");
+		final Introspector introspector = new Introspector(false, PropertyAccessPolicy.DEFAULT, false);
+		final IntrospectionStore store = IntrospectionStore.open(file, introspector);
+		assertThat(store.record(introspector.introspect(TypeInfo.forClass(ComplexFooBarBean.class))), is(true));
+		store.save();
+		assertThat(IntrospectionStore.open(file, new Introspector(false, PropertyAccessPolicy.DEFAULT, false)).restore(ComplexFooBarBean.class).isPresent(),
+				is(true));
+		final Introspector beanAccessorIntrospector = new Introspector(true, PropertyAccessPolicy.DEFAULT, false);
+		assertThat(beanAccessorIntrospector.introspect(TypeInfo.forClass(ComplexFooBarBean.class)).getBeanAccessor().isPresent(), is(true));
+		assertThat(IntrospectionStore.open(file, beanAccessorIntrospector).restore(ComplexFooBarBean.class), is(Optional.empty()));
+		assertThat(IntrospectionStore.open(file, new Introspector(false, PropertyAccessStrategy.FIELDS, false)).restore(ComplexFooBarBean.class),
+				is(Optional.empty()));
+		assertThat(IntrospectionStore.open(file, new Introspector(false, PropertyAccessPolicy.DEFAULT, true)).restore(ComplexFooBarBean.class),
+				is(Optional.empty()));
+	}
+
+	/** Tests that a file which is not a store is ignored. */
+	@Test
+	public void testInvalidFileIgnored() throws Exception {
+		final Path file = tempDirectory.resolve("introspections.bin");
+		Files.write(file, new byte[] {1, 2, 3});
+		final IntrospectionStore store = IntrospectionStore.open(file);
+		assertThat(store.restore(ComplexFooBarBean.class), is(Optional.empty()));
+		assertThat(store.record(Introspection.create(ComplexFooBarBean.class)), is(true));
+		store.save();
+		assertThat(IntrospectionStore.open(file).restore(ComplexFooBarBean.class).isPresent(), is(true));
+	}
+
+	/** Tests that an introspection which does not describe its members is described on demand when recorded. */
+	@Test
+	public void testIntrospectionWithoutMetadataRecorded() throws Exception {
+		final Introspection<ComplexFooBarBean> introspection = Introspection.create(ComplexFooBarBean.class);
+		assertThat(introspection.getMetadata(), is(nullValue()));
+		final Path file = tempDirectory.resolve("introspections.bin");
+		final IntrospectionStore store = IntrospectionStore.open(file);
+		assertThat(store.record(introspection), is(true));
+		assertThat(store.isModified(), is(true));
+		store.save();
+		assertThat(IntrospectionStore.open(file).restore(ComplexFooBarBean.class).orElseThrow().getPropertyCount(), is(introspection.getPropertyCount()));
+	}
+
+	/** Tests that introspections created by a store for the cache describe their members, so that they need not be discovered again when recorded. */
+	@Test
+	public void testStoreIntrospectionDescribesMembers() throws Exception {
+		final IntrospectionStore store = IntrospectionStore.open(tempDirectory.resolve("introspections.bin"));
+		assertThat(store.introspect(ComplexFooBarBean.class).getMetadata(), is(notNullValue()));
+		assertThat(store.introspect(FieldsBean.class).getMetadata(), is(notNullValue()));
+	}
+
+	/** A bean with properties of generic and array types. */
+	public static class GenericPropertiesBean {
+
+		private Map<String, List<Integer>> scores = new HashMap<>();
+
+		/** @return The scores. */
+		public Map<String, List<Integer>> getScores() {
+			return scores;
+		}
+
+		/** @param scores The new scores. */
+		public void setScores(final Map<String, List<Integer>> scores) {
+			this.scores = scores;
+		}
+
+		/** @return The matrix, a read-only property. */
+		public List<String>[][] getMatrix() {
+			return null;
+		}
+
+	}
+
+}
@@ -18,9 +18,15 @@
 
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.reflect.Type;
+import java.util.*;
 
 import org.junit.jupiter.api.*;
 
+import io.ploop.reflect.TypeInfo;
+
 /**
  * Tests retrieving and using an introspection for a type.
  * 
@@ -40,14 +46,14 @@ public void testFooBarBeanIntrospection() {
 		final Property<SimpleFooBarBean, ?> fooProperty = fooBarBeanIntrospection.getProperty("foo");
 		assertThat(fooProperty.getName(), is("foo"));
 		assertThat(fooProperty.isReadable(), is(true));
-		assertThat(fooProperty.isWritable(), is(false)); //TODO implement
+		assertThat(fooProperty.isWritable(), is(true));
 
 		//bar
 		assertThat(fooBarBeanIntrospection.hasProperty("bar"), is(true));
 		final Property<SimpleFooBarBean, ?> barProperty = fooBarBeanIntrospection.getProperty("bar");
 		assertThat(barProperty.getName(), is("bar"));
 		assertThat(barProperty.isReadable(), is(true));
-		assertThat(barProperty.isWritable(), is(false)); //TODO implement
+		assertThat(barProperty.isWritable(), is(true));
 	}
 
 	/** Tests getting properties from of {@link SimpleFooBarBean}. */
@@ -62,4 +68,211 @@ public void testFooBarBeanGetProperty() throws ReflectiveOperationException {
 		assertThat(fooBarBeanIntrospection.getProperty("bar").getValue(fooBarbean), is(123));
 	}
 
+	/** Tests setting properties of {@link SimpleFooBarBean}. */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testFooBarBeanSetProperty() throws ReflectiveOperationException {
+		final SimpleFooBarBean fooBarbean = new SimpleFooBarBean();
+		final Introspection<SimpleFooBarBean> fooBarBeanIntrospection = Introspection.of(SimpleFooBarBean.class);
+		((Property<SimpleFooBarBean, String>)fooBarBeanIntrospection.getProperty("foo")).setValue(fooBarbean, "test");
+		((Property<SimpleFooBarBean, Integer>)fooBarBeanIntrospection.getProperty("bar")).setValue(fooBarbean, 123);
+		assertThat(fooBarbean.getFoo(), is("test"));
+		assertThat(fooBarbean.getBar(), is(123));
+	}
+
+	/** Tests that setting a value of the wrong type throws an exception. */
+	@Test
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public void testSetPropertyWrongTypeThrowsException() {
+		final Property fooProperty = Introspection.of(SimpleFooBarBean.class).getProperty("foo");
+		assertThrows(IllegalArgumentException.class, () -> fooProperty.setValue(new SimpleFooBarBean(), 123));
+		final Property barProperty = Introspection.of(SimpleFooBarBean.class).getProperty("bar");
+		assertThrows(IllegalArgumentException.class, () -> barProperty.setValue(new SimpleFooBarBean(), null));
+	}
+
+	/** Tests reading primitive properties of {@link PrimitiveValuesBean} without boxing. */
+	@Test
+	public void testPrimitiveProperties() throws ReflectiveOperationException {
+		final PrimitiveValuesBean bean = PrimitiveValuesBean.createPopulated();
+		final Introspection<PrimitiveValuesBean> introspection = Introspection.of(PrimitiveValuesBean.class);
+		assertThat(introspection.getPropertyCount(), is(5));
+		assertThat(((IntProperty<PrimitiveValuesBean>)introspection.getProperty("count")).getInt(bean), is(123));
+		assertThat(((LongProperty<PrimitiveValuesBean>)introspection.getProperty("total")).getLong(bean), is(1234567890123L));
+		assertThat(((DoubleProperty<PrimitiveValuesBean>)introspection.getProperty("ratio")).getDouble(bean), is(0.5));
+		assertThat(((BooleanProperty<PrimitiveValuesBean>)introspection.getProperty("active")).getBoolean(bean), is(true));
+		assertThat(introspection.getProperty("initial"), is(not(instanceOf(IntProperty.class))));
+		assertThat(introspection.getProperty("initial").getValue(bean), is('x'));
+	}
+
+	/** Tests writing primitive properties of {@link PrimitiveValuesBean} without boxing. */
+	@Test
+	public void testSetPrimitiveProperties() throws ReflectiveOperationException {
+		final PrimitiveValuesBean bean = new PrimitiveValuesBean();
+		final Introspection<PrimitiveValuesBean> introspection = Introspection.of(PrimitiveValuesBean.class);
+		((IntProperty<PrimitiveValuesBean>)introspection.getProperty("count")).setInt(bean, 123);
+		((LongProperty<PrimitiveValuesBean>)introspection.getProperty("total")).setLong(bean, 1234567890123L);
+		((DoubleProperty<PrimitiveValuesBean>)introspection.getProperty("ratio")).setDouble(bean, 0.5);
+		((BooleanProperty<PrimitiveValuesBean>)introspection.getProperty("active")).setBoolean(bean, true);
+		assertThat(bean.getCount(), is(123));
+		assertThat(bean.getTotal(), is(1234567890123L));
+		assertThat(bean.getRatio(), is(0.5));
+		assertThat(bean.isActive(), is(true));
+	}
+
+	/** Tests discovering a property that has a setter but no getter. */
+	@Test
+	public void testWriteOnlyProperty() throws ReflectiveOperationException {
+		final Introspection<WriteOnlyBean> introspection = Introspection.of(WriteOnlyBean.class);
+		assertThat(introspection.getPropertyCount(), is(1));
+		final Property<WriteOnlyBean, ?> secretProperty = introspection.getProperty("secret");
+		assertThat(secretProperty.isReadable(), is(false));
+		assertThat(secretProperty.isWritable(), is(true));
+		final WriteOnlyBean bean = new WriteOnlyBean();
+		((IntProperty<WriteOnlyBean>)secretProperty).setInt(bean, 5);
+		assertThat(bean.secret, is(5));
+		assertThrows(UnsupportedOperationException.class, () -> secretProperty.getValue(bean));
+	}
+
+	/** Tests accessing properties by ordinal and by name. */
+	@Test
+	public void testPropertyOrdinals() {
+		final Introspection<PrimitiveValuesBean> introspection = Introspection.of(PrimitiveValuesBean.class);
+		final List<String> propertyNames = new ArrayList<>();
+		for(final Property<PrimitiveValuesBean, ?> property : introspection.getProperties()) {
+			propertyNames.add(property.getName());
+		}
+		assertThat(propertyNames, is(Arrays.asList("active", "count", "initial", "ratio", "total")));
+		for(int ordinal = 0; ordinal < introspection.getPropertyCount(); ordinal++) {
+			final Property<PrimitiveValuesBean, ?> property = introspection.getProperty(ordinal);
+			assertThat(introspection.getProperties().get(ordinal), is(sameInstance(property)));
+			assertThat(introspection.getPropertyOrdinal(property.getName()), is(ordinal));
+			assertThat(introspection.getProperty(property.getName()), is(sameInstance(property)));
+		}
+		assertThat(introspection.getPropertyOrdinal("missing"), is(-1));
+		assertThat(introspection.getProperty("missing"), is(nullValue()));
+		assertThrows(IndexOutOfBoundsException.class, () -> introspection.getProperty(introspection.getPropertyCount()));
+	}
+
+	/** Tests that properties not given in order of name keep their given order as their ordinals and can still be looked up by name. */
+	@Test
+	public void testUnsortedPropertyOrdinals() {
+		final Introspection<SimpleFooBarBean> fooBarIntrospection = Introspection.of(SimpleFooBarBean.class);
+		final Property<SimpleFooBarBean, ?> barProperty = fooBarIntrospection.getProperty("bar");
+		final Property<SimpleFooBarBean, ?> fooProperty = fooBarIntrospection.getProperty("foo");
+		final Introspection<SimpleFooBarBean> introspection = new Introspection<>(fooBarIntrospection.getObjectType(), Arrays.asList(fooProperty, barProperty),
+				null);
+		assertThat(introspection.getProperties(), contains(fooProperty, barProperty));
+		assertThat(introspection.getPropertyOrdinal("foo"), is(0));
+		assertThat(introspection.getPropertyOrdinal("bar"), is(1));
+		assertThat(introspection.getProperty("bar"), is(sameInstance(barProperty)));
+		assertThrows(IllegalArgumentException.class, () -> new Introspection<>(fooBarIntrospection.getObjectType(), Arrays.asList(fooProperty, fooProperty), null));
+	}
+
+	/** Tests reading the property values of many objects at once. */
+	@Test
+	public void testBulkRead() throws Exception {
+		final PrimitiveValuesBean bean1 = PrimitiveValuesBean.createPopulated();
+		final PrimitiveValuesBean bean2 = new PrimitiveValuesBean();
+		final List<PrimitiveValuesBean> beans = Arrays.asList(bean1, bean2);
+		final Introspection<PrimitiveValuesBean> introspection = Introspection.of(PrimitiveValuesBean.class);
+		//properties are in order of name: active, count, initial, ratio, total
+		assertThat(introspection.readAll(bean1), is(arrayContaining(true, 123, 'x', 0.5, 1234567890123L)));
+		assertThrows(IndexOutOfBoundsException.class, () -> introspection.readAll(bean1, new Object[4]));
+
+		final List<Object[]> rows = new ArrayList<>();
+		introspection.readRows(beans, (bean, values) -> rows.add(values.clone()));
+		assertThat(rows.size(), is(2));
+		assertThat(rows.get(0), is(arrayContaining(true, 123, 'x', 0.5, 1234567890123L)));
+		assertThat(rows.get(1), is(arrayContaining(false, 0, '\0', 0.0, 0L)));
+
+		assertThat(introspection.readColumn(introspection.getProperty("initial"), beans), is(arrayContaining('x', '\0')));
+		assertThat(introspection.readIntColumn((IntProperty<PrimitiveValuesBean>)introspection.getProperty("count"), beans), is(new int[] {123, 0}));
+		assertThat(introspection.readLongColumn((LongProperty<PrimitiveValuesBean>)introspection.getProperty("total"), beans),
+				is(new long[] {1234567890123L, 0L}));
+		assertThat(introspection.readDoubleColumn((DoubleProperty<PrimitiveValuesBean>)introspection.getProperty("ratio"), beans), is(new double[] {0.5, 0.0}));
+		assertThat(introspection.readBooleanColumn((BooleanProperty<PrimitiveValuesBean>)introspection.getProperty("active"), beans),
+				is(new boolean[] {true, false}));
+	}
+
+	/** @see Introspection#of(TypeInfo) */
+	@Test
+	@SuppressWarnings("unchecked")
+	public void testParameterizedTypeIntrospection() throws ReflectiveOperationException {
+		final TypeInfo<Page<SimpleFooBarBean>> pageType = (TypeInfo<Page<SimpleFooBarBean>>)TypeInfo
+				.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(Page.class, SimpleFooBarBean.class));
+		final Introspection<Page<SimpleFooBarBean>> introspection = Introspection.of(pageType);
+		assertThat(introspection.getObjectType(), is(sameInstance(pageType)));
+		assertThat(Introspection.of(pageType), is(sameInstance(introspection)));
+		final TypeInfo<?> itemsType = introspection.getProperty("items").getValueType();
+		assertThat(itemsType.getErasedType(), is(equalTo(List.class)));
+		assertThat(itemsType.getResolvedType().typeParametersFor(List.class).get(0).getErasedType(), is(equalTo(SimpleFooBarBean.class)));
+		assertThat(introspection.getProperty("first").getValueType(), is(sameInstance(TypeInfo.forClass(SimpleFooBarBean.class))));
+
+		final Page<SimpleFooBarBean> page = new Page<>();
+		page.setItems(List.of(new SimpleFooBarBean()));
+		assertThat(introspection.getProperty("first").getValue(page), is(sameInstance(page.getFirst())));
+
+		//the raw class is unaffected
+		assertThat(Introspection.of(Page.class).getProperty("first").getValueType(), is(sameInstance(TypeInfo.forClass(Object.class))));
+
+		//a generic type reached through another property is resolved the same way
+		final Type catalogPageType = Catalog.class.getMethod("getPage").getGenericReturnType();
+		assertThat(Introspection.of(catalogPageType), is(sameInstance(introspection)));
+		assertThat(Introspection.of(Catalog.class).getProperty("page").getValueType(), is(sameInstance(pageType)));
+		assertThat(PropertyPath.compile(TypeInfo.forClass(Catalog.class), "page.items[0].foo").getValueType(), is(sameInstance(TypeInfo.forClass(String.class))));
+	}
+
+	/**
+	 * A generic page of items.
+	 * @param <T> The type of item.
+	 */
+	public static class Page<T> {
+
+		private List<T> items = List.of();
+
+		/** @return The items on the page. */
+		public List<T> getItems() {
+			return items;
+		}
+
+		/**
+		 * Sets the items on the page.
+		 * @param items The new items.
+		 */
+		public void setItems(final List<T> items) {
+			this.items = items;
+		}
+
+		/** @return The first item on the page, or <code>null</code> if the page is empty. */
+		public T getFirst() {
+			return !items.isEmpty() ? items.get(0) : null;
+		}
+
+	}
+
+	/** A bean with a property of a parameterized type. */
+	public static class Catalog {
+
+		/** @return A page of beans. */
+		public Page<SimpleFooBarBean> getPage() {
+			return new Page<>();
+		}
+
+	}
+
+	/** A bean with a property that can be written but not read. */
+	public static class WriteOnlyBean {
+
+		private int secret;
+
+		/**
+		 * Sets the secret.
+		 * @param secret The new secret.
+		 */
+		public void setSecret(final int secret) {
+			this.secret = secret;
+		}
+
+	}
+
 }
@@ -16,13 +16,17 @@
 
 package io.ploop.introspect;
 
-import java.util.Map;
+import java.util.*;
 
 import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
 
 import org.junit.jupiter.api.*;
 
+import com.fasterxml.classmate.MemberResolver;
+import com.fasterxml.classmate.members.ResolvedField;
+
 import io.ploop.reflect.TypeInfo;
 
 /**
@@ -45,14 +49,118 @@ public void testFooBarBeanProperties() {
 		final Property<SimpleFooBarBean, ?> fooProperty = properties.get("foo");
 		assertThat(fooProperty.getName(), is("foo"));
 		assertThat(fooProperty.isReadable(), is(true));
-		assertThat(fooProperty.isWritable(), is(false)); //TODO implement
+		assertThat(fooProperty.isWritable(), is(true));
 
 		//bar
 		assertThat(properties, hasKey("bar"));
 		final Property<SimpleFooBarBean, ?> barProperty = properties.get("bar");
 		assertThat(barProperty.getName(), is("bar"));
 		assertThat(barProperty.isReadable(), is(true));
-		assertThat(barProperty.isWritable(), is(false)); //TODO implement
+		assertThat(barProperty.isWritable(), is(true));
+	}
+
+	/** Tests that a type without accessor methods is by default introspected using its fields. */
+	@Test
+	public void testFieldsBeanProperties() throws ReflectiveOperationException {
+		final Map<String, Property<FieldsBean, ?>> properties = Introspector.INSTANCE.discoverProperties(TypeInfo.forClass(FieldsBean.class));
+		assertThat(new ArrayList<>(properties.keySet()), is(Arrays.asList("count", "id", "name", "version")));
+		final FieldsBean fieldsBean = new FieldsBean("test");
+
+		@SuppressWarnings("unchecked")
+		final Property<FieldsBean, Object> nameProperty = (Property<FieldsBean, Object>)properties.get("name");
+		nameProperty.setValue(fieldsBean, "Jane");
+		assertThat(fieldsBean.name, is("Jane"));
+		assertThat(nameProperty.getValue(fieldsBean), is("Jane"));
+
+		final IntProperty<FieldsBean> countProperty = (IntProperty<FieldsBean>)properties.get("count");
+		countProperty.setInt(fieldsBean, 5);
+		assertThat(fieldsBean.count(), is(5));
+		assertThat(countProperty.getInt(fieldsBean), is(5));
+
+		final LongProperty<FieldsBean> versionProperty = (LongProperty<FieldsBean>)properties.get("version");
+		versionProperty.setLong(fieldsBean, 7L);
+		assertThat(fieldsBean.version, is(7L));
+
+		final Property<FieldsBean, ?> idProperty = properties.get("id");
+		assertThat(idProperty.isReadable(), is(true));
+		assertThat(idProperty.isWritable(), is(false));
+		assertThat(idProperty.getValue(fieldsBean), is("test"));
+	}
+
+	/** Tests that the property access policy selects between accessor methods and fields. */
+	@Test
+	public void testPropertyAccessPolicy() {
+		assertThat(new Introspector(false, PropertyAccessStrategy.ACCESSORS).discoverProperties(TypeInfo.forClass(FieldsBean.class)).isEmpty(), is(true));
+		final Map<String, Property<SimpleFooBarBean, ?>> properties = new Introspector(false, PropertyAccessStrategy.FIELDS)
+				.discoverProperties(TypeInfo.forClass(SimpleFooBarBean.class));
+		assertThat(properties.keySet(), containsInAnyOrder("bar", "foo"));
+		assertThat(properties.get("bar"), is(instanceOf(IntProperty.class)));
+	}
+
+	/** Tests reading and writing a field in each field access mode. */
+	@Test
+	public void testFieldAccessModes() throws ReflectiveOperationException {
+		final ResolvedField versionField = Arrays
+				.stream(new MemberResolver(TypeInfo.TYPE_RESOLVER).resolve(TypeInfo.forClass(FieldsBean.class).getResolvedType(), null, null).getMemberFields())
+				.filter(field -> field.getName().equals("version")).findAny().get();
+		final FieldsBean fieldsBean = new FieldsBean("test");
+		for(final FieldAccessMode fieldAccessMode : FieldAccessMode.values()) {
+			final VarHandlePropertyWriter<FieldsBean, Long> writer = VarHandlePropertyWriter.forField(FieldsBean.class, TypeInfo.forClass(long.class), versionField,
+					fieldAccessMode);
+			final VarHandlePropertyReader<FieldsBean, Long> reader = VarHandlePropertyReader.forField(FieldsBean.class, TypeInfo.forClass(long.class), versionField,
+					fieldAccessMode, false);
+			assertThat(reader, is(instanceOf(VarHandlePropertyReader.OfLong.class)));
+			writer.setValue(fieldsBean, (long)fieldAccessMode.ordinal());
+			assertThat(reader.getValue(fieldsBean), is((long)fieldAccessMode.ordinal()));
+		}
+	}
+
+	/** @see Introspector#isPropertyValueTypeVerified(TypeInfo, Class) */
+	@Test
+	public void testPropertyValueTypeVerification() {
+		final Introspector introspector = new Introspector(false);
+		assertThat(introspector.isPropertyValueTypeVerified(TypeInfo.forClass(CharSequence.class), String.class), is(true));
+		assertThat(introspector.isPropertyValueTypeVerified(TypeInfo.forClass(String.class), CharSequence.class), is(false));
+		final Introspector checkingIntrospector = new Introspector(false, PropertyAccessPolicy.DEFAULT, true);
+		assertThat(checkingIntrospector.isCheckPropertyValues(), is(true));
+		assertThat(checkingIntrospector.isPropertyValueTypeVerified(TypeInfo.forClass(CharSequence.class), String.class), is(false));
+		assertThat(checkingIntrospector.discoverProperties(TypeInfo.forClass(SimpleFooBarBean.class)).keySet(), contains("bar", "foo"));
+	}
+
+	/**
+	 * Tests that a property of a parameterized bean backed by a member returning a type variable is not considered verified, so that a value not of the
+	 * property type is detected when read.
+	 */
+	@Test
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public void testParameterizedPropertyValueTypeNotVerified() throws ReflectiveOperationException {
+		final TypeInfo<Box<Integer>> boxType = (TypeInfo<Box<Integer>>)TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(Box.class, Integer.class));
+		for(final PropertyAccessStrategy propertyAccessStrategy : List.of(PropertyAccessStrategy.ACCESSORS, PropertyAccessStrategy.FIELDS)) {
+			final Introspection<Box<Integer>> introspection = new Introspector(false, propertyAccessStrategy).introspect(boxType);
+			final Property<Box<Integer>, ?> contentProperty = introspection.getProperty("content");
+			assertThat(contentProperty.getValueType(), is(sameInstance(TypeInfo.forClass(Integer.class))));
+			final Box<Integer> box = new Box<>();
+			box.content = 5;
+			assertThat(contentProperty.getValue(box), is(5));
+			((Box)box).content = "five"; //heap pollution
+			assertThrows(ClassCastException.class, () -> contentProperty.getValue(box), propertyAccessStrategy.toString());
+		}
+	}
+
+	/**
+	 * A generic bean holding content of some type.
+	 * @param <T> The type of content.
+	 */
+	public static class Box<T> {
+
+		/** The content. */
+		public T content;
+
+		/** @return The content. */
+		public T getContent() {
+			return content;
+		}
+
 	}
 
 }
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests JavaBeans property name determination.
+ * 
+ * @author Garret Wilson
+ * @see JavaBeans
+ */
+public class JavaBeansTest {
+
+	/** Tests determining property names from getter method names. */
+	@Test
+	public void testGetGetterPropertyName() {
+		assertThat(JavaBeans.getGetterPropertyName("getFoo"), is("foo"));
+		assertThat(JavaBeans.getGetterPropertyName("isActive"), is("active"));
+		assertThat(JavaBeans.getGetterPropertyName("getURL"), is("URL"));
+		assertThat(JavaBeans.getGetterPropertyName("getX"), is("x"));
+		assertThat(JavaBeans.getGetterPropertyName("getfoo"), is("foo"));
+		assertThat(JavaBeans.getGetterPropertyName("get"), is(nullValue()));
+		assertThat(JavaBeans.getGetterPropertyName("is"), is(nullValue()));
+		assertThat(JavaBeans.getGetterPropertyName("hashCode"), is(nullValue()));
+		assertThat(JavaBeans.getGetterPropertyName("setFoo"), is(nullValue()));
+	}
+
+	/** Tests determining property names from setter method names. */
+	@Test
+	public void testGetSetterPropertyName() {
+		assertThat(JavaBeans.getSetterPropertyName("setFoo"), is("foo"));
+		assertThat(JavaBeans.getSetterPropertyName("setURL"), is("URL"));
+		assertThat(JavaBeans.getSetterPropertyName("set"), is(nullValue()));
+		assertThat(JavaBeans.getSetterPropertyName("getFoo"), is(nullValue()));
+	}
+
+	/** Tests decapitalization following the JavaBeans rules. */
+	@Test
+	public void testDecapitalize() {
+		assertThat(JavaBeans.decapitalize(null), is(nullValue()));
+		assertThat(JavaBeans.decapitalize(""), is(""));
+		assertThat(JavaBeans.decapitalize("FooBar"), is("fooBar"));
+		assertThat(JavaBeans.decapitalize("X"), is("x"));
+		assertThat(JavaBeans.decapitalize("URL"), is("URL"));
+		assertThat(JavaBeans.decapitalize("Ab"), is("ab"));
+		final String name = "fooBar";
+		assertThat(JavaBeans.decapitalize(name), is(sameInstance(name)));
+	}
+
+}
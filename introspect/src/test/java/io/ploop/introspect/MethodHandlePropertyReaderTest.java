@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.invoke.*;
+import java.lang.reflect.InvocationTargetException;
+
+import org.junit.jupiter.api.*;
+
+import com.fasterxml.classmate.*;
+import com.fasterxml.classmate.members.ResolvedMethod;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Tests reading properties via method handles.
+ * 
+ * @author Garret Wilson
+ * @see MethodHandlePropertyReader
+ */
+public class MethodHandlePropertyReaderTest {
+
+	/**
+	 * Finds a member method of a class.
+	 * @param objectClass The class containing the method.
+	 * @param methodName The name of the method to find.
+	 * @return The resolved method with the given name.
+	 */
+	private static ResolvedMethod findMethod(final Class<?> objectClass, final String methodName) {
+		final ResolvedTypeWithMembers typeWithMembers = new MemberResolver(TypeInfo.TYPE_RESOLVER).resolve(TypeInfo.forClass(objectClass).getResolvedType(), null,
+				null);
+		for(final ResolvedMethod method : typeWithMembers.getMemberMethods()) {
+			if(method.getName().equals(methodName)) {
+				return method;
+			}
+		}
+		throw new AssertionError("Method not found: " + methodName);
+	}
+
+	/** @see MethodHandlePropertyReader#getValue(Object) */
+	@Test
+	public void testGetValue() throws ReflectiveOperationException {
+		final SimpleFooBarBean fooBarBean = new SimpleFooBarBean();
+		fooBarBean.setFoo("test");
+		fooBarBean.setBar(123);
+		final MethodHandlePropertyReader<SimpleFooBarBean, String> fooReader = MethodHandlePropertyReader.forGetterMethod(SimpleFooBarBean.class,
+				TypeInfo.forClass(String.class), findMethod(SimpleFooBarBean.class, "getFoo"), false);
+		assertThat(fooReader.getValue(fooBarBean), is("test"));
+		final MethodHandlePropertyReader<SimpleFooBarBean, Integer> barReader = MethodHandlePropertyReader.forGetterMethod(SimpleFooBarBean.class,
+				TypeInfo.forClass(int.class), findMethod(SimpleFooBarBean.class, "getBar"), false);
+		assertThat(barReader.getValue(fooBarBean), is(123));
+	}
+
+	/** @see MethodHandlePropertyReader#getValue(Object) */
+	@Test
+	public void testGetValueChecksUnverifiedValueType() throws ReflectiveOperationException {
+		final SimpleFooBarBean fooBarBean = new SimpleFooBarBean();
+		fooBarBean.setFoo("test");
+		final MethodHandlePropertyReader<SimpleFooBarBean, Integer> uncheckedReader = MethodHandlePropertyReader.forGetterMethod(SimpleFooBarBean.class,
+				TypeInfo.forClass(Integer.class), findMethod(SimpleFooBarBean.class, "getFoo"), false);
+		assertThat(uncheckedReader.isValueTypeVerified(), is(false));
+		assertThrows(ClassCastException.class, () -> uncheckedReader.getValue(fooBarBean));
+		final MethodHandlePropertyReader<SimpleFooBarBean, CharSequence> verifiedReader = MethodHandlePropertyReader.forGetterMethod(SimpleFooBarBean.class,
+				TypeInfo.forClass(CharSequence.class), findMethod(SimpleFooBarBean.class, "getFoo"), true);
+		assertThat(verifiedReader.isValueTypeVerified(), is(true));
+		assertThat(verifiedReader.getValue(fooBarBean), is("test"));
+	}
+
+	/** @see MethodHandlePropertyReader#getValue(Object) */
+	@Test
+	public void testGetValueWrapsGetterException() throws ReflectiveOperationException {
+		final MethodHandlePropertyReader<FailingBean, String> reader = MethodHandlePropertyReader.forGetterMethod(FailingBean.class,
+				TypeInfo.forClass(String.class), findMethod(FailingBean.class, "getFailure"), false);
+		final InvocationTargetException invocationTargetException = assertThrows(InvocationTargetException.class, () -> reader.getValue(new FailingBean()));
+		assertThat(invocationTargetException.getCause(), is(instanceOf(IllegalStateException.class)));
+	}
+
+	/**
+	 * Tests that a direct method handle to a public getter is bound to a spun class that calls the getter directly rather than capturing the method handle, and
+	 * that other method handles are still invoked.
+	 * @see MethodHandlePropertyReader#bindReader(Class, MethodHandle, Class)
+	 */
+	@Test
+	public void testBindReader() throws Throwable {
+		final SimpleFooBarBean fooBarBean = new SimpleFooBarBean();
+		fooBarBean.setFoo("test");
+		fooBarBean.setBar(123);
+		final MethodHandle getFooMethodHandle = MethodHandles.publicLookup().findVirtual(SimpleFooBarBean.class, "getFoo", MethodType.methodType(String.class));
+		final MethodHandlePropertyReader.ObjectReader fooReader = MethodHandlePropertyReader.bindReader(MethodHandlePropertyReader.ObjectReader.class,
+				getFooMethodHandle, Object.class);
+		assertThat(fooReader.getClass().getDeclaredFields(), is(emptyArray()));
+		assertThat(fooReader.read(fooBarBean), is("test"));
+		final MethodHandlePropertyReader.IntReader barReader = MethodHandlePropertyReader.bindReader(MethodHandlePropertyReader.IntReader.class,
+				MethodHandles.publicLookup().findVirtual(SimpleFooBarBean.class, "getBar", MethodType.methodType(int.class)), int.class);
+		assertThat(barReader.getClass().getDeclaredFields(), is(emptyArray()));
+		assertThat(barReader.read(fooBarBean), is(123));
+		final MethodHandlePropertyReader.ObjectReader indirectReader = MethodHandlePropertyReader.bindReader(MethodHandlePropertyReader.ObjectReader.class,
+				MethodHandles.filterReturnValue(getFooMethodHandle, MethodHandles.identity(String.class)), Object.class);
+		assertThat(indirectReader.getClass().getDeclaredFields(), is(not(emptyArray())));
+		assertThat(indirectReader.read(fooBarBean), is("test"));
+	}
+
+	/** @see MethodHandlePropertyReader#forGetterMethod(Class, TypeInfo, ResolvedMethod, boolean) */
+	@Test
+	public void testForGetterMethodOfInaccessibleClassThrowsException() {
+		assertThrows(IllegalAccessException.class, () -> MethodHandlePropertyReader.forGetterMethod(PrivateBean.class, TypeInfo.forClass(String.class),
+				findMethod(PrivateBean.class, "getFoo"), false));
+	}
+
+	/** A bean with a getter that fails. */
+	public static class FailingBean {
+
+		/**
+		 * @return Nothing; this method always fails.
+		 * @throws IllegalStateException always.
+		 */
+		public String getFailure() {
+			throw new IllegalStateException("failure");
+		}
+
+	}
+
+	/** A bean that is not publicly accessible. */
+	private static class PrivateBean {
+
+		/** @return The foo. */
+		@SuppressWarnings("unused")
+		public String getFoo() {
+			return "foo";
+		}
+
+	}
+
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.invoke.*;
+
+import org.junit.jupiter.api.*;
+
+import io.ploop.reflect.TypeInfo;
+
+/**
+ * Tests writing properties via method handles.
+ * 
+ * @author Garret Wilson
+ * @see MethodHandlePropertyWriter
+ */
+public class MethodHandlePropertyWriterTest {
+
+	/** @see MethodHandlePropertyWriter#setValue(Object, Object) */
+	@Test
+	@SuppressWarnings({"unchecked", "rawtypes"})
+	public void testSetValue() throws Throwable {
+		final SimpleFooBarBean fooBarBean = new SimpleFooBarBean();
+		final MethodHandlePropertyWriter<SimpleFooBarBean, String> fooWriter = MethodHandlePropertyWriter.forMethodHandle(TypeInfo.forClass(String.class),
+				MethodHandles.publicLookup().findVirtual(SimpleFooBarBean.class, "setFoo", MethodType.methodType(void.class, String.class)));
+		fooWriter.setValue(fooBarBean, "test");
+		assertThat(fooBarBean.getFoo(), is("test"));
+		assertThrows(IllegalArgumentException.class, () -> ((MethodHandlePropertyWriter)fooWriter).setValue(fooBarBean, 123));
+		final MethodHandlePropertyWriter<SimpleFooBarBean, Integer> barWriter = MethodHandlePropertyWriter.forMethodHandle(TypeInfo.forClass(int.class),
+				MethodHandles.publicLookup().findVirtual(SimpleFooBarBean.class, "setBar", MethodType.methodType(void.class, int.class)));
+		assertThat(barWriter, is(instanceOf(MethodHandlePropertyWriter.OfInt.class)));
+		((MethodHandlePropertyWriter.OfInt<SimpleFooBarBean>)barWriter).setInt(fooBarBean, 123);
+		assertThat(fooBarBean.getBar(), is(123));
+		barWriter.setValue(fooBarBean, 456);
+		assertThat(fooBarBean.getBar(), is(456));
+	}
+
+	/**
+	 * Tests that a direct method handle to a public setter is bound to a spun class that calls the setter directly rather than capturing the method handle, and
+	 * that other method handles are still invoked.
+	 * @see MethodHandlePropertyWriter#bindWriter(Class, MethodHandle, Class)
+	 */
+	@Test
+	public void testBindWriter() throws Throwable {
+		final SimpleFooBarBean fooBarBean = new SimpleFooBarBean();
+		final MethodHandle setFooMethodHandle = MethodHandles.publicLookup().findVirtual(SimpleFooBarBean.class, "setFoo",
+				MethodType.methodType(void.class, String.class));
+		final MethodHandlePropertyWriter.ObjectWriter fooWriter = MethodHandlePropertyWriter.bindWriter(MethodHandlePropertyWriter.ObjectWriter.class,
+				setFooMethodHandle, Object.class);
+		assertThat(fooWriter.getClass().getDeclaredFields(), is(emptyArray()));
+		fooWriter.write(fooBarBean, "test");
+		assertThat(fooBarBean.getFoo(), is("test"));
+		final MethodHandlePropertyWriter.IntWriter barWriter = MethodHandlePropertyWriter.bindWriter(MethodHandlePropertyWriter.IntWriter.class,
+				MethodHandles.publicLookup().findVirtual(SimpleFooBarBean.class, "setBar", MethodType.methodType(void.class, int.class)), int.class);
+		assertThat(barWriter.getClass().getDeclaredFields(), is(emptyArray()));
+		barWriter.write(fooBarBean, 123);
+		assertThat(fooBarBean.getBar(), is(123));
+		final MethodHandlePropertyWriter.ObjectWriter indirectWriter = MethodHandlePropertyWriter.bindWriter(MethodHandlePropertyWriter.ObjectWriter.class,
+				MethodHandles.filterArguments(setFooMethodHandle, 1, MethodHandles.identity(String.class)), Object.class);
+		assertThat(indirectWriter.getClass().getDeclaredFields(), is(not(emptyArray())));
+		indirectWriter.write(fooBarBean, "other");
+		assertThat(fooBarBean.getFoo(), is("other"));
+	}
+
+}
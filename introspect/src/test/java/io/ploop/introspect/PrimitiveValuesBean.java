@@ -0,0 +1,119 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+/**
+ * A JavaBean with properties of various primitive types.
+ * 
+ * @author Garret Wilson
+ */
+public class PrimitiveValuesBean {
+
+	private int count;
+
+	private long total;
+
+	private double ratio;
+
+	private boolean active;
+
+	private char initial;
+
+	/** No-args constructor. */
+	public PrimitiveValuesBean() {
+	}
+
+	/** @return The count. */
+	public int getCount() {
+		return count;
+	}
+
+	/**
+	 * Sets count.
+	 * @param count The new count.
+	 */
+	public void setCount(final int count) {
+		this.count = count;
+	}
+
+	/** @return The total. */
+	public long getTotal() {
+		return total;
+	}
+
+	/**
+	 * Sets total.
+	 * @param total The new total.
+	 */
+	public void setTotal(final long total) {
+		this.total = total;
+	}
+
+	/** @return The ratio. */
+	public double getRatio() {
+		return ratio;
+	}
+
+	/**
+	 * Sets ratio.
+	 * @param ratio The new ratio.
+	 */
+	public void setRatio(final double ratio) {
+		this.ratio = ratio;
+	}
+
+	/** @return Whether active. */
+	public boolean isActive() {
+		return active;
+	}
+
+	/**
+	 * Sets active.
+	 * @param active Whether active.
+	 */
+	public void setActive(final boolean active) {
+		this.active = active;
+	}
+
+	/** @return The initial. */
+	public char getInitial() {
+		return initial;
+	}
+
+	/**
+	 * Sets initial.
+	 * @param initial The new initial.
+	 */
+	public void setInitial(final char initial) {
+		this.initial = initial;
+	}
+
+	/**
+	 * Creates an instance populated with test values.
+	 * @return A new populated bean.
+	 */
+	public static PrimitiveValuesBean createPopulated() {
+		final PrimitiveValuesBean bean = new PrimitiveValuesBean();
+		bean.setCount(123);
+		bean.setTotal(1234567890123L);
+		bean.setRatio(0.5);
+		bean.setActive(true);
+		bean.setInitial('x');
+		return bean;
+	}
+
+}
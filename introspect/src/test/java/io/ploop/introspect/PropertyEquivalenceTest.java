@@ -0,0 +1,97 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests equality, hashing, and ordering by property values.
+ * 
+ * @author Garret Wilson
+ * @see PropertyEquivalence
+ */
+public class PropertyEquivalenceTest {
+
+	/**
+	 * Creates a bean.
+	 * @param foo The foo value.
+	 * @param bar The bar value.
+	 * @return A new bean with the given values.
+	 */
+	static SimpleFooBarBean createBean(final String foo, final int bar) {
+		final SimpleFooBarBean bean = new SimpleFooBarBean();
+		bean.setFoo(foo);
+		bean.setBar(bar);
+		return bean;
+	}
+
+	/** Tests equality and hashing of all the properties. */
+	@Test
+	public void testEquivalence() throws Exception {
+		final PropertyEquivalence<PrimitiveValuesBean> equivalence = PropertyEquivalence.forIntrospection(Introspection.of(PrimitiveValuesBean.class));
+		final PrimitiveValuesBean bean1 = PrimitiveValuesBean.createPopulated();
+		final PrimitiveValuesBean bean2 = PrimitiveValuesBean.createPopulated();
+		assertThat(equivalence.equivalent(bean1, bean2), is(true));
+		assertThat(equivalence.hash(bean1), is(equivalence.hash(bean2)));
+		assertThat(equivalence.hash64(bean1), is(equivalence.hash64(bean2)));
+		bean2.setInitial('y');
+		assertThat(equivalence.equivalent(bean1, bean2), is(false));
+		assertThat(equivalence.hash64(bean1), is(not(equivalence.hash64(bean2))));
+		bean2.setInitial('x');
+		bean1.setRatio(Double.NaN);
+		bean2.setRatio(Double.NaN);
+		assertThat(equivalence.equivalent(bean1, bean2), is(true));
+		assertThat(equivalence.equivalent(bean1, null), is(false));
+		assertThat(equivalence.equivalent(null, null), is(true));
+	}
+
+	/** Tests that the 64-bit hash does not depend on the runtime, and that a subset of properties may be considered. */
+	@Test
+	public void testHash64() throws Exception {
+		final Introspection<SimpleFooBarBean> introspection = Introspection.of(SimpleFooBarBean.class);
+		final PropertyEquivalence<SimpleFooBarBean> equivalence = PropertyEquivalence.forIntrospection(introspection);
+		final PropertyEquivalence<SimpleFooBarBean> fooEquivalence = PropertyEquivalence.forProperties(introspection, "foo");
+		assertThat(equivalence.hash64(createBean("test", 5)), is(0x3C7C02B579CAB436L));
+		assertThat(fooEquivalence.hash64(createBean("test", 5)), is(fooEquivalence.hash64(createBean("test", 6))));
+		assertThat(fooEquivalence.equivalent(createBean("test", 5), createBean("test", 6)), is(true));
+		assertThat(equivalence.equivalent(createBean("test", 5), createBean("test", 6)), is(false));
+		assertThrows(IllegalArgumentException.class, () -> PropertyEquivalence.forProperties(introspection, "unknown"));
+	}
+
+	/** Tests ordering by property values in the order given. */
+	@Test
+	public void testCompare() {
+		final Introspection<SimpleFooBarBean> introspection = Introspection.of(SimpleFooBarBean.class);
+		final PropertyEquivalence<SimpleFooBarBean> equivalence = PropertyEquivalence.forProperties(introspection, "bar", "foo");
+		assertThat(equivalence.isOrdered(), is(true));
+		final List<SimpleFooBarBean> beans = new ArrayList<>(
+				List.of(createBean("b", 2), createBean("a", 2), createBean(null, 2), createBean("z", -1), createBean("c", 10)));
+		beans.sort(equivalence.asComparator());
+		final List<String> foos = new ArrayList<>();
+		for(final SimpleFooBarBean bean : beans) {
+			foos.add(bean.getFoo());
+		}
+		assertThat(foos, contains("z", null, "a", "b", "c"));
+	}
+
+}
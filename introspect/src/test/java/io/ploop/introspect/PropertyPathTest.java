@@ -0,0 +1,210 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.introspect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.*;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests compiling and reading property paths.
+ * 
+ * @author Garret Wilson
+ * @see PropertyPath
+ */
+public class PropertyPathTest {
+
+	/** @return An order with a customer and items. */
+	static Order createOrder() {
+		final Order order = new Order();
+		final Order.Customer customer = new Order.Customer();
+		customer.setAddress(new Order.Address("12345"));
+		order.setCustomer(customer);
+		order.setItems(List.of(new Order.Item("apple"), new Order.Item("pear")));
+		order.setCodes(new int[] {7, 8});
+		return order;
+	}
+
+	/** Tests reading nested values, including through list and array indexes. */
+	@Test
+	public void testGetValue() throws Exception {
+		final Order order = createOrder();
+		final PropertyPath<Order, String> zipPath = PropertyPath.of(Order.class, "customer.address.zip", String.class);
+		assertThat(zipPath.getValueType().getErasedType(), is(String.class));
+		assertThat(zipPath.getValue(order), is("12345"));
+		assertThat(PropertyPath.of(Order.class, "items[1].name").getValue(order), is("pear"));
+		assertThat(PropertyPath.of(Order.class, "codes[0]", Integer.class).getValue(order), is(7));
+		assertThat(PropertyPath.of(Order.class, "customer.address.zip"), is(sameInstance(zipPath)));
+	}
+
+	/** Tests that a <code>null</code> value or a missing element at any step short-circuits the path. */
+	@Test
+	public void testGetValueShortCircuit() throws Exception {
+		final Order order = createOrder();
+		assertThat(PropertyPath.of(Order.class, "items[2].name").getValue(order), is(nullValue()));
+		assertThat(PropertyPath.of(Order.class, "codes[5]").getValue(order), is(nullValue()));
+		order.getCustomer().setAddress(null);
+		assertThat(PropertyPath.of(Order.class, "customer.address.zip").getValue(order), is(nullValue()));
+		order.setCustomer(null);
+		assertThat(PropertyPath.of(Order.class, "customer.address.zip").getValue(order), is(nullValue()));
+	}
+
+	/** Tests that invalid paths are rejected when compiled. */
+	@Test
+	public void testInvalidPaths() {
+		for(final String path : List.of("", "customer.", ".customer", "customer..address", "customer.unknown", "items[", "items[x]", "items[0]x", "customer[0]")) {
+			assertThrows(IllegalArgumentException.class, () -> PropertyPath.of(Order.class, path), path);
+		}
+		assertThrows(IllegalArgumentException.class, () -> PropertyPath.of(Order.class, "customer.address.zip", Integer.class));
+	}
+
+	/** Tests that only a limited number of paths are cached for a root class, while paths beyond the limit still work. */
+	@Test
+	public void testCacheBounded() throws Exception {
+		final Catalog catalog = new Catalog();
+		catalog.setNames(List.of("first", "second"));
+		final PropertyPath<Catalog, ?> firstPath = PropertyPath.of(Catalog.class, "names[0]");
+		for(int i = 1; i < PropertyPath.MAX_CACHED_PATH_COUNT; i++) {
+			PropertyPath.of(Catalog.class, "names[" + i + "]");
+		}
+		assertThat(PropertyPath.of(Catalog.class, "names[0]"), is(sameInstance(firstPath)));
+		final PropertyPath<Catalog, ?> uncachedPath = PropertyPath.of(Catalog.class, "names[" + PropertyPath.MAX_CACHED_PATH_COUNT + "]");
+		assertThat(PropertyPath.of(Catalog.class, "names[" + PropertyPath.MAX_CACHED_PATH_COUNT + "]"), is(not(sameInstance(uncachedPath))));
+		assertThat(uncachedPath.getValue(catalog), is(nullValue()));
+		assertThat(PropertyPath.of(Catalog.class, "names[1]").getValue(catalog), is("second"));
+	}
+
+	/** A catalog of names, used only for testing the cache limit. */
+	public static class Catalog {
+
+		private List<String> names = List.of();
+
+		/** @return The names in the catalog. */
+		public List<String> getNames() {
+			return names;
+		}
+
+		/** @param names The new names in the catalog. */
+		public void setNames(final List<String> names) {
+			this.names = names;
+		}
+
+	}
+
+	/** An order. */
+	public static class Order {
+
+		private Customer customer;
+
+		/** @return The customer. */
+		public Customer getCustomer() {
+			return customer;
+		}
+
+		/** @param customer The new customer. */
+		public void setCustomer(final Customer customer) {
+			this.customer = customer;
+		}
+
+		private List<Item> items = new ArrayList<>();
+
+		/** @return The items ordered. */
+		public List<Item> getItems() {
+			return items;
+		}
+
+		/** @param items The new items ordered. */
+		public void setItems(final List<Item> items) {
+			this.items = items;
+		}
+
+		private int[] codes;
+
+		/** @return The codes. */
+		public int[] getCodes() {
+			return codes;
+		}
+
+		/** @param codes The new codes. */
+		public void setCodes(final int[] codes) {
+			this.codes = codes;
+		}
+
+		/** A customer. */
+		public static class Customer {
+
+			private Address address;
+
+			/** @return The address. */
+			public Address getAddress() {
+				return address;
+			}
+
+			/** @param address The new address. */
+			public void setAddress(final Address address) {
+				this.address = address;
+			}
+
+		}
+
+		/** An address. */
+		public static class Address {
+
+			private final String zip;
+
+			/** @return The postal code. */
+			public String getZip() {
+				return zip;
+			}
+
+			/**
+			 * Constructor.
+			 * @param zip The postal code.
+			 */
+			public Address(final String zip) {
+				this.zip = zip;
+			}
+
+		}
+
+		/** An item ordered. */
+		public static class Item {
+
+			private final String name;
+
+			/** @return The name of the item. */
+			public String getName() {
+				return name;
+			}
+
+			/**
+			 * Constructor.
+			 * @param name The name of the item.
+			 */
+			public Item(final String name) {
+				this.name = name;
+			}
+
+		}
+
+	}
+
+}
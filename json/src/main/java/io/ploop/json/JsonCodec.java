@@ -0,0 +1,188 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.json;
+
+import static java.util.Objects.*;
+import static io.ploop.reflect.Reflector.*;
+
+import java.io.IOException;
+import java.lang.invoke.*;
+import java.lang.reflect.InvocationTargetException;
+import java.util.*;
+
+import javax.annotation.*;
+
+import io.ploop.introspect.*;
+
+/**
+ * Writes objects of a particular type as JSON objects and reads them back, using the introspected properties of the type and without building any
+ * intermediate tree.
+ * <p>
+ * Each readable property is written as an object member in order of its ordinal, using a member name encoded as UTF-8 once when the codec is created. Values
+ * of <code>int</code>, <code>long</code>, <code>double</code>, and <code>boolean</code> properties with primitive specializations are written and read without
+ * boxing. When reading, members are matched to writable properties by name, and members with no corresponding writable property are skipped.
+ * </p>
+ * <p>
+ * The supported property types are the primitive types and their wrappers, {@link String}, <code>byte[]</code> (as Base64), enums (by name), and nested
+ * beans. A nested bean must be a concrete class outside the Java platform, and is itself written using its properties. Values of non-primitive types may be
+ * <code>null</code>. The object graph being written must not contain cycles.
+ * </p>
+ * <p>
+ * A codec is thread-safe.
+ * </p>
+ * @param <T> The type of object written.
+ * @author Garret Wilson
+ */
+public final class JsonCodec<T> {
+
+	/** The cached codecs. */
+	private static final ClassValue<JsonCodec<?>> CODECS = new ClassValue<JsonCodec<?>>() {
+		@Override
+		protected JsonCodec<?> computeValue(final Class<?> type) {
+			return new JsonCodec<>(type);
+		}
+	};
+
+	private final Introspection<T> introspection;
+
+	/** @return The introspection of the type of object written. */
+	public Introspection<T> getIntrospection() {
+		return introspection;
+	}
+
+	/** The strategies for the readable properties, in order of property ordinal. */
+	private final PropertyJson<T>[] writtenProperties;
+
+	/** The strategies for the writable properties, keyed to property name. */
+	private final Map<String, PropertyJson<T>> readPropertiesByName;
+
+	/** The constructor for creating new instances when reading, or <code>null</code> if the type has no public no-argument constructor. */
+	@Nullable
+	private final MethodHandle constructor;
+
+	/**
+	 * Constructor.
+	 * @param objectClass The type of object to write.
+	 * @throws IllegalArgumentException if the type of some property cannot be written as JSON.
+	 */
+	@SuppressWarnings("unchecked")
+	private JsonCodec(@Nonnull final Class<T> objectClass) {
+		this.introspection = Introspection.of(objectClass);
+		final List<PropertyJson<T>> writtenProperties = new ArrayList<>(introspection.getPropertyCount());
+		final Map<String, PropertyJson<T>> readPropertiesByName = new HashMap<>();
+		for(final Property<T, ?> property : introspection.getProperties()) {
+			if(property.isReadable() || property.isWritable()) {
+				final PropertyJson<T> propertyJson = PropertyJson.forProperty(property);
+				if(property.isReadable()) {
+					writtenProperties.add(propertyJson);
+				}
+				if(property.isWritable()) {
+					readPropertiesByName.put(property.getName(), propertyJson);
+				}
+			}
+		}
+		this.writtenProperties = writtenProperties.toArray(new PropertyJson[writtenProperties.size()]);
+		this.readPropertiesByName = readPropertiesByName;
+		this.constructor = findPublicConstructor(objectClass).orElse(null);
+	}
+
+	/**
+	 * Returns the codec for objects of the given type. The codec is cached.
+	 * @param <T> The type of object to write.
+	 * @param objectClass The type of object to write.
+	 * @return The codec for the type.
+	 * @throws IllegalArgumentException if the type of some property cannot be written as JSON.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T> JsonCodec<T> forClass(@Nonnull final Class<T> objectClass) {
+		return (JsonCodec<T>)CODECS.get(requireNonNull(objectClass));
+	}
+
+	/**
+	 * Writes an object as a JSON object.
+	 * @param writer The writer to which to write the object.
+	 * @param object The object to write.
+	 * @throws IOException if there was an error writing the object.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public void write(@Nonnull final JsonWriter writer, @Nonnull final T object) throws IOException, IllegalAccessException, InvocationTargetException {
+		requireNonNull(object);
+		writer.beginObject();
+		for(final PropertyJson<T> propertyJson : writtenProperties) {
+			propertyJson.write(object, writer);
+		}
+		writer.endObject();
+	}
+
+	/**
+	 * Reads a JSON object into an existing instance, setting its properties.
+	 * @param reader The reader from which to read the object.
+	 * @param object The object the properties of which should be set.
+	 * @throws JsonException if the JSON is not an object, or a member value is not valid for its property.
+	 * @throws IOException if there was an error reading the object.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public void read(@Nonnull final JsonReader reader, @Nonnull final T object) throws IOException, IllegalAccessException, InvocationTargetException {
+		requireNonNull(object);
+		reader.beginObject();
+		while(reader.hasNext()) {
+			final PropertyJson<T> propertyJson = readPropertiesByName.get(reader.nextName());
+			if(propertyJson != null) {
+				propertyJson.read(reader, object);
+			} else {
+				reader.skipValue();
+			}
+		}
+		reader.endObject();
+	}
+
+	/**
+	 * Reads a JSON object into a new instance created using the public no-argument constructor.
+	 * @param reader The reader from which to read the object.
+	 * @return A new object with its properties set from the JSON.
+	 * @throws UnsupportedOperationException if the type of object has no public no-argument constructor.
+	 * @throws JsonException if the JSON is not an object, or a member value is not valid for its property.
+	 * @throws IOException if there was an error reading the object.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method, including the constructor, throws an exception.
+	 * @throws ExceptionInInitializerError if the initialization provoked by this method fails.
+	 */
+	public T read(@Nonnull final JsonReader reader) throws IOException, IllegalAccessException, InvocationTargetException {
+		final T object = newInstance();
+		read(reader, object);
+		return object;
+	}
+
+	/**
+	 * Creates a new instance of the type of object written.
+	 * @return A new instance.
+	 * @throws UnsupportedOperationException if the type of object has no public no-argument constructor.
+	 * @throws InvocationTargetException if the constructor throws an exception.
+	 */
+	@SuppressWarnings("unchecked")
+	private T newInstance() throws InvocationTargetException {
+		if(constructor == null) {
+			throw new UnsupportedOperationException(String.format("Type %s has no public no-argument constructor.", introspection.getObjectType()));
+		}
+		return (T)invokeConstructor(constructor);
+	}
+
+}
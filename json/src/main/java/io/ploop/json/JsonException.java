@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.json;
+
+import java.io.IOException;
+
+/**
+ * Indicates that JSON is malformed, or that a value cannot be represented in JSON.
+ * @author Garret Wilson
+ */
+public class JsonException extends IOException {
+
+	private static final long serialVersionUID = 1L;
+
+	/**
+	 * Message constructor.
+	 * @param message An explanation of the problem.
+	 */
+	public JsonException(final String message) {
+		super(message);
+	}
+
+	/**
+	 * Message and cause constructor.
+	 * @param message An explanation of the problem.
+	 * @param cause The cause of the problem.
+	 */
+	public JsonException(final String message, final Throwable cause) {
+		super(message, cause);
+	}
+
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.json;
+
+import static java.util.Objects.*;
+
+import java.util.Arrays;
+
+import javax.annotation.*;
+
+/**
+ * A JSON object member name, pre-encoded once as the UTF-8 bytes of the quoted, escaped name followed by a colon, so that it may be written repeatedly without
+ * being encoded again.
+ * @author Garret Wilson
+ * @see JsonWriter#name(JsonName)
+ */
+public final class JsonName {
+
+	private final String name;
+
+	/** @return The name. */
+	public String getName() {
+		return name;
+	}
+
+	/** The encoded form of the name, including quotes and the following colon. */
+	private final byte[] encoded;
+
+	/** @return The encoded form of the name, including quotes and the following colon; the array must not be modified. */
+	byte[] getEncoded() {
+		return encoded;
+	}
+
+	/**
+	 * Constructor.
+	 * @param name The name.
+	 */
+	private JsonName(@Nonnull final String name) {
+		this.name = requireNonNull(name);
+		final byte[] quoted = JsonWriter.encodeString(name);
+		this.encoded = Arrays.copyOf(quoted, quoted.length + 1);
+		this.encoded[quoted.length] = ':';
+	}
+
+	/**
+	 * Pre-encodes a name.
+	 * @param name The name.
+	 * @return The pre-encoded name.
+	 */
+	public static JsonName of(@Nonnull final String name) {
+		return new JsonName(name);
+	}
+
+	@Override
+	public String toString() {
+		return name;
+	}
+
+}
@@ -0,0 +1,693 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.json;
+
+import static java.util.Objects.*;
+
+import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+import javax.annotation.*;
+
+/**
+ * Reads JSON as a stream of tokens directly from UTF-8 input, without building a tree.
+ * <p>
+ * Input is read incrementally into a buffer as tokens are consumed, from either an input stream or a channel. Integers are parsed directly from the input
+ * bytes. Separators between object members and array elements are consumed automatically. Several top-level values separated by whitespace may be read, so
+ * that a stream of many objects may be consumed.
+ * </p>
+ * <p>
+ * A reader is not thread-safe.
+ * </p>
+ * @author Garret Wilson
+ * @see JsonWriter
+ */
+public class JsonReader implements Closeable {
+
+	/** The default size of the input buffer. */
+	public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+	private static final int SCOPE_EMPTY_DOCUMENT = 0;
+	private static final int SCOPE_NONEMPTY_DOCUMENT = 1;
+	private static final int SCOPE_EMPTY_OBJECT = 2;
+	private static final int SCOPE_NONEMPTY_OBJECT = 3;
+	private static final int SCOPE_DANGLING_NAME = 4;
+	private static final int SCOPE_EMPTY_ARRAY = 5;
+	private static final int SCOPE_NONEMPTY_ARRAY = 6;
+
+	/** The input stream from which to read, or <code>null</code> if reading from a channel. */
+	@Nullable
+	private final InputStream inputStream;
+
+	/** The channel from which to read, or <code>null</code> if reading from an input stream. */
+	@Nullable
+	private final ReadableByteChannel channel;
+
+	private final byte[] buffer;
+
+	/** The view of the buffer for reading from a channel, or <code>null</code> if reading from an input stream. */
+	@Nullable
+	private final ByteBuffer channelBuffer;
+
+	/** The position of the next byte to read in the buffer. */
+	private int position = 0;
+
+	/** The number of bytes of valid input in the buffer. */
+	private int limit = 0;
+
+	/** Whether the end of the input has been reached. */
+	private boolean endOfInput = false;
+
+	/** The stack of scopes, the top of which is at {@link #depth} - 1. */
+	private int[] scopes = new int[32];
+
+	private int depth = 1;
+
+	/** The next token if it has been peeked but not consumed, or <code>null</code> if the next token has not been determined. */
+	@Nullable
+	private JsonToken peeked = null;
+
+	/** The builder for decoding strings, reused to prevent allocation. */
+	private final StringBuilder stringBuilder = new StringBuilder();
+
+	/**
+	 * Input stream constructor using the default buffer size.
+	 * @param inputStream The input stream from which to read.
+	 */
+	public JsonReader(@Nonnull final InputStream inputStream) {
+		this(requireNonNull(inputStream), null, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Channel constructor using the default buffer size.
+	 * @param channel The channel from which to read.
+	 */
+	public JsonReader(@Nonnull final ReadableByteChannel channel) {
+		this(null, requireNonNull(channel), DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Input stream constructor.
+	 * @param inputStream The input stream from which to read.
+	 * @param bufferSize The size of the input buffer.
+	 * @throws IllegalArgumentException if the buffer size is not positive.
+	 */
+	public JsonReader(@Nonnull final InputStream inputStream, final int bufferSize) {
+		this(requireNonNull(inputStream), null, bufferSize);
+	}
+
+	/**
+	 * Channel constructor.
+	 * @param channel The channel from which to read.
+	 * @param bufferSize The size of the input buffer.
+	 * @throws IllegalArgumentException if the buffer size is not positive.
+	 */
+	public JsonReader(@Nonnull final ReadableByteChannel channel, final int bufferSize) {
+		this(null, requireNonNull(channel), bufferSize);
+	}
+
+	/**
+	 * Constructor.
+	 * @param inputStream The input stream from which to read, or <code>null</code> if reading from a channel.
+	 * @param channel The channel from which to read, or <code>null</code> if reading from an input stream.
+	 * @param bufferSize The size of the input buffer.
+	 * @throws IllegalArgumentException if the buffer size is not positive.
+	 */
+	private JsonReader(@Nullable final InputStream inputStream, @Nullable final ReadableByteChannel channel, final int bufferSize) {
+		if(bufferSize <= 0) {
+			throw new IllegalArgumentException(String.format("Invalid buffer size %d.", bufferSize));
+		}
+		this.inputStream = inputStream;
+		this.channel = channel;
+		this.buffer = new byte[bufferSize];
+		this.channelBuffer = channel != null ? ByteBuffer.wrap(buffer) : null;
+		scopes[0] = SCOPE_EMPTY_DOCUMENT;
+	}
+
+	//structure
+
+	/**
+	 * Determines the kind of the next token without consuming it, consuming any separators before it.
+	 * @return The kind of the next token.
+	 * @throws JsonException if the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public JsonToken peek() throws IOException {
+		if(peeked != null) {
+			return peeked;
+		}
+		int c;
+		switch(scopes[depth - 1]) {
+			case SCOPE_EMPTY_DOCUMENT:
+				scopes[depth - 1] = SCOPE_NONEMPTY_DOCUMENT;
+				c = peekNonWhitespace();
+				break;
+			case SCOPE_NONEMPTY_DOCUMENT:
+				c = peekNonWhitespace();
+				if(c < 0) {
+					return peeked = JsonToken.END_DOCUMENT;
+				}
+				break;
+			case SCOPE_EMPTY_OBJECT:
+			case SCOPE_NONEMPTY_OBJECT:
+				c = peekNonWhitespace();
+				if(c == '}') {
+					return peeked = JsonToken.END_OBJECT;
+				}
+				if(scopes[depth - 1] == SCOPE_NONEMPTY_OBJECT) {
+					consume(',');
+					c = peekNonWhitespace();
+				}
+				if(c != '"') {
+					throw syntaxError("Expected object member name");
+				}
+				return peeked = JsonToken.NAME;
+			case SCOPE_DANGLING_NAME:
+				consume(':');
+				scopes[depth - 1] = SCOPE_NONEMPTY_OBJECT;
+				c = peekNonWhitespace();
+				break;
+			case SCOPE_EMPTY_ARRAY:
+				c = peekNonWhitespace();
+				if(c == ']') {
+					return peeked = JsonToken.END_ARRAY;
+				}
+				scopes[depth - 1] = SCOPE_NONEMPTY_ARRAY;
+				break;
+			case SCOPE_NONEMPTY_ARRAY:
+				c = peekNonWhitespace();
+				if(c == ']') {
+					return peeked = JsonToken.END_ARRAY;
+				}
+				consume(',');
+				c = peekNonWhitespace();
+				break;
+			default:
+				throw new AssertionError("Unknown scope " + scopes[depth - 1]);
+		}
+		switch(c) {
+			case '{':
+				return peeked = JsonToken.BEGIN_OBJECT;
+			case '[':
+				return peeked = JsonToken.BEGIN_ARRAY;
+			case '"':
+				return peeked = JsonToken.STRING;
+			case 't':
+			case 'f':
+				return peeked = JsonToken.BOOLEAN;
+			case 'n':
+				return peeked = JsonToken.NULL;
+			case '-':
+			case '0':
+			case '1':
+			case '2':
+			case '3':
+			case '4':
+			case '5':
+			case '6':
+			case '7':
+			case '8':
+			case '9':
+				return peeked = JsonToken.NUMBER;
+			case -1:
+				throw new EOFException("Unexpected end of JSON input.");
+			default:
+				throw syntaxError("Unexpected character");
+		}
+	}
+
+	/**
+	 * Indicates whether the current object or array has another element, or whether there is another top-level value.
+	 * @return <code>true</code> if the next token is not the end of an object, the end of an array, or the end of the input.
+	 * @throws JsonException if the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public boolean hasNext() throws IOException {
+		final JsonToken token = peek();
+		return token != JsonToken.END_OBJECT && token != JsonToken.END_ARRAY && token != JsonToken.END_DOCUMENT;
+	}
+
+	/**
+	 * Consumes the start of an object.
+	 * @throws JsonException if the next token is not the start of an object, or the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public void beginObject() throws IOException {
+		expect(JsonToken.BEGIN_OBJECT);
+		position++;
+		push(SCOPE_EMPTY_OBJECT);
+	}
+
+	/**
+	 * Consumes the end of the current object.
+	 * @throws JsonException if the next token is not the end of an object, or the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public void endObject() throws IOException {
+		expect(JsonToken.END_OBJECT);
+		position++;
+		depth--;
+	}
+
+	/**
+	 * Consumes the start of an array.
+	 * @throws JsonException if the next token is not the start of an array, or the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public void beginArray() throws IOException {
+		expect(JsonToken.BEGIN_ARRAY);
+		position++;
+		push(SCOPE_EMPTY_ARRAY);
+	}
+
+	/**
+	 * Consumes the end of the current array.
+	 * @throws JsonException if the next token is not the end of an array, or the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public void endArray() throws IOException {
+		expect(JsonToken.END_ARRAY);
+		position++;
+		depth--;
+	}
+
+	/**
+	 * Consumes an object member name.
+	 * @return The name.
+	 * @throws JsonException if the next token is not a member name, or the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public String nextName() throws IOException {
+		expect(JsonToken.NAME);
+		final String name = readQuoted();
+		scopes[depth - 1] = SCOPE_DANGLING_NAME;
+		return name;
+	}
+
+	//values
+
+	/**
+	 * Consumes a string value.
+	 * @return The string.
+	 * @throws JsonException if the next token is not a string, or the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public String nextString() throws IOException {
+		expect(JsonToken.STRING);
+		return readQuoted();
+	}
+
+	/**
+	 * Consumes a boolean value.
+	 * @return The boolean value.
+	 * @throws JsonException if the next token is not a boolean, or the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public boolean nextBoolean() throws IOException {
+		expect(JsonToken.BOOLEAN);
+		peeked = null;
+		if(buffer[position] == 't') {
+			consumeLiteral("true");
+			return true;
+		}
+		consumeLiteral("false");
+		return false;
+	}
+
+	/**
+	 * Consumes a <code>null</code> value.
+	 * @throws JsonException if the next token is not <code>null</code>, or the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public void nextNull() throws IOException {
+		expect(JsonToken.NULL);
+		peeked = null;
+		consumeLiteral("null");
+	}
+
+	/**
+	 * Consumes a number value that is an integer within the range of <code>int</code>.
+	 * @return The integer value.
+	 * @throws JsonException if the next token is not a number, or is not an integer in range; or if the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public int nextInt() throws IOException {
+		final long value = nextLong();
+		if(value < Integer.MIN_VALUE || value > Integer.MAX_VALUE) {
+			throw new JsonException(String.format("Number %d is out of range for an integer.", value));
+		}
+		return (int)value;
+	}
+
+	/**
+	 * Consumes a number value that is an integer within the range of <code>long</code>, parsing it directly from the input.
+	 * @return The integer value.
+	 * @throws JsonException if the next token is not a number, or is not an integer in range; or if the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public long nextLong() throws IOException {
+		expect(JsonToken.NUMBER);
+		peeked = null;
+		final boolean negative = buffer[position] == '-';
+		if(negative) {
+			position++;
+		}
+		long value = 0; //accumulated negatively so that the minimum value can be represented
+		int digitCount = 0;
+		int c;
+		while((c = peekByte()) >= '0' && c <= '9') {
+			position++;
+			final int digit = c - '0';
+			if(value < (Long.MIN_VALUE + digit) / 10) {
+				throw new JsonException("Number is out of range for a long integer.");
+			}
+			value = value * 10 - digit;
+			digitCount++;
+		}
+		if(digitCount == 0) {
+			throw syntaxError("Expected digit");
+		}
+		if(c == '.' || c == 'e' || c == 'E') {
+			throw syntaxError("Expected integer");
+		}
+		if(!negative) {
+			if(value == Long.MIN_VALUE) {
+				throw new JsonException("Number is out of range for a long integer.");
+			}
+			value = -value;
+		}
+		return value;
+	}
+
+	/**
+	 * Consumes a number value.
+	 * @return The number as a double-precision floating point value.
+	 * @throws JsonException if the next token is not a number, or the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public double nextDouble() throws IOException {
+		expect(JsonToken.NUMBER);
+		peeked = null;
+		stringBuilder.setLength(0);
+		int c;
+		while((c = peekByte()) >= '0' && c <= '9' || c == '-' || c == '+' || c == '.' || c == 'e' || c == 'E') {
+			position++;
+			stringBuilder.append((char)c);
+		}
+		try {
+			return Double.parseDouble(stringBuilder.toString());
+		} catch(final NumberFormatException numberFormatException) {
+			throw new JsonException(String.format("Invalid number %s.", stringBuilder), numberFormatException);
+		}
+	}
+
+	/**
+	 * Skips the next value, including all the contents of an object or array.
+	 * @throws JsonException if the next token is not a value, or the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	public void skipValue() throws IOException {
+		switch(peek()) {
+			case BEGIN_OBJECT:
+				beginObject();
+				while(hasNext()) {
+					nextName();
+					skipValue();
+				}
+				endObject();
+				break;
+			case BEGIN_ARRAY:
+				beginArray();
+				while(hasNext()) {
+					skipValue();
+				}
+				endArray();
+				break;
+			case STRING:
+				nextString();
+				break;
+			case NUMBER:
+				nextDouble();
+				break;
+			case BOOLEAN:
+				nextBoolean();
+				break;
+			case NULL:
+				nextNull();
+				break;
+			default:
+				throw syntaxError("Expected value");
+		}
+	}
+
+	//state
+
+	/**
+	 * Ensures that the next token is of the given kind.
+	 * @param token The expected kind of token.
+	 * @throws JsonException if the next token is of a different kind, or the input is not valid JSON.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	private void expect(@Nonnull final JsonToken token) throws IOException {
+		final JsonToken nextToken = peek();
+		if(nextToken != token) {
+			throw new JsonException(String.format("Expected %s but was %s.", token, nextToken));
+		}
+		peeked = null;
+	}
+
+	/**
+	 * Pushes a new scope onto the stack.
+	 * @param scope The scope to push.
+	 */
+	private void push(final int scope) {
+		if(depth == scopes.length) {
+			scopes = Arrays.copyOf(scopes, depth * 2);
+		}
+		scopes[depth++] = scope;
+	}
+
+	//input
+
+	/**
+	 * Reads a quoted string starting at the current position, decoding UTF-8 and escape sequences.
+	 * @return The string.
+	 * @throws JsonException if the string is not valid.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	private String readQuoted() throws IOException {
+		position++; //skip the opening quote, which has already been peeked
+		stringBuilder.setLength(0);
+		while(true) {
+			final int b = readByte();
+			if(b == '"') {
+				return stringBuilder.toString();
+			} else if(b == '\\') {
+				readEscaped();
+			} else if(b < 0x20) {
+				throw syntaxError(b < 0 ? "Unterminated string" : "Unescaped control character in string");
+			} else if(b < 0x80) {
+				stringBuilder.append((char)b);
+			} else if((b & 0xE0) == 0xC0) {
+				stringBuilder.append((char)(((b & 0x1F) << 6) | readContinuationByte()));
+			} else if((b & 0xF0) == 0xE0) {
+				stringBuilder.append((char)(((b & 0x0F) << 12) | (readContinuationByte() << 6) | readContinuationByte()));
+			} else if((b & 0xF8) == 0xF0) {
+				stringBuilder.appendCodePoint(((b & 0x07) << 18) | (readContinuationByte() << 12) | (readContinuationByte() << 6) | readContinuationByte());
+			} else {
+				throw syntaxError("Invalid UTF-8 byte in string");
+			}
+		}
+	}
+
+	/**
+	 * Reads the continuation byte of a UTF-8 sequence.
+	 * @return The six bits of data in the continuation byte.
+	 * @throws JsonException if the byte is not a continuation byte.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	private int readContinuationByte() throws IOException {
+		final int b = readByte();
+		if((b & 0xC0) != 0x80) {
+			throw syntaxError("Invalid UTF-8 continuation byte in string");
+		}
+		return b & 0x3F;
+	}
+
+	/**
+	 * Reads the remainder of an escape sequence after the backslash, appending the escaped character to the string builder.
+	 * @throws JsonException if the escape sequence is not valid.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	private void readEscaped() throws IOException {
+		final int b = readByte();
+		switch(b) {
+			case '"':
+			case '\\':
+			case '/':
+				stringBuilder.append((char)b);
+				break;
+			case 'n':
+				stringBuilder.append('\n');
+				break;
+			case 'r':
+				stringBuilder.append('\r');
+				break;
+			case 't':
+				stringBuilder.append('\t');
+				break;
+			case 'b':
+				stringBuilder.append('\b');
+				break;
+			case 'f':
+				stringBuilder.append('\f');
+				break;
+			case 'u':
+				{
+					int c = 0;
+					for(int digitIndex = 0; digitIndex < 4; digitIndex++) {
+						final int digit = Character.digit(readByte(), 16);
+						if(digit < 0) {
+							throw syntaxError("Invalid Unicode escape sequence");
+						}
+						c = (c << 4) | digit;
+					}
+					stringBuilder.append((char)c);
+				}
+				break;
+			default:
+				throw syntaxError("Invalid escape sequence");
+		}
+	}
+
+	/**
+	 * Consumes a literal such as <code>true</code>, ensuring that it is not followed by other letters.
+	 * @param literal The expected literal.
+	 * @throws JsonException if the input does not match the literal.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	private void consumeLiteral(@Nonnull final String literal) throws IOException {
+		for(int index = 0; index < literal.length(); index++) {
+			if(readByte() != literal.charAt(index)) {
+				throw syntaxError("Expected " + literal);
+			}
+		}
+		final int next = peekByte();
+		if(next >= 'a' && next <= 'z' || next >= 'A' && next <= 'Z' || next >= '0' && next <= '9') {
+			throw syntaxError("Expected " + literal);
+		}
+	}
+
+	/**
+	 * Consumes a separator character, skipping any whitespace before it.
+	 * @param separator The expected separator.
+	 * @throws JsonException if the next non-whitespace character is not the separator.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	private void consume(final char separator) throws IOException {
+		if(peekNonWhitespace() != separator) {
+			throw syntaxError("Expected '" + separator + "'");
+		}
+		position++;
+	}
+
+	/**
+	 * Skips whitespace and returns the next byte without consuming it.
+	 * @return The next non-whitespace byte, or <code>-1</code> if the end of the input has been reached.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	private int peekNonWhitespace() throws IOException {
+		while(true) {
+			final int b = peekByte();
+			if(b != ' ' && b != '\n' && b != '\r' && b != '\t') {
+				return b;
+			}
+			position++;
+		}
+	}
+
+	/**
+	 * Returns the next byte without consuming it, filling the buffer if needed.
+	 * @return The next byte, or <code>-1</code> if the end of the input has been reached.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	private int peekByte() throws IOException {
+		if(position == limit && !fill()) {
+			return -1;
+		}
+		return buffer[position] & 0xFF;
+	}
+
+	/**
+	 * Consumes the next byte, filling the buffer if needed.
+	 * @return The next byte, or <code>-1</code> if the end of the input has been reached.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	private int readByte() throws IOException {
+		if(position == limit && !fill()) {
+			return -1;
+		}
+		return buffer[position++] & 0xFF;
+	}
+
+	/**
+	 * Reads more input into the buffer, replacing the input already consumed. This method must only be called when all the input in the buffer has been
+	 * consumed.
+	 * @return <code>true</code> if more input was read, or <code>false</code> if the end of the input has been reached.
+	 * @throws IOException if there was an error reading the input.
+	 */
+	private boolean fill() throws IOException {
+		position = 0;
+		limit = 0;
+		while(!endOfInput && limit == 0) {
+			final int count;
+			if(inputStream != null) {
+				count = inputStream.read(buffer, 0, buffer.length);
+			} else {
+				channelBuffer.clear();
+				count = channel.read(channelBuffer);
+			}
+			if(count < 0) {
+				endOfInput = true;
+			} else {
+				limit = count;
+			}
+		}
+		return limit > 0;
+	}
+
+	/**
+	 * Creates an exception indicating a syntax error at the current position.
+	 * @param message The description of the error, without final punctuation.
+	 * @return A new exception to throw.
+	 */
+	private JsonException syntaxError(@Nonnull final String message) {
+		return new JsonException(message + ".");
+	}
+
+	@Override
+	public void close() throws IOException {
+		if(inputStream != null) {
+			inputStream.close();
+		} else {
+			channel.close();
+		}
+	}
+
+}
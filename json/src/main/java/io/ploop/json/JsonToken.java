@@ -0,0 +1,55 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.json;
+
+/**
+ * The kind of the next token available from a {@link JsonReader}.
+ * @author Garret Wilson
+ */
+public enum JsonToken {
+
+	/** The start of an object. */
+	BEGIN_OBJECT,
+
+	/** The end of an object. */
+	END_OBJECT,
+
+	/** The start of an array. */
+	BEGIN_ARRAY,
+
+	/** The end of an array. */
+	END_ARRAY,
+
+	/** The name of an object member. */
+	NAME,
+
+	/** A string value. */
+	STRING,
+
+	/** A number value. */
+	NUMBER,
+
+	/** A boolean value. */
+	BOOLEAN,
+
+	/** A <code>null</code> value. */
+	NULL,
+
+	/** The end of the input, after all top-level values. */
+	END_DOCUMENT;
+
+}
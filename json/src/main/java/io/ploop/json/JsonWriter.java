@@ -0,0 +1,521 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.json;
+
+import static java.nio.charset.StandardCharsets.*;
+import static java.util.Objects.*;
+
+import java.io.*;
+import java.util.Arrays;
+
+import javax.annotation.*;
+
+/**
+ * Writes JSON as a stream of tokens directly to an output stream as UTF-8, without building a tree.
+ * <p>
+ * Separators between object members and array elements are written automatically. Numbers are written as digits without creating intermediate strings, and
+ * object member names may be {@link JsonName pre-encoded} so that they are simply copied into the output. Several top-level values may be written, separated
+ * by newlines, so that a stream of many objects may be produced.
+ * </p>
+ * <p>
+ * Output is buffered, and is written to the underlying stream when the buffer is full or when the writer is flushed. A writer is not thread-safe.
+ * </p>
+ * @author Garret Wilson
+ * @see JsonReader
+ */
+public class JsonWriter implements Flushable, Closeable {
+
+	/** The default size of the output buffer. */
+	public static final int DEFAULT_BUFFER_SIZE = 8 * 1024;
+
+	/** The minimum size of the output buffer, which must be able to hold any single number or escape sequence. */
+	private static final int MIN_BUFFER_SIZE = 32;
+
+	private static final int SCOPE_EMPTY_DOCUMENT = 0;
+	private static final int SCOPE_NONEMPTY_DOCUMENT = 1;
+	private static final int SCOPE_EMPTY_OBJECT = 2;
+	private static final int SCOPE_NONEMPTY_OBJECT = 3;
+	private static final int SCOPE_DANGLING_NAME = 4;
+	private static final int SCOPE_EMPTY_ARRAY = 5;
+	private static final int SCOPE_NONEMPTY_ARRAY = 6;
+
+	private static final byte[] HEX_DIGITS = "0123456789abcdef".getBytes(US_ASCII);
+	private static final byte[] TRUE = "true".getBytes(US_ASCII);
+	private static final byte[] FALSE = "false".getBytes(US_ASCII);
+	private static final byte[] NULL = "null".getBytes(US_ASCII);
+	private static final byte[] MIN_LONG = Long.toString(Long.MIN_VALUE).getBytes(US_ASCII);
+
+	private final OutputStream outputStream;
+
+	private final byte[] buffer;
+
+	/** The number of bytes in the buffer not yet written to the output stream. */
+	private int position = 0;
+
+	/** The stack of scopes, the top of which is at {@link #depth} - 1. */
+	private int[] scopes = new int[32];
+
+	private int depth = 1;
+
+	/**
+	 * Constructor using the default buffer size.
+	 * @param outputStream The output stream to which to write.
+	 */
+	public JsonWriter(@Nonnull final OutputStream outputStream) {
+		this(outputStream, DEFAULT_BUFFER_SIZE);
+	}
+
+	/**
+	 * Constructor.
+	 * @param outputStream The output stream to which to write.
+	 * @param bufferSize The size of the output buffer.
+	 * @throws IllegalArgumentException if the buffer size is too small to hold a number or escape sequence.
+	 */
+	public JsonWriter(@Nonnull final OutputStream outputStream, final int bufferSize) {
+		if(bufferSize < MIN_BUFFER_SIZE) {
+			throw new IllegalArgumentException(String.format("Buffer size %d is less than the minimum %d.", bufferSize, MIN_BUFFER_SIZE));
+		}
+		this.outputStream = requireNonNull(outputStream);
+		this.buffer = new byte[bufferSize];
+		scopes[0] = SCOPE_EMPTY_DOCUMENT;
+	}
+
+	/**
+	 * Encodes a string as the UTF-8 bytes of a quoted JSON string.
+	 * @param string The string to encode.
+	 * @return The encoded string, including quotes.
+	 */
+	static byte[] encodeString(@Nonnull final String string) {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		final JsonWriter writer = new JsonWriter(outputStream, MIN_BUFFER_SIZE);
+		try {
+			writer.writeQuoted(string);
+			writer.flushBuffer();
+		} catch(final IOException ioException) {
+			throw new UncheckedIOException(ioException); //writing to memory should not fail
+		}
+		return outputStream.toByteArray();
+	}
+
+	//structure
+
+	/**
+	 * Begins a JSON object.
+	 * @throws IllegalStateException if a value is not expected, for example if a member name is expected.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void beginObject() throws IOException {
+		beforeValue();
+		push(SCOPE_EMPTY_OBJECT);
+		writeByte('{');
+	}
+
+	/**
+	 * Ends the current JSON object.
+	 * @throws IllegalStateException if an object is not being written or a member value is expected.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void endObject() throws IOException {
+		final int scope = scopes[depth - 1];
+		if(scope != SCOPE_EMPTY_OBJECT && scope != SCOPE_NONEMPTY_OBJECT) {
+			throw new IllegalStateException("Not at the end of an object.");
+		}
+		depth--;
+		writeByte('}');
+	}
+
+	/**
+	 * Begins a JSON array.
+	 * @throws IllegalStateException if a value is not expected, for example if a member name is expected.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void beginArray() throws IOException {
+		beforeValue();
+		push(SCOPE_EMPTY_ARRAY);
+		writeByte('[');
+	}
+
+	/**
+	 * Ends the current JSON array.
+	 * @throws IllegalStateException if an array is not being written.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void endArray() throws IOException {
+		final int scope = scopes[depth - 1];
+		if(scope != SCOPE_EMPTY_ARRAY && scope != SCOPE_NONEMPTY_ARRAY) {
+			throw new IllegalStateException("Not at the end of an array.");
+		}
+		depth--;
+		writeByte(']');
+	}
+
+	/**
+	 * Writes a pre-encoded object member name by copying its encoded bytes.
+	 * @param name The name of the member.
+	 * @throws IllegalStateException if a member name is not expected.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void name(@Nonnull final JsonName name) throws IOException {
+		beforeName();
+		writeBytes(name.getEncoded());
+	}
+
+	/**
+	 * Writes an object member name.
+	 * @param name The name of the member.
+	 * @throws IllegalStateException if a member name is not expected.
+	 * @throws IOException if there was an error writing the output.
+	 * @see #name(JsonName)
+	 */
+	public void name(@Nonnull final String name) throws IOException {
+		requireNonNull(name);
+		beforeName();
+		writeQuoted(name);
+		writeByte(':');
+	}
+
+	//values
+
+	/**
+	 * Writes a <code>null</code> value.
+	 * @throws IllegalStateException if a value is not expected.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void nullValue() throws IOException {
+		beforeValue();
+		writeBytes(NULL);
+	}
+
+	/**
+	 * Writes a boolean value.
+	 * @param value The value to write.
+	 * @throws IllegalStateException if a value is not expected.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void value(final boolean value) throws IOException {
+		beforeValue();
+		writeBytes(value ? TRUE : FALSE);
+	}
+
+	/**
+	 * Writes an integer value.
+	 * @param value The value to write.
+	 * @throws IllegalStateException if a value is not expected.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void value(final int value) throws IOException {
+		value((long)value);
+	}
+
+	/**
+	 * Writes a long integer value.
+	 * @param value The value to write.
+	 * @throws IllegalStateException if a value is not expected.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void value(long value) throws IOException {
+		beforeValue();
+		if(value == Long.MIN_VALUE) { //cannot be negated
+			writeBytes(MIN_LONG);
+			return;
+		}
+		ensureCapacity(20);
+		if(value < 0) {
+			buffer[position++] = '-';
+			value = -value;
+		}
+		int digitCount = 1;
+		for(long remaining = value; remaining >= 10; remaining /= 10) {
+			digitCount++;
+		}
+		final int end = position + digitCount;
+		int digitPosition = end;
+		do {
+			buffer[--digitPosition] = (byte)('0' + (int)(value % 10));
+			value /= 10;
+		} while(value != 0);
+		position = end;
+	}
+
+	/**
+	 * Writes a floating point value.
+	 * @param value The value to write.
+	 * @throws IllegalStateException if a value is not expected.
+	 * @throws JsonException if the value is not finite, as JSON cannot represent infinity or NaN.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void value(final float value) throws IOException {
+		if(!Float.isFinite(value)) {
+			throw new JsonException(String.format("JSON cannot represent the value %s.", value));
+		}
+		beforeValue();
+		writeAscii(Float.toString(value));
+	}
+
+	/**
+	 * Writes a double-precision floating point value.
+	 * @param value The value to write.
+	 * @throws IllegalStateException if a value is not expected.
+	 * @throws JsonException if the value is not finite, as JSON cannot represent infinity or NaN.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void value(final double value) throws IOException {
+		if(!Double.isFinite(value)) {
+			throw new JsonException(String.format("JSON cannot represent the value %s.", value));
+		}
+		beforeValue();
+		writeAscii(Double.toString(value));
+	}
+
+	/**
+	 * Writes a string value.
+	 * @param value The value to write, or <code>null</code> to write a <code>null</code> value.
+	 * @throws IllegalStateException if a value is not expected.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	public void value(@Nullable final String value) throws IOException {
+		if(value == null) {
+			nullValue();
+			return;
+		}
+		beforeValue();
+		writeQuoted(value);
+	}
+
+	//state
+
+	/**
+	 * Pushes a new scope onto the stack.
+	 * @param scope The scope to push.
+	 */
+	private void push(final int scope) {
+		if(depth == scopes.length) {
+			scopes = Arrays.copyOf(scopes, depth * 2);
+		}
+		scopes[depth++] = scope;
+	}
+
+	/**
+	 * Updates the state before writing a value, writing any needed separator.
+	 * @throws IllegalStateException if a value is not expected.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	private void beforeValue() throws IOException {
+		switch(scopes[depth - 1]) {
+			case SCOPE_EMPTY_DOCUMENT:
+				scopes[depth - 1] = SCOPE_NONEMPTY_DOCUMENT;
+				break;
+			case SCOPE_NONEMPTY_DOCUMENT:
+				writeByte('\n');
+				break;
+			case SCOPE_DANGLING_NAME:
+				scopes[depth - 1] = SCOPE_NONEMPTY_OBJECT;
+				break;
+			case SCOPE_EMPTY_ARRAY:
+				scopes[depth - 1] = SCOPE_NONEMPTY_ARRAY;
+				break;
+			case SCOPE_NONEMPTY_ARRAY:
+				writeByte(',');
+				break;
+			default:
+				throw new IllegalStateException("An object member name is expected.");
+		}
+	}
+
+	/**
+	 * Updates the state before writing an object member name, writing any needed separator.
+	 * @throws IllegalStateException if a member name is not expected.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	private void beforeName() throws IOException {
+		switch(scopes[depth - 1]) {
+			case SCOPE_EMPTY_OBJECT:
+				break;
+			case SCOPE_NONEMPTY_OBJECT:
+				writeByte(',');
+				break;
+			default:
+				throw new IllegalStateException("An object member name is not expected.");
+		}
+		scopes[depth - 1] = SCOPE_DANGLING_NAME;
+	}
+
+	//output
+
+	/**
+	 * Writes a string as a quoted JSON string, escaping characters as needed and encoding the rest as UTF-8.
+	 * @param string The string to write.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	private void writeQuoted(@Nonnull final String string) throws IOException {
+		writeByte('"');
+		final int length = string.length();
+		for(int index = 0; index < length; index++) {
+			final char c = string.charAt(index);
+			if(c < 0x80) {
+				if(c >= 0x20 && c != '"' && c != '\\') {
+					ensureCapacity(1);
+					buffer[position++] = (byte)c;
+				} else {
+					writeEscaped(c);
+				}
+			} else if(c < 0x800) {
+				ensureCapacity(2);
+				buffer[position++] = (byte)(0xC0 | (c >> 6));
+				buffer[position++] = (byte)(0x80 | (c & 0x3F));
+			} else if(Character.isSurrogate(c)) {
+				if(Character.isHighSurrogate(c) && index + 1 < length && Character.isLowSurrogate(string.charAt(index + 1))) {
+					final int codePoint = Character.toCodePoint(c, string.charAt(++index));
+					ensureCapacity(4);
+					buffer[position++] = (byte)(0xF0 | (codePoint >> 18));
+					buffer[position++] = (byte)(0x80 | ((codePoint >> 12) & 0x3F));
+					buffer[position++] = (byte)(0x80 | ((codePoint >> 6) & 0x3F));
+					buffer[position++] = (byte)(0x80 | (codePoint & 0x3F));
+				} else { //an unpaired surrogate cannot be encoded as UTF-8, but can be escaped
+					writeEscaped(c);
+				}
+			} else {
+				ensureCapacity(3);
+				buffer[position++] = (byte)(0xE0 | (c >> 12));
+				buffer[position++] = (byte)(0x80 | ((c >> 6) & 0x3F));
+				buffer[position++] = (byte)(0x80 | (c & 0x3F));
+			}
+		}
+		writeByte('"');
+	}
+
+	/**
+	 * Writes a character as a JSON escape sequence, using a short escape if one is defined.
+	 * @param c The character to escape.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	private void writeEscaped(final char c) throws IOException {
+		ensureCapacity(6);
+		buffer[position++] = '\\';
+		switch(c) {
+			case '"':
+			case '\\':
+				buffer[position++] = (byte)c;
+				break;
+			case '\n':
+				buffer[position++] = 'n';
+				break;
+			case '\r':
+				buffer[position++] = 'r';
+				break;
+			case '\t':
+				buffer[position++] = 't';
+				break;
+			case '\b':
+				buffer[position++] = 'b';
+				break;
+			case '\f':
+				buffer[position++] = 'f';
+				break;
+			default:
+				buffer[position++] = 'u';
+				buffer[position++] = HEX_DIGITS[c >> 12];
+				buffer[position++] = HEX_DIGITS[(c >> 8) & 0xF];
+				buffer[position++] = HEX_DIGITS[(c >> 4) & 0xF];
+				buffer[position++] = HEX_DIGITS[c & 0xF];
+				break;
+		}
+	}
+
+	/**
+	 * Writes a string known to contain only ASCII characters.
+	 * @param string The string to write.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	private void writeAscii(@Nonnull final String string) throws IOException {
+		final int length = string.length();
+		ensureCapacity(length);
+		for(int index = 0; index < length; index++) {
+			buffer[position++] = (byte)string.charAt(index);
+		}
+	}
+
+	/**
+	 * Writes a single byte.
+	 * @param b The byte to write.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	private void writeByte(final int b) throws IOException {
+		ensureCapacity(1);
+		buffer[position++] = (byte)b;
+	}
+
+	/**
+	 * Writes bytes, copying them into the buffer or writing them directly if they are larger than the buffer.
+	 * @param bytes The bytes to write.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	private void writeBytes(@Nonnull final byte[] bytes) throws IOException {
+		if(bytes.length > buffer.length) {
+			flushBuffer();
+			outputStream.write(bytes);
+			return;
+		}
+		ensureCapacity(bytes.length);
+		System.arraycopy(bytes, 0, buffer, position, bytes.length);
+		position += bytes.length;
+	}
+
+	/**
+	 * Ensures that the buffer has room for the given number of bytes, writing the buffer contents to the output stream if needed.
+	 * @param byteCount The number of bytes needed, which must not be greater than the buffer size.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	private void ensureCapacity(final int byteCount) throws IOException {
+		if(position + byteCount > buffer.length) {
+			flushBuffer();
+		}
+	}
+
+	/**
+	 * Writes the buffer contents to the output stream without flushing the output stream.
+	 * @throws IOException if there was an error writing the output.
+	 */
+	private void flushBuffer() throws IOException {
+		if(position > 0) {
+			outputStream.write(buffer, 0, position);
+			position = 0;
+		}
+	}
+
+	@Override
+	public void flush() throws IOException {
+		flushBuffer();
+		outputStream.flush();
+	}
+
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * This implementation writes any buffered output and closes the output stream.
+	 * </p>
+	 */
+	@Override
+	public void close() throws IOException {
+		try {
+			flushBuffer();
+		} finally {
+			outputStream.close();
+		}
+	}
+
+}
@@ -0,0 +1,277 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.json;
+
+import static java.util.Objects.*;
+
+import java.io.IOException;
+import java.lang.reflect.InvocationTargetException;
+
+import javax.annotation.*;
+
+import io.ploop.introspect.*;
+
+/**
+ * Strategy for writing the value of a single property of an object as a JSON object member, and reading it into the property of another object.
+ * @param <T> The type of object the property is for.
+ * @author Garret Wilson
+ */
+abstract class PropertyJson<T> {
+
+	private final Property<T, ?> property;
+
+	/** @return The property written. */
+	public Property<T, ?> getProperty() {
+		return property;
+	}
+
+	private final JsonName name;
+
+	/** @return The pre-encoded name of the object member. */
+	public JsonName getName() {
+		return name;
+	}
+
+	/**
+	 * Constructor.
+	 * @param property The property written.
+	 */
+	PropertyJson(@Nonnull final Property<T, ?> property) {
+		this.property = requireNonNull(property);
+		this.name = JsonName.of(property.getName());
+	}
+
+	/**
+	 * Writes the name and value of the property of an object.
+	 * @param object The object the property value of which should be written.
+	 * @param writer The writer to which to write the member.
+	 * @throws IOException if there was an error writing the member.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 */
+	public final void write(@Nonnull final T object, @Nonnull final JsonWriter writer) throws IOException, IllegalAccessException, InvocationTargetException {
+		writer.name(name);
+		writeValue(object, writer);
+	}
+
+	/**
+	 * Writes the value of the property of an object.
+	 * @param object The object the property value of which should be written.
+	 * @param writer The writer to which to write the value.
+	 * @throws IOException if there was an error writing the value.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 */
+	protected abstract void writeValue(@Nonnull T object, @Nonnull JsonWriter writer) throws IOException, IllegalAccessException, InvocationTargetException;
+
+	/**
+	 * Reads a value and sets it as the value of the property of an object.
+	 * @param reader The reader from which to read the value.
+	 * @param object The object the property value of which should be set.
+	 * @throws JsonException if the JSON does not represent a valid value for the property.
+	 * @throws IOException if there was an error reading the value.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 */
+	public abstract void read(@Nonnull JsonReader reader, @Nonnull T object) throws IOException, IllegalAccessException, InvocationTargetException;
+
+	/**
+	 * Returns a strategy for a property. For <code>int</code>, <code>long</code>, <code>double</code>, and <code>boolean</code> properties with primitive
+	 * specializations such as {@link IntProperty}, the values are written and read without boxing.
+	 * @param <T> The type of object the property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @param property The property to write and read.
+	 * @return A strategy for the property.
+	 * @throws IllegalArgumentException if values of the property type cannot be written as JSON.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <T, V> PropertyJson<T> forProperty(@Nonnull final Property<T, V> property) {
+		if(property instanceof IntProperty) {
+			return new OfInt<>((IntProperty<T>)property);
+		} else if(property instanceof LongProperty) {
+			return new OfLong<>((LongProperty<T>)property);
+		} else if(property instanceof DoubleProperty) {
+			return new OfDouble<>((DoubleProperty<T>)property);
+		} else if(property instanceof BooleanProperty) {
+			return new OfBoolean<>((BooleanProperty<T>)property);
+		}
+		final ValueJson<V> valueJson;
+		try {
+			valueJson = ValueJson.forClass(property.getValueType().getErasedType());
+		} catch(final IllegalArgumentException illegalArgumentException) {
+			throw new IllegalArgumentException(String.format("Property %s cannot be written as JSON: %s", property.getName(), illegalArgumentException.getMessage()),
+					illegalArgumentException);
+		}
+		return new OfValue<>(property, valueJson);
+	}
+
+	/**
+	 * A strategy for a property of any type, delegating to a value strategy.
+	 * @param <T> The type of object the property is for.
+	 * @param <V> The type of value stored in the property.
+	 * @author Garret Wilson
+	 */
+	static final class OfValue<T, V> extends PropertyJson<T> {
+
+		private final Property<T, V> valueProperty;
+
+		private final ValueJson<V> valueJson;
+
+		/**
+		 * Constructor.
+		 * @param property The property written.
+		 * @param valueJson The strategy for writing the property values.
+		 */
+		OfValue(@Nonnull final Property<T, V> property, @Nonnull final ValueJson<V> valueJson) {
+			super(property);
+			this.valueProperty = property;
+			this.valueJson = requireNonNull(valueJson);
+		}
+
+		@Override
+		protected void writeValue(final T object, final JsonWriter writer) throws IOException, IllegalAccessException, InvocationTargetException {
+			valueJson.write(writer, valueProperty.getValue(object));
+		}
+
+		@Override
+		public void read(final JsonReader reader, final T object) throws IOException, IllegalAccessException, InvocationTargetException {
+			valueProperty.setValue(object, valueJson.read(reader));
+		}
+
+	}
+
+	/**
+	 * A strategy for an <code>int</code> property, which writes values without boxing.
+	 * @param <T> The type of object the property is for.
+	 * @author Garret Wilson
+	 */
+	static final class OfInt<T> extends PropertyJson<T> {
+
+		private final IntProperty<T> intProperty;
+
+		/**
+		 * Constructor.
+		 * @param property The property written.
+		 */
+		OfInt(@Nonnull final IntProperty<T> property) {
+			super(property);
+			this.intProperty = property;
+		}
+
+		@Override
+		protected void writeValue(final T object, final JsonWriter writer) throws IOException, IllegalAccessException, InvocationTargetException {
+			writer.value(intProperty.getInt(object));
+		}
+
+		@Override
+		public void read(final JsonReader reader, final T object) throws IOException, IllegalAccessException, InvocationTargetException {
+			intProperty.setInt(object, reader.nextInt());
+		}
+
+	}
+
+	/**
+	 * A strategy for a <code>long</code> property, which writes values without boxing.
+	 * @param <T> The type of object the property is for.
+	 * @author Garret Wilson
+	 */
+	static final class OfLong<T> extends PropertyJson<T> {
+
+		private final LongProperty<T> longProperty;
+
+		/**
+		 * Constructor.
+		 * @param property The property written.
+		 */
+		OfLong(@Nonnull final LongProperty<T> property) {
+			super(property);
+			this.longProperty = property;
+		}
+
+		@Override
+		protected void writeValue(final T object, final JsonWriter writer) throws IOException, IllegalAccessException, InvocationTargetException {
+			writer.value(longProperty.getLong(object));
+		}
+
+		@Override
+		public void read(final JsonReader reader, final T object) throws IOException, IllegalAccessException, InvocationTargetException {
+			longProperty.setLong(object, reader.nextLong());
+		}
+
+	}
+
+	/**
+	 * A strategy for a <code>double</code> property, which writes values without boxing.
+	 * @param <T> The type of object the property is for.
+	 * @author Garret Wilson
+	 */
+	static final class OfDouble<T> extends PropertyJson<T> {
+
+		private final DoubleProperty<T> doubleProperty;
+
+		/**
+		 * Constructor.
+		 * @param property The property written.
+		 */
+		OfDouble(@Nonnull final DoubleProperty<T> property) {
+			super(property);
+			this.doubleProperty = property;
+		}
+
+		@Override
+		protected void writeValue(final T object, final JsonWriter writer) throws IOException, IllegalAccessException, InvocationTargetException {
+			writer.value(doubleProperty.getDouble(object));
+		}
+
+		@Override
+		public void read(final JsonReader reader, final T object) throws IOException, IllegalAccessException, InvocationTargetException {
+			doubleProperty.setDouble(object, reader.nextDouble());
+		}
+
+	}
+
+	/**
+	 * A strategy for a <code>boolean</code> property, which writes values without boxing.
+	 * @param <T> The type of object the property is for.
+	 * @author Garret Wilson
+	 */
+	static final class OfBoolean<T> extends PropertyJson<T> {
+
+		private final BooleanProperty<T> booleanProperty;
+
+		/**
+		 * Constructor.
+		 * @param property The property written.
+		 */
+		OfBoolean(@Nonnull final BooleanProperty<T> property) {
+			super(property);
+			this.booleanProperty = property;
+		}
+
+		@Override
+		protected void writeValue(final T object, final JsonWriter writer) throws IOException, IllegalAccessException, InvocationTargetException {
+			writer.value(booleanProperty.getBoolean(object));
+		}
+
+		@Override
+		public void read(final JsonReader reader, final T object) throws IOException, IllegalAccessException, InvocationTargetException {
+			booleanProperty.setBoolean(object, reader.nextBoolean());
+		}
+
+	}
+
+}
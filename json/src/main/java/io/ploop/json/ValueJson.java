@@ -0,0 +1,360 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.json;
+
+import static java.util.Objects.*;
+
+import java.io.IOException;
+import java.lang.reflect.*;
+import java.util.*;
+
+import javax.annotation.*;
+
+/**
+ * Strategy for writing values of a particular type as JSON and reading them back.
+ * @param <V> The type of value written.
+ * @author Garret Wilson
+ */
+abstract class ValueJson<V> {
+
+	/**
+	 * Writes a value.
+	 * @param writer The writer to which to write the value.
+	 * @param value The value to write, which will not be <code>null</code> unless values of the type may be <code>null</code>.
+	 * @throws IOException if there was an error writing the value.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 */
+	public abstract void write(@Nonnull JsonWriter writer, V value) throws IOException, IllegalAccessException, InvocationTargetException;
+
+	/**
+	 * Reads a value.
+	 * @param reader The reader from which to read the value.
+	 * @return The value read.
+	 * @throws JsonException if the JSON does not represent a valid value.
+	 * @throws IOException if there was an error reading the value.
+	 * @throws IllegalAccessException If the object is enforcing Java language access control some underlying method is inaccessible.
+	 * @throws InvocationTargetException if some underlying method throws an exception.
+	 */
+	public abstract V read(@Nonnull JsonReader reader) throws IOException, IllegalAccessException, InvocationTargetException;
+
+	/**
+	 * Returns a strategy for values of the given type. Booleans and numbers are written as JSON booleans and numbers; characters, strings, and enums (by name)
+	 * are written as JSON strings; byte arrays are written as Base64 strings; and other classes are written as nested objects using their properties. Values of
+	 * non-primitive types may be <code>null</code>.
+	 * @param <V> The type of value to write.
+	 * @param valueClass The erased type of value to write.
+	 * @return A strategy for values of the type.
+	 * @throws IllegalArgumentException if values of the type cannot be written as JSON.
+	 */
+	@SuppressWarnings("unchecked")
+	public static <V> ValueJson<V> forClass(@Nonnull final Class<V> valueClass) {
+		final ValueJson<?> valueJson;
+		if(valueClass == boolean.class || valueClass == Boolean.class) {
+			valueJson = BOOLEAN;
+		} else if(valueClass == byte.class || valueClass == Byte.class) {
+			valueJson = BYTE;
+		} else if(valueClass == short.class || valueClass == Short.class) {
+			valueJson = SHORT;
+		} else if(valueClass == char.class || valueClass == Character.class) {
+			valueJson = CHAR;
+		} else if(valueClass == int.class || valueClass == Integer.class) {
+			valueJson = INT;
+		} else if(valueClass == long.class || valueClass == Long.class) {
+			valueJson = LONG;
+		} else if(valueClass == float.class || valueClass == Float.class) {
+			valueJson = FLOAT;
+		} else if(valueClass == double.class || valueClass == Double.class) {
+			valueJson = DOUBLE;
+		} else if(valueClass == String.class) {
+			valueJson = STRING;
+		} else if(valueClass == byte[].class) {
+			valueJson = BYTES;
+		} else if(valueClass.isEnum()) {
+			valueJson = new OfEnum<>(valueClass.asSubclass(Enum.class));
+		} else {
+			valueJson = new OfBean<>(valueClass);
+		}
+		return valueClass.isPrimitive() ? (ValueJson<V>)valueJson : new OfNullable<>((ValueJson<V>)valueJson);
+	}
+
+	/** Strategy for booleans. */
+	public static final ValueJson<Boolean> BOOLEAN = new ValueJson<>() {
+		@Override
+		public void write(final JsonWriter writer, final Boolean value) throws IOException {
+			writer.value(value.booleanValue());
+		}
+
+		@Override
+		public Boolean read(final JsonReader reader) throws IOException {
+			return reader.nextBoolean();
+		}
+	};
+
+	/** Strategy for bytes, written as numbers. */
+	public static final ValueJson<Byte> BYTE = new ValueJson<>() {
+		@Override
+		public void write(final JsonWriter writer, final Byte value) throws IOException {
+			writer.value(value.intValue());
+		}
+
+		@Override
+		public Byte read(final JsonReader reader) throws IOException {
+			final int value = reader.nextInt();
+			if(value < Byte.MIN_VALUE || value > Byte.MAX_VALUE) {
+				throw new JsonException(String.format("Number %d is out of range for a byte.", value));
+			}
+			return (byte)value;
+		}
+	};
+
+	/** Strategy for short integers, written as numbers. */
+	public static final ValueJson<Short> SHORT = new ValueJson<>() {
+		@Override
+		public void write(final JsonWriter writer, final Short value) throws IOException {
+			writer.value(value.intValue());
+		}
+
+		@Override
+		public Short read(final JsonReader reader) throws IOException {
+			final int value = reader.nextInt();
+			if(value < Short.MIN_VALUE || value > Short.MAX_VALUE) {
+				throw new JsonException(String.format("Number %d is out of range for a short integer.", value));
+			}
+			return (short)value;
+		}
+	};
+
+	/** Strategy for characters, written as single-character strings. */
+	public static final ValueJson<Character> CHAR = new ValueJson<>() {
+		@Override
+		public void write(final JsonWriter writer, final Character value) throws IOException {
+			writer.value(String.valueOf(value.charValue()));
+		}
+
+		@Override
+		public Character read(final JsonReader reader) throws IOException {
+			final String value = reader.nextString();
+			if(value.length() != 1) {
+				throw new JsonException(String.format("String \"%s\" is not a single character.", value));
+			}
+			return value.charAt(0);
+		}
+	};
+
+	/** Strategy for integers. */
+	public static final ValueJson<Integer> INT = new ValueJson<>() {
+		@Override
+		public void write(final JsonWriter writer, final Integer value) throws IOException {
+			writer.value(value.intValue());
+		}
+
+		@Override
+		public Integer read(final JsonReader reader) throws IOException {
+			return reader.nextInt();
+		}
+	};
+
+	/** Strategy for long integers. */
+	public static final ValueJson<Long> LONG = new ValueJson<>() {
+		@Override
+		public void write(final JsonWriter writer, final Long value) throws IOException {
+			writer.value(value.longValue());
+		}
+
+		@Override
+		public Long read(final JsonReader reader) throws IOException {
+			return reader.nextLong();
+		}
+	};
+
+	/** Strategy for floating point values. */
+	public static final ValueJson<Float> FLOAT = new ValueJson<>() {
+		@Override
+		public void write(final JsonWriter writer, final Float value) throws IOException {
+			writer.value(value.floatValue());
+		}
+
+		@Override
+		public Float read(final JsonReader reader) throws IOException {
+			return (float)reader.nextDouble();
+		}
+	};
+
+	/** Strategy for double-precision floating point values. */
+	public static final ValueJson<Double> DOUBLE = new ValueJson<>() {
+		@Override
+		public void write(final JsonWriter writer, final Double value) throws IOException {
+			writer.value(value.doubleValue());
+		}
+
+		@Override
+		public Double read(final JsonReader reader) throws IOException {
+			return reader.nextDouble();
+		}
+	};
+
+	/** Strategy for strings. */
+	public static final ValueJson<String> STRING = new ValueJson<>() {
+		@Override
+		public void write(final JsonWriter writer, final String value) throws IOException {
+			writer.value(value);
+		}
+
+		@Override
+		public String read(final JsonReader reader) throws IOException {
+			return reader.nextString();
+		}
+	};
+
+	/** Strategy for byte arrays, written as Base64 strings. */
+	public static final ValueJson<byte[]> BYTES = new ValueJson<>() {
+		@Override
+		public void write(final JsonWriter writer, final byte[] value) throws IOException {
+			writer.value(Base64.getEncoder().encodeToString(value));
+		}
+
+		@Override
+		public byte[] read(final JsonReader reader) throws IOException {
+			try {
+				return Base64.getDecoder().decode(reader.nextString());
+			} catch(final IllegalArgumentException illegalArgumentException) {
+				throw new JsonException("Invalid Base64 string.", illegalArgumentException);
+			}
+		}
+	};
+
+	/**
+	 * A strategy that writes <code>null</code> for <code>null</code> values, delegating to another strategy for non-<code>null</code> values.
+	 * @param <V> The type of value written.
+	 * @author Garret Wilson
+	 */
+	static final class OfNullable<V> extends ValueJson<V> {
+
+		private final ValueJson<V> valueJson;
+
+		/**
+		 * Constructor.
+		 * @param valueJson The strategy for non-<code>null</code> values.
+		 */
+		OfNullable(@Nonnull final ValueJson<V> valueJson) {
+			this.valueJson = requireNonNull(valueJson);
+		}
+
+		@Override
+		public void write(final JsonWriter writer, final V value) throws IOException, IllegalAccessException, InvocationTargetException {
+			if(value == null) {
+				writer.nullValue();
+			} else {
+				valueJson.write(writer, value);
+			}
+		}
+
+		@Override
+		public V read(final JsonReader reader) throws IOException, IllegalAccessException, InvocationTargetException {
+			if(reader.peek() == JsonToken.NULL) {
+				reader.nextNull();
+				return null;
+			}
+			return valueJson.read(reader);
+		}
+
+	}
+
+	/**
+	 * A strategy for enum values, written as strings using their names.
+	 * @param <E> The type of enum.
+	 * @author Garret Wilson
+	 */
+	static final class OfEnum<E extends Enum<E>> extends ValueJson<E> {
+
+		private final Class<E> enumClass;
+
+		/**
+		 * Constructor.
+		 * @param enumClass The type of enum.
+		 */
+		OfEnum(@Nonnull final Class<E> enumClass) {
+			this.enumClass = requireNonNull(enumClass);
+		}
+
+		@Override
+		public void write(final JsonWriter writer, final E value) throws IOException {
+			writer.value(value.name());
+		}
+
+		@Override
+		public E read(final JsonReader reader) throws IOException {
+			final String name = reader.nextString();
+			try {
+				return Enum.valueOf(enumClass, name);
+			} catch(final IllegalArgumentException illegalArgumentException) {
+				throw new JsonException(String.format("Invalid name %s for enum %s.", name, enumClass.getName()), illegalArgumentException);
+			}
+		}
+
+	}
+
+	/**
+	 * A strategy for nested beans, written as objects using their properties. The codec for the bean class is looked up when first needed, so that a bean type
+	 * may contain properties of its own type.
+	 * @param <B> The type of bean.
+	 * @author Garret Wilson
+	 */
+	static final class OfBean<B> extends ValueJson<B> {
+
+		private final Class<B> beanClass;
+
+		@Nullable
+		private volatile JsonCodec<B> beanCodec = null;
+
+		/**
+		 * Constructor.
+		 * @param beanClass The type of bean.
+		 * @throws IllegalArgumentException if the class is not a concrete class outside the Java platform.
+		 */
+		OfBean(@Nonnull final Class<B> beanClass) {
+			this.beanClass = requireNonNull(beanClass);
+			final String className = beanClass.getName();
+			if(beanClass.isArray() || beanClass.isInterface() || Modifier.isAbstract(beanClass.getModifiers()) || className.startsWith("java.")
+					|| className.startsWith("javax.")) {
+				throw new IllegalArgumentException(String.format("Values of type %s cannot be written as JSON.", className));
+			}
+		}
+
+		/** @return The codec for the bean class. */
+		private JsonCodec<B> getBeanCodec() {
+			JsonCodec<B> beanCodec = this.beanCodec;
+			if(beanCodec == null) { //the race is benign, as the codecs are cached
+				this.beanCodec = beanCodec = JsonCodec.forClass(beanClass);
+			}
+			return beanCodec;
+		}
+
+		@Override
+		public void write(final JsonWriter writer, final B value) throws IOException, IllegalAccessException, InvocationTargetException {
+			getBeanCodec().write(writer, value);
+		}
+
+		@Override
+		public B read(final JsonReader reader) throws IOException, IllegalAccessException, InvocationTargetException {
+			return getBeanCodec().read(reader);
+		}
+
+	}
+
+}
@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.json;
+
+import static java.nio.charset.StandardCharsets.*;
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.*;
+import java.nio.channels.Channels;
+
+import org.junit.jupiter.api.*;
+
+/**
+ * Tests of the JSON codec, writer, and reader.
+ * 
+ * @author Garret Wilson
+ * @see JsonCodec
+ */
+public class JsonCodecTest {
+
+	/**
+	 * Creates a message with all properties set, using strings that require escaping.
+	 * @param index The index used to vary the values.
+	 * @return A new message.
+	 */
+	static Message createMessage(final int index) {
+		final Message message = new Message();
+		message.setSubject("re: \"quoted\" \\ path\tand\nlines \u0000\u001f\u2028 é中😀 #" + index);
+		message.setAttachment(index % 4 == 0 ? null : new byte[] {(byte)index, 0, (byte)0xFF, (byte)(index >> 8)});
+		message.setPriority(Message.Priority.values()[index % 3]);
+		message.setSequence(index % 2 == 0 ? Long.MAX_VALUE - index : Long.MIN_VALUE + index);
+		message.setScore(index / 7.0);
+		message.setRead(index % 2 == 0);
+		message.setMarker(index % 5 == 0 ? '"' : (char)('a' + index % 26));
+		message.setReplyCount(index % 3 == 0 ? null : index);
+		if(index % 2 == 1) {
+			final Message original = new Message();
+			original.setSubject("original </script> \\u0041");
+			original.setPriority(Message.Priority.URGENT);
+			message.setInReplyTo(original);
+		}
+		return message;
+	}
+
+	/**
+	 * Verifies that a message has the values of another.
+	 * @param actual The read message.
+	 * @param expected The original message.
+	 */
+	static void assertMessageEquals(final Message actual, final Message expected) {
+		assertThat(actual.getSubject(), is(expected.getSubject()));
+		assertThat(actual.getAttachment(), is(expected.getAttachment()));
+		assertThat(actual.getPriority(), is(expected.getPriority()));
+		assertThat(actual.getSequence(), is(expected.getSequence()));
+		assertThat(actual.getScore(), is(expected.getScore()));
+		assertThat(actual.isRead(), is(expected.isRead()));
+		assertThat(actual.getMarker(), is(expected.getMarker()));
+		assertThat(actual.getReplyCount(), is(expected.getReplyCount()));
+		if(expected.getInReplyTo() == null) {
+			assertThat(actual.getInReplyTo(), is(nullValue()));
+		} else {
+			assertMessageEquals(actual.getInReplyTo(), expected.getInReplyTo());
+		}
+	}
+
+	/**
+	 * Writes a message as JSON.
+	 * @param message The message to write.
+	 * @return The JSON text.
+	 */
+	static String toJson(final Message message) throws Exception {
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (final JsonWriter writer = new JsonWriter(outputStream)) {
+			JsonCodec.forClass(Message.class).write(writer, message);
+		}
+		return new String(outputStream.toByteArray(), UTF_8);
+	}
+
+	/**
+	 * Reads a message from JSON.
+	 * @param json The JSON text.
+	 * @return The message read.
+	 */
+	static Message fromJson(final String json) throws Exception {
+		try (final JsonReader reader = new JsonReader(new ByteArrayInputStream(json.getBytes(UTF_8)))) {
+			return JsonCodec.forClass(Message.class).read(reader);
+		}
+	}
+
+	/** Tests writing a message as JSON, with escaped strings, Base64 binary content, an enum name, and a read-only property. */
+	@Test
+	public void testWrite() throws Exception {
+		final Message message = new Message();
+		message.setSubject("a\"b\\c\n\t\u0001é😀");
+		message.setAttachment(new byte[] {0, 1, (byte)0xFB, (byte)0xFF});
+		message.setPriority(Message.Priority.URGENT);
+		message.setSequence(Long.MIN_VALUE);
+		message.setMarker('\\');
+		assertThat(toJson(message),
+				is("{\"attachment\":\"AAH7/w==\",\"inReplyTo\":null,\"marker\":\"\\\\\",\"priority\":\"URGENT\",\"read\":false,\"replyCount\":null,"
+						+ "\"score\":0.0,\"sequence\":-9223372036854775808,\"subject\":\"a\\\"b\\\\c\\n\\t\\u0001é😀\","
+						+ "\"summary\":\"URGENT: a\\\"b\\\\c\\n\\t\\u0001é😀\"}"));
+	}
+
+	/** Tests that messages survive a round trip through JSON, skipping the read-only property. */
+	@Test
+	public void testRoundTrip() throws Exception {
+		for(int index = 0; index < 6; index++) {
+			final Message message = createMessage(index);
+			assertMessageEquals(fromJson(toJson(message)), message);
+		}
+	}
+
+	/** Tests streaming many messages through small buffers, reading them back incrementally from a channel so that escapes and characters are split. */
+	@Test
+	public void testStream() throws Exception {
+		final JsonCodec<Message> codec = JsonCodec.forClass(Message.class);
+		final int count = 500;
+		final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+		try (final JsonWriter writer = new JsonWriter(outputStream, 64)) {
+			for(int index = 0; index < count; index++) {
+				codec.write(writer, createMessage(index));
+			}
+		}
+		try (final JsonReader reader = new JsonReader(Channels.newChannel(new ByteArrayInputStream(outputStream.toByteArray())), 7)) {
+			int index = 0;
+			while(reader.peek() != JsonToken.END_DOCUMENT) {
+				assertMessageEquals(codec.read(reader), createMessage(index++));
+			}
+			assertThat(index, is(count));
+		}
+	}
+
+	/** Tests reading escape sequences other than those the writer produces, including a surrogate pair written as two escapes. */
+	@Test
+	public void testReadEscapes() throws Exception {
+		final Message message = fromJson("{\"subject\":\"\\u00e9\\/\\b\\f\\r\\ud83d\\ude00\", \"marker\":\"\\u0041\"}");
+		assertThat(message.getSubject(), is("é/\b\f\r😀"));
+		assertThat(message.getMarker(), is('A'));
+	}
+
+	/** Tests that members with no corresponding writable property, including the read-only property, are skipped along with any nested content. */
+	@Test
+	public void testReadSkipsUnknownMembers() throws Exception {
+		final Message message = fromJson(" {\"un\\\"known\" : {\"a\":[1, -2.5e3, true, null, \"}]\\\"\", {}]}, \"summary\":\"ignored\", "
+				+ "\"priority\" : \"LOW\", \"extra\":[[]], \"replyCount\": null}\n");
+		assertThat(message.getPriority(), is(Message.Priority.LOW));
+		assertThat(message.getReplyCount(), is(nullValue()));
+		assertThat(message.getSubject(), is(nullValue()));
+	}
+
+	/** Tests that malformed or mismatched JSON is reported. */
+	@Test
+	public void testReadInvalid() {
+		assertThrows(JsonException.class, () -> fromJson("{\"priority\":\"urgent\"}"));
+		assertThrows(JsonException.class, () -> fromJson("{\"attachment\":\"not*base64\"}"));
+		assertThrows(JsonException.class, () -> fromJson("{\"marker\":\"ab\"}"));
+		assertThrows(JsonException.class, () -> fromJson("{\"replyCount\":99999999999}"));
+		assertThrows(JsonException.class, () -> fromJson("{\"read\":tru}"));
+		assertThrows(JsonException.class, () -> fromJson("{\"subject\":\"\\x\"}"));
+		assertThrows(JsonException.class, () -> fromJson("{\"sequence\":1,}"));
+		assertThrows(IOException.class, () -> fromJson("{\"subject\":\"abc"));
+	}
+
+}
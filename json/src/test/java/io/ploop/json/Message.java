@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.json;
+
+/**
+ * A message bean exercising JSON concerns: strings requiring escapes, binary content encoded as Base64, enum values written by name, nullable and nested
+ * values, and a derived property that is written but not read.
+ * @author Garret Wilson
+ */
+public class Message {
+
+	/** The urgency of a message. */
+	public enum Priority {
+		/** Can wait. */
+		LOW,
+		/** The usual priority. */
+		NORMAL,
+		/** Needs immediate attention. */
+		URGENT
+	}
+
+	private String subject;
+
+	/** @return The subject, which may contain any characters. */
+	public String getSubject() {
+		return subject;
+	}
+
+	/** @param subject The new subject. */
+	public void setSubject(final String subject) {
+		this.subject = subject;
+	}
+
+	private byte[] attachment;
+
+	/** @return The binary attachment, or <code>null</code> if there is none. */
+	public byte[] getAttachment() {
+		return attachment;
+	}
+
+	/** @param attachment The new binary attachment. */
+	public void setAttachment(final byte[] attachment) {
+		this.attachment = attachment;
+	}
+
+	private Priority priority;
+
+	/** @return The priority. */
+	public Priority getPriority() {
+		return priority;
+	}
+
+	/** @param priority The new priority. */
+	public void setPriority(final Priority priority) {
+		this.priority = priority;
+	}
+
+	private long sequence;
+
+	/** @return The sequence number, which may exceed the precision of a JSON number read as a double. */
+	public long getSequence() {
+		return sequence;
+	}
+
+	/** @param sequence The new sequence number. */
+	public void setSequence(final long sequence) {
+		this.sequence = sequence;
+	}
+
+	private double score;
+
+	/** @return The relevance score. */
+	public double getScore() {
+		return score;
+	}
+
+	/** @param score The new relevance score. */
+	public void setScore(final double score) {
+		this.score = score;
+	}
+
+	private boolean read;
+
+	/** @return Whether the message has been read. */
+	public boolean isRead() {
+		return read;
+	}
+
+	/** @param read Whether the message has been read. */
+	public void setRead(final boolean read) {
+		this.read = read;
+	}
+
+	private char marker;
+
+	/** @return The marker character, written as a single-character string. */
+	public char getMarker() {
+		return marker;
+	}
+
+	/** @param marker The new marker character. */
+	public void setMarker(final char marker) {
+		this.marker = marker;
+	}
+
+	private Integer replyCount;
+
+	/** @return The number of replies, or <code>null</code> if unknown. */
+	public Integer getReplyCount() {
+		return replyCount;
+	}
+
+	/** @param replyCount The new number of replies. */
+	public void setReplyCount(final Integer replyCount) {
+		this.replyCount = replyCount;
+	}
+
+	private Message inReplyTo;
+
+	/** @return The message to which this message replies, or <code>null</code> if none. */
+	public Message getInReplyTo() {
+		return inReplyTo;
+	}
+
+	/** @param inReplyTo The new message to which this message replies. */
+	public void setInReplyTo(final Message inReplyTo) {
+		this.inReplyTo = inReplyTo;
+	}
+
+	/** @return A read-only property, which is written but not read. */
+	public String getSummary() {
+		return priority + ": " + subject;
+	}
+
+}
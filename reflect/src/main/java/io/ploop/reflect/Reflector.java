@@ -16,11 +16,18 @@
 
 package io.ploop.reflect;
 
+import static java.lang.invoke.MethodType.*;
 import static java.util.Objects.*;
 
+import java.lang.invoke.*;
+import java.lang.reflect.*;
+import java.util.*;
+
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 
+import com.fasterxml.classmate.ResolvedType;
+
 /**
  * Enhanced reflection utilities.
  * 
@@ -29,6 +36,28 @@
  */
 public class Reflector {
 
+	/**
+	 * The class of which a value of each class is an instance when obtained via reflection: the boxed class for each primitive class, and the class itself for
+	 * every other class.
+	 */
+	private static final ClassValue<Class<?>> REFLECTION_INSTANCE_CLASSES = new ClassValue<Class<?>>() {
+		@Override
+		protected Class<?> computeValue(final Class<?> type) {
+			return type.isPrimitive() ? methodType(type).wrap().returnType() : type;
+		}
+	};
+
+	/**
+	 * Returns the class of which a value of the given class would be an instance when obtained via reflection; that is, the boxed class for a primitive class
+	 * (e.g. {@link Integer} for <code>int</code>), or the given class itself for any other class. The result is looked up from a table computed once for each
+	 * class.
+	 * @param type The class for which the reflection instance class should be returned.
+	 * @return The class of instances of the given class obtained via reflection.
+	 */
+	public static Class<?> getReflectionInstanceClass(@Nonnull final Class<?> type) {
+		return REFLECTION_INSTANCE_CLASSES.get(type);
+	}
+
 	/**
 	 * Determines if another class can be assigned to some class in the context of reflection. This method is useful for determining if some type is compatible
 	 * with a method signature.
@@ -46,30 +75,8 @@ public class Reflector {
 	 */
 	public static boolean isReflectionAssignableFrom(@Nonnull final Class<?> assignedClass, @Nonnull final Class<?> fromClass) {
 		requireNonNull(fromClass);
-		if(assignedClass.isPrimitive()) { //if the class is a primitive, we'll have to do special checking
-			if(assignedClass == fromClass) { //if the classes are the same
-				return true; //they are compatible
-			}
-			if(Boolean.TYPE == assignedClass) { //otherwise, check to see if a non-primitive version of a primitive class was given
-				return fromClass == Boolean.class;
-			} else if(Byte.TYPE == assignedClass) {
-				return fromClass == Byte.class;
-			} else if(Character.TYPE == assignedClass) {
-				return fromClass == Character.class;
-			} else if(Double.TYPE == assignedClass) {
-				return fromClass == Double.class;
-			} else if(Float.TYPE == assignedClass) {
-				return fromClass == Float.class;
-			} else if(Integer.TYPE == assignedClass) {
-				return fromClass == Integer.class;
-			} else if(Long.TYPE == assignedClass) {
-				return fromClass == Long.class;
-			} else if(Short.TYPE == assignedClass) {
-				return fromClass == Short.class;
-			} else if(Void.TYPE == assignedClass) {
-				return fromClass == Void.class;
-			}
-			throw new AssertionError("Unrecognized primitive type: " + assignedClass); //there should be no other primitive types in Java
+		if(assignedClass.isPrimitive()) { //a primitive class can only be assigned from itself or from its boxed class
+			return assignedClass == fromClass || fromClass == getReflectionInstanceClass(assignedClass);
 		}
 		return assignedClass.isAssignableFrom(fromClass); //if the class is not primitive, use the default native method
 	}
@@ -93,10 +100,7 @@ public static boolean isReflectionInstance(@Nullable final Object object, @Nonnu
 			requireNonNull(ofClass); //still perform the precondition check for the class
 			return false;
 		}
-		if(ofClass.isPrimitive()) { //perform special checks for a primitive 
-			return isReflectionAssignableFrom(ofClass, object.getClass());
-		}
-		return ofClass.isInstance(object); //by default perform a normal instance check, which is native and more efficient
+		return getReflectionInstanceClass(ofClass).isInstance(object); //a primitive value is an instance of the boxed class
 	}
 
 	/**
@@ -127,4 +131,67 @@ public static <T> T castReflection(@Nullable final Object object, @Nonnull final
 		return (T)object;
 	}
 
+	/**
+	 * Finds the public no-argument constructor of a class.
+	 * @param objectClass The class to construct.
+	 * @return A method handle for the constructor, which will not be present if the class has no public no-argument constructor.
+	 * @see #invokeConstructor(MethodHandle)
+	 */
+	public static Optional<MethodHandle> findPublicConstructor(@Nonnull final Class<?> objectClass) {
+		try {
+			return Optional.of(MethodHandles.publicLookup().findConstructor(objectClass, methodType(void.class)));
+		} catch(final NoSuchMethodException | IllegalAccessException exception) {
+			return Optional.empty();
+		}
+	}
+
+	/**
+	 * Creates a new instance using a constructor method handle that takes no arguments, such as one found using {@link #findPublicConstructor(Class)}.
+	 * @param constructor The method handle of the constructor.
+	 * @return The new instance.
+	 * @throws InvocationTargetException if the constructor throws anything.
+	 * @see #toInvocationTargetException(Throwable)
+	 */
+	public static Object invokeConstructor(@Nonnull final MethodHandle constructor) throws InvocationTargetException {
+		try {
+			return constructor.invoke();
+		} catch(final Throwable throwable) {
+			throw toInvocationTargetException(throwable);
+		}
+	}
+
+	/**
+	 * Wraps anything thrown when invoking a member via a method handle, variable handle, or generated class. Reflection methods such as
+	 * {@link Method#invoke(Object, Object...)} wrap anything thrown by the underlying member, including errors and runtime exceptions; wrapping the throwable in
+	 * the same way allows callers to handle all means of access identically.
+	 * @param throwable The throwable thrown by the member.
+	 * @return An exception wrapping the throwable, to be thrown by the caller.
+	 */
+	public static InvocationTargetException toInvocationTargetException(@Nonnull final Throwable throwable) {
+		return new InvocationTargetException(requireNonNull(throwable));
+	}
+
+	/**
+	 * Determines if a value of one resolved type can be assigned to another resolved type, taking generic type parameters into account. For example,
+	 * <code>List&lt;String&gt;</code> is assignable from <code>ArrayList&lt;String&gt;</code>, but not from <code>List&lt;Object&gt;</code> or from the raw type
+	 * <code>List</code>.
+	 * <p>
+	 * If the assigned type has no type parameters, this method functions identically to {@link #isReflectionAssignableFrom(Class, Class)} using the erased
+	 * types. Otherwise the supertype of the from type corresponding to the erased assigned type must have type parameters equal to those of the assigned type,
+	 * as generic types are invariant.
+	 * </p>
+	 * @param assignedType The type with which assignment compatibility is being determined.
+	 * @param fromType The type the assignment compatibility of which is questioned.
+	 * @return <code>true</code> if the given from type is assignment compatible for reflection with the assigned type.
+	 * @see ResolvedType#findSupertype(Class)
+	 */
+	public static boolean isReflectionAssignableFrom(@Nonnull final ResolvedType assignedType, @Nonnull final ResolvedType fromType) {
+		final List<ResolvedType> assignedTypeParameters = assignedType.getTypeParameters();
+		if(assignedTypeParameters.isEmpty()) {
+			return isReflectionAssignableFrom(assignedType.getErasedType(), fromType.getErasedType());
+		}
+		final ResolvedType fromSupertype = fromType.findSupertype(assignedType.getErasedType());
+		return fromSupertype != null && assignedTypeParameters.equals(fromSupertype.getTypeParameters());
+	}
+
 }
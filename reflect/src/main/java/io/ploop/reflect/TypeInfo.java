@@ -18,6 +18,10 @@
 
 import static java.util.Objects.*;
 
+import java.lang.ref.*;
+import java.util.*;
+import java.util.concurrent.*;
+
 import javax.annotation.*;
 
 import com.fasterxml.classmate.*;
@@ -28,17 +32,59 @@
  * This class is a lightweight wrapper for {@link ResolvedType} that regains the captured generics that are not available from
  * {@link ResolvedType#getErasedType()}.
  * </p>
+ * <p>
+ * Type information instances are canonical: there is at most one instance in use for any resolved type, so that type information may be compared using
+ * identity. Type information for a class is stored with the class using a {@link ClassValue}; type information for other resolved types, such as
+ * parameterized types, is interned in a table that holds it weakly. Neither mechanism prevents classes from being garbage collected.
+ * </p>
  * @param <T> The type of value represented.
  * @author Garret Wilson
  * @see ResolvedType
  */
 public class TypeInfo<T> {
 
-	/** The shared singleton instance of the ClassMate type resolver. */
+	/** The shared singleton instance of the ClassMate type resolver, which caches resolved types and is safe for concurrent use. */
 	public static final TypeResolver TYPE_RESOLVER = new TypeResolver();
 
+	/** The canonical type information for each class, resolved with {@link #TYPE_RESOLVER}. */
+	private static final ClassValue<TypeInfo<?>> CLASS_TYPE_INFOS = new ClassValue<TypeInfo<?>>() {
+		@Override
+		protected TypeInfo<?> computeValue(final Class<?> type) {
+			return new TypeInfo<Object>(TYPE_RESOLVER.resolve(type));
+		}
+	};
+
+	/**
+	 * The canonical type information for resolved types that differ from those resolved from their erased class, such as parameterized types. Each entry is
+	 * keyed to the weak reference to the interned type information itself, so that the table refers to resolved types, and the classes and class loaders they
+	 * refer to, only through weak references. Entries are looked up using a {@link ResolvedTypeKey}.
+	 */
+	private static final ConcurrentMap<Object, InternedTypeInfoReference> INTERNED_TYPE_INFOS = new ConcurrentHashMap<>();
+
+	/** The queue of references to interned type information that is no longer in use. */
+	private static final ReferenceQueue<TypeInfo<?>> INTERNED_TYPE_INFO_REFERENCE_QUEUE = new ReferenceQueue<>();
+
+	/** The queue of references to type information no longer in use for which assignability results have been memoized. */
+	private static final ReferenceQueue<TypeInfo<?>> ASSIGNABLE_FROM_TYPE_REFERENCE_QUEUE = new ReferenceQueue<>();
+
 	private final ResolvedType resolvedType;
 
+	private final int hashCode;
+
+	/** The class of which values of this type are instances when obtained via reflection. */
+	private final Class<?> reflectionInstanceClass;
+
+	/**
+	 * The memoized results of generic-aware assignability checks for this parameterized type, keyed to an {@link AssignableFromTypeReference} to the type
+	 * assigned from; created when first needed. The types assigned from are held weakly so as not to keep interned type information in use. Entries are looked
+	 * up using a {@link TypeInfoKey}.
+	 */
+	@Nullable
+	private volatile ConcurrentMap<Object, Boolean> reflectionAssignableFromTypes = null;
+
+	/** The lock for creating {@link #reflectionAssignableFromTypes}. */
+	private final Object reflectionAssignableFromTypesLock = new Object();
+
 	/** @return The resolved type. */
 	public ResolvedType getResolvedType() {
 		return resolvedType;
@@ -59,15 +105,62 @@ public Class<T> getErasedType() {
 	 */
 	private TypeInfo(@Nonnull final ResolvedType valueType) {
 		this.resolvedType = requireNonNull(valueType);
+		this.hashCode = valueType.hashCode();
+		this.reflectionInstanceClass = Reflector.getReflectionInstanceClass(valueType.getErasedType());
 	}
 
 	/**
-	 * Static factory method to create type info from an existing {@link ResolvedType}.
+	 * Static factory method to retrieve type info for an existing {@link ResolvedType}.
+	 * <p>
+	 * If the resolved type is equal to the type resolved from its erased class, the type information is the same instance as that returned by
+	 * {@link #forClass(Class)}. Otherwise the type information is interned, so that the same instance will be returned for equal resolved types as long as it
+	 * is in use.
+	 * </p>
 	 * @param resolvedType The class from which to create type information.
 	 * @return Type information for the existing resolved type.
 	 */
 	public static TypeInfo<?> forResolvedType(@Nonnull final ResolvedType resolvedType) {
-		return new TypeInfo<Object>(resolvedType); //TODO cache TypeInfo instances
+		final TypeInfo<?> classTypeInfo = CLASS_TYPE_INFOS.get(resolvedType.getErasedType());
+		final ResolvedType classResolvedType = classTypeInfo.getResolvedType();
+		if(classResolvedType == resolvedType || classResolvedType.equals(resolvedType)) {
+			return classTypeInfo;
+		}
+		return intern(resolvedType);
+	}
+
+	/**
+	 * Returns the canonical type information for a resolved type that is not equal to the type resolved from its erased class.
+	 * @param resolvedType The resolved type for which type information should be returned.
+	 * @return The canonical type information for the resolved type.
+	 */
+	private static TypeInfo<?> intern(@Nonnull final ResolvedType resolvedType) {
+		expungeStaleInternedTypeInfos();
+		final ResolvedTypeKey key = new ResolvedTypeKey(resolvedType);
+		while(true) {
+			final InternedTypeInfoReference reference = INTERNED_TYPE_INFOS.get(key);
+			if(reference != null) {
+				final TypeInfo<?> internedTypeInfo = reference.get();
+				if(internedTypeInfo != null) {
+					return internedTypeInfo;
+				}
+				//a cleared reference no longer matches the key, so it can only have been found if it was cleared after the lookup; remove it and try again
+				INTERNED_TYPE_INFOS.remove(reference, reference);
+				continue;
+			}
+			final TypeInfo<?> typeInfo = new TypeInfo<Object>(resolvedType);
+			final InternedTypeInfoReference newReference = new InternedTypeInfoReference(typeInfo);
+			if(INTERNED_TYPE_INFOS.putIfAbsent(newReference, newReference) == null) {
+				return typeInfo;
+			}
+		}
+	}
+
+	/** Removes entries from the interning table for type information that has been garbage collected. */
+	private static void expungeStaleInternedTypeInfos() {
+		Reference<? extends TypeInfo<?>> reference;
+		while((reference = INTERNED_TYPE_INFO_REFERENCE_QUEUE.poll()) != null) {
+			INTERNED_TYPE_INFOS.remove(reference, reference);
+		}
 	}
 
 	/**
@@ -79,7 +172,7 @@ public static TypeInfo<?> forResolvedType(@Nonnull final ResolvedType resolvedTy
 	 */
 	@SuppressWarnings("unchecked")
 	public static <C> TypeInfo<C> forClass(@Nonnull final Class<C> type) {
-		return (TypeInfo<C>)forResolvedType(TYPE_RESOLVER.resolve(requireNonNull(type))); //TODO cache TypeInfo instances
+		return (TypeInfo<C>)CLASS_TYPE_INFOS.get(requireNonNull(type));
 	}
 
 	/**
@@ -102,6 +195,51 @@ public boolean isReflectionAssignableFrom(@Nonnull final Class<?> fromClass) {
 		return Reflector.isReflectionAssignableFrom(getErasedType(), fromClass);
 	}
 
+	/**
+	 * Determines if a value of another type can be assigned to this type in the context of reflection, taking generic type parameters into account. For example,
+	 * <code>List&lt;String&gt;</code> is assignable from <code>ArrayList&lt;String&gt;</code> but not from <code>List&lt;Object&gt;</code>.
+	 * <p>
+	 * For a parameterized type, the result is memoized for each type assigned from, so that the supertype search is only performed once.
+	 * </p>
+	 * @param fromType The type the assignment compatibility of which is questioned.
+	 * @return <code>true</code> if the given type is assignment compatible for reflection with this type.
+	 * @see Reflector#isReflectionAssignableFrom(ResolvedType, ResolvedType)
+	 */
+	public boolean isReflectionAssignableFrom(@Nonnull final TypeInfo<?> fromType) {
+		if(this == fromType) { //type information is canonical
+			return true;
+		}
+		if(getResolvedType().getTypeParameters().isEmpty()) { //no generics to consider
+			return isReflectionAssignableFrom(fromType.getErasedType());
+		}
+		expungeStaleAssignableFromTypes();
+		ConcurrentMap<Object, Boolean> reflectionAssignableFromTypes = this.reflectionAssignableFromTypes;
+		if(reflectionAssignableFromTypes == null) {
+			synchronized(reflectionAssignableFromTypesLock) {
+				reflectionAssignableFromTypes = this.reflectionAssignableFromTypes;
+				if(reflectionAssignableFromTypes == null) {
+					this.reflectionAssignableFromTypes = reflectionAssignableFromTypes = new ConcurrentHashMap<>();
+				}
+			}
+		}
+		final Boolean memoizedAssignable = reflectionAssignableFromTypes.get(new TypeInfoKey(fromType));
+		if(memoizedAssignable != null) {
+			return memoizedAssignable;
+		}
+		final boolean assignable = Reflector.isReflectionAssignableFrom(getResolvedType(), fromType.getResolvedType());
+		//the result is always the same, so it does not matter if another thread memoized it first
+		reflectionAssignableFromTypes.putIfAbsent(new AssignableFromTypeReference(fromType, reflectionAssignableFromTypes), assignable);
+		return assignable;
+	}
+
+	/** Removes memoized assignability results for types assigned from that have been garbage collected. */
+	private static void expungeStaleAssignableFromTypes() {
+		Reference<? extends TypeInfo<?>> reference;
+		while((reference = ASSIGNABLE_FROM_TYPE_REFERENCE_QUEUE.poll()) != null) {
+			((AssignableFromTypeReference)reference).expunge();
+		}
+	}
+
 	/**
 	 * Determines if an object is an instance of this type in the context of reflection. This method is useful for determining if if an actual return type of a
 	 * method is compatible with a method signature.
@@ -117,7 +255,7 @@ public boolean isReflectionAssignableFrom(@Nonnull final Class<?> fromClass) {
 	 * @see <a href="https://stackoverflow.com/q/11764588/421049"><cite>Reflection on methods with a primitive numeric return type</cite></a>
 	 */
 	public boolean isReflectionInstance(@Nullable final Object object) {
-		return Reflector.isReflectionInstance(object, getErasedType());
+		return reflectionInstanceClass.isInstance(object);
 	}
 
 	/**
@@ -134,24 +272,221 @@ public boolean isReflectionInstance(@Nullable final Object object) {
 	 * @see Reflector#castReflection(Object, Class)
 	 * @see <a href="https://stackoverflow.com/q/11764588/421049"><cite>Reflection on methods with a primitive numeric return type</cite></a>
 	 */
+	@SuppressWarnings("unchecked")
 	public T castReflection(@Nullable final Object object) {
-		return Reflector.castReflection(object, getErasedType());
+		if(object != null && !reflectionInstanceClass.isInstance(object)) {
+			throw new ClassCastException("Cannot cast " + object.getClass().getName() + " to " + getErasedType().getName());
+		}
+		return (T)object;
 	}
 
 	@Override
 	public int hashCode() {
-		return getResolvedType().hashCode();
+		return hashCode;
 	}
 
+	/**
+	 * {@inheritDoc}
+	 * <p>
+	 * Because type information instances are canonical, this implementation uses identity comparison.
+	 * </p>
+	 */
 	@Override
 	public boolean equals(final Object object) {
-		if(this == object) {
-			return true;
+		return this == object;
+	}
+
+	@Override
+	public String toString() {
+		return getResolvedType().toString();
+	}
+
+	/**
+	 * A weak reference to interned type information, which serves as its own key in the interning table. The reference remembers the hash code of the resolved
+	 * type under which the type information was interned, but refers to the resolved type only through the type information. Once cleared, a reference is only
+	 * equal to itself, so that it can still be removed from the table.
+	 * @author Garret Wilson
+	 */
+	private static final class InternedTypeInfoReference extends WeakReference<TypeInfo<?>> {
+
+		private final int hashCode;
+
+		/**
+		 * Constructor.
+		 * @param typeInfo The interned type information.
+		 */
+		public InternedTypeInfoReference(@Nonnull final TypeInfo<?> typeInfo) {
+			super(typeInfo, INTERNED_TYPE_INFO_REFERENCE_QUEUE);
+			this.hashCode = typeInfo.hashCode();
+		}
+
+		/** @return The resolved type under which the type information was interned, or <code>null</code> if the reference has been cleared. */
+		@Nullable
+		public ResolvedType getResolvedType() {
+			final TypeInfo<?> typeInfo = get();
+			return typeInfo != null ? typeInfo.getResolvedType() : null;
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if(this == object) {
+				return true;
+			}
+			final ResolvedType resolvedType = getResolvedType();
+			if(resolvedType == null) {
+				return false;
+			}
+			if(object instanceof ResolvedTypeKey) {
+				return resolvedType.equals(((ResolvedTypeKey)object).getResolvedType());
+			}
+			if(object instanceof InternedTypeInfoReference) {
+				return resolvedType.equals(((InternedTypeInfoReference)object).getResolvedType());
+			}
+			return false;
+		}
+
+	}
+
+	/**
+	 * A transient key for looking up interned type information by resolved type. A key is never stored in the interning table.
+	 * @author Garret Wilson
+	 */
+	private static final class ResolvedTypeKey {
+
+		private final ResolvedType resolvedType;
+
+		/** @return The resolved type being looked up. */
+		public ResolvedType getResolvedType() {
+			return resolvedType;
+		}
+
+		/**
+		 * Constructor.
+		 * @param resolvedType The resolved type being looked up.
+		 */
+		public ResolvedTypeKey(@Nonnull final ResolvedType resolvedType) {
+			this.resolvedType = requireNonNull(resolvedType);
+		}
+
+		@Override
+		public int hashCode() {
+			return resolvedType.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if(this == object) {
+				return true;
+			}
+			if(object instanceof InternedTypeInfoReference) {
+				return resolvedType.equals(((InternedTypeInfoReference)object).getResolvedType());
+			}
+			if(object instanceof ResolvedTypeKey) {
+				return resolvedType.equals(((ResolvedTypeKey)object).getResolvedType());
+			}
+			return false;
+		}
+
+	}
+
+	/**
+	 * A weak reference to type information assigned from, which serves as its own key in a map of memoized assignability results. Because type information is
+	 * canonical, the reference is only equal to another reference or key for the same instance. Once cleared, a reference is only equal to itself, so that it
+	 * can still be removed from the map.
+	 * @author Garret Wilson
+	 */
+	private static final class AssignableFromTypeReference extends WeakReference<TypeInfo<?>> {
+
+		private final int hashCode;
+
+		private final Map<Object, Boolean> reflectionAssignableFromTypes;
+
+		/**
+		 * Constructor.
+		 * @param typeInfo The type information assigned from.
+		 * @param reflectionAssignableFromTypes The map of memoized assignability results in which this reference is stored.
+		 */
+		public AssignableFromTypeReference(@Nonnull final TypeInfo<?> typeInfo, @Nonnull final Map<Object, Boolean> reflectionAssignableFromTypes) {
+			super(typeInfo, ASSIGNABLE_FROM_TYPE_REFERENCE_QUEUE);
+			this.hashCode = typeInfo.hashCode();
+			this.reflectionAssignableFromTypes = requireNonNull(reflectionAssignableFromTypes);
+		}
+
+		/** Removes this reference from the map of memoized assignability results in which it was stored. */
+		public void expunge() {
+			reflectionAssignableFromTypes.remove(this);
+		}
+
+		@Override
+		public int hashCode() {
+			return hashCode;
 		}
-		if(!(object instanceof TypeInfo)) {
+
+		@Override
+		public boolean equals(final Object object) {
+			if(this == object) {
+				return true;
+			}
+			final TypeInfo<?> typeInfo = get();
+			if(typeInfo == null) {
+				return false;
+			}
+			if(object instanceof TypeInfoKey) {
+				return typeInfo == ((TypeInfoKey)object).getTypeInfo();
+			}
+			if(object instanceof AssignableFromTypeReference) {
+				return typeInfo == ((AssignableFromTypeReference)object).get();
+			}
 			return false;
 		}
-		return getResolvedType().equals(((TypeInfo<?>)object).getResolvedType());
+
+	}
+
+	/**
+	 * A transient key for looking up a memoized assignability result by the type information assigned from. A key is never stored in a map.
+	 * @author Garret Wilson
+	 */
+	private static final class TypeInfoKey {
+
+		private final TypeInfo<?> typeInfo;
+
+		/** @return The type information being looked up. */
+		public TypeInfo<?> getTypeInfo() {
+			return typeInfo;
+		}
+
+		/**
+		 * Constructor.
+		 * @param typeInfo The type information being looked up.
+		 */
+		public TypeInfoKey(@Nonnull final TypeInfo<?> typeInfo) {
+			this.typeInfo = requireNonNull(typeInfo);
+		}
+
+		@Override
+		public int hashCode() {
+			return typeInfo.hashCode();
+		}
+
+		@Override
+		public boolean equals(final Object object) {
+			if(this == object) {
+				return true;
+			}
+			if(object instanceof AssignableFromTypeReference) {
+				return typeInfo == ((AssignableFromTypeReference)object).get();
+			}
+			if(object instanceof TypeInfoKey) {
+				return typeInfo == ((TypeInfoKey)object).getTypeInfo();
+			}
+			return false;
+		}
+
 	}
 
 }
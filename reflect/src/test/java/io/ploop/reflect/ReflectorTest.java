@@ -16,6 +16,8 @@
 
 package io.ploop.reflect;
 
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.InvocationTargetException;
 import java.util.*;
 
 import org.junit.jupiter.api.*;
@@ -129,4 +131,32 @@ public void testCastReflectionToUnrelatedTypeThrowsException() {
 	public void testCastReflectionToSubtypeThrowsException() {
 		assertThrows(ClassCastException.class, () -> Reflector.castReflection(new Hashtable<>(), Properties.class));
 	}
+
+	/** @see Reflector#findPublicConstructor(Class) */
+	@Test
+	public void testFindPublicConstructor() throws InvocationTargetException {
+		final MethodHandle constructor = Reflector.findPublicConstructor(ArrayList.class).orElseThrow();
+		assertThat(Reflector.invokeConstructor(constructor), is(instanceOf(ArrayList.class)));
+		assertThat(Reflector.findPublicConstructor(AbstractList.class), is(Optional.empty()));
+		assertThat(Reflector.findPublicConstructor(Integer.class), is(Optional.empty()));
+	}
+
+	/** @see Reflector#invokeConstructor(MethodHandle) */
+	@Test
+	public void testInvokeConstructorWrapsThrowable() {
+		final MethodHandle constructor = Reflector.findPublicConstructor(FailingConstructorBean.class).orElseThrow();
+		final InvocationTargetException invocationTargetException = assertThrows(InvocationTargetException.class, () -> Reflector.invokeConstructor(constructor));
+		assertThat(invocationTargetException.getCause(), is(instanceOf(IllegalStateException.class)));
+	}
+
+	/** A class the constructor of which always fails. */
+	public static class FailingConstructorBean {
+
+		/** Constructor. */
+		public FailingConstructorBean() {
+			throw new IllegalStateException("Construction fails.");
+		}
+
+	}
+
 }
@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2018 GlobalMentor, Inc. <https://www.globalmentor.com/>
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     https://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package io.ploop.reflect;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.lang.ref.WeakReference;
+import java.net.*;
+import java.util.*;
+import java.util.concurrent.*;
+
+import javax.annotation.*;
+
+import org.junit.jupiter.api.*;
+
+import com.fasterxml.classmate.*;
+
+/**
+ * Tests of type information.
+ * 
+ * @author Garret Wilson
+ * @see TypeInfo
+ */
+public class TypeInfoTest {
+
+	/** @see TypeInfo#forClass(Class) */
+	@Test
+	public void testForClassIsCanonical() {
+		assertThat(TypeInfo.forClass(String.class), is(sameInstance(TypeInfo.forClass(String.class))));
+		assertThat(TypeInfo.forClass(int.class), is(sameInstance(TypeInfo.forClass(int.class))));
+		assertThat(TypeInfo.forClass(String.class), is(not(TypeInfo.forClass(Integer.class))));
+		assertThat(TypeInfo.forClass(String.class).getErasedType(), is(sameInstance(String.class)));
+	}
+
+	/** @see TypeInfo#forResolvedType(ResolvedType) */
+	@Test
+	public void testForResolvedTypeOfClassReturnsClassTypeInfo() {
+		final ResolvedType stringType = TypeInfo.TYPE_RESOLVER.resolve(String.class);
+		assertThat(TypeInfo.forResolvedType(stringType), is(sameInstance(TypeInfo.forClass(String.class))));
+	}
+
+	/** Makes sure that type information resolved concurrently on many threads is still canonical. */
+	@Test
+	public void testForResolvedTypeIsCanonicalWhenConcurrent() throws Exception {
+		final int threadCount = 8;
+		final ExecutorService executor = Executors.newFixedThreadPool(threadCount);
+		try {
+			final CyclicBarrier barrier = new CyclicBarrier(threadCount);
+			final List<Future<TypeInfo<?>>> futures = new ArrayList<>(threadCount);
+			for(int i = 0; i < threadCount; i++) {
+				futures.add(executor.submit(() -> {
+					barrier.await(); //start resolving at the same time
+					return TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(Map.class, String.class, Thread.State.class));
+				}));
+			}
+			final TypeInfo<?> typeInfo = futures.get(0).get();
+			for(final Future<TypeInfo<?>> future : futures) {
+				assertThat(future.get(), is(sameInstance(typeInfo)));
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	/** @see TypeInfo#forResolvedType(ResolvedType) */
+	@Test
+	public void testForResolvedTypeOfParameterizedTypeIsCanonical() {
+		final TypeInfo<?> listOfStringTypeInfo = TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(List.class, String.class));
+		assertThat(TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(new GenericType<List<String>>() {})), is(sameInstance(listOfStringTypeInfo)));
+		assertThat(listOfStringTypeInfo.getErasedType(), is(sameInstance(List.class)));
+
+		final TypeInfo<?> listOfObjectTypeInfo = TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(List.class, Object.class));
+		assertThat(listOfObjectTypeInfo, is(not(listOfStringTypeInfo)));
+	}
+
+	/** @see TypeInfo#isReflectionAssignableFrom(TypeInfo) */
+	@Test
+	public void testGenericIsReflectionAssignableFrom() {
+		final TypeInfo<?> listOfStringType = TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(new GenericType<List<String>>() {}));
+		final TypeInfo<?> listOfObjectType = TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(new GenericType<List<Object>>() {}));
+		final TypeInfo<?> arrayListOfStringType = TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(new GenericType<ArrayList<String>>() {}));
+		assertThat(listOfStringType.isReflectionAssignableFrom(listOfStringType), is(true));
+		assertThat(listOfStringType.isReflectionAssignableFrom(arrayListOfStringType), is(true));
+		assertThat(listOfStringType.isReflectionAssignableFrom(arrayListOfStringType), is(true)); //memoized
+		assertThat(listOfStringType.isReflectionAssignableFrom(listOfObjectType), is(false));
+		assertThat(listOfObjectType.isReflectionAssignableFrom(listOfStringType), is(false));
+		assertThat(listOfStringType.isReflectionAssignableFrom(TypeInfo.forClass(List.class)), is(false));
+		assertThat(TypeInfo.forClass(List.class).isReflectionAssignableFrom(listOfStringType), is(true));
+		assertThat(TypeInfo.forClass(Collection.class).isReflectionAssignableFrom(arrayListOfStringType), is(true));
+		assertThat(TypeInfo.forClass(int.class).isReflectionAssignableFrom(TypeInfo.forClass(Integer.class)), is(true));
+		assertThat(listOfStringType.isReflectionAssignableFrom(TypeInfo.forClass(String.class)), is(false));
+	}
+
+	/**
+	 * Tests that interned type information does not prevent the classes it refers to from being unloaded, even if the type information is itself reachable
+	 * from those classes.
+	 * @see TypeInfo#forResolvedType(ResolvedType)
+	 */
+	@Test
+	public void testInternedTypeInfoDoesNotPreventClassUnloading() throws Exception {
+		final WeakReference<ClassLoader> classLoaderReference = internTypeInfoOfThrowawayClass(null);
+		for(int i = 0; i < 100 && classLoaderReference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertThat(classLoaderReference.get(), is(nullValue()));
+	}
+
+	/**
+	 * Tests that memoizing whether a type is assignable from a type of an unloadable class does not prevent the class from being unloaded.
+	 * @see TypeInfo#isReflectionAssignableFrom(TypeInfo)
+	 */
+	@Test
+	public void testMemoizedAssignabilityDoesNotPreventClassUnloading() throws Exception {
+		final TypeInfo<?> collectionOfObjectType = TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(new GenericType<Collection<Object>>() {}));
+		final WeakReference<ClassLoader> classLoaderReference = internTypeInfoOfThrowawayClass(collectionOfObjectType);
+		for(int i = 0; i < 100 && classLoaderReference.get() != null; i++) {
+			System.gc();
+			Thread.sleep(10);
+		}
+		assertThat(classLoaderReference.get(), is(nullValue()));
+		assertThat(collectionOfObjectType.isReflectionAssignableFrom(TypeInfo.forResolvedType(TypeInfo.TYPE_RESOLVER.resolve(new GenericType<List<Object>>() {}))),
+				is(true));
+	}
+
+	/**
+	 * Loads {@link Holder} in a new class loader, interns type information for a list of it, and stores the type information in the loaded class.
+	 * @param assignToType Type information, if any, which should memoize whether it is assignable from the interned type information.
+	 * @return A weak reference to the class loader, which is otherwise no longer referenced.
+	 */
+	private static WeakReference<ClassLoader> internTypeInfoOfThrowawayClass(@Nullable final TypeInfo<?> assignToType) throws Exception {
+		final URL location = TypeInfoTest.class.getProtectionDomain().getCodeSource().getLocation();
+		try (final URLClassLoader classLoader = new URLClassLoader(new URL[] {location}, ClassLoader.getPlatformClassLoader())) {
+			final Class<?> holderClass = classLoader.loadClass(Holder.class.getName());
+			assertThat(holderClass, is(not(sameInstance(Holder.class))));
+			//use a separate resolver so that the cache of the shared resolver does not refer to the class
+			final TypeInfo<?> listOfHolderType = TypeInfo.forResolvedType(new TypeResolver().resolve(List.class, holderClass));
+			assertThat(TypeInfo.forResolvedType(new TypeResolver().resolve(List.class, holderClass)), is(sameInstance(listOfHolderType)));
+			if(assignToType != null) {
+				assertThat(assignToType.isReflectionAssignableFrom(listOfHolderType), is(false));
+			}
+			holderClass.getField("value").set(null, listOfHolderType);
+			return new WeakReference<>(classLoader);
+		}
+	}
+
+	/** A class to be loaded in a separate class loader, able to hold a value. */
+	public static class Holder {
+
+		/** The value being held. */
+		public static Object value;
+
+	}
+
+}